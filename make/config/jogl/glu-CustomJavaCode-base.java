@@ -1240,6 +1240,8 @@ public final void gluCylinder(GLUquadric quad, double base, double top, double h
 /** Option (throws GLException if not available in profile). <br> Interface to C language function: <br> <code> void gluDeleteQuadric(GLUquadric *  quad); </code>    */
 public final void gluDeleteQuadric(GLUquadric quad) {
   validateGLUquadricImpl();
+  GLContext ctx = GLContext.getCurrent();
+  ((GLUquadricImpl) quad).destroyMeshCache((null != ctx) ? ctx.getGL() : null);
 }
 
 /** Option (throws GLException if not available in profile). <br> Interface to C language function: <br> <code> void gluDisk(GLUquadric *  quad, GLdouble inner, GLdouble outer, GLint slices, GLint loops); </code>    */
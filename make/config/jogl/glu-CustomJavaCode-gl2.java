@@ -340,7 +340,12 @@ public final int gluBuild1DMipmaps(int target, int internalFormat, int width, in
   }
 }
 
-/** Interface to C language function: <br> <code> GLint gluBuild2DMipmapLevels(GLenum target, GLint internalFormat, GLsizei width, GLsizei height, GLenum format, GLenum type, GLint level, GLint base, GLint max, const void *  data); </code>    */
+/** Interface to C language function: <br> <code> GLint gluBuild2DMipmapLevels(GLenum target, GLint internalFormat, GLsizei width, GLsizei height, GLenum format, GLenum type, GLint level, GLint base, GLint max, const void *  data); </code>
+ * <P>
+ * By default the Java implementation halves each level on the calling thread. Setting the property
+ * <code>jogl.glu.mipmap.threads</code> to a number of worker threads, at most 16,
+ * splits large levels into bands halved in parallel, overlapped with the upload of the previous level.
+ * Worker threads are never started by default. */
 public final int gluBuild2DMipmapLevels(int target, int internalFormat, int width, int height, int format, int type, int level, int base, int max, java.nio.Buffer data) {
   if (useJavaMipmapCode) {
     return gluBuild2DMipmapLevelsJava(target, internalFormat, width, height, format, type, level, base, max, data);
@@ -350,7 +355,12 @@ public final int gluBuild2DMipmapLevels(int target, int internalFormat, int widt
 }
 
 
-/** Interface to C language function: <br> <code> GLint gluBuild2DMipmaps(GLenum target, GLint internalFormat, GLsizei width, GLsizei height, GLenum format, GLenum type, const void *  data); </code>    */
+/** Interface to C language function: <br> <code> GLint gluBuild2DMipmaps(GLenum target, GLint internalFormat, GLsizei width, GLsizei height, GLenum format, GLenum type, const void *  data); </code>
+ * <P>
+ * By default the Java implementation halves each level on the calling thread. Setting the property
+ * <code>jogl.glu.mipmap.threads</code> to a number of worker threads, at most 16,
+ * splits large levels into bands halved in parallel, overlapped with the upload of the previous level.
+ * Worker threads are never started by default. */
 public final int gluBuild2DMipmaps(int target, int internalFormat, int width, int height, int format, int type, java.nio.Buffer data) {
   if (useJavaMipmapCode) {
     return gluBuild2DMipmapsJava(target, internalFormat, width, height, format, type, data);
@@ -904,6 +904,11 @@ public abstract class GLContextImpl extends GLContext {
     return lock.hasWaiters();
   }
 
+  /** Returns the lock behind makeCurrent / release, e.g. for its acquisition statistics. */
+  public GLContextLock getLock() {
+    return lock;
+  }
+
   /* FIXME: needed only by the Java 2D / JOGL bridge; refactor
 
   public GLContextImpl(GLContext shareWith) {
@@ -46,70 +46,86 @@ import javax.media.opengl.*;
     lock the same GLContextLock on more than one thread cause
     GLException to be raised. This lock is not recursive. Attempts to
     lock it more than once on a given thread will cause GLException to
-    be raised. */
+    be raised.<P>
+
+    The owner is volatile and only set by the locking thread, so
+    {@link #isHeld} and {@link #unlock} do not enter the monitor,
+    unless another thread is waiting for the lock. The number of
+    acquisitions, contended acquisitions and the time spent waiting
+    are recorded. */
 
 public class GLContextLock {
   private Object lock = new Object();
-  private Thread owner;
+  private volatile Thread owner;
   private boolean failFastMode = true;
+  // only changed while holding the monitor
   private volatile int waiters;
 
+  // guarded by lock
+  private long acquisitions;
+  private long contendedAcquisitions;
+  private long waitTime;
+
   /** Locks this GLContextLock on the current thread. If fail fast
       mode is enabled and the GLContextLock is already owned by
       another thread, throws GLException. */
   public void lock() throws GLException {
+    Thread current = Thread.currentThread();
+    if (owner == current) {
+      throw new GLException("Attempt to make the same context current twice on thread " + current);
+    }
     synchronized(lock) {
-      Thread current = Thread.currentThread();
-      if (owner == null) {
-        owner = current;
-      } else if (owner != current) {
-        while (owner != null) {
-          if (failFastMode) {
-            throw new GLException("Attempt to make context current on thread " + current +
-                                  " which is already current on thread " + owner);
-          } else {
-            try {
-              ++waiters;
-              lock.wait();
-            } catch (InterruptedException e) {
-              throw new GLException(e);
-            } finally {
-              --waiters;
-            }
+      if (owner != null) {
+        if (failFastMode) {
+          throw new GLException("Attempt to make context current on thread " + current +
+                                " which is already current on thread " + owner);
+        }
+        long start = System.currentTimeMillis();
+        ++waiters;
+        try {
+          // waiters is incremented before owner is read again, pairing with unlock()
+          while (owner != null) {
+            lock.wait();
           }
+        } catch (InterruptedException e) {
+          throw new GLException(e);
+        } finally {
+          --waiters;
         }
-        owner = current;
-      } else {
-        throw new GLException("Attempt to make the same context current twice on thread " + current);
+        ++contendedAcquisitions;
+        waitTime += System.currentTimeMillis() - start;
       }
+      owner = current;
+      ++acquisitions;
     }
   }
 
   /** Unlocks this GLContextLock. */
   public void unlock() throws GLException {
-    synchronized (lock) {
-      Thread current = Thread.currentThread();
-      if (owner == current) {
-        owner = null;
-        lock.notifyAll();
-      } else {
-        if (owner != null) {
-          throw new GLException("Attempt by thread " + current +
-                                " to release context owned by thread " + owner);
-        } else {
-          throw new GLException("Attempt by thread " + current +
-                                " to release unowned context");
+    Thread current = Thread.currentThread();
+    Thread o = owner;
+    if (o == current) {
+      owner = null;
+      // a thread which has not seen the cleared owner is counted in waiters
+      if (waiters != 0) {
+        synchronized (lock) {
+          lock.notifyAll();
         }
       }
+    } else {
+      if (o != null) {
+        throw new GLException("Attempt by thread " + current +
+                              " to release context owned by thread " + o);
+      } else {
+        throw new GLException("Attempt by thread " + current +
+                              " to release unowned context");
+      }
     }
   }
 
   /** Indicates whether this lock is held by the current thread. */
   public boolean isHeld() {
-    synchronized(lock) {
-      Thread current = Thread.currentThread();
-      return (owner == current);
-    }
+    return (owner == Thread.currentThread());
   }
 
   public void setFailFastMode(boolean onOrOff) {
@@ -123,4 +139,34 @@ public class GLContextLock {
   public boolean hasWaiters() {
     return (waiters != 0);
   }
+
+  /** Returns the number of times this lock has been acquired. */
+  public long getAcquisitionCount() {
+    synchronized(lock) {
+      return acquisitions;
+    }
+  }
+
+  /** Returns the number of acquisitions which had to wait for another thread. */
+  public long getContendedAcquisitionCount() {
+    synchronized(lock) {
+      return contendedAcquisitions;
+    }
+  }
+
+  /** Returns the total time in milliseconds threads waited for this lock. */
+  public long getWaitTime() {
+    synchronized(lock) {
+      return waitTime;
+    }
+  }
+
+  /** Resets the acquisition counts and the wait time. */
+  public void resetStatistics() {
+    synchronized(lock) {
+      acquisitions = 0;
+      contendedAcquisitions = 0;
+      waitTime = 0;
+    }
+  }
 }
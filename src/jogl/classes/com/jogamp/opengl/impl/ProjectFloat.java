@@ -1055,4 +1055,193 @@ public class ProjectFloat {
                     0);
     gl.glScalef(viewport[2+viewport_offset] / deltaX, viewport[3+viewport_offset] / deltaY, 1.0f);
   }
+
+  //
+  // Batch operations on float arrays.
+  //
+  // All matrices are 4x4 column major, as used by OpenGL.
+  // The loops are written with hoisted scalars and unit stride innermost
+  // access, without bounds dependent branches, so the JIT is able to unroll
+  // and possibly vectorize them. They don't use any instance state.
+  //
+
+  /**
+   * Multiplies <code>count</code> consecutive matrix pairs,
+   * i.e. <code>r[n] = a[n] x b[n]</code>, equivalent to glMultMatrixf.
+   * <p>
+   * <code>r</code> may alias <code>a</code> at the same offset, but must not alias <code>b</code>.</p>
+   *
+   * @param a the first count matrices
+   * @param b the second count matrices
+   * @param r the count result matrices
+   * @param count number of matrices
+   */
+  public static void multMatricesf(final float[] a, int a_offset, 
+                                   final float[] b, int b_offset, 
+                                   final float[] r, int r_offset, final int count) {
+    for (int n = 0; n < count; n++) {
+      multMatrixf(a, a_offset, b, b_offset, r, r_offset);
+      a_offset += 16;
+      b_offset += 16;
+      r_offset += 16;
+    }
+  }
+
+  /**
+   * Multiplies one matrix with <code>count</code> consecutive matrices,
+   * i.e. <code>r[n] = a x b[n]</code>, e.g. to compute the P x Mv matrices of many instances.
+   * <p>
+   * <code>r</code> must not alias <code>a</code>, but may alias <code>b</code> at the same offset.</p>
+   */
+  public static void multMatrixf(final float[] a, final int a_offset, 
+                                 final float[] b, int b_offset, 
+                                 final float[] r, int r_offset, final int count) {
+    final float a00=a[a_offset+ 0], a10=a[a_offset+ 1], a20=a[a_offset+ 2], a30=a[a_offset+ 3];
+    final float a01=a[a_offset+ 4], a11=a[a_offset+ 5], a21=a[a_offset+ 6], a31=a[a_offset+ 7];
+    final float a02=a[a_offset+ 8], a12=a[a_offset+ 9], a22=a[a_offset+10], a32=a[a_offset+11];
+    final float a03=a[a_offset+12], a13=a[a_offset+13], a23=a[a_offset+14], a33=a[a_offset+15];
+    for (int n = 0; n < count; n++) {
+      for (int j = 0; j < 16; j+=4) {
+        final float b0=b[b_offset+j+0], b1=b[b_offset+j+1], b2=b[b_offset+j+2], b3=b[b_offset+j+3];
+        r[r_offset+j+0] = a00 * b0 + a01 * b1 + a02 * b2 + a03 * b3;
+        r[r_offset+j+1] = a10 * b0 + a11 * b1 + a12 * b2 + a13 * b3;
+        r[r_offset+j+2] = a20 * b0 + a21 * b1 + a22 * b2 + a23 * b3;
+        r[r_offset+j+3] = a30 * b0 + a31 * b1 + a32 * b2 + a33 * b3;
+      }
+      b_offset += 16;
+      r_offset += 16;
+    }
+  }
+
+  /**
+   * Computes <code>r = a x b</code>, equivalent to glMultMatrixf.
+   * <p>
+   * <code>r</code> may alias <code>a</code> at the same offset, but must not alias <code>b</code>.</p>
+   */
+  public static void multMatrixf(final float[] a, final int a_offset, 
+                                 final float[] b, final int b_offset, 
+                                 final float[] r, final int r_offset) {
+    for (int i = 0; i < 4; i++) {
+      final float ai0=a[a_offset+i+0*4], ai1=a[a_offset+i+1*4], ai2=a[a_offset+i+2*4], ai3=a[a_offset+i+3*4];
+      r[r_offset+i+0*4] = ai0 * b[b_offset+0+0*4] + ai1 * b[b_offset+1+0*4] + ai2 * b[b_offset+2+0*4] + ai3 * b[b_offset+3+0*4] ;
+      r[r_offset+i+1*4] = ai0 * b[b_offset+0+1*4] + ai1 * b[b_offset+1+1*4] + ai2 * b[b_offset+2+1*4] + ai3 * b[b_offset+3+1*4] ;
+      r[r_offset+i+2*4] = ai0 * b[b_offset+0+2*4] + ai1 * b[b_offset+1+2*4] + ai2 * b[b_offset+2+2*4] + ai3 * b[b_offset+3+2*4] ;
+      r[r_offset+i+3*4] = ai0 * b[b_offset+0+3*4] + ai1 * b[b_offset+1+3*4] + ai2 * b[b_offset+2+3*4] + ai3 * b[b_offset+3+3*4] ;
+    }
+  }
+
+  /**
+   * Transforms <code>count</code> consecutive vec4, i.e. <code>out[n] = m x in[n]</code>.
+   * <p>
+   * <code>out</code> may alias <code>in</code> at the same offset.</p>
+   */
+  public static void multMatrixVec4f(final float[] m, final int m_offset, 
+                                     final float[] in, int in_offset, 
+                                     final float[] out, int out_offset, final int count) {
+    final float m00=m[m_offset+ 0], m10=m[m_offset+ 1], m20=m[m_offset+ 2], m30=m[m_offset+ 3];
+    final float m01=m[m_offset+ 4], m11=m[m_offset+ 5], m21=m[m_offset+ 6], m31=m[m_offset+ 7];
+    final float m02=m[m_offset+ 8], m12=m[m_offset+ 9], m22=m[m_offset+10], m32=m[m_offset+11];
+    final float m03=m[m_offset+12], m13=m[m_offset+13], m23=m[m_offset+14], m33=m[m_offset+15];
+    for (int n = 0; n < count; n++) {
+      final float x=in[in_offset+0], y=in[in_offset+1], z=in[in_offset+2], w=in[in_offset+3];
+      out[out_offset+0] = m00 * x + m01 * y + m02 * z + m03 * w;
+      out[out_offset+1] = m10 * x + m11 * y + m12 * z + m13 * w;
+      out[out_offset+2] = m20 * x + m21 * y + m22 * z + m23 * w;
+      out[out_offset+3] = m30 * x + m31 * y + m32 * z + m33 * w;
+      in_offset += 4;
+      out_offset += 4;
+    }
+  }
+
+  /**
+   * Batch version of {@link #gluProject(float, float, float, float[], int, float[], int, int[], int, float[], int)},
+   * projecting <code>count</code> consecutive object coordinates (x, y, z)
+   * to window coordinates (x, y, z).
+   * <p>
+   * The projection and modelview matrices are combined once for all points.
+   * Points projected onto the infinite plane (w == 0) are written as NaN.</p>
+   *
+   * @return the number of successfully projected points
+   */
+  public int gluProject(final float[] obj_pos, int obj_pos_offset,
+                        float[] modelMatrix, int modelMatrix_offset,
+                        float[] projMatrix, int projMatrix_offset,
+                        int[] viewport, int viewport_offset,
+                        final float[] win_pos, int win_pos_offset, final int count) {
+    final float[] m = this.matrix;
+    multMatrixf(projMatrix, projMatrix_offset, modelMatrix, modelMatrix_offset, m, 0);
+
+    final float vx = viewport[0+viewport_offset], vy = viewport[1+viewport_offset];
+    final float vw = viewport[2+viewport_offset], vh = viewport[3+viewport_offset];
+    int res = 0;
+    for (int n = 0; n < count; n++) {
+      final float x=obj_pos[obj_pos_offset+0], y=obj_pos[obj_pos_offset+1], z=obj_pos[obj_pos_offset+2];
+      final float cx = m[0] * x + m[4] * y + m[ 8] * z + m[12];
+      final float cy = m[1] * x + m[5] * y + m[ 9] * z + m[13];
+      final float cz = m[2] * x + m[6] * y + m[10] * z + m[14];
+      final float cw = m[3] * x + m[7] * y + m[11] * z + m[15];
+      if (cw == 0.0f) {
+        win_pos[win_pos_offset+0] = Float.NaN;
+        win_pos[win_pos_offset+1] = Float.NaN;
+        win_pos[win_pos_offset+2] = Float.NaN;
+      } else {
+        final float s = (1.0f / cw) * 0.5f;
+        // Map x, y and z to range 0-1, then x,y to viewport
+        win_pos[win_pos_offset+0] = ( cx * s + 0.5f ) * vw + vx;
+        win_pos[win_pos_offset+1] = ( cy * s + 0.5f ) * vh + vy;
+        win_pos[win_pos_offset+2] = cz * s + 0.5f;
+        res++;
+      }
+      obj_pos_offset += 3;
+      win_pos_offset += 3;
+    }
+    return res;
+  }
+
+  /**
+   * Batch version of {@link #gluUnProject(float, float, float, float[], int, float[], int, int[], int, float[], int)},
+   * mapping <code>count</code> consecutive window coordinates (x, y, z)
+   * to object coordinates (x, y, z).
+   * <p>
+   * The combined matrix is inverted once for all points.
+   * Points not mappable (w == 0) are written as NaN.</p>
+   *
+   * @return the number of successfully mapped points, or -1 if the combined matrix is singular
+   */
+  public int gluUnProject(final float[] win_pos, int win_pos_offset,
+                          float[] modelMatrix, int modelMatrix_offset,
+                          float[] projMatrix, int projMatrix_offset,
+                          int[] viewport, int viewport_offset,
+                          final float[] obj_pos, int obj_pos_offset, final int count) {
+    final float[] m = this.matrix;
+    gluMultMatricesf(modelMatrix, modelMatrix_offset, projMatrix, projMatrix_offset, m);
+
+    if (!gluInvertMatrixf(m, m))
+      return -1;
+
+    final float vx = viewport[0+viewport_offset], vy = viewport[1+viewport_offset];
+    final float vw = viewport[2+viewport_offset], vh = viewport[3+viewport_offset];
+    int res = 0;
+    for (int n = 0; n < count; n++) {
+      // Map x and y from window coordinates, map to range -1 to 1
+      final float x = ( win_pos[win_pos_offset+0] - vx ) / vw * 2 - 1;
+      final float y = ( win_pos[win_pos_offset+1] - vy ) / vh * 2 - 1;
+      final float z = win_pos[win_pos_offset+2] * 2 - 1;
+      final float ow = m[3] * x + m[7] * y + m[11] * z + m[15];
+      if (ow == 0.0f) {
+        obj_pos[obj_pos_offset+0] = Float.NaN;
+        obj_pos[obj_pos_offset+1] = Float.NaN;
+        obj_pos[obj_pos_offset+2] = Float.NaN;
+      } else {
+        final float s = 1.0f / ow;
+        obj_pos[obj_pos_offset+0] = ( m[0] * x + m[4] * y + m[ 8] * z + m[12] ) * s;
+        obj_pos[obj_pos_offset+1] = ( m[1] * x + m[5] * y + m[ 9] * z + m[13] ) * s;
+        obj_pos[obj_pos_offset+2] = ( m[2] * x + m[6] * y + m[10] * z + m[14] ) * s;
+        res++;
+      }
+      win_pos_offset += 3;
+      obj_pos_offset += 3;
+    }
+    return res;
+  }
 }
@@ -119,6 +119,8 @@ import javax.media.opengl.*;
 import javax.media.opengl.glu.*;
 import com.jogamp.opengl.util.ImmModeSink;
 import java.nio.*;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 
 /**
  * GLUquadricImpl.java
@@ -145,6 +147,11 @@ public class GLUquadricImpl implements GLUquadric {
 
   private ImmModeSink immModeSink=null;
 
+  private int meshCacheSize;
+  private LinkedHashMap/*<QuadricMesh.Key, QuadricMesh>*/ meshCache;
+  private final QuadricMesh.Key meshKey = new QuadricMesh.Key();
+  private QuadricMesh recorder;
+
   public GLUquadricImpl(GL gl, boolean useGLSL) {
     this.gl=gl;
     this.useGLSL = useGLSL;
@@ -211,6 +218,67 @@ public class GLUquadricImpl implements GLUquadric {
     }
   }
 
+  /**
+   * Sets the maximum number of meshes kept in the mesh cache, 0 disables the cache,
+   * which is the default.
+   * <p>
+   * With the mesh cache enabled, the geometry of each quadric is generated once
+   * into an indexed VBO and replayed with one draw call by the following calls
+   * with the same shape, dimensions, subdivisions and quadric state.
+   * The least recently drawn meshes are evicted if the cache is full.
+   * The buffers are created on the GL the quadric is drawn with,
+   * hence the quadric must only be used with this GL and those sharing its objects.</p>
+   * <p>
+   * Replaying a mesh uses vertex arrays, which are disabled afterwards,
+   * and leaves the array and element array buffer bindings at 0.</p>
+   * <p>
+   * The cache is bypassed while the ImmModeSink is enabled in deferred mode,
+   * see {@link #setImmMode(boolean)}, since the geometry has to be collected
+   * in the ImmModeSink then.</p>
+   *
+   * @param gl the current GL, used to release evicted meshes, maybe null if none are cached
+   */
+  public void setMeshCacheSize(GL gl, int size) {
+    if(size<0) {
+        throw new IllegalArgumentException("negative mesh cache size: "+size);
+    }
+    meshCacheSize = size;
+    if(0==size) {
+        destroyMeshCache(gl);
+    } else {
+        if(null==meshCache) {
+            meshCache = new LinkedHashMap/*<QuadricMesh.Key, QuadricMesh>*/(16, 0.75f, true);
+        }
+        evictMeshes(gl);
+    }
+  }
+
+  public int getMeshCacheSize() {
+    return meshCacheSize;
+  }
+
+  /** Returns the number of meshes currently cached. */
+  public int getCachedMeshCount() {
+    return (null==meshCache) ? 0 : meshCache.size();
+  }
+
+  /**
+   * Releases all cached meshes, keeping the cache size.
+   *
+   * @param gl the current GL, used to delete the buffers, maybe null if the GL is gone
+   */
+  public void destroyMeshCache(GL gl) {
+    if(null!=meshCache) {
+        for(Iterator i=meshCache.values().iterator(); i.hasNext(); ) {
+            ((QuadricMesh)i.next()).destroy(gl);
+        }
+        meshCache.clear();
+        if(0==meshCacheSize) {
+            meshCache = null;
+        }
+    }
+  }
+
   /**
    * specifies the draw style for quadrics.  
    *
@@ -342,6 +410,24 @@ public class GLUquadricImpl implements GLUquadric {
    */
   public void drawCylinder(GL gl, float baseRadius, float topRadius, float height, int slices, int stacks) {
 
+    if (useMeshCache()) {
+      QuadricMesh mesh = getMesh(QuadricMesh.CYLINDER, baseRadius, topRadius, height, 0, slices, stacks);
+      if (null == mesh) {
+        QuadricMesh rec = new QuadricMesh();
+        recorder = rec;
+        try {
+          drawCylinder(gl, baseRadius, topRadius, height, slices, stacks);
+        } finally {
+          recorder = null;
+        }
+        mesh = cacheMesh(gl, rec);
+      }
+      if (null != mesh) {
+        mesh.draw(gl, useGLSL);
+        return;
+      }
+    }
+
     float da, r, dr, dz;
     float x, y, z, nz, nsign;
     int i, j;
@@ -484,6 +570,24 @@ public class GLUquadricImpl implements GLUquadric {
    */
   public void drawDisk(GL gl, float innerRadius, float outerRadius, int slices, int loops)
   {
+    if (useMeshCache()) {
+      QuadricMesh mesh = getMesh(QuadricMesh.DISK, innerRadius, outerRadius, 0, 0, slices, loops);
+      if (null == mesh) {
+        QuadricMesh rec = new QuadricMesh();
+        recorder = rec;
+        try {
+          drawDisk(gl, innerRadius, outerRadius, slices, loops);
+        } finally {
+          recorder = null;
+        }
+        mesh = cacheMesh(gl, rec);
+      }
+      if (null != mesh) {
+        mesh.draw(gl, useGLSL);
+        return;
+      }
+    }
+
     float da, dr;
 
     /* Normal vectors */
@@ -655,6 +759,24 @@ public class GLUquadricImpl implements GLUquadric {
                               int loops,
                               float startAngle,
                               float sweepAngle) {
+    if (useMeshCache()) {
+      QuadricMesh mesh = getMesh(QuadricMesh.PARTIAL_DISK, innerRadius, outerRadius, startAngle, sweepAngle, slices, loops);
+      if (null == mesh) {
+        QuadricMesh rec = new QuadricMesh();
+        recorder = rec;
+        try {
+          drawPartialDisk(gl, innerRadius, outerRadius, slices, loops, startAngle, sweepAngle);
+        } finally {
+          recorder = null;
+        }
+        mesh = cacheMesh(gl, rec);
+      }
+      if (null != mesh) {
+        mesh.draw(gl, useGLSL);
+        return;
+      }
+    }
+
     int i, j, max;
     float[] sinCache = new float[CACHE_SIZE];
     float[] cosCache = new float[CACHE_SIZE];
@@ -931,6 +1053,24 @@ public class GLUquadricImpl implements GLUquadric {
    * at the -x axis, and back to 1.0 at the +y axis.
    */
   public void drawSphere(GL gl, float radius, int slices, int stacks) {
+    if (useMeshCache()) {
+      QuadricMesh mesh = getMesh(QuadricMesh.SPHERE, radius, 0, 0, 0, slices, stacks);
+      if (null == mesh) {
+        QuadricMesh rec = new QuadricMesh();
+        recorder = rec;
+        try {
+          drawSphere(gl, radius, slices, stacks);
+        } finally {
+          recorder = null;
+        }
+        mesh = cacheMesh(gl, rec);
+      }
+      if (null != mesh) {
+        mesh.draw(gl, useGLSL);
+        return;
+      }
+    }
+
     // TODO
 
     float rho, drho, theta, dtheta;
@@ -1099,8 +1239,48 @@ public class GLUquadricImpl implements GLUquadric {
   private static final float PI = (float)Math.PI;
   private static final int CACHE_SIZE = 240;
 
+  // Deferred ImmModeSink rendering collects the geometry in the sink,
+  // which replaying a cached mesh would bypass
+  private boolean useMeshCache() {
+    return null != meshCache && null == recorder &&
+           ( !immModeSinkEnabled || immModeSinkImmediate );
+  }
+
+  // Returns the cached mesh drawn with the given parameters and the current state, or null
+  private QuadricMesh getMesh(int shape, float a, float b, float c, float d, int slices, int stacks) {
+    return (QuadricMesh) meshCache.get(meshKey.set(shape, a, b, c, d, slices, stacks,
+                                                   drawStyle, normals, orientation, textureFlag));
+  }
+
+  // Builds and caches the recorded mesh under the key of the last getMesh() call,
+  // returns null if it can't be replayed on this GL
+  private QuadricMesh cacheMesh(GL gl, QuadricMesh mesh) {
+    if(mesh.isEmpty()) {
+        // nothing to draw, e.g. for invalid values, don't cache
+        return mesh;
+    }
+    if(!mesh.isDrawable(gl)) {
+        return null;
+    }
+    mesh.build(gl);
+    meshCache.put(meshKey.copy(), mesh);
+    evictMeshes(gl);
+    return mesh;
+  }
+
+  private void evictMeshes(GL gl) {
+    Iterator i = meshCache.values().iterator();
+    while(meshCache.size() > meshCacheSize) {
+        QuadricMesh mesh = (QuadricMesh) i.next();
+        i.remove();
+        mesh.destroy(gl);
+    }
+  }
+
   private final void glBegin(GL gl, int mode) {
-      if(immModeSinkEnabled) {
+      if(null!=recorder) {
+          recorder.glBegin(mode);
+      } else if(immModeSinkEnabled) {
           immModeSink.glBegin(mode);
       } else {
           gl.getGL2().glBegin(mode);
@@ -1108,7 +1288,9 @@ public class GLUquadricImpl implements GLUquadric {
   }
 
   private final void glEnd(GL gl) {
-      if(immModeSinkEnabled) {
+      if(null!=recorder) {
+          recorder.glEnd();
+      } else if(immModeSinkEnabled) {
           immModeSink.glEnd(gl, immModeSinkImmediate);
       } else {
           gl.getGL2().glEnd();
@@ -1116,7 +1298,9 @@ public class GLUquadricImpl implements GLUquadric {
   }
 
   private final void glVertex2f(GL gl, float x, float y) {
-      if(immModeSinkEnabled) {
+      if(null!=recorder) {
+          recorder.glVertex3f(x, y, 0.0f);
+      } else if(immModeSinkEnabled) {
           immModeSink.glVertex2f(x, y);
       } else {
           gl.getGL2().glVertex2f(x, y);
@@ -1124,7 +1308,9 @@ public class GLUquadricImpl implements GLUquadric {
   }
 
   private final void glVertex3f(GL gl, float x, float y, float z) {
-      if(immModeSinkEnabled) {
+      if(null!=recorder) {
+          recorder.glVertex3f(x, y, z);
+      } else if(immModeSinkEnabled) {
           immModeSink.glVertex3f(x, y, z);
       } else {
           gl.getGL2().glVertex3f(x, y, z);
@@ -1154,6 +1340,10 @@ public class GLUquadricImpl implements GLUquadric {
   }
 
   private final void glNormal3f(GL gl, float x, float y, float z) {
+    if(null!=recorder) {
+        recorder.glNormal3f(x, y, z);
+        return;
+    }
     switch(normalType) {
         case GL.GL_FLOAT:
             if(immModeSinkEnabled) {
@@ -1172,7 +1362,9 @@ public class GLUquadricImpl implements GLUquadric {
   }
 
   private final void glTexCoord2f(GL gl, float x, float y) {
-      if(immModeSinkEnabled) {
+      if(null!=recorder) {
+          recorder.glTexCoord2f(x, y);
+      } else if(immModeSinkEnabled) {
           immModeSink.glTexCoord2f(x, y);
       } else {
           gl.getGL2().glTexCoord2f(x, y);
@@ -0,0 +1,488 @@
+
+package com.jogamp.opengl.impl.glu;
+
+import javax.media.opengl.*;
+import javax.media.opengl.fixedfunc.*;
+import com.jogamp.opengl.util.GLArrayDataWrapper;
+import com.jogamp.opengl.util.GLBuffers;
+import com.jogamp.opengl.util.ImmModeSink;
+import com.jogamp.opengl.util.glsl.ShaderState;
+import java.nio.*;
+
+/**
+ * The geometry of one quadric, recorded from the immediate mode calls
+ * of {@link GLUquadricImpl} and replayed from an indexed VBO.
+ * <p>
+ * While recording, strips, fans and loops are converted to independent
+ * triangles, lines and points, and identical vertices are shared.
+ * The vertices are stored interleaved as position, normal and texture
+ * coordinates, where normals and texture coordinates are only stored
+ * if they have been specified by the recorded calls.
+ * Like in immediate mode, each vertex takes the normal and texture
+ * coordinates specified last, starting with the GL defaults.
+ */
+class QuadricMesh {
+  static final int CYLINDER = 1;
+  static final int DISK = 2;
+  static final int PARTIAL_DISK = 3;
+  static final int SPHERE = 4;
+
+  private static final int VERTEX_FLOATS = 8;
+
+  // recording state, dropped by build()
+  private float[] vertices = new float[ 64 * VERTEX_FLOATS ];
+  private int[] hashTable = new int[ 128 ];
+  private IntArray triangles = new IntArray();
+  private IntArray lines = new IntArray();
+  private IntArray points = new IntArray();
+  private IntArray primitive = new IntArray();
+  private int mode = -1;
+  private final float[] current = { 0, 0, 0, 0, 0, 1, 0, 0 };
+
+  private int vertexCount;
+  private boolean hasNormals;
+  private boolean hasTexCoords;
+
+  // GL state, set up by build()
+  private int vboName;
+  private int iboName;
+  private int indexType;
+  private int triangleCount;
+  private int lineCount;
+  private int pointCount;
+  private GLArrayDataWrapper vArrayData;
+  private GLArrayDataWrapper nArrayData;
+  private GLArrayDataWrapper tArrayData;
+
+  //----------------------------------------------------------------------
+  // Recording
+  //
+
+  void glBegin(int mode) {
+    this.mode = mode;
+    primitive.size = 0;
+  }
+
+  void glEnd() {
+    int[] p = primitive.data;
+    int n = primitive.size;
+    int i;
+    switch (mode) {
+    case GL.GL_TRIANGLES:
+      for (i = 0; i + 2 < n; i += 3) {
+        triangles.add(p[i], p[i + 1], p[i + 2]);
+      }
+      break;
+    case GL.GL_TRIANGLE_STRIP:
+    case ImmModeSink.GL_QUAD_STRIP:
+      // same winding as the strip, quad strips are drawn as triangle strips
+      if (mode == ImmModeSink.GL_QUAD_STRIP) {
+        n &= ~1;
+      }
+      for (i = 0; i + 2 < n; i++) {
+        if ((i & 1) == 0) {
+          triangles.add(p[i], p[i + 1], p[i + 2]);
+        } else {
+          triangles.add(p[i + 1], p[i], p[i + 2]);
+        }
+      }
+      break;
+    case GL.GL_TRIANGLE_FAN:
+      for (i = 1; i + 1 < n; i++) {
+        triangles.add(p[0], p[i], p[i + 1]);
+      }
+      break;
+    case GL.GL_LINES:
+      for (i = 0; i + 1 < n; i += 2) {
+        lines.add(p[i], p[i + 1]);
+      }
+      break;
+    case GL.GL_LINE_STRIP:
+    case GL.GL_LINE_LOOP:
+      for (i = 0; i + 1 < n; i++) {
+        lines.add(p[i], p[i + 1]);
+      }
+      if (mode == GL.GL_LINE_LOOP && n > 1) {
+        lines.add(p[n - 1], p[0]);
+      }
+      break;
+    case GL.GL_POINTS:
+      for (i = 0; i < n; i++) {
+        points.add(p[i]);
+      }
+      break;
+    default:
+      throw new GLException("QuadricMesh: unsupported primitive " + mode);
+    }
+    mode = -1;
+  }
+
+  void glNormal3f(float x, float y, float z) {
+    current[3] = x;
+    current[4] = y;
+    current[5] = z;
+    hasNormals = true;
+  }
+
+  void glTexCoord2f(float s, float t) {
+    current[6] = s;
+    current[7] = t;
+    hasTexCoords = true;
+  }
+
+  void glVertex3f(float x, float y, float z) {
+    current[0] = x;
+    current[1] = y;
+    current[2] = z;
+    primitive.add(addVertex());
+  }
+
+  // Returns the index of the current vertex, adding it if it is new
+  private int addVertex() {
+    int h = 0;
+    for (int i = 0; i < VERTEX_FLOATS; i++) {
+      h = 31 * h + Float.floatToIntBits(current[i]);
+    }
+    int mask = hashTable.length - 1;
+    int slot = (h ^ (h >>> 16)) & mask;
+    int index;
+    while ((index = hashTable[slot] - 1) >= 0) {
+      if (equalsCurrent(index)) {
+        return index;
+      }
+      slot = (slot + 1) & mask;
+    }
+    index = vertexCount++;
+    if (index * VERTEX_FLOATS == vertices.length) {
+      float[] v = new float[vertices.length * 2];
+      System.arraycopy(vertices, 0, v, 0, vertices.length);
+      vertices = v;
+    }
+    System.arraycopy(current, 0, vertices, index * VERTEX_FLOATS, VERTEX_FLOATS);
+    hashTable[slot] = index + 1;
+    if (vertexCount * 2 > hashTable.length) {
+      rehash();
+    }
+    return index;
+  }
+
+  private boolean equalsCurrent(int index) {
+    int base = index * VERTEX_FLOATS;
+    for (int i = 0; i < VERTEX_FLOATS; i++) {
+      if (Float.floatToIntBits(vertices[base + i]) != Float.floatToIntBits(current[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void rehash() {
+    hashTable = new int[hashTable.length * 2];
+    int mask = hashTable.length - 1;
+    for (int index = 0; index < vertexCount; index++) {
+      int base = index * VERTEX_FLOATS;
+      int h = 0;
+      for (int i = 0; i < VERTEX_FLOATS; i++) {
+        h = 31 * h + Float.floatToIntBits(vertices[base + i]);
+      }
+      int slot = (h ^ (h >>> 16)) & mask;
+      while (hashTable[slot] != 0) {
+        slot = (slot + 1) & mask;
+      }
+      hashTable[slot] = index + 1;
+    }
+  }
+
+  /** Returns true if nothing has been recorded which could be drawn. */
+  boolean isEmpty() {
+    return triangles.size == 0 && lines.size == 0 && points.size == 0;
+  }
+
+  /**
+   * Returns true if the recorded geometry can be drawn on the given GL,
+   * i.e. if its vertices can be indexed with unsigned shorts or the GL
+   * supports unsigned int indices.
+   */
+  boolean isDrawable(GL gl) {
+    return vertexCount <= 0x10000 || gl.isGL2GL3();
+  }
+
+  //----------------------------------------------------------------------
+  // Replay
+  //
+
+  /**
+   * Uploads the recorded geometry into a vertex and an index buffer object
+   * and drops the recording.
+   */
+  void build(GL gl) {
+    int floats = 3 + (hasNormals ? 3 : 0) + (hasTexCoords ? 2 : 0);
+    int stride = floats * GLBuffers.SIZEOF_FLOAT;
+    FloatBuffer vbuf = GLBuffers.newDirectFloatBuffer(vertexCount * floats);
+    for (int i = 0; i < vertexCount; i++) {
+      int base = i * VERTEX_FLOATS;
+      vbuf.put(vertices, base, 3);
+      if (hasNormals) {
+        vbuf.put(vertices, base + 3, 3);
+      }
+      if (hasTexCoords) {
+        vbuf.put(vertices, base + 6, 2);
+      }
+    }
+    vbuf.rewind();
+
+    triangleCount = triangles.size;
+    lineCount = lines.size;
+    pointCount = points.size;
+    int indexCount = triangleCount + lineCount + pointCount;
+    Buffer ibuf;
+    int indexSize;
+    if (vertexCount <= 0x10000) {
+      ShortBuffer sbuf = GLBuffers.newDirectShortBuffer(indexCount);
+      putShorts(sbuf, triangles);
+      putShorts(sbuf, lines);
+      putShorts(sbuf, points);
+      ibuf = sbuf;
+      indexType = GL.GL_UNSIGNED_SHORT;
+      indexSize = GLBuffers.SIZEOF_SHORT;
+    } else {
+      IntBuffer ib = GLBuffers.newDirectIntBuffer(indexCount);
+      ib.put(triangles.data, 0, triangles.size);
+      ib.put(lines.data, 0, lines.size);
+      ib.put(points.data, 0, points.size);
+      ibuf = ib;
+      indexType = GL.GL_UNSIGNED_INT;
+      indexSize = GLBuffers.SIZEOF_INT;
+    }
+    ibuf.rewind();
+
+    int[] tmp = new int[2];
+    gl.glGenBuffers(2, tmp, 0);
+    vboName = tmp[0];
+    iboName = tmp[1];
+    gl.glBindBuffer(GL.GL_ARRAY_BUFFER, vboName);
+    gl.glBufferData(GL.GL_ARRAY_BUFFER, vertexCount * stride, vbuf, GL.GL_STATIC_DRAW);
+    gl.glBindBuffer(GL.GL_ARRAY_BUFFER, 0);
+    gl.glBindBuffer(GL.GL_ELEMENT_ARRAY_BUFFER, iboName);
+    gl.glBufferData(GL.GL_ELEMENT_ARRAY_BUFFER, indexCount * indexSize, ibuf, GL.GL_STATIC_DRAW);
+    gl.glBindBuffer(GL.GL_ELEMENT_ARRAY_BUFFER, 0);
+
+    vArrayData = GLArrayDataWrapper.createFixed(gl, GLPointerFunc.GL_VERTEX_ARRAY, 3, GL.GL_FLOAT, false,
+                                                stride, null, vboName, 0);
+    if (hasNormals) {
+      nArrayData = GLArrayDataWrapper.createFixed(gl, GLPointerFunc.GL_NORMAL_ARRAY, 3, GL.GL_FLOAT, false,
+                                                  stride, null, vboName, 3 * GLBuffers.SIZEOF_FLOAT);
+    }
+    if (hasTexCoords) {
+      tArrayData = GLArrayDataWrapper.createFixed(gl, GLPointerFunc.GL_TEXTURE_COORD_ARRAY, 2, GL.GL_FLOAT, false,
+                                                  stride, null, vboName, (hasNormals ? 6 : 3) * GLBuffers.SIZEOF_FLOAT);
+    }
+
+    vertices = null;
+    hashTable = null;
+    triangles = lines = points = primitive = null;
+  }
+
+  private static void putShorts(ShortBuffer buf, IntArray indices) {
+    for (int i = 0; i < indices.size; i++) {
+      buf.put((short) indices.data[i]);
+    }
+  }
+
+  /**
+   * Draws the geometry, using the fixed function pipeline or,
+   * if <code>useGLSL</code> is set, the current {@link ShaderState}.
+   * The enabled arrays are disabled again afterwards.
+   * Does nothing if the mesh has not been built.
+   */
+  void draw(GL gl, boolean useGLSL) {
+    if (0 == vboName) {
+      return;
+    }
+    gl.glBindBuffer(GL.GL_ARRAY_BUFFER, vboName);
+    if (useGLSL) {
+      enableBufferGLSL(gl, true);
+    } else {
+      enableBufferFixed(gl, true);
+    }
+    gl.glBindBuffer(GL.GL_ARRAY_BUFFER, 0);
+
+    gl.glBindBuffer(GL.GL_ELEMENT_ARRAY_BUFFER, iboName);
+    int indexSize = (indexType == GL.GL_UNSIGNED_SHORT) ? GLBuffers.SIZEOF_SHORT : GLBuffers.SIZEOF_INT;
+    long offset = 0;
+    if (triangleCount > 0) {
+      gl.glDrawElements(GL.GL_TRIANGLES, triangleCount, indexType, offset);
+      offset += triangleCount * indexSize;
+    }
+    if (lineCount > 0) {
+      gl.glDrawElements(GL.GL_LINES, lineCount, indexType, offset);
+      offset += lineCount * indexSize;
+    }
+    if (pointCount > 0) {
+      gl.glDrawElements(GL.GL_POINTS, pointCount, indexType, offset);
+    }
+    gl.glBindBuffer(GL.GL_ELEMENT_ARRAY_BUFFER, 0);
+
+    if (useGLSL) {
+      enableBufferGLSL(gl, false);
+    } else {
+      enableBufferFixed(gl, false);
+    }
+  }
+
+  private void enableBufferFixed(GL gl, boolean enable) {
+    GL2ES1 glf = gl.getGL2ES1();
+    if (enable) {
+      glf.glEnableClientState(GLPointerFunc.GL_VERTEX_ARRAY);
+      glf.glVertexPointer(vArrayData);
+      if (null != nArrayData) {
+        glf.glEnableClientState(GLPointerFunc.GL_NORMAL_ARRAY);
+        glf.glNormalPointer(nArrayData);
+      }
+      if (null != tArrayData) {
+        glf.glEnableClientState(GLPointerFunc.GL_TEXTURE_COORD_ARRAY);
+        glf.glTexCoordPointer(tArrayData);
+      }
+    } else {
+      glf.glDisableClientState(GLPointerFunc.GL_VERTEX_ARRAY);
+      if (null != nArrayData) {
+        glf.glDisableClientState(GLPointerFunc.GL_NORMAL_ARRAY);
+      }
+      if (null != tArrayData) {
+        glf.glDisableClientState(GLPointerFunc.GL_TEXTURE_COORD_ARRAY);
+      }
+    }
+  }
+
+  private void enableBufferGLSL(GL gl, boolean enable) {
+    GL2ES2 glsl = gl.getGL2ES2();
+    ShaderState st = ShaderState.getCurrent();
+    if (null == st) {
+      throw new GLException("No ShaderState current");
+    }
+    if (enable) {
+      st.glEnableVertexAttribArray(glsl, vArrayData.getName());
+      st.glVertexAttribPointer(glsl, vArrayData);
+      if (null != nArrayData) {
+        st.glEnableVertexAttribArray(glsl, nArrayData.getName());
+        st.glVertexAttribPointer(glsl, nArrayData);
+      }
+      if (null != tArrayData) {
+        st.glEnableVertexAttribArray(glsl, tArrayData.getName());
+        st.glVertexAttribPointer(glsl, tArrayData);
+      }
+    } else {
+      st.glDisableVertexAttribArray(glsl, vArrayData.getName());
+      if (null != nArrayData) {
+        st.glDisableVertexAttribArray(glsl, nArrayData.getName());
+      }
+      if (null != tArrayData) {
+        st.glDisableVertexAttribArray(glsl, tArrayData.getName());
+      }
+    }
+  }
+
+  /** Deletes the buffer objects, if the GL is given. */
+  void destroy(GL gl) {
+    if (null != gl && vboName != 0) {
+      int[] tmp = { vboName, iboName };
+      gl.glDeleteBuffers(2, tmp, 0);
+    }
+    vboName = 0;
+    iboName = 0;
+  }
+
+  //----------------------------------------------------------------------
+  // Internals
+  //
+
+  private static class IntArray {
+    int[] data = new int[ 64 ];
+    int size;
+
+    void add(int a) {
+      if (size + 1 > data.length) grow();
+      data[size++] = a;
+    }
+
+    void add(int a, int b) {
+      if (size + 2 > data.length) grow();
+      data[size++] = a;
+      data[size++] = b;
+    }
+
+    void add(int a, int b, int c) {
+      if (size + 3 > data.length) grow();
+      data[size++] = a;
+      data[size++] = b;
+      data[size++] = c;
+    }
+
+    private void grow() {
+      int[] d = new int[data.length * 2];
+      System.arraycopy(data, 0, d, 0, size);
+      data = d;
+    }
+  }
+
+  /**
+   * The parameters a quadric mesh is generated from: the shape,
+   * its dimensions and subdivisions and the quadric state.
+   */
+  static class Key {
+    int shape;
+    float a, b, c, d;
+    int slices, stacks;
+    int drawStyle, normals, orientation;
+    boolean textureFlag;
+
+    Key set(int shape, float a, float b, float c, float d, int slices, int stacks,
+            int drawStyle, int normals, int orientation, boolean textureFlag) {
+      this.shape = shape;
+      this.a = a;
+      this.b = b;
+      this.c = c;
+      this.d = d;
+      this.slices = slices;
+      this.stacks = stacks;
+      this.drawStyle = drawStyle;
+      this.normals = normals;
+      this.orientation = orientation;
+      this.textureFlag = textureFlag;
+      return this;
+    }
+
+    Key copy() {
+      return new Key().set(shape, a, b, c, d, slices, stacks, drawStyle, normals, orientation, textureFlag);
+    }
+
+    public boolean equals(Object o) {
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key k = (Key) o;
+      return shape == k.shape &&
+             Float.floatToIntBits(a) == Float.floatToIntBits(k.a) &&
+             Float.floatToIntBits(b) == Float.floatToIntBits(k.b) &&
+             Float.floatToIntBits(c) == Float.floatToIntBits(k.c) &&
+             Float.floatToIntBits(d) == Float.floatToIntBits(k.d) &&
+             slices == k.slices && stacks == k.stacks &&
+             drawStyle == k.drawStyle && normals == k.normals &&
+             orientation == k.orientation && textureFlag == k.textureFlag;
+    }
+
+    public int hashCode() {
+      int h = shape;
+      h = 31 * h + Float.floatToIntBits(a);
+      h = 31 * h + Float.floatToIntBits(b);
+      h = 31 * h + Float.floatToIntBits(c);
+      h = 31 * h + Float.floatToIntBits(d);
+      h = 31 * h + slices;
+      h = 31 * h + stacks;
+      h = 31 * h + drawStyle;
+      h = 31 * h + normals;
+      h = 31 * h + orientation;
+      return 31 * h + (textureFlag ? 1 : 0);
+    }
+  }
+}
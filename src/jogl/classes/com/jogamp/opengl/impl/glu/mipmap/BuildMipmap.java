@@ -245,6 +245,12 @@ public class BuildMipmap {
     return( 0 );
   }
   
+  /**
+   * Builds the levels from <code>userLevel</code> on, halving each level into the next one.
+   * The next level is computed by a <code>HalveImageJob</code> while the current one is uploaded,
+   * which only runs on worker threads if the property <code>jogl.glu.mipmap.threads</code>
+   * is set, otherwise each level is halved on the calling thread before its upload.
+   */
   public static int gluBuild2DMipmapLevelsCore( GL gl, int target, int internalFormat,
                 int width, int height, int widthPowerOf2, int heightPowerOf2,
                 int format, int type, int userLevel, int baseLevel, int maxLevel,
@@ -378,70 +384,8 @@ public class BuildMipmap {
         return( GLU.GLU_OUT_OF_MEMORY );
       }
       if( dstImage != null ) {
-        switch( type ) {
-          case( GL2.GL_UNSIGNED_BYTE ):
-            HalveImage.halveImage_ubyte( cmpts, width, height, data, dstImage, element_size, rowsize, group_size );
-            break;
-          case( GL2.GL_BYTE ):
-            HalveImage.halveImage_byte( cmpts, width, height, data, dstImage, element_size, rowsize, group_size );
-            break;
-          case( GL2.GL_UNSIGNED_SHORT ):
-            HalveImage.halveImage_ushort( cmpts, width, height, data, dstImage.asShortBuffer(), element_size, rowsize, group_size, myswap_bytes );
-            break;
-          case( GL2.GL_SHORT ):
-            HalveImage.halveImage_short( cmpts, width, height, data, dstImage.asShortBuffer(), element_size, rowsize, group_size, myswap_bytes );
-            break;
-          case( GL2.GL_UNSIGNED_INT ):
-            HalveImage.halveImage_uint( cmpts, width, height, data, dstImage.asIntBuffer(), element_size, rowsize, group_size, myswap_bytes );
-            break;
-          case( GL2.GL_INT ):
-            HalveImage.halveImage_int( cmpts, width, height, data, dstImage.asIntBuffer(), element_size, rowsize, group_size, myswap_bytes );
-            break;
-          case( GL2.GL_FLOAT ):
-            HalveImage.halveImage_float( cmpts, width, height, data, dstImage.asFloatBuffer(), element_size, rowsize, group_size, myswap_bytes );
-            break;
-          case( GL2.GL_UNSIGNED_BYTE_3_3_2 ):
-            assert( format == GL2.GL_RGB );
-            HalveImage.halveImagePackedPixel( 3, new Extract332(), width, height, data, dstImage, element_size, rowsize, myswap_bytes );
-            break;
-          case( GL2.GL_UNSIGNED_BYTE_2_3_3_REV ):
-            assert( format == GL2.GL_RGB );
-            HalveImage.halveImagePackedPixel( 3, new Extract233rev(), width, height, data, dstImage, element_size, rowsize, myswap_bytes );
-            break;
-          case( GL2.GL_UNSIGNED_SHORT_5_6_5 ):
-            HalveImage.halveImagePackedPixel( 3, new Extract565(), width, height, data, dstImage, element_size, rowsize, myswap_bytes );
-            break;
-          case( GL2.GL_UNSIGNED_SHORT_5_6_5_REV ):
-            HalveImage.halveImagePackedPixel( 3, new Extract565rev(), width, height, data, dstImage, element_size, rowsize, myswap_bytes );
-            break;
-          case( GL2.GL_UNSIGNED_SHORT_4_4_4_4 ):
-            HalveImage.halveImagePackedPixel( 4, new Extract4444(), width, height, data, dstImage, element_size, rowsize, myswap_bytes );
-            break;
-          case( GL2.GL_UNSIGNED_SHORT_4_4_4_4_REV ):
-            HalveImage.halveImagePackedPixel( 4, new Extract4444rev(), width, height, data, dstImage, element_size, rowsize, myswap_bytes );
-            break;
-          case( GL2.GL_UNSIGNED_SHORT_5_5_5_1 ):
-            HalveImage.halveImagePackedPixel( 4, new Extract5551(), width, height, data, dstImage, element_size, rowsize, myswap_bytes );
-            break;
-          case( GL2.GL_UNSIGNED_SHORT_1_5_5_5_REV ):
-            HalveImage.halveImagePackedPixel( 4, new Extract1555rev(), width, height, data, dstImage, element_size, rowsize, myswap_bytes );
-            break;
-          case( GL2.GL_UNSIGNED_INT_8_8_8_8 ):
-            HalveImage.halveImagePackedPixel( 4, new Extract8888(), width, height, data, dstImage, element_size, rowsize, myswap_bytes );
-            break;
-          case( GL2.GL_UNSIGNED_INT_8_8_8_8_REV ):
-            HalveImage.halveImagePackedPixel( 4, new Extract8888rev(), width, height, data, dstImage, element_size, rowsize, myswap_bytes );
-            break;
-          case( GL2.GL_UNSIGNED_INT_10_10_10_2 ):
-            HalveImage.halveImagePackedPixel( 4, new Extract1010102(), width, height, data, dstImage, element_size, rowsize, myswap_bytes );
-            break;
-          case( GL2.GL_UNSIGNED_INT_2_10_10_10_REV ):
-            HalveImage.halveImagePackedPixel( 4, new Extract2101010rev(), width, height, data, dstImage, element_size, rowsize, myswap_bytes );
-            break;
-          default:
-            assert( false );
-            break;
-        }
+        HalveImageJob.start( type, cmpts, width, height, data, dstImage, element_size,
+                             rowsize, group_size, myswap_bytes ).finish();
       }
       newwidth = width / 2;
       newheight = height / 2;
@@ -672,6 +616,12 @@ public class BuildMipmap {
     }
     
     gl.glPixelStorei( GL2.GL_UNPACK_SWAP_BYTES, GL2.GL_FALSE );
+    // compute the next level on the worker threads while this one is uploaded
+    HalveImageJob next = null;
+    if( level < levels ) {
+      next = HalveImageJob.start( type, cmpts, newwidth, newheight, srcImage, dstImage,
+                                  element_size, rowsize, group_size, myswap_bytes );
+    }
     if( baseLevel <= level && level <= maxLevel ) {
       srcImage.rewind();
       gl.glTexImage2D( target, level, internalFormat, newwidth, newheight, 0, format, type, srcImage );
@@ -688,72 +638,7 @@ public class BuildMipmap {
     
     level++;  // update current level for the loop
     for( ; level <= levels; level++ ) {
-      srcImage.rewind();
-      dstImage.rewind();
-      switch( type ) {
-        case( GL2.GL_UNSIGNED_BYTE ):
-          HalveImage.halveImage_ubyte( cmpts, newwidth, newheight, srcImage, dstImage, element_size, rowsize, group_size );
-          break;
-        case( GL2.GL_BYTE ):
-          HalveImage.halveImage_byte( cmpts, newwidth, newheight, srcImage, dstImage, element_size, rowsize, group_size );
-          break;
-        case( GL2.GL_UNSIGNED_SHORT ):
-          HalveImage.halveImage_ushort( cmpts, newwidth, newheight, srcImage, dstImage.asShortBuffer(), element_size, rowsize, group_size, myswap_bytes );
-          break;
-        case( GL2.GL_SHORT ):
-          HalveImage.halveImage_short( cmpts, newwidth, newheight, srcImage, dstImage.asShortBuffer(), element_size, rowsize, group_size, myswap_bytes );
-          break;
-        case( GL2.GL_UNSIGNED_INT ):
-          HalveImage.halveImage_uint( cmpts, newwidth, newheight, srcImage, dstImage.asIntBuffer(), element_size, rowsize, group_size, myswap_bytes );
-          break;
-        case( GL2.GL_INT ):
-          HalveImage.halveImage_int( cmpts, newwidth, newheight, srcImage, dstImage.asIntBuffer(), element_size, rowsize, group_size, myswap_bytes );
-          break;
-        case( GL2.GL_FLOAT ):
-          HalveImage.halveImage_float( cmpts, newwidth, newheight, srcImage, dstImage.asFloatBuffer(), element_size, rowsize, group_size, myswap_bytes );
-          break;
-        case( GL2.GL_UNSIGNED_BYTE_3_3_2 ):
-          assert( format == GL2.GL_RGB );
-          HalveImage.halveImagePackedPixel( 3, new Extract332(), newwidth, newheight, srcImage, dstImage, element_size, rowsize, myswap_bytes );
-            break;
-        case( GL2.GL_UNSIGNED_BYTE_2_3_3_REV ):
-          assert( format == GL2.GL_RGB );
-          HalveImage.halveImagePackedPixel( 3, new Extract233rev(), newwidth, newheight, srcImage, dstImage, element_size, rowsize, myswap_bytes );
-            break;
-        case( GL2.GL_UNSIGNED_SHORT_5_6_5 ):
-          HalveImage.halveImagePackedPixel( 3, new Extract565(), newwidth, newheight, srcImage, dstImage, element_size, rowsize, myswap_bytes );
-            break;
-        case( GL2.GL_UNSIGNED_SHORT_5_6_5_REV ):
-          HalveImage.halveImagePackedPixel( 3, new Extract565rev(), newwidth, newheight, srcImage, dstImage, element_size, rowsize, myswap_bytes );
-            break;
-        case( GL2.GL_UNSIGNED_SHORT_4_4_4_4 ):
-          HalveImage.halveImagePackedPixel( 4, new Extract4444(), newwidth, newheight, srcImage, dstImage, element_size, rowsize, myswap_bytes );
-            break;
-        case( GL2.GL_UNSIGNED_SHORT_4_4_4_4_REV ):
-          HalveImage.halveImagePackedPixel( 4, new Extract4444rev(), newwidth, newheight, srcImage, dstImage, element_size, rowsize, myswap_bytes );
-            break;
-        case( GL2.GL_UNSIGNED_SHORT_5_5_5_1 ):
-          HalveImage.halveImagePackedPixel( 4, new Extract5551(), newwidth, newheight, srcImage, dstImage, element_size, rowsize, myswap_bytes );
-            break;
-        case( GL2.GL_UNSIGNED_SHORT_1_5_5_5_REV ):
-          HalveImage.halveImagePackedPixel( 4, new Extract1555rev(), newwidth, newheight, srcImage, dstImage, element_size, rowsize, myswap_bytes );
-            break;
-        case( GL2.GL_UNSIGNED_INT_8_8_8_8 ):
-          HalveImage.halveImagePackedPixel( 4, new Extract8888(), newwidth, newheight, srcImage, dstImage, element_size, rowsize, myswap_bytes );
-            break;
-        case( GL2.GL_UNSIGNED_INT_8_8_8_8_REV ):
-          HalveImage.halveImagePackedPixel( 4, new Extract8888rev(), newwidth, newheight, srcImage, dstImage, element_size, rowsize, myswap_bytes );
-            break;
-        case( GL2.GL_UNSIGNED_INT_10_10_10_2 ):
-          HalveImage.halveImagePackedPixel( 4, new Extract1010102(), newwidth, newheight, srcImage, dstImage, element_size, rowsize, myswap_bytes );
-            break;
-        case( GL2.GL_UNSIGNED_INT_2_10_10_10_REV ):
-          HalveImage.halveImagePackedPixel( 4, new Extract2101010rev(), newwidth, newheight, srcImage, dstImage, element_size, rowsize, myswap_bytes );
-            break;
-        default:
-          assert( false );
-          break;
-      }
+      next.finish();
       
       // swap dstImage and srcImage
       tempImage = srcImage;
@@ -767,6 +652,13 @@ public class BuildMipmap {
       if( newheight > 1 ) {
         newheight /= 2;
       }
+      
+      // compute the next level while this one is uploaded; dstImage held
+      // the previous level, which has been copied by GL already
+      if( level < levels ) {
+        next = HalveImageJob.start( type, cmpts, newwidth, newheight, srcImage, dstImage,
+                                    element_size, rowsize, group_size, myswap_bytes );
+      }
       // compute amount to pad per row if any
       int rowPad = rowsize % psm.getUnpackAlignment();
       
@@ -73,14 +73,10 @@ public class HalveImage {
     for( i = 0; i < newheight; i++ ) {
       for( j = 0; j < newwidth; j++ ) {
         for( k = 0; k < components; k++ ) {
-          datain.position( t );
-          temp = datain.get();
-          datain.position( t + components );
-          temp += datain.get();
-          datain.position( t + delta );
-          temp += datain.get();
-          datain.position( t + delta + components );
-          temp +=datain.get();
+          temp = datain.get( t );
+          temp += datain.get( t + components );
+          temp += datain.get( t + delta );
+          temp +=datain.get( t + delta + components );
           temp += 2;
           temp /= 4;
           dataout.put( temp );
@@ -112,19 +108,21 @@ public class HalveImage {
     s = 0;
     t = 0;
     
+    // Tightly packed bytes without row padding, e.g. RGB8 and RGBA8
+    if( element_size == 1 && group_size == components && ysize == width * group_size && width % 2 == 0 ) {
+      halveImage_ubyte_rows( components, newwidth, newheight, datain, dataout, ysize );
+      return;
+    }
+    
     int temp = 0;
     // piece of cake
     for( i = 0; i < newheight; i++ ) {
       for( j = 0; j < newwidth; j++ ) {
         for( k = 0; k < components; k++ ) {
-          datain.position( t );
-          temp = ( 0x000000FF & datain.get() );
-          datain.position( t + group_size );
-          temp += ( 0x000000FF & datain.get() );
-          datain.position( t + ysize );
-          temp += ( 0x000000FF & datain.get() );
-          datain.position( t + ysize + group_size );
-          temp += ( 0x000000FF & datain.get() ) + 2;
+          temp = ( 0x000000FF & datain.get( t ) );
+          temp += ( 0x000000FF & datain.get( t + group_size ) );
+          temp += ( 0x000000FF & datain.get( t + ysize ) );
+          temp += ( 0x000000FF & datain.get( t + ysize + group_size ) ) + 2;
           dataout.put( (byte)(temp / 4) );
           t += element_size;
         }
@@ -134,6 +132,46 @@ public class HalveImage {
     }
   }
   
+  /**
+   * Averages two source rows at a time, which are copied in bulk into arrays
+   * instead of reading each byte on its own.
+   */
+  private static void halveImage_ubyte_rows( int components, int newwidth, int newheight,
+                                             ByteBuffer datain, ByteBuffer dataout, int ysize ) {
+    byte[] row0 = new byte[ ysize ];
+    byte[] row1 = new byte[ ysize ];
+    byte[] out = new byte[ newwidth * components ];
+    int i, j, k, s, d;
+    
+    for( i = 0; i < newheight; i++ ) {
+      datain.position( i * 2 * ysize );
+      datain.get( row0 );
+      datain.get( row1 );
+      if( components == 4 ) {
+        for( s = 0, d = 0; d < out.length; s += 8, d += 4 ) {
+          out[d]   = (byte)( ( (0xFF & row0[s])   + (0xFF & row0[s+4]) + (0xFF & row1[s])   + (0xFF & row1[s+4]) + 2 ) >> 2 );
+          out[d+1] = (byte)( ( (0xFF & row0[s+1]) + (0xFF & row0[s+5]) + (0xFF & row1[s+1]) + (0xFF & row1[s+5]) + 2 ) >> 2 );
+          out[d+2] = (byte)( ( (0xFF & row0[s+2]) + (0xFF & row0[s+6]) + (0xFF & row1[s+2]) + (0xFF & row1[s+6]) + 2 ) >> 2 );
+          out[d+3] = (byte)( ( (0xFF & row0[s+3]) + (0xFF & row0[s+7]) + (0xFF & row1[s+3]) + (0xFF & row1[s+7]) + 2 ) >> 2 );
+        }
+      } else if( components == 3 ) {
+        for( s = 0, d = 0; d < out.length; s += 6, d += 3 ) {
+          out[d]   = (byte)( ( (0xFF & row0[s])   + (0xFF & row0[s+3]) + (0xFF & row1[s])   + (0xFF & row1[s+3]) + 2 ) >> 2 );
+          out[d+1] = (byte)( ( (0xFF & row0[s+1]) + (0xFF & row0[s+4]) + (0xFF & row1[s+1]) + (0xFF & row1[s+4]) + 2 ) >> 2 );
+          out[d+2] = (byte)( ( (0xFF & row0[s+2]) + (0xFF & row0[s+5]) + (0xFF & row1[s+2]) + (0xFF & row1[s+5]) + 2 ) >> 2 );
+        }
+      } else {
+        for( j = 0, s = 0, d = 0; j < newwidth; j++, s += components ) {
+          for( k = 0; k < components; k++, s++, d++ ) {
+            out[d] = (byte)( ( (0xFF & row0[s]) + (0xFF & row0[s+components]) +
+                               (0xFF & row1[s]) + (0xFF & row1[s+components]) + 2 ) >> 2 );
+          }
+        }
+      }
+      dataout.put( out );
+    }
+  }
+  
   public static void halve1Dimage_ubyte( int components, int width, int height,
                       ByteBuffer datain, ByteBuffer dataout, 
                       int element_size, int ysize, int group_size ) {
@@ -154,10 +192,8 @@ public class HalveImage {
       for( jj = 0; jj < halfWidth; jj++ ) {
         int kk;
         for( kk = 0; kk < components; kk++ ) {
-          datain.position( src );
-          temp = ( 0x000000FF & datain.get() );
-          datain.position( src + group_size );
-          temp += ( 0x000000FF & datain.get() );
+          temp = ( 0x000000FF & datain.get( src ) );
+          temp += ( 0x000000FF & datain.get( src + group_size ) );
           temp /= 2;
           dataout.put( (byte)temp );
           /*
@@ -181,10 +217,8 @@ public class HalveImage {
       for( jj = 0; jj < halfHeight; jj++ ) {
         int kk;
         for( kk = 0; kk < components; kk++ ) {
-          datain.position( src );
-          temp = ( 0x000000FF & datain.get() );
-          datain.position( src + ysize );
-          temp += ( 0x000000FF & datain.get() );
+          temp = ( 0x000000FF & datain.get( src ) );
+          temp += ( 0x000000FF & datain.get( src + ysize ) );
           temp /= 2;
           dataout.put( (byte)temp );
           /*
@@ -226,14 +260,10 @@ public class HalveImage {
     for( i = 0; i < newheight; i++ ) {
       for( j = 0; j < newwidth; j++ ) {
         for( k = 0; k < components; k++ ) {
-          datain.position( t );
-          temp = datain.get();
-          datain.position( t + group_size );
-          temp += datain.get();
-          datain.position( t + ysize );
-          temp += datain.get();
-          datain.position( t + ysize + group_size );
-          temp += datain.get();
+          temp = datain.get( t );
+          temp += datain.get( t + group_size );
+          temp += datain.get( t + ysize );
+          temp += datain.get( t + ysize + group_size );
           temp += 2;
           temp /= 4;
           dataout.put( temp );
@@ -265,10 +295,8 @@ public class HalveImage {
       for( jj = 0; jj < halfWidth; jj++ ) {
         int kk;
         for( kk = 0; kk < components; kk++ ) {
-          datain.position( src );
-          temp = datain.get();
-          datain.position( src + group_size );
-          temp += datain.get();
+          temp = datain.get( src );
+          temp += datain.get( src + group_size );
           temp /= 2;
           dataout.put( temp );
           src += element_size;
@@ -288,10 +316,8 @@ public class HalveImage {
       for( jj = 0; jj < halfHeight; jj++ ) {
         int kk;
         for( kk = 0; kk < components; kk++ ) {
-          datain.position( src );
-          temp = datain.get();
-          datain.position( src + ysize );
-          temp += datain.get();
+          temp = datain.get( src );
+          temp += datain.get( src + ysize );
           temp /= 2;
           src += element_size;
           dest++;
@@ -328,14 +354,10 @@ public class HalveImage {
       for( i = 0; i < newheight; i++ ) {
         for( j = 0; j < newwidth; j++ ) {
           for( k = 0; k < components; k++ ) {
-            datain.position( t );
-            temp = ( 0x0000FFFF & datain.getShort() );
-            datain.position( t + group_size );
-            temp += ( 0x0000FFFF & datain.getShort() );
-            datain.position( t + ysize );
-            temp += ( 0x0000FFFF & datain.getShort() );
-            datain.position( t + ysize + group_size );
-            temp += ( 0x0000FFFF & datain.getShort() );
+            temp = ( 0x0000FFFF & datain.getShort( t ) );
+            temp += ( 0x0000FFFF & datain.getShort( t + group_size ) );
+            temp += ( 0x0000FFFF & datain.getShort( t + ysize ) );
+            temp += ( 0x0000FFFF & datain.getShort( t + ysize + group_size ) );
             dataout.put( (short)( ( temp + 2 ) / 4 ) );
             t += element_size;
           }
@@ -347,14 +369,10 @@ public class HalveImage {
       for( i = 0; i < newheight; i++ ) {
         for( j = 0; j < newwidth; j++ ) {
           for( k = 0; k < components; k++ ) {
-            datain.position( t );
-            temp = ( 0x0000FFFF & Mipmap.GLU_SWAP_2_BYTES( datain.getShort() ) );
-            datain.position( t + group_size );
-            temp += ( 0x0000FFFF & Mipmap.GLU_SWAP_2_BYTES( datain.getShort() ) );
-            datain.position( t + ysize );
-            temp += ( 0x0000FFFF & Mipmap.GLU_SWAP_2_BYTES( datain.getShort() ) );
-            datain.position( t + ysize + group_size );
-            temp += ( 0x0000FFFF & Mipmap.GLU_SWAP_2_BYTES( datain.getShort() ) );
+            temp = ( 0x0000FFFF & Mipmap.GLU_SWAP_2_BYTES( datain.getShort( t ) ) );
+            temp += ( 0x0000FFFF & Mipmap.GLU_SWAP_2_BYTES( datain.getShort( t + group_size ) ) );
+            temp += ( 0x0000FFFF & Mipmap.GLU_SWAP_2_BYTES( datain.getShort( t + ysize ) ) );
+            temp += ( 0x0000FFFF & Mipmap.GLU_SWAP_2_BYTES( datain.getShort( t + ysize + group_size ) ) );
             dataout.put( (short)( ( temp + 2 ) / 4 ) );
             t += element_size;
           }
@@ -386,15 +404,11 @@ public class HalveImage {
         for( kk = 0; kk < halfHeight; kk++ ) {
           int[] ushort = new int[BOX2];
           if( myswap_bytes ) {
-            datain.position( src );
-            ushort[0] = ( 0x0000FFFF & Mipmap.GLU_SWAP_2_BYTES( datain.getShort() ) );
-            datain.position( src + group_size );
-            ushort[1] = (0x0000FFFF & Mipmap.GLU_SWAP_2_BYTES( datain.getShort() ) );
+            ushort[0] = ( 0x0000FFFF & Mipmap.GLU_SWAP_2_BYTES( datain.getShort( src ) ) );
+            ushort[1] = (0x0000FFFF & Mipmap.GLU_SWAP_2_BYTES( datain.getShort( src + group_size ) ) );
           } else {
-            datain.position( src );
-            ushort[0] = (0x0000FFFF & datain.getShort() );
-            datain.position( src + group_size );
-            ushort[1] = (0x0000FFFF & datain.getShort() );
+            ushort[0] = (0x0000FFFF & datain.getShort( src ) );
+            ushort[1] = (0x0000FFFF & datain.getShort( src + group_size ) );
           }
           dataout.put( (short)( (ushort[0] + ushort[1]) / 2 ) );
           src += element_size;
@@ -416,15 +430,11 @@ public class HalveImage {
         for( kk = 0; kk < components; kk++ ) {
           int[] ushort = new int[BOX2];
           if( myswap_bytes ) {
-            datain.position( src );
-            ushort[0] = ( 0x0000FFFF & Mipmap.GLU_SWAP_2_BYTES( datain.getShort() ) );
-            datain.position( src + ysize );
-            ushort[0] = ( 0x0000FFFF & Mipmap.GLU_SWAP_2_BYTES( datain.getShort() ) );
+            ushort[0] = ( 0x0000FFFF & Mipmap.GLU_SWAP_2_BYTES( datain.getShort( src ) ) );
+            ushort[0] = ( 0x0000FFFF & Mipmap.GLU_SWAP_2_BYTES( datain.getShort( src + ysize ) ) );
           } else {
-            datain.position( src );
-            ushort[0] = ( 0x0000FFFF & datain.getShort() );
-            datain.position( src + ysize );
-            ushort[1] = ( 0x0000FFFF & datain.getShort() );
+            ushort[0] = ( 0x0000FFFF & datain.getShort( src ) );
+            ushort[1] = ( 0x0000FFFF & datain.getShort( src + ysize ) );
           }
           dataout.put( (short)((ushort[0] + ushort[1]) / 2) );
           src += element_size;
@@ -462,14 +472,10 @@ public class HalveImage {
       for( i = 0; i < newheight; i++ ) {
         for( j = 0; j < newwidth; j++ ) {
           for( k = 0; k < components; k++ ) {
-            datain.position( t );
-            temp = datain.getShort();
-            datain.position( t + group_size );
-            temp += datain.getShort();
-            datain.position( t + ysize );
-            temp += datain.getShort();
-            datain.position( t + ysize + group_size );
-            temp += datain.getShort();
+            temp = datain.getShort( t );
+            temp += datain.getShort( t + group_size );
+            temp += datain.getShort( t + ysize );
+            temp += datain.getShort( t + ysize + group_size );
             temp += 2;
             temp /= 4;
             dataout.put( (short)temp );
@@ -485,14 +491,10 @@ public class HalveImage {
           for( k = 0; k < components; k++ ) {
             short b;
             int buf;
-            datain.position( t );
-            temp = Mipmap.GLU_SWAP_2_BYTES( datain.getShort() );
-            datain.position( t + group_size );
-            temp += Mipmap.GLU_SWAP_2_BYTES( datain.getShort() );
-            datain.position( t + ysize );
-            temp += Mipmap.GLU_SWAP_2_BYTES( datain.getShort() );
-            datain.position( t + ysize + group_size );
-            temp += Mipmap.GLU_SWAP_2_BYTES( datain.getShort() );
+            temp = Mipmap.GLU_SWAP_2_BYTES( datain.getShort( t ) );
+            temp += Mipmap.GLU_SWAP_2_BYTES( datain.getShort( t + group_size ) );
+            temp += Mipmap.GLU_SWAP_2_BYTES( datain.getShort( t + ysize ) );
+            temp += Mipmap.GLU_SWAP_2_BYTES( datain.getShort( t + ysize + group_size ) );
             temp += 2;
             temp /= 4;
             dataout.put( temp );
@@ -526,15 +528,11 @@ public class HalveImage {
         for( kk = 0; kk < components; kk++ ) {
           short[] sshort = new short[BOX2];
           if( myswap_bytes ) {
-            datain.position( src );
-            sshort[0] = Mipmap.GLU_SWAP_2_BYTES( datain.getShort() );
-            datain.position( src + group_size );
-            sshort[1] = Mipmap.GLU_SWAP_2_BYTES( datain.getShort() );
+            sshort[0] = Mipmap.GLU_SWAP_2_BYTES( datain.getShort( src ) );
+            sshort[1] = Mipmap.GLU_SWAP_2_BYTES( datain.getShort( src + group_size ) );
           } else {
-            datain.position( src );
-            sshort[0] = datain.getShort();
-            datain.position( src + group_size );
-            sshort[1] = datain.getShort();
+            sshort[0] = datain.getShort( src );
+            sshort[1] = datain.getShort( src + group_size );
           }
           dataout.put( (short)(( sshort[0] + sshort[1] ) / 2) );
           src += element_size;
@@ -556,15 +554,11 @@ public class HalveImage {
         for( kk = 0; kk < components; kk++ ) {
           short[] sshort = new short[BOX2];
           if( myswap_bytes ) {
-            datain.position( src );
-            sshort[0] = Mipmap.GLU_SWAP_2_BYTES( datain.getShort() );
-            datain.position( src + ysize );
-            sshort[1] = Mipmap.GLU_SWAP_2_BYTES( datain.getShort() );
+            sshort[0] = Mipmap.GLU_SWAP_2_BYTES( datain.getShort( src ) );
+            sshort[1] = Mipmap.GLU_SWAP_2_BYTES( datain.getShort( src + ysize ) );
           } else {
-            datain.position( src );
-            sshort[0] = datain.getShort();
-            datain.position( src + ysize );
-            sshort[1] = datain.getShort();
+            sshort[0] = datain.getShort( src );
+            sshort[1] = datain.getShort( src + ysize );
           }
           dataout.put( (short)(( sshort[0] + sshort[1] ) / 2) );
           src += element_size;
@@ -603,14 +597,10 @@ public class HalveImage {
       for( i = 0; i < newheight; i++ ) {
         for( j = 0; j < newwidth; j++ ) {
           for( k = 0; k < components; k++ ) {
-            datain.position( t );
-            temp = (0x000000007FFFFFFFL & datain.getInt() );
-            datain.position( t + group_size );
-            temp += (0x000000007FFFFFFFL & datain.getInt() );
-            datain.position( t + ysize );
-            temp += (0x000000007FFFFFFFL & datain.getInt() );
-            datain.position( t + ysize + group_size );
-            temp += (0x000000007FFFFFFFL & datain.getInt() );
+            temp = (0x000000007FFFFFFFL & datain.getInt( t ) );
+            temp += (0x000000007FFFFFFFL & datain.getInt( t + group_size ) );
+            temp += (0x000000007FFFFFFFL & datain.getInt( t + ysize ) );
+            temp += (0x000000007FFFFFFFL & datain.getInt( t + ysize + group_size ) );
             dataout.put( (int)( ( temp / 4 ) + 0.5 ) );
             t += element_size;
           }
@@ -624,14 +614,10 @@ public class HalveImage {
           for( k = 0; k < components; k++ ) {
             // need to cast to double to hold large unsigned ints
             double buf;
-            datain.position( t );
-            buf = ( 0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt() ) );
-            datain.position( t + group_size );
-            buf += ( 0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt() ) );
-            datain.position( t + ysize );
-            buf += ( 0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt() ) );
-            datain.position( t + ysize + group_size );
-            buf += ( 0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt() ) );
+            buf = ( 0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt( t ) ) );
+            buf += ( 0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt( t + group_size ) ) );
+            buf += ( 0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt( t + ysize ) ) );
+            buf += ( 0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt( t + ysize + group_size ) ) );
             temp /= 4;
             temp += 0.5;
             dataout.put( (int)temp );
@@ -665,15 +651,11 @@ public class HalveImage {
         for( kk = 0; kk < halfHeight; kk++ ) {
           long[] uint = new long[BOX2];
           if( myswap_bytes ) {
-            datain.position( src );
-            uint[0] = ( 0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt() ) );
-            datain.position( src + group_size );
-            uint[1] = ( 0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt() ) );
+            uint[0] = ( 0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt( src ) ) );
+            uint[1] = ( 0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt( src + group_size ) ) );
           } else {
-            datain.position( src );
-            uint[0] = ( 0x00000000FFFFFFFF & datain.getInt() );
-            datain.position( src + group_size );
-            uint[1] = (0x00000000FFFFFFFF & datain.getInt() );
+            uint[0] = ( 0x00000000FFFFFFFF & datain.getInt( src ) );
+            uint[1] = (0x00000000FFFFFFFF & datain.getInt( src + group_size ) );
           }
           dataout.put( (int)( ( uint[0] + uint[1] ) / 2.0 ) );
           src += element_size;
@@ -695,15 +677,11 @@ public class HalveImage {
         for( kk = 0; kk < components; kk++ ) {
           long[] uint = new long[BOX2];
           if( myswap_bytes ) {
-            datain.position( src );
-            uint[0] = ( 0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt() ) );
-            datain.position( src + group_size );
-            uint[0] = ( 0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt() ) );
+            uint[0] = ( 0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt( src ) ) );
+            uint[0] = ( 0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt( src + group_size ) ) );
           } else {
-            datain.position( src );
-            uint[0] = ( 0x00000000FFFFFFFF & datain.getInt() );
-            datain.position( src + ysize );
-            uint[1] = ( 0x00000000FFFFFFFF & datain.getInt() );
+            uint[0] = ( 0x00000000FFFFFFFF & datain.getInt( src ) );
+            uint[1] = ( 0x00000000FFFFFFFF & datain.getInt( src + ysize ) );
           }
           dataout.put( (int)( ( uint[0] + uint[1] ) / 2.0 ) );
           src += element_size;
@@ -742,14 +720,10 @@ public class HalveImage {
       for( i = 0; i < newheight; i++ ) {
         for( j = 0; j < newwidth; j++ ) {
           for( k = 0; k < components; k++ ) {
-            datain.position( t );
-            temp = datain.getInt();
-            datain.position( t + group_size );
-            temp += datain.getInt();
-            datain.position( t + ysize );
-            temp += datain.getInt();
-            datain.position( t + ysize + group_size );
-            temp += datain.getInt();
+            temp = datain.getInt( t );
+            temp += datain.getInt( t + group_size );
+            temp += datain.getInt( t + ysize );
+            temp += datain.getInt( t + ysize + group_size );
             temp = (int)( ( temp / 4.0f ) + 0.5f );
             dataout.put( temp );
             t += element_size;
@@ -764,17 +738,13 @@ public class HalveImage {
           for( k = 0; k < components; k++ ) {
             long b;
             float buf;
-            datain.position( t );
-            b = ( 0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt() ) );
+            b = ( 0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt( t ) ) );
             buf = b;
-            datain.position( t + group_size );
-            b = ( 0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt() ) );
+            b = ( 0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt( t + group_size ) ) );
             buf += b;
-            datain.position( t + ysize );
-            b = ( 0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt() ) );
+            b = ( 0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt( t + ysize ) ) );
             buf += b;
-            datain.position( t + ysize + group_size );
-            b = ( 0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt() ) );
+            b = ( 0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt( t + ysize + group_size ) ) );
             buf += b;
             dataout.put( (int)( ( buf / 4.0f ) + 0.5f ) );
             t += element_size;
@@ -807,15 +777,11 @@ public class HalveImage {
         for( kk = 0; kk < components; kk++ ) {
           long[] uint = new long[BOX2];
           if( myswap_bytes ) {
-            datain.position( src );
-            uint[0] = ( 0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt() ) );
-            datain.position( src + group_size );
-            uint[1] = ( 0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt() ) );
+            uint[0] = ( 0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt( src ) ) );
+            uint[1] = ( 0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt( src + group_size ) ) );
           } else {
-            datain.position( src );
-            uint[0] = ( 0x00000000FFFFFFFF & datain.getInt() );
-            datain.position( src + group_size );
-            uint[1] = ( 0x00000000FFFFFFFF & datain.getInt() );
+            uint[0] = ( 0x00000000FFFFFFFF & datain.getInt( src ) );
+            uint[1] = ( 0x00000000FFFFFFFF & datain.getInt( src + group_size ) );
           }
           dataout.put( (int)( ( (float)uint[0] + (float)uint[1] ) / 2.0f) );
           src += element_size;
@@ -837,15 +803,11 @@ public class HalveImage {
         for( kk = 0; kk < components; kk++ ) {
           long[] uint = new long[BOX2];
           if( myswap_bytes ) {
-            datain.position( src );
-            uint[0] = ( 0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt() ) );
-            datain.position( src + ysize );
-            uint[1] = ( 0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt() ) );
+            uint[0] = ( 0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt( src ) ) );
+            uint[1] = ( 0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt( src + ysize ) ) );
           } else {
-            datain.position( src );
-            uint[0] = ( 0x00000000FFFFFFFF & datain.getInt() );
-            datain.position( src + ysize );
-            uint[1] = ( 0x00000000FFFFFFFF & datain.getInt() );
+            uint[0] = ( 0x00000000FFFFFFFF & datain.getInt( src ) );
+            uint[1] = ( 0x00000000FFFFFFFF & datain.getInt( src + ysize ) );
           }
           dataout.put( (int)(( (float)uint[0] + (float)uint[1] ) / 2.0f) );
           src += element_size;
@@ -883,13 +845,10 @@ public class HalveImage {
       for( i = 0; i < newheight; i++ ) {
         for( j = 0; j < newwidth; j++ ) {
           for( k = 0; k < components; k++ ) {
-            datain.position( t );
-            temp = datain.getFloat();
-            datain.position( t + group_size );
-            temp += datain.getFloat();
-            datain.position( t + ysize );
-            temp += datain.getFloat();
-            datain.position( t + ysize + group_size );
+            temp = datain.getFloat( t );
+            temp += datain.getFloat( t + group_size );
+            temp += datain.getFloat( t + ysize );
+            temp += datain.getFloat( t + ysize + group_size );
             temp /= 4.0f;
             dataout.put( temp );
             t += element_size;
@@ -903,14 +862,10 @@ public class HalveImage {
         for( j = 0; j < newwidth; j++ ) {
           for( k = 0; k < components; k++ ) {
             float buf;
-            datain.position( t );
-            buf = Mipmap.GLU_SWAP_4_BYTES( datain.getFloat() );
-            datain.position( t + group_size );
-            buf += Mipmap.GLU_SWAP_4_BYTES( datain.getFloat() );
-            datain.position( t + ysize );
-            buf += Mipmap.GLU_SWAP_4_BYTES( datain.getFloat() );
-            datain.position( t + ysize + group_size );
-            buf += Mipmap.GLU_SWAP_4_BYTES( datain.getFloat() );
+            buf = Mipmap.GLU_SWAP_4_BYTES( datain.getFloat( t ) );
+            buf += Mipmap.GLU_SWAP_4_BYTES( datain.getFloat( t + group_size ) );
+            buf += Mipmap.GLU_SWAP_4_BYTES( datain.getFloat( t + ysize ) );
+            buf += Mipmap.GLU_SWAP_4_BYTES( datain.getFloat( t + ysize + group_size ) );
             dataout.put( buf / 4.0f );
             t += element_size;
           }
@@ -942,15 +897,11 @@ public class HalveImage {
         for( kk = 0; kk < components; kk++ ) {
           float[] sfloat = new float[BOX2];
           if( myswap_bytes ) {
-            datain.position( src );
-            sfloat[0] = Mipmap.GLU_SWAP_4_BYTES( datain.getFloat() );
-            datain.position( src + group_size );
-            sfloat[1] = Mipmap.GLU_SWAP_4_BYTES( datain.getFloat() );
+            sfloat[0] = Mipmap.GLU_SWAP_4_BYTES( datain.getFloat( src ) );
+            sfloat[1] = Mipmap.GLU_SWAP_4_BYTES( datain.getFloat( src + group_size ) );
           } else {
-            datain.position( src );
-            sfloat[0] = datain.getFloat();
-            datain.position( src + group_size );
-            sfloat[1] = datain.getFloat();
+            sfloat[0] = datain.getFloat( src );
+            sfloat[1] = datain.getFloat( src + group_size );
           }
           dataout.put( (sfloat[0] + sfloat[1]) / 2.0f );
           src += element_size;
@@ -972,15 +923,11 @@ public class HalveImage {
         for( kk = 0; kk < components; kk++ ) {
           float[] sfloat = new float[BOX2];
           if( myswap_bytes ) {
-            datain.position( src );
-            sfloat[0] = Mipmap.GLU_SWAP_4_BYTES( datain.getFloat() );
-            datain.position( src + ysize );
-            sfloat[1] = Mipmap.GLU_SWAP_4_BYTES( datain.getFloat() );
+            sfloat[0] = Mipmap.GLU_SWAP_4_BYTES( datain.getFloat( src ) );
+            sfloat[1] = Mipmap.GLU_SWAP_4_BYTES( datain.getFloat( src + ysize ) );
           } else {
-            datain.position( src );
-            sfloat[0] = datain.getFloat();
-            datain.position( src + ysize );
-            sfloat[1] = datain.getFloat();
+            sfloat[0] = datain.getFloat( src );
+            sfloat[1] = datain.getFloat( src + ysize );
           }
           dataout.put( ( sfloat[0] + sfloat[1] ) / 2.0f );
           src += element_size;
@@ -997,6 +944,13 @@ public class HalveImage {
   public static void halveImagePackedPixel( int components, Extract extract, int width, 
           int height, ByteBuffer datain, ByteBuffer dataout, 
           int pixelSizeInBytes, int rowSizeInBytes, boolean isSwap ) {
+    // average the bit fields as integers if the pixel type is known
+    PackedPixel packed = PackedPixel.forExtract( extract );
+    if( packed != null && packed.components == components && packed.pixelSize == pixelSizeInBytes ) {
+      assert( !( width == 1 && height == 1 ) );
+      packed.halveImage( width, height, datain, dataout, rowSizeInBytes, isSwap );
+      return;
+    }
     if( width == 1 || height == 1 ) {
       assert( !( width == 1 && height == 1 ) );
       halve1DimagePackedPixel( components, extract, width, height, datain, dataout,
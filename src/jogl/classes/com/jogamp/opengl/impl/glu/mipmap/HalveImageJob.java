@@ -0,0 +1,290 @@
+
+package com.jogamp.opengl.impl.glu.mipmap;
+
+import javax.media.opengl.GL2;
+import com.jogamp.opengl.impl.Debug;
+import java.nio.*;
+import java.security.AccessController;
+import java.util.LinkedList;
+
+/**
+ * Halves a 2D image of any type supported by {@link HalveImage}, split into
+ * horizontal bands which are processed by a few daemon worker threads
+ * and the thread waiting for the result.
+ * <p>
+ * This allows {@link BuildMipmap} to compute the next mipmap level
+ * while the current one is uploaded on the GL thread: a job is
+ * {@link #start started}, the upload is issued and the job is
+ * {@link #finish finished}, helping with the remaining bands.
+ * <p>
+ * No worker threads are started unless the property
+ * <code>jogl.glu.mipmap.threads</code> is set to their number, at most 16.
+ * By default or with 0 the image is halved in one piece on the calling thread.
+ */
+class HalveImageJob {
+
+  private static final boolean DEBUG = Debug.debug("BuildMipmap");
+
+  /** Images with fewer output bytes per band are not split further. */
+  private static final int MIN_BAND_BYTES = 32 * 1024;
+
+  private static final int THREADS;
+  private static final LinkedList/*<HalveImageJob>*/ queue = new LinkedList/*<HalveImageJob>*/();
+  private static int startedThreads;
+
+  static {
+    int threads = 0;
+    String s = Debug.getProperty( "jogl.glu.mipmap.threads", true, AccessController.getContext() );
+    if( s != null ) {
+      try {
+        threads = Integer.parseInt( s );
+      } catch( NumberFormatException nfe ) {
+      }
+    }
+    THREADS = Math.max( 0, Math.min( threads, 16 ) );
+    if( DEBUG ) {
+      System.err.println( "HalveImageJob: " + THREADS + " worker threads" );
+    }
+  }
+
+  private final int type;
+  private final int components;
+  private final int width;
+  private final int element_size;
+  private final int ysize;
+  private final int group_size;
+  private final boolean myswap_bytes;
+  private final ByteBuffer[] bandIn;
+  private final ByteBuffer[] bandOut;
+  private final int[] bandHeight;
+
+  private int nextBand;
+  private int doneBands;
+  private Throwable error;
+
+  private HalveImageJob( int type, int components, int width, int element_size,
+                         int ysize, int group_size, boolean myswap_bytes, int bands ) {
+    this.type = type;
+    this.components = components;
+    this.width = width;
+    this.element_size = element_size;
+    this.ysize = ysize;
+    this.group_size = group_size;
+    this.myswap_bytes = myswap_bytes;
+    bandIn = new ByteBuffer[ bands ];
+    bandOut = new ByteBuffer[ bands ];
+    bandHeight = new int[ bands ];
+  }
+
+  /**
+   * Starts halving the image in <code>datain</code>, read from index 0
+   * like the kernels of {@link HalveImage}, into <code>dataout</code>,
+   * written from index 0. Neither buffer may be modified until the job
+   * has been {@link #finish finished}, while their positions may be.
+   */
+  static HalveImageJob start( int type, int components, int width, int height,
+                              ByteBuffer datain, ByteBuffer dataout, int element_size,
+                              int ysize, int group_size, boolean myswap_bytes ) {
+    int newheight = height / 2;
+    int outRowBytes = ( width / 2 ) * group_size;
+    int bands = 1;
+    // Bands are only independent if the kernels step exactly two rows per output row
+    if( THREADS > 0 && width % 2 == 0 && height % 2 == 0 && ysize == width * group_size ) {
+      bands = Math.min( Math.min( newheight, ( THREADS + 1 ) * 2 ),
+                        ( outRowBytes * newheight ) / MIN_BAND_BYTES );
+      bands = Math.max( bands, 1 );
+    }
+
+    HalveImageJob job = new HalveImageJob( type, components, width, element_size,
+                                           ysize, group_size, myswap_bytes, bands );
+    if( bands == 1 ) {
+      job.bandIn[0] = slice( datain, 0 );
+      job.bandOut[0] = slice( dataout, 0 );
+      job.bandHeight[0] = height;
+      return( job );
+    }
+    for( int i = 0; i < bands; i++ ) {
+      int row0 = ( newheight * i ) / bands;
+      int row1 = ( newheight * ( i + 1 ) ) / bands;
+      job.bandIn[i] = slice( datain, row0 * 2 * ysize );
+      job.bandOut[i] = slice( dataout, row0 * outRowBytes );
+      job.bandHeight[i] = ( row1 - row0 ) * 2;
+    }
+    synchronized( queue ) {
+      while( startedThreads < THREADS ) {
+        Thread t = new Thread( new Worker(), "HalveImageJob-Worker-" + startedThreads );
+        t.setDaemon( true );
+        t.start();
+        startedThreads++;
+      }
+      queue.addLast( job );
+      queue.notifyAll();
+    }
+    return( job );
+  }
+
+  // Returns a view of the buffer starting at the given index, in the same byte order
+  private static ByteBuffer slice( ByteBuffer buf, int index ) {
+    ByteBuffer dup = buf.duplicate();
+    dup.clear();
+    dup.position( index );
+    return( dup.slice().order( buf.order() ) );
+  }
+
+  /**
+   * Processes the remaining bands on the calling thread and waits for
+   * the ones being processed by the workers.
+   *
+   * @throws RuntimeException if a band failed, rethrowing its exception
+   */
+  void finish() {
+    int band;
+    while( ( band = claimBand() ) >= 0 ) {
+      runBand( band );
+    }
+    synchronized( this ) {
+      boolean interrupted = false;
+      while( doneBands < bandIn.length ) {
+        try {
+          wait();
+        } catch( InterruptedException ie ) {
+          interrupted = true;
+        }
+      }
+      if( interrupted ) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    if( bandIn.length > 1 ) {
+      // Drop the job and its buffers if no worker has done so yet
+      synchronized( queue ) {
+        queue.remove( this );
+      }
+    }
+    if( error instanceof RuntimeException ) {
+      throw (RuntimeException) error;
+    } else if( error instanceof Error ) {
+      throw (Error) error;
+    } else if( error != null ) {
+      throw new RuntimeException( error.toString() );
+    }
+  }
+
+  private synchronized int claimBand() {
+    if( nextBand < bandIn.length ) {
+      return( nextBand++ );
+    }
+    return( -1 );
+  }
+
+  private void runBand( int band ) {
+    try {
+      halve( type, components, width, bandHeight[band], bandIn[band], bandOut[band],
+             element_size, ysize, group_size, myswap_bytes );
+    } catch( Throwable t ) {
+      synchronized( this ) {
+        if( error == null ) {
+          error = t;
+        }
+      }
+    }
+    synchronized( this ) {
+      doneBands++;
+      if( doneBands == bandIn.length ) {
+        notifyAll();
+      }
+    }
+  }
+
+  static class Worker implements Runnable {
+    public void run() {
+      while( true ) {
+        HalveImageJob job;
+        int band;
+        synchronized( queue ) {
+          while( queue.isEmpty() ) {
+            try {
+              queue.wait();
+            } catch( InterruptedException ie ) {
+            }
+          }
+          job = (HalveImageJob) queue.getFirst();
+          band = job.claimBand();
+          if( band < 0 ) {
+            queue.removeFirst();
+            continue;
+          }
+        }
+        job.runBand( band );
+      }
+    }
+  }
+
+  /** Halves a 2D image of the given type on the calling thread. */
+  static void halve( int type, int components, int width, int height,
+                     ByteBuffer datain, ByteBuffer dataout, int element_size,
+                     int ysize, int group_size, boolean myswap_bytes ) {
+    switch( type ) {
+      case( GL2.GL_UNSIGNED_BYTE ):
+        HalveImage.halveImage_ubyte( components, width, height, datain, dataout, element_size, ysize, group_size );
+        break;
+      case( GL2.GL_BYTE ):
+        HalveImage.halveImage_byte( components, width, height, datain, dataout, element_size, ysize, group_size );
+        break;
+      case( GL2.GL_UNSIGNED_SHORT ):
+        HalveImage.halveImage_ushort( components, width, height, datain, dataout.asShortBuffer(), element_size, ysize, group_size, myswap_bytes );
+        break;
+      case( GL2.GL_SHORT ):
+        HalveImage.halveImage_short( components, width, height, datain, dataout.asShortBuffer(), element_size, ysize, group_size, myswap_bytes );
+        break;
+      case( GL2.GL_UNSIGNED_INT ):
+        HalveImage.halveImage_uint( components, width, height, datain, dataout.asIntBuffer(), element_size, ysize, group_size, myswap_bytes );
+        break;
+      case( GL2.GL_INT ):
+        HalveImage.halveImage_int( components, width, height, datain, dataout.asIntBuffer(), element_size, ysize, group_size, myswap_bytes );
+        break;
+      case( GL2.GL_FLOAT ):
+        HalveImage.halveImage_float( components, width, height, datain, dataout.asFloatBuffer(), element_size, ysize, group_size, myswap_bytes );
+        break;
+      case( GL2.GL_UNSIGNED_BYTE_3_3_2 ):
+        HalveImage.halveImagePackedPixel( 3, new Extract332(), width, height, datain, dataout, element_size, ysize, myswap_bytes );
+        break;
+      case( GL2.GL_UNSIGNED_BYTE_2_3_3_REV ):
+        HalveImage.halveImagePackedPixel( 3, new Extract233rev(), width, height, datain, dataout, element_size, ysize, myswap_bytes );
+        break;
+      case( GL2.GL_UNSIGNED_SHORT_5_6_5 ):
+        HalveImage.halveImagePackedPixel( 3, new Extract565(), width, height, datain, dataout, element_size, ysize, myswap_bytes );
+        break;
+      case( GL2.GL_UNSIGNED_SHORT_5_6_5_REV ):
+        HalveImage.halveImagePackedPixel( 3, new Extract565rev(), width, height, datain, dataout, element_size, ysize, myswap_bytes );
+        break;
+      case( GL2.GL_UNSIGNED_SHORT_4_4_4_4 ):
+        HalveImage.halveImagePackedPixel( 4, new Extract4444(), width, height, datain, dataout, element_size, ysize, myswap_bytes );
+        break;
+      case( GL2.GL_UNSIGNED_SHORT_4_4_4_4_REV ):
+        HalveImage.halveImagePackedPixel( 4, new Extract4444rev(), width, height, datain, dataout, element_size, ysize, myswap_bytes );
+        break;
+      case( GL2.GL_UNSIGNED_SHORT_5_5_5_1 ):
+        HalveImage.halveImagePackedPixel( 4, new Extract5551(), width, height, datain, dataout, element_size, ysize, myswap_bytes );
+        break;
+      case( GL2.GL_UNSIGNED_SHORT_1_5_5_5_REV ):
+        HalveImage.halveImagePackedPixel( 4, new Extract1555rev(), width, height, datain, dataout, element_size, ysize, myswap_bytes );
+        break;
+      case( GL2.GL_UNSIGNED_INT_8_8_8_8 ):
+        HalveImage.halveImagePackedPixel( 4, new Extract8888(), width, height, datain, dataout, element_size, ysize, myswap_bytes );
+        break;
+      case( GL2.GL_UNSIGNED_INT_8_8_8_8_REV ):
+        HalveImage.halveImagePackedPixel( 4, new Extract8888rev(), width, height, datain, dataout, element_size, ysize, myswap_bytes );
+        break;
+      case( GL2.GL_UNSIGNED_INT_10_10_10_2 ):
+        HalveImage.halveImagePackedPixel( 4, new Extract1010102(), width, height, datain, dataout, element_size, ysize, myswap_bytes );
+        break;
+      case( GL2.GL_UNSIGNED_INT_2_10_10_10_REV ):
+        HalveImage.halveImagePackedPixel( 4, new Extract2101010rev(), width, height, datain, dataout, element_size, ysize, myswap_bytes );
+        break;
+      default:
+        assert( false );
+        break;
+    }
+  }
+}
@@ -0,0 +1,219 @@
+
+package com.jogamp.opengl.impl.glu.mipmap;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The bit fields of a packed pixel type, e.g. <code>GL_UNSIGNED_SHORT_5_6_5</code>,
+ * used to process whole images of packed pixels as integers instead of
+ * calling an {@link Extract} for every pixel.
+ * <p>
+ * The fields are listed in the component order of the corresponding {@link Extract}.
+ * Pixels are read from absolute indices of the source buffer, swapping their bytes
+ * if requested, and written to absolute indices of the destination buffer
+ * in its byte order, like the {@link Extract} implementations do.
+ */
+final class PackedPixel {
+
+  private static final PackedPixel UBYTE_3_3_2 = new PackedPixel( 1, new int[] { 5, 2, 0 }, new int[] { 3, 3, 2 } );
+  private static final PackedPixel UBYTE_2_3_3_REV = new PackedPixel( 1, new int[] { 0, 3, 6 }, new int[] { 3, 3, 2 } );
+  private static final PackedPixel USHORT_5_6_5 = new PackedPixel( 2, new int[] { 11, 5, 0 }, new int[] { 5, 6, 5 } );
+  private static final PackedPixel USHORT_5_6_5_REV = new PackedPixel( 2, new int[] { 0, 5, 11 }, new int[] { 5, 6, 5 } );
+  private static final PackedPixel USHORT_4_4_4_4 = new PackedPixel( 2, new int[] { 12, 8, 4, 0 }, new int[] { 4, 4, 4, 4 } );
+  private static final PackedPixel USHORT_4_4_4_4_REV = new PackedPixel( 2, new int[] { 0, 4, 8, 12 }, new int[] { 4, 4, 4, 4 } );
+  private static final PackedPixel USHORT_5_5_5_1 = new PackedPixel( 2, new int[] { 11, 6, 1, 0 }, new int[] { 5, 5, 5, 1 } );
+  private static final PackedPixel USHORT_1_5_5_5_REV = new PackedPixel( 2, new int[] { 0, 5, 10, 15 }, new int[] { 5, 5, 5, 1 } );
+  private static final PackedPixel UINT_8_8_8_8 = new PackedPixel( 4, new int[] { 24, 16, 8, 0 }, new int[] { 8, 8, 8, 8 } );
+  private static final PackedPixel UINT_8_8_8_8_REV = new PackedPixel( 4, new int[] { 0, 8, 16, 24 }, new int[] { 8, 8, 8, 8 } );
+  private static final PackedPixel UINT_10_10_10_2 = new PackedPixel( 4, new int[] { 22, 12, 2, 0 }, new int[] { 10, 10, 10, 2 } );
+  private static final PackedPixel UINT_2_10_10_10_REV = new PackedPixel( 4, new int[] { 0, 10, 20, 30 }, new int[] { 10, 10, 10, 2 } );
+
+  /** The size of a pixel in bytes, 1, 2 or 4. */
+  final int pixelSize;
+  /** The number of components. */
+  final int components;
+
+  private final int[] shift;
+  private final int[] mask;
+  private final float[] scale;
+  // true if all four fields are bytes, which are averaged two at a time within an int
+  private final boolean byteFields;
+
+  private PackedPixel( int pixelSize, int[] shift, int[] bits ) {
+    this.pixelSize = pixelSize;
+    this.components = shift.length;
+    this.shift = shift;
+    mask = new int[ components ];
+    scale = new float[ components ];
+    for( int i = 0; i < components; i++ ) {
+      mask[i] = ( 1 << bits[i] ) - 1;
+      scale[i] = 1.0f / mask[i];
+    }
+    byteFields = ( pixelSize == 4 && bits[0] == 8 );
+  }
+
+  /**
+   * Returns the layout of the pixels handled by the given {@link Extract},
+   * or null if it is not one of the packed pixel types of this package.
+   */
+  static PackedPixel forExtract( Extract extract ) {
+    if( extract instanceof Extract8888rev ) {
+      return( UINT_8_8_8_8_REV );
+    } else if( extract instanceof Extract8888 ) {
+      return( UINT_8_8_8_8 );
+    } else if( extract instanceof Extract565 ) {
+      return( USHORT_5_6_5 );
+    } else if( extract instanceof Extract565rev ) {
+      return( USHORT_5_6_5_REV );
+    } else if( extract instanceof Extract4444 ) {
+      return( USHORT_4_4_4_4 );
+    } else if( extract instanceof Extract4444rev ) {
+      return( USHORT_4_4_4_4_REV );
+    } else if( extract instanceof Extract5551 ) {
+      return( USHORT_5_5_5_1 );
+    } else if( extract instanceof Extract1555rev ) {
+      return( USHORT_1_5_5_5_REV );
+    } else if( extract instanceof Extract1010102 ) {
+      return( UINT_10_10_10_2 );
+    } else if( extract instanceof Extract2101010rev ) {
+      return( UINT_2_10_10_10_REV );
+    } else if( extract instanceof Extract332 ) {
+      return( UBYTE_3_3_2 );
+    } else if( extract instanceof Extract233rev ) {
+      return( UBYTE_2_3_3_REV );
+    }
+    return( null );
+  }
+
+  /** Reads the pixel at the given byte index. */
+  int get( ByteBuffer buf, int index, boolean isSwap ) {
+    switch( pixelSize ) {
+      case 1:
+        return( 0x000000FF & buf.get( index ) );
+      case 2:
+        if( isSwap ) {
+          return( 0x0000FFFF & Mipmap.GLU_SWAP_2_BYTES( buf.getShort( index ) ) );
+        }
+        return( 0x0000FFFF & buf.getShort( index ) );
+      default:
+        if( isSwap ) {
+          return( Mipmap.GLU_SWAP_4_BYTES( buf.getInt( index ) ) );
+        }
+        return( buf.getInt( index ) );
+    }
+  }
+
+  /** Writes the pixel to the given byte index. */
+  void put( ByteBuffer buf, int index, int pixel ) {
+    switch( pixelSize ) {
+      case 1:
+        buf.put( index, (byte)pixel );
+        break;
+      case 2:
+        buf.putShort( index, (short)pixel );
+        break;
+      default:
+        buf.putInt( index, pixel );
+        break;
+    }
+  }
+
+  /** Converts the pixel to components in the range [0, 1], like {@link Extract#extract}. */
+  void extract( int pixel, float[] extractComponents ) {
+    for( int i = 0; i < components; i++ ) {
+      extractComponents[i] = ( ( pixel >>> shift[i] ) & mask[i] ) * scale[i];
+    }
+  }
+
+  /** Converts components in the range [0, 1] to a pixel, rounding like {@link Extract#shove}. */
+  int pack( float[] shoveComponents ) {
+    int pixel = 0;
+    for( int i = 0; i < components; i++ ) {
+      int c = (int)( shoveComponents[i] * mask[i] + 0.5f );
+      if( c > mask[i] ) {
+        c = mask[i];
+      } else if( c < 0 ) {
+        c = 0;
+      }
+      pixel |= c << shift[i];
+    }
+    return( pixel );
+  }
+
+  /** Averages two pixels per field, rounding up. */
+  int average2( int p0, int p1 ) {
+    if( byteFields ) {
+      int lo = ( p0 & 0x00FF00FF ) + ( p1 & 0x00FF00FF ) + 0x00010001;
+      int hi = ( ( p0 >>> 8 ) & 0x00FF00FF ) + ( ( p1 >>> 8 ) & 0x00FF00FF ) + 0x00010001;
+      return( ( ( lo >>> 1 ) & 0x00FF00FF ) | ( ( ( hi >>> 1 ) & 0x00FF00FF ) << 8 ) );
+    }
+    int pixel = 0;
+    for( int i = 0; i < components; i++ ) {
+      int s = shift[i];
+      int m = mask[i];
+      pixel |= ( ( ( ( p0 >>> s ) & m ) + ( ( p1 >>> s ) & m ) + 1 ) >> 1 ) << s;
+    }
+    return( pixel );
+  }
+
+  /** Averages four pixels per field, rounding halves up. */
+  int average4( int p0, int p1, int p2, int p3 ) {
+    if( byteFields ) {
+      int lo = ( p0 & 0x00FF00FF ) + ( p1 & 0x00FF00FF ) +
+               ( p2 & 0x00FF00FF ) + ( p3 & 0x00FF00FF ) + 0x00020002;
+      int hi = ( ( p0 >>> 8 ) & 0x00FF00FF ) + ( ( p1 >>> 8 ) & 0x00FF00FF ) +
+               ( ( p2 >>> 8 ) & 0x00FF00FF ) + ( ( p3 >>> 8 ) & 0x00FF00FF ) + 0x00020002;
+      return( ( ( lo >>> 2 ) & 0x00FF00FF ) | ( ( ( hi >>> 2 ) & 0x00FF00FF ) << 8 ) );
+    }
+    int pixel = 0;
+    for( int i = 0; i < components; i++ ) {
+      int s = shift[i];
+      int m = mask[i];
+      int sum = ( ( p0 >>> s ) & m ) + ( ( p1 >>> s ) & m ) +
+                ( ( p2 >>> s ) & m ) + ( ( p3 >>> s ) & m );
+      pixel |= ( ( sum + 2 ) >> 2 ) << s;
+    }
+    return( pixel );
+  }
+
+  /**
+   * Halves an image, averaging 2x2 boxes or pairs of pixels for images
+   * with only one row or column; see {@link HalveImage#halveImagePackedPixel}.
+   */
+  void halveImage( int width, int height, ByteBuffer datain, ByteBuffer dataout,
+                   int rowSizeInBytes, boolean isSwap ) {
+    int halfWidth = width / 2;
+    int halfHeight = height / 2;
+    int src = 0;
+    int dest = 0;
+    int ii, jj;
+
+    if( height == 1 ) {
+      for( jj = 0; jj < halfWidth; jj++ ) {
+        put( dataout, dest, average2( get( datain, src, isSwap ),
+                                      get( datain, src + pixelSize, isSwap ) ) );
+        dest += pixelSize;
+        src += pixelSize + pixelSize;
+      }
+    } else if( width == 1 ) {
+      for( jj = 0; jj < halfHeight; jj++ ) {
+        put( dataout, dest, average2( get( datain, src, isSwap ),
+                                      get( datain, src + rowSizeInBytes, isSwap ) ) );
+        dest += pixelSize;
+        src += rowSizeInBytes + rowSizeInBytes;
+      }
+    } else {
+      for( ii = 0; ii < halfHeight; ii++ ) {
+        src = ii * 2 * rowSizeInBytes;
+        for( jj = 0; jj < halfWidth; jj++ ) {
+          put( dataout, dest, average4( get( datain, src, isSwap ),
+                                        get( datain, src + pixelSize, isSwap ),
+                                        get( datain, src + rowSizeInBytes, isSwap ),
+                                        get( datain, src + rowSizeInBytes + pixelSize, isSwap ) ) );
+          dest += pixelSize;
+          src += pixelSize + pixelSize;
+        }
+      }
+    }
+  }
+}
@@ -214,23 +214,20 @@ public class ScaleInternal {
           temp = xindex + lowy_int * ysize;
           percent = y_percent * ( 1 - lowx_float );
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
-            totals[k] += ( 0x000000FF & datain.get() ) * percent;
+            totals[k] += ( 0x000000FF & datain.get( temp_index ) ) * percent;
           }
           left = temp;
           for( l = lowx_int + 1; l < highx_int; l++ ) {
             temp += group_size;
             for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-              datain.position( temp_index );
-              totals[k] += ( 0x000000FF & datain.get() ) * y_percent;
+              totals[k] += ( 0x000000FF & datain.get( temp_index ) ) * y_percent;
             }
           }
           temp += group_size;
           right = temp;
           percent = y_percent * highx_float;
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
-            totals[k] += ( 0x000000FF & datain.get() ) * percent;
+            totals[k] += ( 0x000000FF & datain.get( temp_index ) ) * percent;
           }
           
           // calculate the value for pixels in the last row
@@ -238,21 +235,18 @@ public class ScaleInternal {
           percent = y_percent * ( 1 - lowx_float );
           temp = xindex + highy_int * ysize;
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
-            totals[k] += ( 0x000000FF & datain.get() ) * percent;
+            totals[k] += ( 0x000000FF & datain.get( temp_index ) ) * percent;
           }
           for( l = lowx_int + 1; l < highx_int; l++ ) {
             temp += group_size;
             for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-              datain.position( temp_index );
-              totals[k] += ( 0x000000FF & datain.get() ) * y_percent;
+              totals[k] += ( 0x000000FF & datain.get( temp_index ) ) * y_percent;
             }
           }
           temp += group_size;
           percent = y_percent * highx_float;
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
-            totals[k] += ( 0x000000FF & datain.get() ) * percent;
+            totals[k] += ( 0x000000FF & datain.get( temp_index ) ) * percent;
           }
           
           // calculate the value for the pixels in the 1st and last column
@@ -261,10 +255,8 @@ public class ScaleInternal {
             right += ysize;
             for( k = 0; k < components; k++, left += element_size, right += element_size ) {
               float f = 0.0f;
-              datain.position( left );
-              f = ( 0x000000FF & datain.get() ) * ( 1.0f - lowx_float );
-              datain.position( right );
-              f += ( 0x000000FF & datain.get() ) * highx_float;
+              f = ( 0x000000FF & datain.get( left ) ) * ( 1.0f - lowx_float );
+              f += ( 0x000000FF & datain.get( right ) ) * highx_float;
               totals[k] += f;
             }
           }
@@ -273,49 +265,42 @@ public class ScaleInternal {
           percent = ( 1 - lowy_float) * x_percent;
           temp = xindex + (lowy_int * ysize);
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
-            totals[k] += ( 0x000000FF & datain.get() ) * percent;
+            totals[k] += ( 0x000000FF & datain.get( temp_index ) ) * percent;
           }
           for( m = lowy_int + 1; m < highy_int; m++ ) {
             temp += ysize;
             for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-              datain.position( temp_index );
-              totals[k] += ( 0x000000FF & datain.get() ) * x_percent;
+              totals[k] += ( 0x000000FF & datain.get( temp_index ) ) * x_percent;
             }
           }
           percent = x_percent * highy_float;
           temp += ysize;
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
-            totals[k] += ( 0x000000FF & datain.get() ) * percent;
+            totals[k] += ( 0x000000FF & datain.get( temp_index ) ) * percent;
           }
         } else if( highx_int > lowx_int ) {
           y_percent = highy_float - lowy_float;
           percent = ( 1 - lowx_float ) * y_percent;
           temp = xindex + (lowy_int * ysize);
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
-            totals[k] += ( 0x000000FF & datain.get() ) * percent;
+            totals[k] += ( 0x000000FF & datain.get( temp_index ) ) * percent;
           }
           for( l = lowx_int + 1; l < highx_int; l++ ) {
             temp += group_size;
             for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-              datain.position( temp_index );
-              totals[k] += ( 0x000000FF & datain.get() ) * y_percent;
+              totals[k] += ( 0x000000FF & datain.get( temp_index ) ) * y_percent;
             }
           }
           temp += group_size;
           percent = y_percent * highx_float;
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
-            totals[k] += ( 0x000000FF & datain.get() ) * percent;
+            totals[k] += ( 0x000000FF & datain.get( temp_index ) ) * percent;
           }
         } else {
           percent = ( highy_float - lowy_float ) * ( highx_float - lowx_float );
           temp = xindex + (lowy_int * ysize);
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
-            totals[k] += ( 0x000000FF & datain.get() ) * percent;
+            totals[k] += ( 0x000000FF & datain.get( temp_index ) ) * percent;
           }
         }
 
@@ -325,8 +310,7 @@ public class ScaleInternal {
           temp = temp0;
           for( l = lowx_int + 1; l < highx_int; l++ ) {
             for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-              datain.position( temp_index );
-              totals[k] += ( 0x000000FF & datain.get() );
+              totals[k] += ( 0x000000FF & datain.get( temp_index ) );
             }
             temp += group_size;
           }
@@ -335,8 +319,7 @@ public class ScaleInternal {
         
         outindex = ( j + ( i * widthout ) ) * components;
         for( k = 0; k < components; k++ ) {
-          dataout.position( outindex + k );
-          dataout.put( (byte)(totals[k] / area) );
+          dataout.put( outindex + k, (byte)(totals[k] / area) );
         }
         lowx_int = highx_int;
         lowx_float = highx_float;
@@ -432,23 +415,20 @@ public class ScaleInternal {
           temp = xindex + lowy_int * ysize;
           percent = y_percent * ( 1 - lowx_float );
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
-            totals[k] += datain.get() * percent;
+            totals[k] += datain.get( temp_index ) * percent;
           }
           left = temp;
           for( l = lowx_int + 1; l < highx_int; l++ ) {
             temp += group_size;
             for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-              datain.position( temp_index );
-              totals[k] += datain.get() * y_percent;
+              totals[k] += datain.get( temp_index ) * y_percent;
             }
           }
           temp += group_size;
           right = temp;
           percent = y_percent * highx_float;
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
-            totals[k] += datain.get() * percent;
+            totals[k] += datain.get( temp_index ) * percent;
           }
           
           // calculate the value for pixels in the last row
@@ -456,21 +436,18 @@ public class ScaleInternal {
           percent = y_percent * ( 1 - lowx_float );
           temp = xindex + highy_int * ysize;
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
-            totals[k] += datain.get() * percent;
+            totals[k] += datain.get( temp_index ) * percent;
           }
           for( l = lowx_int + 1; l < highx_int; l++ ) {
             temp += group_size;
             for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-              datain.position( temp_index );
-              totals[k] += datain.get() * y_percent;
+              totals[k] += datain.get( temp_index ) * y_percent;
             }
           }
           temp += group_size;
           percent = y_percent * highx_float;
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
-            totals[k] += datain.get() * percent;
+            totals[k] += datain.get( temp_index ) * percent;
           }
           
           // calculate the value for the pixels in the 1st and last column
@@ -479,10 +456,8 @@ public class ScaleInternal {
             right += ysize;
             for( k = 0; k < components; k++, left += element_size, right += element_size ) {
               float f = 0.0f;
-              datain.position( left );
-              f = datain.get() * ( 1 - lowx_float );
-              datain.position( right );
-              f += datain.get() * highx_float;
+              f = datain.get( left ) * ( 1 - lowx_float );
+              f += datain.get( right ) * highx_float;
               totals[k] += f;
             }
           }
@@ -491,49 +466,42 @@ public class ScaleInternal {
           percent = ( 1 - lowy_float) * x_percent;
           temp = xindex + (lowy_int * ysize);
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
-            totals[k] += datain.get() * percent;
+            totals[k] += datain.get( temp_index ) * percent;
           }
           for( m = lowy_int + 1; m < highy_int; m++ ) {
             temp += ysize;
             for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-              datain.position( temp_index );
-              totals[k] += datain.get() * x_percent;
+              totals[k] += datain.get( temp_index ) * x_percent;
             }
           }
           percent = x_percent * highy_float;
           temp += ysize;
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
-            totals[k] += datain.get() * percent;
+            totals[k] += datain.get( temp_index ) * percent;
           }
         } else if( highx_int > lowx_int ) {
           y_percent = highy_float - lowy_float;
           percent = ( 1 - lowx_float ) * y_percent;
           temp = xindex + (lowy_int * ysize);
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
-            totals[k] += datain.get() * percent;
+            totals[k] += datain.get( temp_index ) * percent;
           }
           for( l = lowx_int + 1; l < highx_int; l++ ) {
             temp += group_size;
             for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-              datain.position( temp_index );
-              totals[k] += datain.get() * y_percent;
+              totals[k] += datain.get( temp_index ) * y_percent;
             }
           }
           temp += group_size;
           percent = y_percent * highx_float;
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
-            totals[k] += datain.get() * percent;
+            totals[k] += datain.get( temp_index ) * percent;
           }
         } else {
           percent = ( highy_float - lowy_float ) * ( highx_float - lowx_float );
           temp = xindex + (lowy_int * ysize);
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
-            totals[k] += datain.get() * percent;
+            totals[k] += datain.get( temp_index ) * percent;
           }
         }
         
@@ -543,8 +511,7 @@ public class ScaleInternal {
           temp = temp0;
           for( l = lowx_int + 1; l < highx_int; l++ ) {
             for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-              datain.position( temp_index );
-              totals[k] += datain.get();
+              totals[k] += datain.get( temp_index );
             }
             temp += group_size;
           }
@@ -553,8 +520,7 @@ public class ScaleInternal {
         
         outindex = ( j + ( i * widthout ) ) * components;
         for( k = 0; k < components; k++ ) {
-          dataout.position( outindex + k );
-          dataout.put( (byte)(totals[k] / area) );
+          dataout.put( outindex + k, (byte)(totals[k] / area) );
         }
         lowx_int = highx_int;
         lowx_float = highx_float;
@@ -650,22 +616,20 @@ public class ScaleInternal {
           temp = xindex + lowy_int * ysize;
           percent = y_percent * ( 1 - lowx_float );
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
             if( myswap_bytes ) {
-              totals[k] += ( 0x0000FFFF & ((int)Mipmap.GLU_SWAP_2_BYTES( datain.getShort() ))) * percent;
+              totals[k] += ( 0x0000FFFF & ((int)Mipmap.GLU_SWAP_2_BYTES( datain.getShort( temp_index ) ))) * percent;
             } else {
-              totals[k] += ( 0x0000FFFF & datain.getShort() ) * percent;
+              totals[k] += ( 0x0000FFFF & datain.getShort( temp_index ) ) * percent;
             }
           }
           left = temp;
           for( l = lowx_int + 1; l < highx_int; l++ ) {
             temp += group_size;
             for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-              datain.position( temp_index );
               if( myswap_bytes ) {
-                totals[k] += ( 0x0000FFFF & ((int)Mipmap.GLU_SWAP_2_BYTES( datain.getShort() ))) * y_percent;
+                totals[k] += ( 0x0000FFFF & ((int)Mipmap.GLU_SWAP_2_BYTES( datain.getShort( temp_index ) ))) * y_percent;
               } else {
-                totals[k] += ( 0x0000FFFF & datain.getShort()) * y_percent;
+                totals[k] += ( 0x0000FFFF & datain.getShort( temp_index )) * y_percent;
               }
             }
           }
@@ -673,11 +637,10 @@ public class ScaleInternal {
           right = temp;
           percent = y_percent * highx_float;
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
             if( myswap_bytes ) {
-              totals[k] += ( 0x0000FFFF & (Mipmap.GLU_SWAP_2_BYTES( datain.getShort() ))) * percent;
+              totals[k] += ( 0x0000FFFF & (Mipmap.GLU_SWAP_2_BYTES( datain.getShort( temp_index ) ))) * percent;
             } else {
-              totals[k] += ( 0x0000FFFF & datain.getShort()) * percent;
+              totals[k] += ( 0x0000FFFF & datain.getShort( temp_index )) * percent;
             }
           }
           
@@ -686,32 +649,29 @@ public class ScaleInternal {
           percent = y_percent * ( 1 - lowx_float );
           temp = xindex + highy_int * ysize;
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
             if( myswap_bytes ) {
-              totals[k] += ( 0x0000FFFF & Mipmap.GLU_SWAP_2_BYTES( datain.getShort()) ) * percent;
+              totals[k] += ( 0x0000FFFF & Mipmap.GLU_SWAP_2_BYTES( datain.getShort( temp_index )) ) * percent;
             } else {
-              totals[k] += ( 0x0000FFFF & datain.getShort() ) * percent;
+              totals[k] += ( 0x0000FFFF & datain.getShort( temp_index ) ) * percent;
             }
           }
           for( l = lowx_int + 1; l < highx_int; l++ ) {
             temp += group_size;
             for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-              datain.position( temp_index );
               if( myswap_bytes ) {
-                totals[k] += ( 0x0000FFFF & Mipmap.GLU_SWAP_2_BYTES( datain.getShort()) ) * y_percent;
+                totals[k] += ( 0x0000FFFF & Mipmap.GLU_SWAP_2_BYTES( datain.getShort( temp_index )) ) * y_percent;
               } else {
-                totals[k] += ( 0x0000FFFF & datain.getShort()) * y_percent;
+                totals[k] += ( 0x0000FFFF & datain.getShort( temp_index )) * y_percent;
               }
             }
           }
           temp += group_size;
           percent = y_percent * highx_float;
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
             if( myswap_bytes ) {
-              totals[k] += ( 0x0000FFFF & Mipmap.GLU_SWAP_2_BYTES( datain.getShort()) ) * percent;
+              totals[k] += ( 0x0000FFFF & Mipmap.GLU_SWAP_2_BYTES( datain.getShort( temp_index )) ) * percent;
             } else {
-              totals[k] += ( 0x0000FFFF & datain.getShort()) * percent;
+              totals[k] += ( 0x0000FFFF & datain.getShort( temp_index )) * percent;
             }
           }
           
@@ -721,16 +681,12 @@ public class ScaleInternal {
             right += ysize;
             for( k = 0; k < components; k++, left += element_size, right += element_size ) {
               if( myswap_bytes ) {
-                datain.position( left );
-                float f = (0x0000FFFF & Mipmap.GLU_SWAP_2_BYTES(datain.getShort())) * ( 1 - lowx_float );
-                datain.position( right );
-                f += ((0x0000FFFF & Mipmap.GLU_SWAP_2_BYTES(datain.getShort())) * highx_float);
+                float f = (0x0000FFFF & Mipmap.GLU_SWAP_2_BYTES(datain.getShort( left ))) * ( 1 - lowx_float );
+                f += ((0x0000FFFF & Mipmap.GLU_SWAP_2_BYTES(datain.getShort( right ))) * highx_float);
                 totals[k] += f;
               } else {
-                datain.position( left );
-                float f = ((0x0000FFFF & datain.getShort()) * ( 1 - lowx_float ));
-                datain.position( right );
-                f += ((0x0000FFFF & datain.getShort()) * highx_float);
+                float f = ((0x0000FFFF & datain.getShort( left )) * ( 1 - lowx_float ));
+                f += ((0x0000FFFF & datain.getShort( right )) * highx_float);
                 totals[k] += f;
               }
             }
@@ -740,32 +696,29 @@ public class ScaleInternal {
           percent = ( 1 - lowy_float) * x_percent;
           temp = xindex + (lowy_int * ysize);
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
             if( myswap_bytes ) {
-              totals[k] += (0x0000FFFF & Mipmap.GLU_SWAP_2_BYTES( datain.getShort() )) * percent;
+              totals[k] += (0x0000FFFF & Mipmap.GLU_SWAP_2_BYTES( datain.getShort( temp_index ) )) * percent;
             } else {
-              totals[k] += (0x0000FFFF & datain.getShort()) * percent;
+              totals[k] += (0x0000FFFF & datain.getShort( temp_index )) * percent;
             }
           }
           for( m = lowy_int + 1; m < highy_int; m++ ) {
             temp += ysize;
             for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-              datain.position( temp_index );
               if( myswap_bytes ) {
-                totals[k] += (0x0000FFFF & Mipmap.GLU_SWAP_2_BYTES( datain.getShort()) ) * x_percent;
+                totals[k] += (0x0000FFFF & Mipmap.GLU_SWAP_2_BYTES( datain.getShort( temp_index )) ) * x_percent;
               } else {
-                totals[k] += (0x0000FFFF & datain.getShort()) * x_percent;
+                totals[k] += (0x0000FFFF & datain.getShort( temp_index )) * x_percent;
               }
             }
           }
           percent = x_percent * highy_float;
           temp += ysize;
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
             if( myswap_bytes ) {
-              totals[k] += (0x0000FFFF & Mipmap.GLU_SWAP_2_BYTES( datain.getShort() )) * percent;
+              totals[k] += (0x0000FFFF & Mipmap.GLU_SWAP_2_BYTES( datain.getShort( temp_index ) )) * percent;
             } else {
-              totals[k] += (0x0000FFFF & datain.getShort()) * percent;
+              totals[k] += (0x0000FFFF & datain.getShort( temp_index )) * percent;
             }
           }
         } else if( highx_int > lowx_int ) {
@@ -773,43 +726,39 @@ public class ScaleInternal {
           percent = ( 1 - lowx_float ) * y_percent;
           temp = xindex + (lowy_int * ysize);
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
             if( myswap_bytes ) {
-              totals[k] += (0x0000FFFF & Mipmap.GLU_SWAP_2_BYTES( datain.getShort()) ) * percent;
+              totals[k] += (0x0000FFFF & Mipmap.GLU_SWAP_2_BYTES( datain.getShort( temp_index )) ) * percent;
             } else {
-              totals[k] += (0x0000FFFF & datain.getShort()) * percent;
+              totals[k] += (0x0000FFFF & datain.getShort( temp_index )) * percent;
             }
           }
           for( l = lowx_int + 1; l < highx_int; l++ ) {
             temp += group_size;
             for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-              datain.position( temp_index );
               if( myswap_bytes ) {
-                totals[k] += (0x0000FFFF & Mipmap.GLU_SWAP_2_BYTES( datain.getShort()) ) * y_percent;
+                totals[k] += (0x0000FFFF & Mipmap.GLU_SWAP_2_BYTES( datain.getShort( temp_index )) ) * y_percent;
               } else {
-                totals[k] += (0x0000FFFF & datain.getShort()) * y_percent;
+                totals[k] += (0x0000FFFF & datain.getShort( temp_index )) * y_percent;
               }
             }
           }
           temp += group_size;
           percent = y_percent * highx_float;
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
             if( myswap_bytes ) {
-              totals[k] += (0x0000FFFF & Mipmap.GLU_SWAP_2_BYTES( datain.getShort()) ) * percent;
+              totals[k] += (0x0000FFFF & Mipmap.GLU_SWAP_2_BYTES( datain.getShort( temp_index )) ) * percent;
             } else {
-              totals[k] += (0x0000FFFF & datain.getShort()) * percent;
+              totals[k] += (0x0000FFFF & datain.getShort( temp_index )) * percent;
             }
           }
         } else {
           percent = ( highy_float - lowy_float ) * ( highx_float - lowx_float );
           temp = xindex + (lowy_int * ysize);
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
             if( myswap_bytes ) {
-              totals[k] += (0x0000FFFF & Mipmap.GLU_SWAP_2_BYTES( datain.getShort()) ) * percent;
+              totals[k] += (0x0000FFFF & Mipmap.GLU_SWAP_2_BYTES( datain.getShort( temp_index )) ) * percent;
             } else {
-              totals[k] += (0x0000FFFF & datain.getShort()) * percent;
+              totals[k] += (0x0000FFFF & datain.getShort( temp_index )) * percent;
             }
           }
         }
@@ -820,11 +769,10 @@ public class ScaleInternal {
           temp = temp0;
           for( l = lowx_int + 1; l < highx_int; l++ ) {
             for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-              datain.position( temp_index );
               if( myswap_bytes ) {
-                totals[k] += (0x0000FFFF & Mipmap.GLU_SWAP_2_BYTES( datain.getShort()));
+                totals[k] += (0x0000FFFF & Mipmap.GLU_SWAP_2_BYTES( datain.getShort( temp_index )));
               } else {
-                totals[k] += (0x0000FFFF & datain.getShort());
+                totals[k] += (0x0000FFFF & datain.getShort( temp_index ));
               }
             }
             temp += group_size;
@@ -834,8 +782,7 @@ public class ScaleInternal {
         
         outindex = ( j + ( i * widthout ) ) * components;
         for( k = 0; k < components; k++ ) {
-          dataout.position( outindex + k );
-          dataout.put( (short)(totals[k] / area) );
+          dataout.put( outindex + k, (short)(totals[k] / area) );
         }
         lowx_int = highx_int;
         lowx_float = highx_float;
@@ -933,24 +880,22 @@ public class ScaleInternal {
           temp = xindex + lowy_int * ysize;
           percent = y_percent * ( 1 - lowx_float );
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
             if( myswap_bytes ) {
-              swapbuf = Mipmap.GLU_SWAP_2_BYTES( datain.getShort() );
+              swapbuf = Mipmap.GLU_SWAP_2_BYTES( datain.getShort( temp_index ) );
               totals[k] += swapbuf * percent;
             } else {
-              totals[k] += datain.getShort() * percent;
+              totals[k] += datain.getShort( temp_index ) * percent;
             }
           }
           left = temp;
           for( l = lowx_int + 1; l < highx_int; l++ ) {
             temp += group_size;
             for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-              datain.position( temp_index );
               if( myswap_bytes ) {
-                swapbuf = Mipmap.GLU_SWAP_2_BYTES( datain.getShort() );
+                swapbuf = Mipmap.GLU_SWAP_2_BYTES( datain.getShort( temp_index ) );
                 totals[k] += swapbuf * y_percent;
               } else {
-                totals[k] += datain.getShort() * y_percent;
+                totals[k] += datain.getShort( temp_index ) * y_percent;
               }
             }
           }
@@ -958,12 +903,11 @@ public class ScaleInternal {
           right = temp;
           percent = y_percent * highx_float;
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
             if( myswap_bytes ) {
-              swapbuf = Mipmap.GLU_SWAP_2_BYTES( datain.getShort() );
+              swapbuf = Mipmap.GLU_SWAP_2_BYTES( datain.getShort( temp_index ) );
               totals[k] += swapbuf * percent;
             } else {
-              totals[k] += datain.getShort() * percent;
+              totals[k] += datain.getShort( temp_index ) * percent;
             }
           }
           
@@ -972,35 +916,32 @@ public class ScaleInternal {
           percent = y_percent * ( 1 - lowx_float );
           temp = xindex + highy_int * ysize;
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
             if( myswap_bytes ) {
-              swapbuf = Mipmap.GLU_SWAP_2_BYTES( datain.getShort() );
+              swapbuf = Mipmap.GLU_SWAP_2_BYTES( datain.getShort( temp_index ) );
               totals[k] += swapbuf * percent;
             } else {
-              totals[k] += datain.getShort() * percent;
+              totals[k] += datain.getShort( temp_index ) * percent;
             }
           }
           for( l = lowx_int + 1; l < highx_int; l++ ) {
             temp += group_size;
             for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-              datain.position( temp_index );
               if( myswap_bytes ) {
-                swapbuf = Mipmap.GLU_SWAP_2_BYTES( datain.getShort() );
+                swapbuf = Mipmap.GLU_SWAP_2_BYTES( datain.getShort( temp_index ) );
                 totals[k] += swapbuf * y_percent;
               } else {
-                totals[k] += datain.getShort() * y_percent;
+                totals[k] += datain.getShort( temp_index ) * y_percent;
               }
             }
           }
           temp += group_size;
           percent = y_percent * highx_float;
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
             if( myswap_bytes ) {
-              swapbuf = Mipmap.GLU_SWAP_2_BYTES( datain.getShort() );
+              swapbuf = Mipmap.GLU_SWAP_2_BYTES( datain.getShort( temp_index ) );
               totals[k] += swapbuf * percent;
             } else {
-              totals[k] += datain.getShort() * percent;
+              totals[k] += datain.getShort( temp_index ) * percent;
             }
           }
           
@@ -1010,17 +951,13 @@ public class ScaleInternal {
             right += ysize;
             for( k = 0; k < components; k++, left += element_size, right += element_size ) {
               if( myswap_bytes ) {
-                datain.position( left );
-                swapbuf = Mipmap.GLU_SWAP_2_BYTES( datain.getShort() );
+                swapbuf = Mipmap.GLU_SWAP_2_BYTES( datain.getShort( left ) );
                 totals[k] += swapbuf * ( 1 - lowx_float );
-                datain.position( right );
-                swapbuf = Mipmap.GLU_SWAP_2_BYTES( datain.getShort() );
+                swapbuf = Mipmap.GLU_SWAP_2_BYTES( datain.getShort( right ) );
                 totals[k] += swapbuf * highx_float;
               } else {
-                datain.position( left );
-                totals[k] += datain.getShort() * ( 1 - lowx_float );
-                datain.position( right );
-                totals[k] += datain.getShort() * highx_float;
+                totals[k] += datain.getShort( left ) * ( 1 - lowx_float );
+                totals[k] += datain.getShort( right ) * highx_float;
               }
             }
           }
@@ -1029,35 +966,32 @@ public class ScaleInternal {
           percent = ( 1 - lowy_float) * x_percent;
           temp = xindex + (lowy_int * ysize);
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
             if( myswap_bytes ) {
-              swapbuf = Mipmap.GLU_SWAP_2_BYTES( datain.getShort() );
+              swapbuf = Mipmap.GLU_SWAP_2_BYTES( datain.getShort( temp_index ) );
               totals[k] += swapbuf * percent;
             } else {
-              totals[k] += datain.getShort() * percent;
+              totals[k] += datain.getShort( temp_index ) * percent;
             }
           }
           for( m = lowy_int + 1; m < highy_int; m++ ) {
             temp += ysize;
             for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-              datain.position( temp_index );
               if( myswap_bytes ) {
-                swapbuf = Mipmap.GLU_SWAP_2_BYTES( datain.getShort());
+                swapbuf = Mipmap.GLU_SWAP_2_BYTES( datain.getShort( temp_index ));
                 totals[k] += swapbuf * x_percent;
               } else {
-                totals[k] += datain.getShort() * x_percent;
+                totals[k] += datain.getShort( temp_index ) * x_percent;
               }
             }
           }
           percent = x_percent * highy_float;
           temp += ysize;
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
             if( myswap_bytes ) {
-              swapbuf = Mipmap.GLU_SWAP_2_BYTES( datain.getShort() );
+              swapbuf = Mipmap.GLU_SWAP_2_BYTES( datain.getShort( temp_index ) );
               totals[k] += swapbuf * percent;
             } else {
-              totals[k] += datain.getShort() * percent;
+              totals[k] += datain.getShort( temp_index ) * percent;
             }
           }
         } else if( highx_int > lowx_int ) {
@@ -1065,47 +999,43 @@ public class ScaleInternal {
           percent = ( 1 - lowx_float ) * y_percent;
           temp = xindex + (lowy_int * ysize);
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
             if( myswap_bytes ) {
-              swapbuf = Mipmap.GLU_SWAP_2_BYTES( datain.getShort() );
+              swapbuf = Mipmap.GLU_SWAP_2_BYTES( datain.getShort( temp_index ) );
               totals[k] += swapbuf * percent;
             } else {
-              totals[k] += datain.getShort() * percent;
+              totals[k] += datain.getShort( temp_index ) * percent;
             }
           }
           for( l = lowx_int + 1; l < highx_int; l++ ) {
             temp += group_size;
             for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-              datain.position( temp_index );
               if( myswap_bytes ) {
-                swapbuf = Mipmap.GLU_SWAP_2_BYTES( datain.getShort() );
+                swapbuf = Mipmap.GLU_SWAP_2_BYTES( datain.getShort( temp_index ) );
                 totals[k] += swapbuf * y_percent;
               } else {
-                totals[k] += datain.getShort() * y_percent;
+                totals[k] += datain.getShort( temp_index ) * y_percent;
               }
             }
           }
           temp += group_size;
           percent = y_percent * highx_float;
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
             if( myswap_bytes ) {
-              swapbuf = Mipmap.GLU_SWAP_2_BYTES( datain.getShort() );
+              swapbuf = Mipmap.GLU_SWAP_2_BYTES( datain.getShort( temp_index ) );
               totals[k] += swapbuf * percent;
             } else {
-              totals[k] += datain.getShort() * percent;
+              totals[k] += datain.getShort( temp_index ) * percent;
             }
           }
         } else {
           percent = ( highy_float - lowy_float ) * ( highx_float - lowx_float );
           temp = xindex + (lowy_int * ysize);
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
             if( myswap_bytes ) {
-              swapbuf = Mipmap.GLU_SWAP_2_BYTES( datain.getShort() );
+              swapbuf = Mipmap.GLU_SWAP_2_BYTES( datain.getShort( temp_index ) );
               totals[k] += swapbuf * percent;
             } else {
-              totals[k] += datain.getShort() * percent;
+              totals[k] += datain.getShort( temp_index ) * percent;
             }
           }
         }
@@ -1116,12 +1046,11 @@ public class ScaleInternal {
           temp = temp0;
           for( l = lowx_int + 1; l < highx_int; l++ ) {
             for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-              datain.position( temp_index );
               if( myswap_bytes ) {
-                swapbuf = Mipmap.GLU_SWAP_2_BYTES( datain.getShort() );
+                swapbuf = Mipmap.GLU_SWAP_2_BYTES( datain.getShort( temp_index ) );
                 totals[k] += swapbuf;
               } else {
-                totals[k] += datain.getShort();
+                totals[k] += datain.getShort( temp_index );
               }
             }
             temp += group_size;
@@ -1131,8 +1060,7 @@ public class ScaleInternal {
         
         outindex = ( j + ( i * widthout ) ) * components;
         for( k = 0; k < components; k++ ) {
-          dataout.position( outindex + k );
-          dataout.put( (short)(totals[k] / area) );
+          dataout.put( outindex + k, (short)(totals[k] / area) );
         }
         lowx_int = highx_int;
         lowx_float = highx_float;
@@ -1228,22 +1156,20 @@ public class ScaleInternal {
           temp = xindex + lowy_int * ysize;
           percent = y_percent * ( 1 - lowx_float );
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
             if( myswap_bytes ) {
-              totals[k] += (0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt()) ) * percent;
+              totals[k] += (0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt( temp_index )) ) * percent;
             } else {
-              totals[k] += (0x00000000FFFFFFFF & datain.getInt()) * percent;
+              totals[k] += (0x00000000FFFFFFFF & datain.getInt( temp_index )) * percent;
             }
           }
           left = temp;
           for( l = lowx_int + 1; l < highx_int; l++ ) {
             temp += group_size;
             for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-              datain.position( temp_index );
               if( myswap_bytes ) {
-                totals[k] += (0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt()) ) * y_percent;
+                totals[k] += (0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt( temp_index )) ) * y_percent;
               } else {
-                totals[k] += (0x00000000FFFFFFFF & datain.getInt()) * y_percent;
+                totals[k] += (0x00000000FFFFFFFF & datain.getInt( temp_index )) * y_percent;
               }
             }
           }
@@ -1251,11 +1177,10 @@ public class ScaleInternal {
           right = temp;
           percent = y_percent * highx_float;
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
             if( myswap_bytes ) {
-              totals[k] += (0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt()) ) * percent;
+              totals[k] += (0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt( temp_index )) ) * percent;
             } else {
-              totals[k] += (0x00000000FFFFFFFF & datain.getInt()) * percent;
+              totals[k] += (0x00000000FFFFFFFF & datain.getInt( temp_index )) * percent;
             }
           }
           
@@ -1264,32 +1189,29 @@ public class ScaleInternal {
           percent = y_percent * ( 1 - lowx_float );
           temp = xindex + highy_int * ysize;
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
             if( myswap_bytes ) {
-              totals[k] += (0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt()) ) * percent;
+              totals[k] += (0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt( temp_index )) ) * percent;
             } else {
-              totals[k] += (0x00000000FFFFFFFF & datain.getInt()) * percent;
+              totals[k] += (0x00000000FFFFFFFF & datain.getInt( temp_index )) * percent;
             }
           }
           for( l = lowx_int + 1; l < highx_int; l++ ) {
             temp += group_size;
             for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-              datain.position( temp_index );
               if( myswap_bytes ) {
-                totals[k] += (0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt()) ) * y_percent;
+                totals[k] += (0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt( temp_index )) ) * y_percent;
               } else {
-                totals[k] += (0x00000000FFFFFFFF & datain.getInt()) * y_percent;
+                totals[k] += (0x00000000FFFFFFFF & datain.getInt( temp_index )) * y_percent;
               }
             }
           }
           temp += group_size;
           percent = y_percent * highx_float;
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
             if( myswap_bytes ) {
-              totals[k] += (0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt()) ) * percent;
+              totals[k] += (0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt( temp_index )) ) * percent;
             } else {
-              totals[k] += (0x00000000FFFFFFFF & datain.getInt()) * percent;
+              totals[k] += (0x00000000FFFFFFFF & datain.getInt( temp_index )) * percent;
             }
           }
           
@@ -1299,15 +1221,11 @@ public class ScaleInternal {
             right += ysize;
             for( k = 0; k < components; k++, left += element_size, right += element_size ) {
               if( myswap_bytes ) {
-                datain.position( left );
-                totals[k] += ((0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES(datain.getInt())) * ( 1 - lowx_float ));
-                datain.position( right );
-                totals[k] += ((0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES(datain.getInt())) * highx_float);
+                totals[k] += ((0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES(datain.getInt( left ))) * ( 1 - lowx_float ));
+                totals[k] += ((0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES(datain.getInt( right ))) * highx_float);
               } else {
-                datain.position( left );
-                totals[k] += ((0x00000000FFFFFFFF & datain.getInt()) * ( 1 - lowx_float ));
-                datain.position( right );
-                totals[k] += ((0x00000000FFFFFFFF & datain.getInt()) * highx_float);
+                totals[k] += ((0x00000000FFFFFFFF & datain.getInt( left )) * ( 1 - lowx_float ));
+                totals[k] += ((0x00000000FFFFFFFF & datain.getInt( right )) * highx_float);
               }
             }
           }
@@ -1316,32 +1234,29 @@ public class ScaleInternal {
           percent = ( 1 - lowy_float) * x_percent;
           temp = xindex + (lowy_int * ysize);
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
             if( myswap_bytes ) {
-              totals[k] += (0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt())) * percent;
+              totals[k] += (0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt( temp_index ))) * percent;
             } else {
-              totals[k] += (0x00000000FFFFFFFF & datain.getInt()) * percent;
+              totals[k] += (0x00000000FFFFFFFF & datain.getInt( temp_index )) * percent;
             }
           }
           for( m = lowy_int + 1; m < highy_int; m++ ) {
             temp += ysize;
             for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-              datain.position( temp_index );
               if( myswap_bytes ) {
-                totals[k] += (0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt())) * x_percent;
+                totals[k] += (0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt( temp_index ))) * x_percent;
               } else {
-                totals[k] += (0x00000000FFFFFFFF & datain.getInt()) * x_percent;
+                totals[k] += (0x00000000FFFFFFFF & datain.getInt( temp_index )) * x_percent;
               }
             }
           }
           percent = x_percent * highy_float;
           temp += ysize;
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
             if( myswap_bytes ) {
-              totals[k] += (0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt())) * percent;
+              totals[k] += (0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt( temp_index ))) * percent;
             } else {
-              totals[k] += (0x00000000FFFFFFFF & datain.getInt()) * percent;
+              totals[k] += (0x00000000FFFFFFFF & datain.getInt( temp_index )) * percent;
             }
           }
         } else if( highx_int > lowx_int ) {
@@ -1349,32 +1264,29 @@ public class ScaleInternal {
           percent = ( 1 - lowx_float ) * y_percent;
           temp = xindex + (lowy_int * ysize);
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
             if( myswap_bytes ) {
-              totals[k] += (0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt())) * percent;
+              totals[k] += (0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt( temp_index ))) * percent;
             } else {
-              totals[k] += (0x00000000FFFFFFFF & datain.getInt()) * percent;
+              totals[k] += (0x00000000FFFFFFFF & datain.getInt( temp_index )) * percent;
             }
           }
           for( l = lowx_int + 1; l < highx_int; l++ ) {
             temp += group_size;
             for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-              datain.position( temp_index );
               if( myswap_bytes ) {
-                totals[k] += (0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt())) * y_percent;
+                totals[k] += (0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt( temp_index ))) * y_percent;
               } else {
-                totals[k] += (0x00000000FFFFFFFF & datain.getInt()) * y_percent;
+                totals[k] += (0x00000000FFFFFFFF & datain.getInt( temp_index )) * y_percent;
               }
             }
           }
           temp += group_size;
           percent = y_percent * highx_float;
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
             if( myswap_bytes ) {
-              totals[k] += (0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt())) * percent;
+              totals[k] += (0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt( temp_index ))) * percent;
             } else {
-              totals[k] += (0x00000000FFFFFFFF & datain.getInt()) * percent;
+              totals[k] += (0x00000000FFFFFFFF & datain.getInt( temp_index )) * percent;
             }
           }
         } else {
@@ -1382,13 +1294,11 @@ public class ScaleInternal {
           temp = xindex + (lowy_int * ysize);
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
             long tempInt0 = ( 0xFFFFFFFFL & datain.getInt( temp_index ) );
-            datain.position( temp_index );
-            long tempInt1 = ( 0xFFFFFFFFL & datain.getInt() );
-            datain.position( temp_index );
+            long tempInt1 = ( 0xFFFFFFFFL & datain.getInt( temp_index ) );
             if( myswap_bytes ) {
-              totals[k] += (0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt())) * percent;
+              totals[k] += (0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt( temp_index ))) * percent;
             } else {
-              totals[k] += (0x00000000FFFFFFFF & datain.getInt()) * percent;
+              totals[k] += (0x00000000FFFFFFFF & datain.getInt( temp_index )) * percent;
             }
           }
         }
@@ -1399,11 +1309,10 @@ public class ScaleInternal {
           temp = temp0;
           for( l = lowx_int + 1; l < highx_int; l++ ) {
             for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-              datain.position( temp_index );
               if( myswap_bytes ) {
-                totals[k] += (0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt()));
+                totals[k] += (0x00000000FFFFFFFF & Mipmap.GLU_SWAP_4_BYTES( datain.getInt( temp_index )));
               } else {
-                totals[k] += (0x00000000FFFFFFFF & datain.getInt());
+                totals[k] += (0x00000000FFFFFFFF & datain.getInt( temp_index ));
               }
             }
             temp += group_size;
@@ -1518,24 +1427,22 @@ public class ScaleInternal {
           temp = xindex + lowy_int * ysize;
           percent = y_percent * ( 1 - lowx_float );
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
             if( myswap_bytes ) {
-              swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getInt() );
+              swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getInt( temp_index ) );
               totals[k] += swapbuf * percent;
             } else {
-              totals[k] += datain.getInt() * percent;
+              totals[k] += datain.getInt( temp_index ) * percent;
             }
           }
           left = temp;
           for( l = lowx_int + 1; l < highx_int; l++ ) {
             temp += group_size;
             for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-              datain.position( temp_index );
               if( myswap_bytes ) {
-                swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getInt() );
+                swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getInt( temp_index ) );
                 totals[k] += swapbuf * y_percent;
               } else {
-                totals[k] += datain.getInt() * y_percent;
+                totals[k] += datain.getInt( temp_index ) * y_percent;
               }
             }
           }
@@ -1543,12 +1450,11 @@ public class ScaleInternal {
           right = temp;
           percent = y_percent * highx_float;
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
             if( myswap_bytes ) {
-              swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getInt() );
+              swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getInt( temp_index ) );
               totals[k] += swapbuf * percent;
             } else {
-              totals[k] += datain.getInt() * percent;
+              totals[k] += datain.getInt( temp_index ) * percent;
             }
           }
           
@@ -1557,35 +1463,32 @@ public class ScaleInternal {
           percent = y_percent * ( 1 - lowx_float );
           temp = xindex + highy_int * ysize;
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
             if( myswap_bytes ) {
-              swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getInt() );
+              swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getInt( temp_index ) );
               totals[k] += swapbuf * percent;
             } else {
-              totals[k] += datain.getInt() * percent;
+              totals[k] += datain.getInt( temp_index ) * percent;
             }
           }
           for( l = lowx_int + 1; l < highx_int; l++ ) {
             temp += group_size;
             for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-              datain.position( temp_index );
               if( myswap_bytes ) {
-                swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getInt() );
+                swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getInt( temp_index ) );
                 totals[k] += swapbuf * y_percent;
               } else {
-                totals[k] += datain.getInt() * y_percent;
+                totals[k] += datain.getInt( temp_index ) * y_percent;
               }
             }
           }
           temp += group_size;
           percent = y_percent * highx_float;
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
             if( myswap_bytes ) {
-              swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getInt() );
+              swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getInt( temp_index ) );
               totals[k] += swapbuf * percent;
             } else {
-              totals[k] += datain.getInt() * percent;
+              totals[k] += datain.getInt( temp_index ) * percent;
             }
           }
           
@@ -1595,17 +1498,13 @@ public class ScaleInternal {
             right += ysize;
             for( k = 0; k < components; k++, left += element_size, right += element_size ) {
               if( myswap_bytes ) {
-                datain.position( left );
-                swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getInt() );
+                swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getInt( left ) );
                 totals[k] += swapbuf * ( 1 - lowx_float );
-                datain.position( right );
-                swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getInt() );
+                swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getInt( right ) );
                 totals[k] += swapbuf * highx_float;
               } else {
-                datain.position( left );
-                totals[k] += (datain.getInt() * ( 1 - lowx_float ));
-                datain.position( right );
-                totals[k] += (datain.getInt() * highx_float);
+                totals[k] += (datain.getInt( left ) * ( 1 - lowx_float ));
+                totals[k] += (datain.getInt( right ) * highx_float);
               }
             }
           }
@@ -1614,35 +1513,32 @@ public class ScaleInternal {
           percent = ( 1 - lowy_float) * x_percent;
           temp = xindex + (lowy_int * ysize);
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
             if( myswap_bytes ) {
-              swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getInt() );
+              swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getInt( temp_index ) );
               totals[k] += swapbuf * percent;
             } else {
-              totals[k] += datain.getInt() * percent;
+              totals[k] += datain.getInt( temp_index ) * percent;
             }
           }
           for( m = lowy_int + 1; m < highy_int; m++ ) {
             temp += ysize;
             for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-              datain.position( temp_index );
               if( myswap_bytes ) {
-                swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getInt() );
+                swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getInt( temp_index ) );
                 totals[k] += swapbuf * x_percent;
               } else {
-                totals[k] += datain.getInt() * x_percent;
+                totals[k] += datain.getInt( temp_index ) * x_percent;
               }
             }
           }
           percent = x_percent * highy_float;
           temp += ysize;
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
             if( myswap_bytes ) {
-              swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getInt() );
+              swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getInt( temp_index ) );
               totals[k] += swapbuf * percent;
             } else {
-              totals[k] += datain.getInt() * percent;
+              totals[k] += datain.getInt( temp_index ) * percent;
             }
           }
         } else if( highx_int > lowx_int ) {
@@ -1650,47 +1546,43 @@ public class ScaleInternal {
           percent = ( 1 - lowx_float ) * y_percent;
           temp = xindex + (lowy_int * ysize);
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
             if( myswap_bytes ) {
-              swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getInt() );
+              swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getInt( temp_index ) );
               totals[k] += swapbuf * percent;
             } else {
-              totals[k] += datain.getInt() * percent;
+              totals[k] += datain.getInt( temp_index ) * percent;
             }
           }
           for( l = lowx_int + 1; l < highx_int; l++ ) {
             temp += group_size;
             for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-              datain.position( temp_index );
               if( myswap_bytes ) {
-                swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getInt() );
+                swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getInt( temp_index ) );
                 totals[k] += swapbuf * y_percent;
               } else {
-                totals[k] += datain.getInt() * y_percent;
+                totals[k] += datain.getInt( temp_index ) * y_percent;
               }
             }
           }
           temp += group_size;
           percent = y_percent * highx_float;
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
             if( myswap_bytes ) {
-              swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getInt() );
+              swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getInt( temp_index ) );
               totals[k] += swapbuf * percent;
             } else {
-              totals[k] += datain.getInt() * percent;
+              totals[k] += datain.getInt( temp_index ) * percent;
             }
           }
         } else {
           percent = ( highy_float - lowy_float ) * ( highx_float - lowx_float );
           temp = xindex + (lowy_int * ysize);
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
             if( myswap_bytes ) {
-              swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getInt() );
+              swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getInt( temp_index ) );
               totals[k] += swapbuf * percent;
             } else {
-              totals[k] += datain.getInt() * percent;
+              totals[k] += datain.getInt( temp_index ) * percent;
             }
           }
         }
@@ -1701,12 +1593,11 @@ public class ScaleInternal {
           temp = temp0;
           for( l = lowx_int + 1; l < highx_int; l++ ) {
             for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-              datain.position( temp_index );
               if( myswap_bytes ) {
-                swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getInt() );
+                swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getInt( temp_index ) );
                 totals[k] += swapbuf;
               } else {
-                totals[k] += datain.getInt();
+                totals[k] += datain.getInt( temp_index );
               }
             }
             temp += group_size;
@@ -1716,8 +1607,7 @@ public class ScaleInternal {
         
         outindex = ( j + ( i * widthout ) ) * components;
         for( k = 0; k < components; k++ ) {
-          dataout.position( outindex + k );
-          dataout.put( (int)(totals[k] / area) );
+          dataout.put( outindex + k, (int)(totals[k] / area) );
         }
         lowx_int = highx_int;
         lowx_float = highx_float;
@@ -1815,24 +1705,22 @@ public class ScaleInternal {
           temp = xindex + lowy_int * ysize;
           percent = y_percent * ( 1 - lowx_float );
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
             if( myswap_bytes ) {
-              swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getFloat() );
+              swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getFloat( temp_index ) );
               totals[k] += swapbuf * percent;
             } else {
-              totals[k] += datain.getFloat() * percent;
+              totals[k] += datain.getFloat( temp_index ) * percent;
             }
           }
           left = temp;
           for( l = lowx_int + 1; l < highx_int; l++ ) {
             temp += group_size;
             for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-              datain.position( temp_index );
               if( myswap_bytes ) {
-                swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getFloat() );
+                swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getFloat( temp_index ) );
                 totals[k] += swapbuf * y_percent;
               } else {
-                totals[k] += datain.getFloat() * y_percent;
+                totals[k] += datain.getFloat( temp_index ) * y_percent;
               }
             }
           }
@@ -1840,12 +1728,11 @@ public class ScaleInternal {
           right = temp;
           percent = y_percent * highx_float;
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
             if( myswap_bytes ) {
-              swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getFloat() );
+              swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getFloat( temp_index ) );
               totals[k] += swapbuf * percent;
             } else {
-              totals[k] += datain.getFloat() * percent;
+              totals[k] += datain.getFloat( temp_index ) * percent;
             }
           }
           
@@ -1854,35 +1741,32 @@ public class ScaleInternal {
           percent = y_percent * ( 1 - lowx_float );
           temp = xindex + highy_int * ysize;
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
             if( myswap_bytes ) {
-              swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getFloat() );
+              swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getFloat( temp_index ) );
               totals[k] += swapbuf * percent;
             } else {
-              totals[k] += datain.getFloat() * percent;
+              totals[k] += datain.getFloat( temp_index ) * percent;
             }
           }
           for( l = lowx_int + 1; l < highx_int; l++ ) {
             temp += group_size;
             for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-              datain.position( temp_index );
               if( myswap_bytes ) {
-                swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getFloat() );
+                swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getFloat( temp_index ) );
                 totals[k] += swapbuf * y_percent;
               } else {
-                totals[k] += datain.getFloat() * y_percent;
+                totals[k] += datain.getFloat( temp_index ) * y_percent;
               }
             }
           }
           temp += group_size;
           percent = y_percent * highx_float;
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
             if( myswap_bytes ) {
-              swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getFloat() );
+              swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getFloat( temp_index ) );
               totals[k] += swapbuf * percent;
             } else {
-              totals[k] += datain.getFloat() * percent;
+              totals[k] += datain.getFloat( temp_index ) * percent;
             }
           }
           
@@ -1892,17 +1776,13 @@ public class ScaleInternal {
             right += ysize;
             for( k = 0; k < components; k++, left += element_size, right += element_size ) {
               if( myswap_bytes ) {
-                datain.position( left );
-                swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getFloat() );
+                swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getFloat( left ) );
                 totals[k] += swapbuf * ( 1 - lowx_float );
-                datain.position( right );
-                swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getFloat() );
+                swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getFloat( right ) );
                 totals[k] += swapbuf * highx_float;
               } else {
-                datain.position( left );
-                totals[k] += (datain.getFloat() * ( 1 - lowx_float ));
-                datain.position( right );
-                totals[k] += (datain.getFloat() * highx_float);
+                totals[k] += (datain.getFloat( left ) * ( 1 - lowx_float ));
+                totals[k] += (datain.getFloat( right ) * highx_float);
               }
             }
           }
@@ -1911,35 +1791,32 @@ public class ScaleInternal {
           percent = ( 1 - lowy_float) * x_percent;
           temp = xindex + (lowy_int * ysize);
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
             if( myswap_bytes ) {
-              swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getFloat() );
+              swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getFloat( temp_index ) );
               totals[k] += swapbuf * percent;
             } else {
-              totals[k] += datain.getFloat() * percent;
+              totals[k] += datain.getFloat( temp_index ) * percent;
             }
           }
           for( m = lowy_int + 1; m < highy_int; m++ ) {
             temp += ysize;
             for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-              datain.position( temp_index );
               if( myswap_bytes ) {
-                swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getFloat() );
+                swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getFloat( temp_index ) );
                 totals[k] += swapbuf * x_percent;
               } else {
-                totals[k] += datain.getFloat() * x_percent;
+                totals[k] += datain.getFloat( temp_index ) * x_percent;
               }
             }
           }
           percent = x_percent * highy_float;
           temp += ysize;
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
             if( myswap_bytes ) {
-              swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getFloat() );
+              swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getFloat( temp_index ) );
               totals[k] += swapbuf * percent;
             } else {
-              totals[k] += datain.getFloat() * percent;
+              totals[k] += datain.getFloat( temp_index ) * percent;
             }
           }
         } else if( highx_int > lowx_int ) {
@@ -1947,47 +1824,43 @@ public class ScaleInternal {
           percent = ( 1 - lowx_float ) * y_percent;
           temp = xindex + (lowy_int * ysize);
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
             if( myswap_bytes ) {
-              swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getFloat() );
+              swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getFloat( temp_index ) );
               totals[k] += swapbuf * percent;
             } else {
-              totals[k] += datain.getFloat() * percent;
+              totals[k] += datain.getFloat( temp_index ) * percent;
             }
           }
           for( l = lowx_int + 1; l < highx_int; l++ ) {
             temp += group_size;
             for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-              datain.position( temp_index );
               if( myswap_bytes ) {
-                swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getFloat() );
+                swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getFloat( temp_index ) );
                 totals[k] += swapbuf * y_percent;
               } else {
-                totals[k] += datain.getFloat() * y_percent;
+                totals[k] += datain.getFloat( temp_index ) * y_percent;
               }
             }
           }
           temp += group_size;
           percent = y_percent * highx_float;
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
             if( myswap_bytes ) {
-              swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getFloat() );
+              swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getFloat( temp_index ) );
               totals[k] += swapbuf * percent;
             } else {
-              totals[k] += datain.getFloat() * percent;
+              totals[k] += datain.getFloat( temp_index ) * percent;
             }
           }
         } else {
           percent = ( highy_float - lowy_float ) * ( highx_float - lowx_float );
           temp = xindex + (lowy_int * ysize);
           for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-            datain.position( temp_index );
             if( myswap_bytes ) {
-              swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getFloat() );
+              swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getFloat( temp_index ) );
               totals[k] += swapbuf * percent;
             } else {
-              totals[k] += datain.getFloat() * percent;
+              totals[k] += datain.getFloat( temp_index ) * percent;
             }
           }
         }
@@ -1998,12 +1871,11 @@ public class ScaleInternal {
           temp = temp0;
           for( l = lowx_int + 1; l < highx_int; l++ ) {
             for( k = 0, temp_index = temp; k < components; k++, temp_index += element_size ) {
-              datain.position( temp_index );
               if( myswap_bytes ) {
-                swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getFloat() );
+                swapbuf = Mipmap.GLU_SWAP_4_BYTES( datain.getFloat( temp_index ) );
                 totals[k] += swapbuf;
               } else {
-                totals[k] += datain.getFloat();
+                totals[k] += datain.getFloat( temp_index );
               }
             }
             temp += group_size;
@@ -2013,8 +1885,7 @@ public class ScaleInternal {
         
         outindex = ( j + ( i * widthout ) ) * components;
         for( k = 0; k < components; k++ ) {
-          dataout.position( outindex + k );
-          dataout.put( (totals[k] / area) );
+          dataout.put( outindex + k, (totals[k] / area) );
         }
         lowx_int = highx_int;
         lowx_float = highx_float;
@@ -2077,6 +1948,11 @@ public class ScaleInternal {
                               pixelSizeInBytes, rowSizeInBytes, isSwap );
       return;
     }
+    // convert the bit fields directly if the pixel type is known
+    PackedPixel packed = PackedPixel.forExtract( extract );
+    if( packed != null && ( packed.components != components || packed.pixelSize != pixelSizeInBytes ) ) {
+      packed = null;
+    }
     convy = (float)heightIn / (float)heightOut;
     convx = (float)widthIn / (float)widthOut;
     convy_int = (int)Math.floor( convy );
@@ -2112,16 +1988,14 @@ public class ScaleInternal {
           y_percent = 1 - lowy_float;
           temp = xindex + lowy_int * rowSizeInBytes;
           percent = y_percent * ( 1 - lowx_float );
-          dataIn.position( temp );
-          extract.extract( isSwap, dataIn, extractTotals );
+          extractPixel( packed, extract, isSwap, dataIn, temp, extractTotals );
           for( k = 0; k < components; k++ ) {
             totals[k] += extractTotals[k] * percent;
           }
           left = temp;
           for( l = lowx_int + 1; l < highx_int; l++ ) {
             temp += pixelSizeInBytes;
-            dataIn.position( temp );
-            extract.extract( isSwap, dataIn, extractTotals );
+            extractPixel( packed, extract, isSwap, dataIn, temp, extractTotals );
             for( k = 0; k < components; k++ ) {
               totals[k] += extractTotals[k] * y_percent;
             }
@@ -2129,8 +2003,7 @@ public class ScaleInternal {
           temp += pixelSizeInBytes;
           right = temp;
           percent = y_percent * highx_float;
-          dataIn.position( temp );
-          extract.extract( isSwap, dataIn, extractTotals );
+          extractPixel( packed, extract, isSwap, dataIn, temp, extractTotals );
           for( k = 0; k < components; k++ ) {
             totals[k] += extractTotals[k] * percent;
           }
@@ -2139,22 +2012,20 @@ public class ScaleInternal {
           y_percent = highy_float;
           percent = y_percent * ( 1 - lowx_float );
           temp = xindex + highy_int * rowSizeInBytes;
-          dataIn.position( temp );
-          extract.extract( isSwap, dataIn, extractTotals );
+          extractPixel( packed, extract, isSwap, dataIn, temp, extractTotals );
           for( k = 0; k < components; k++ ) {
             totals[k] += extractTotals[k] * percent;
           }
           for( l = lowx_int + 1; l < highx_int; l++ ) {
             temp += pixelSizeInBytes;
-            dataIn.position( temp );
-            extract.extract( isSwap, dataIn, extractTotals );
+            extractPixel( packed, extract, isSwap, dataIn, temp, extractTotals );
             for( k = 0; k < components; k++ ) {
               totals[k] += extractTotals[k] * y_percent;
             }
           }
           temp += pixelSizeInBytes;
           percent = y_percent * highx_float;
-          dataIn.position( temp );
+          extractPixel( packed, extract, isSwap, dataIn, temp, extractTotals );
           for( k = 0; k < components; k++ ) {
             totals[k] += extractTotals[k] * percent;
           }
@@ -2163,10 +2034,8 @@ public class ScaleInternal {
           for( m = lowy_int + 1; m < highy_int; m++ ) {
             left += rowSizeInBytes;
             right += rowSizeInBytes;
-            dataIn.position( left );
-            extract.extract( isSwap, dataIn, extractTotals );
-            dataIn.position( right );
-            extract.extract( isSwap, dataIn, extractMoreTotals );
+            extractPixel( packed, extract, isSwap, dataIn, left, extractTotals );
+            extractPixel( packed, extract, isSwap, dataIn, right, extractMoreTotals );
             for( k = 0; k < components; k++ ) {
               totals[k] += ( extractTotals[k] * ( 1 - lowx_float ) + extractMoreTotals[k] * highx_float );
             }
@@ -2175,23 +2044,20 @@ public class ScaleInternal {
           x_percent = highx_float - lowx_float;
           percent = ( 1 - lowy_float ) * x_percent;
           temp = xindex + lowy_int * rowSizeInBytes;
-          dataIn.position( temp );
-          extract.extract( isSwap, dataIn, extractTotals );
+          extractPixel( packed, extract, isSwap, dataIn, temp, extractTotals );
           for( k = 0; k < components; k++ ) {
             totals[k] += extractTotals[k] * percent;
           }
           for( m = lowy_int + 1; m < highy_int; m++ ) {
             temp += rowSizeInBytes;
-            dataIn.position( temp );
-            extract.extract( isSwap, dataIn, extractTotals );
+            extractPixel( packed, extract, isSwap, dataIn, temp, extractTotals );
             for( k = 0; k < components; k++ ) {
               totals[k] += extractTotals[k] * x_percent;
             }
           }
           percent = x_percent * highy_float;
           temp += rowSizeInBytes;
-          dataIn.position( temp );
-          extract.extract( isSwap, dataIn, extractTotals );
+          extractPixel( packed, extract, isSwap, dataIn, temp, extractTotals );
           for( k = 0; k < components; k++ ) {
             totals[k] += extractTotals[k] * percent;
           }
@@ -2199,31 +2065,27 @@ public class ScaleInternal {
           y_percent = highy_float - lowy_float;
           percent = ( 1 - lowx_float ) * y_percent;
           temp = xindex + lowy_int * rowSizeInBytes;
-          dataIn.position( temp );
-          extract.extract( isSwap, dataIn, extractTotals );
+          extractPixel( packed, extract, isSwap, dataIn, temp, extractTotals );
           for( k = 0; k < components; k++ ) {
             totals[k] += extractTotals[k] * percent;
           }
           for( l = lowx_int + 1; l < highx_int; l++ ) {
             temp += pixelSizeInBytes;
-            dataIn.position( temp );
-            extract.extract( isSwap, dataIn, extractTotals );
+            extractPixel( packed, extract, isSwap, dataIn, temp, extractTotals );
             for( k = 0; k < components; k++ ) {
               totals[k] += extractTotals[k] * y_percent;
             }
           }
           temp += pixelSizeInBytes;
           percent = y_percent * highx_float;
-          dataIn.position( temp );
-          extract.extract( isSwap, dataIn, extractTotals );
+          extractPixel( packed, extract, isSwap, dataIn, temp, extractTotals );
           for( k = 0; k < components; k++ ) {
             totals[k] += extractTotals[k] * percent;
           }
         } else {
           percent = ( highy_float - lowy_float ) * ( highx_float - lowx_float );
           temp = xindex + lowy_int * rowSizeInBytes;
-          dataIn.position( temp );
-          extract.extract( isSwap, dataIn, extractTotals );
+          extractPixel( packed, extract, isSwap, dataIn, temp, extractTotals );
           for( k = 0; k < components; k++ ) {
             totals[k] += extractTotals[k] * percent;
           }
@@ -2234,8 +2096,7 @@ public class ScaleInternal {
         for( m = lowy_int + 1; m < highy_int; m++ ) {
           temp = temp0;
           for( l = lowx_int + 1; l < highx_int; l++ ) {
-            dataIn.position( temp );
-            extract.extract( isSwap, dataIn, extractTotals );
+            extractPixel( packed, extract, isSwap, dataIn, temp, extractTotals );
             for( k = 0; k < components; k++ ) {
               totals[k] += extractTotals[k] * percent;
             }
@@ -2248,7 +2109,7 @@ public class ScaleInternal {
         for( k = 0; k < components; k++ ) {
           shoveTotals[k] = totals[k] / area;
         }
-        extract.shove( shoveTotals, outIndex, dataOut );
+        shovePixel( packed, extract, shoveTotals, outIndex, dataOut );
         lowx_int = highx_int;
         lowx_float = highx_float;
         highx_int += convx_int;
@@ -2277,6 +2138,25 @@ public class ScaleInternal {
     assert( outIndex == ( widthOut * heightOut - 1) );
   }
   
+  private static void extractPixel( PackedPixel packed, Extract extract, boolean isSwap,
+                                    ByteBuffer dataIn, int index, float[] extractComponents ) {
+    if( packed != null ) {
+      packed.extract( packed.get( dataIn, index, isSwap ), extractComponents );
+    } else {
+      dataIn.position( index );
+      extract.extract( isSwap, dataIn, extractComponents );
+    }
+  }
+  
+  private static void shovePixel( PackedPixel packed, Extract extract, float[] shoveComponents,
+                                  int index, ByteBuffer dataOut ) {
+    if( packed != null ) {
+      packed.put( dataOut, index * packed.pixelSize, packed.pack( shoveComponents ) );
+    } else {
+      extract.shove( shoveComponents, index, dataOut );
+    }
+  }
+  
   public static void scaleInternal3D( int components, int widthIn, int heightIn,
           int depthIn, ShortBuffer dataIn, int widthOut, int heightOut,
           int depthOut, ShortBuffer dataOut ) {
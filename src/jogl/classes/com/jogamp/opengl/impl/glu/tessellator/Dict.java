@@ -56,13 +56,14 @@ class Dict {
     DictNode head;
     Object frame;
     DictLeq leq;
+    TessPool pool;
 
-    private Dict() {
+    Dict() {
     }
 
-    static Dict dictNewDict(Object frame, DictLeq leq) {
-        Dict dict = new Dict();
-        dict.head = new DictNode();
+    static Dict dictNewDict(Object frame, DictLeq leq, TessPool pool) {
+        Dict dict = pool.newDict();
+        dict.head = pool.newDictNode();
 
         dict.head.key = null;
         dict.head.next = dict.head;
@@ -70,14 +71,20 @@ class Dict {
 
         dict.frame = frame;
         dict.leq = leq;
+        dict.pool = pool;
 
         return dict;
     }
 
     static void dictDeleteDict(Dict dict) {
+        TessPool pool = dict.pool;
+
+        pool.freeDictNode(dict.head);
         dict.head = null;
         dict.frame = null;
         dict.leq = null;
+        dict.pool = null;
+        pool.freeDict(dict);
     }
 
     static DictNode dictInsert(Dict dict, Object key) {
@@ -89,7 +96,7 @@ class Dict {
             node = node.prev;
         } while (node.key != null && !dict.leq.leq(dict.frame, node.key, key));
 
-        DictNode newNode = new DictNode();
+        DictNode newNode = dict.pool.newDictNode();
         newNode.key = key;
         newNode.next = node.next;
         node.next.prev = newNode;
@@ -122,6 +129,7 @@ class Dict {
     static void dictDelete(Dict dict, DictNode node) {
         node.next.prev = node.prev;
         node.prev.next = node.next;
+        dict.pool.freeDictNode(node);
     }
 
     static DictNode dictSearch(Dict dict, Object key) {
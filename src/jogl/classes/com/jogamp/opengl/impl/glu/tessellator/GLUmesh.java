@@ -57,4 +57,5 @@ class GLUmesh {
     com.jogamp.opengl.impl.glu.tessellator.GLUface fHead = new GLUface();		/* dummy header for face list */
     com.jogamp.opengl.impl.glu.tessellator.GLUhalfEdge eHead = new GLUhalfEdge(true);		/* dummy header for edge list */
     com.jogamp.opengl.impl.glu.tessellator.GLUhalfEdge eHeadSym = new GLUhalfEdge(false);	/* and its symmetric counterpart */
+    TessPool pool;		/* allocates and recycles vertices, faces and edges */
 }
@@ -81,6 +81,8 @@ public class GLUtessellatorImpl implements GLUtessellator {
     PriorityQ pq;		/* priority queue of vertex events */
     GLUvertex event;		/* current sweep event being processed */
 
+    TessPool pool = new TessPool();	/* mesh and sweep structures kept for the next polygon */
+
     /*** state needed for rendering callbacks (see render.c) ***/
 
     boolean flagBoundary;	/* mark boundary edges (use EdgeFlag) */
@@ -99,6 +101,7 @@ public class GLUtessellatorImpl implements GLUtessellator {
     private boolean flushCacheOnNextVertex;		/* empty cache on next vertex() call */
     int cacheCount;		/* number of cached vertices */
     CachedVertex[] cache = new CachedVertex[TESS_MAX_CACHE];	/* the vertex data */
+    private double[] clamped = new double[3];	/* gluTessVertex() input, copied by addVertex() and cacheVertex() */
 
     /*** rendering callbacks that also pass polygon data  ***/
     private Object polygonData;		/* client data for current polygon */
@@ -209,6 +212,7 @@ public class GLUtessellatorImpl implements GLUtessellator {
 
     public void gluDeleteTess() {
         requireState(TessState.T_DORMANT);
+        pool.clear();
     }
 
     public void gluTessProperty(int which, double value) {
@@ -349,12 +353,12 @@ public class GLUtessellatorImpl implements GLUtessellator {
 
             e = Mesh.__gl_meshMakeEdge(mesh);
             if (e == null) return false;
-            if (!Mesh.__gl_meshSplice(e, e.Sym)) return false;
+            if (!Mesh.__gl_meshSplice(mesh, e, e.Sym)) return false;
         } else {
 /* Create a new vertex and edge which immediately follow e
  * in the ordering around the left face.
  */
-            if (Mesh.__gl_meshSplitEdge(e) == null) return false;
+            if (Mesh.__gl_meshSplitEdge(mesh, e) == null) return false;
             e = e.Lnext;
         }
 
@@ -395,7 +399,7 @@ public class GLUtessellatorImpl implements GLUtessellator {
     private boolean flushCache() {
         CachedVertex[] v = cache;
 
-        mesh = Mesh.__gl_meshNewMesh();
+        mesh = Mesh.__gl_meshNewMesh(pool);
         if (mesh == null) return false;
 
         for (int i = 0; i < cacheCount; i++) {
@@ -412,7 +416,6 @@ public class GLUtessellatorImpl implements GLUtessellator {
         int i;
         boolean tooLarge = false;
         double x;
-        double[] clamped = new double[3];
 
         requireState(TessState.T_IN_CONTOUR);
 
@@ -218,7 +218,7 @@ class Mesh {
 /* KillVertex( vDel ) destroys a vertex and removes it from the global
  * vertex list.  It updates the vertex loop to point to a given new vertex.
  */
-    static void KillVertex(com.jogamp.opengl.impl.glu.tessellator.GLUvertex vDel, com.jogamp.opengl.impl.glu.tessellator.GLUvertex newOrg) {
+    static void KillVertex(com.jogamp.opengl.impl.glu.tessellator.GLUmesh mesh, com.jogamp.opengl.impl.glu.tessellator.GLUvertex vDel, com.jogamp.opengl.impl.glu.tessellator.GLUvertex newOrg) {
         com.jogamp.opengl.impl.glu.tessellator.GLUhalfEdge e, eStart = vDel.anEdge;
         com.jogamp.opengl.impl.glu.tessellator.GLUvertex vPrev, vNext;
 
@@ -234,12 +234,14 @@ class Mesh {
         vNext = vDel.next;
         vNext.prev = vPrev;
         vPrev.next = vNext;
+
+        mesh.pool.freeVertex(vDel);
     }
 
 /* KillFace( fDel ) destroys a face and removes it from the global face
  * list.  It updates the face loop to point to a given new face.
  */
-    static void KillFace(com.jogamp.opengl.impl.glu.tessellator.GLUface fDel, com.jogamp.opengl.impl.glu.tessellator.GLUface newLface) {
+    static void KillFace(com.jogamp.opengl.impl.glu.tessellator.GLUmesh mesh, com.jogamp.opengl.impl.glu.tessellator.GLUface fDel, com.jogamp.opengl.impl.glu.tessellator.GLUface newLface) {
         com.jogamp.opengl.impl.glu.tessellator.GLUhalfEdge e, eStart = fDel.anEdge;
         com.jogamp.opengl.impl.glu.tessellator.GLUface fPrev, fNext;
 
@@ -255,6 +257,8 @@ class Mesh {
         fNext = fDel.next;
         fNext.prev = fPrev;
         fPrev.next = fNext;
+
+        mesh.pool.freeFace(fDel);
     }
 
 
@@ -264,9 +268,9 @@ class Mesh {
  * The loop consists of the two new half-edges.
  */
     public static com.jogamp.opengl.impl.glu.tessellator.GLUhalfEdge __gl_meshMakeEdge(com.jogamp.opengl.impl.glu.tessellator.GLUmesh mesh) {
-        com.jogamp.opengl.impl.glu.tessellator.GLUvertex newVertex1 = new com.jogamp.opengl.impl.glu.tessellator.GLUvertex();
-        com.jogamp.opengl.impl.glu.tessellator.GLUvertex newVertex2 = new com.jogamp.opengl.impl.glu.tessellator.GLUvertex();
-        com.jogamp.opengl.impl.glu.tessellator.GLUface newFace = new com.jogamp.opengl.impl.glu.tessellator.GLUface();
+        com.jogamp.opengl.impl.glu.tessellator.GLUvertex newVertex1 = mesh.pool.newVertex();
+        com.jogamp.opengl.impl.glu.tessellator.GLUvertex newVertex2 = mesh.pool.newVertex();
+        com.jogamp.opengl.impl.glu.tessellator.GLUface newFace = mesh.pool.newFace();
         com.jogamp.opengl.impl.glu.tessellator.GLUhalfEdge e;
 
         e = MakeEdge(mesh.eHead);
@@ -302,7 +306,7 @@ class Mesh {
  * If eDst == eOrg->Onext, the new vertex will have a single edge.
  * If eDst == eOrg->Oprev, the old vertex will have a single edge.
  */
-    public static boolean __gl_meshSplice(com.jogamp.opengl.impl.glu.tessellator.GLUhalfEdge eOrg, com.jogamp.opengl.impl.glu.tessellator.GLUhalfEdge eDst) {
+    public static boolean __gl_meshSplice(com.jogamp.opengl.impl.glu.tessellator.GLUmesh mesh, com.jogamp.opengl.impl.glu.tessellator.GLUhalfEdge eOrg, com.jogamp.opengl.impl.glu.tessellator.GLUhalfEdge eDst) {
         boolean joiningLoops = false;
         boolean joiningVertices = false;
 
@@ -311,19 +315,19 @@ class Mesh {
         if (eDst.Org != eOrg.Org) {
             /* We are merging two disjoint vertices -- destroy eDst->Org */
             joiningVertices = true;
-            KillVertex(eDst.Org, eOrg.Org);
+            KillVertex(mesh, eDst.Org, eOrg.Org);
         }
         if (eDst.Lface != eOrg.Lface) {
             /* We are connecting two disjoint loops -- destroy eDst.Lface */
             joiningLoops = true;
-            KillFace(eDst.Lface, eOrg.Lface);
+            KillFace(mesh, eDst.Lface, eOrg.Lface);
         }
 
         /* Change the edge structure */
         Splice(eDst, eOrg);
 
         if (!joiningVertices) {
-            com.jogamp.opengl.impl.glu.tessellator.GLUvertex newVertex = new com.jogamp.opengl.impl.glu.tessellator.GLUvertex();
+            com.jogamp.opengl.impl.glu.tessellator.GLUvertex newVertex = mesh.pool.newVertex();
 
             /* We split one vertex into two -- the new vertex is eDst.Org.
              * Make sure the old vertex points to a valid half-edge.
@@ -332,7 +336,7 @@ class Mesh {
             eOrg.Org.anEdge = eOrg;
         }
         if (!joiningLoops) {
-            com.jogamp.opengl.impl.glu.tessellator.GLUface newFace = new com.jogamp.opengl.impl.glu.tessellator.GLUface();
+            com.jogamp.opengl.impl.glu.tessellator.GLUface newFace = mesh.pool.newFace();
 
             /* We split one loop into two -- the new loop is eDst.Lface.
              * Make sure the old face points to a valid half-edge.
@@ -355,7 +359,7 @@ class Mesh {
  * plus a few calls to memFree, but this would allocate and delete
  * unnecessary vertices and faces.
  */
-    static boolean __gl_meshDelete(com.jogamp.opengl.impl.glu.tessellator.GLUhalfEdge eDel) {
+    static boolean __gl_meshDelete(com.jogamp.opengl.impl.glu.tessellator.GLUmesh mesh, com.jogamp.opengl.impl.glu.tessellator.GLUhalfEdge eDel) {
         com.jogamp.opengl.impl.glu.tessellator.GLUhalfEdge eDelSym = eDel.Sym;
         boolean joiningLoops = false;
 
@@ -365,11 +369,11 @@ class Mesh {
         if (eDel.Lface != eDel.Sym.Lface) {
             /* We are joining two loops into one -- remove the left face */
             joiningLoops = true;
-            KillFace(eDel.Lface, eDel.Sym.Lface);
+            KillFace(mesh, eDel.Lface, eDel.Sym.Lface);
         }
 
         if (eDel.Onext == eDel) {
-            KillVertex(eDel.Org, null);
+            KillVertex(mesh, eDel.Org, null);
         } else {
             /* Make sure that eDel.Org and eDel.Sym.Lface point to valid half-edges */
             eDel.Sym.Lface.anEdge = eDel.Sym.Lnext;
@@ -377,7 +381,7 @@ class Mesh {
 
             Splice(eDel, eDel.Sym.Lnext);
             if (!joiningLoops) {
-                com.jogamp.opengl.impl.glu.tessellator.GLUface newFace = new com.jogamp.opengl.impl.glu.tessellator.GLUface();
+                com.jogamp.opengl.impl.glu.tessellator.GLUface newFace = mesh.pool.newFace();
 
                 /* We are splitting one loop into two -- create a new loop for eDel. */
                 MakeFace(newFace, eDel, eDel.Lface);
@@ -388,8 +392,8 @@ class Mesh {
          * may have been deleted.  Now we disconnect eDel.Dst.
          */
         if (eDelSym.Onext == eDelSym) {
-            KillVertex(eDelSym.Org, null);
-            KillFace(eDelSym.Lface, null);
+            KillVertex(mesh, eDelSym.Org, null);
+            KillFace(mesh, eDelSym.Lface, null);
         } else {
             /* Make sure that eDel.Dst and eDel.Lface point to valid half-edges */
             eDel.Lface.anEdge = eDelSym.Sym.Lnext;
@@ -415,7 +419,7 @@ class Mesh {
  * eNew == eOrg.Lnext, and eNew.Dst is a newly created vertex.
  * eOrg and eNew will have the same left face.
  */
-    static com.jogamp.opengl.impl.glu.tessellator.GLUhalfEdge __gl_meshAddEdgeVertex(com.jogamp.opengl.impl.glu.tessellator.GLUhalfEdge eOrg) {
+    static com.jogamp.opengl.impl.glu.tessellator.GLUhalfEdge __gl_meshAddEdgeVertex(com.jogamp.opengl.impl.glu.tessellator.GLUmesh mesh, com.jogamp.opengl.impl.glu.tessellator.GLUhalfEdge eOrg) {
         com.jogamp.opengl.impl.glu.tessellator.GLUhalfEdge eNewSym;
         com.jogamp.opengl.impl.glu.tessellator.GLUhalfEdge eNew = MakeEdge(eOrg);
 
@@ -427,7 +431,7 @@ class Mesh {
         /* Set the vertex and face information */
         eNew.Org = eOrg.Sym.Org;
         {
-            com.jogamp.opengl.impl.glu.tessellator.GLUvertex newVertex = new com.jogamp.opengl.impl.glu.tessellator.GLUvertex();
+            com.jogamp.opengl.impl.glu.tessellator.GLUvertex newVertex = mesh.pool.newVertex();
 
             MakeVertex(newVertex, eNewSym, eNew.Org);
         }
@@ -441,9 +445,9 @@ class Mesh {
  * such that eNew == eOrg.Lnext.  The new vertex is eOrg.Sym.Org == eNew.Org.
  * eOrg and eNew will have the same left face.
  */
-    public static com.jogamp.opengl.impl.glu.tessellator.GLUhalfEdge __gl_meshSplitEdge(com.jogamp.opengl.impl.glu.tessellator.GLUhalfEdge eOrg) {
+    public static com.jogamp.opengl.impl.glu.tessellator.GLUhalfEdge __gl_meshSplitEdge(com.jogamp.opengl.impl.glu.tessellator.GLUmesh mesh, com.jogamp.opengl.impl.glu.tessellator.GLUhalfEdge eOrg) {
         com.jogamp.opengl.impl.glu.tessellator.GLUhalfEdge eNew;
-        com.jogamp.opengl.impl.glu.tessellator.GLUhalfEdge tempHalfEdge = __gl_meshAddEdgeVertex(eOrg);
+        com.jogamp.opengl.impl.glu.tessellator.GLUhalfEdge tempHalfEdge = __gl_meshAddEdgeVertex(mesh, eOrg);
 
         eNew = tempHalfEdge.Sym;
 
@@ -472,7 +476,7 @@ class Mesh {
  * If (eOrg.Lnext == eDst), the old face is reduced to a single edge.
  * If (eOrg.Lnext.Lnext == eDst), the old face is reduced to two edges.
  */
-    static com.jogamp.opengl.impl.glu.tessellator.GLUhalfEdge __gl_meshConnect(com.jogamp.opengl.impl.glu.tessellator.GLUhalfEdge eOrg, com.jogamp.opengl.impl.glu.tessellator.GLUhalfEdge eDst) {
+    static com.jogamp.opengl.impl.glu.tessellator.GLUhalfEdge __gl_meshConnect(com.jogamp.opengl.impl.glu.tessellator.GLUmesh mesh, com.jogamp.opengl.impl.glu.tessellator.GLUhalfEdge eOrg, com.jogamp.opengl.impl.glu.tessellator.GLUhalfEdge eDst) {
         com.jogamp.opengl.impl.glu.tessellator.GLUhalfEdge eNewSym;
         boolean joiningLoops = false;
         com.jogamp.opengl.impl.glu.tessellator.GLUhalfEdge eNew = MakeEdge(eOrg);
@@ -482,7 +486,7 @@ class Mesh {
         if (eDst.Lface != eOrg.Lface) {
             /* We are connecting two disjoint loops -- destroy eDst.Lface */
             joiningLoops = true;
-            KillFace(eDst.Lface, eOrg.Lface);
+            KillFace(mesh, eDst.Lface, eOrg.Lface);
         }
 
         /* Connect the new edge appropriately */
@@ -498,7 +502,7 @@ class Mesh {
         eOrg.Lface.anEdge = eNewSym;
 
         if (!joiningLoops) {
-            com.jogamp.opengl.impl.glu.tessellator.GLUface newFace = new com.jogamp.opengl.impl.glu.tessellator.GLUface();
+            com.jogamp.opengl.impl.glu.tessellator.GLUface newFace = mesh.pool.newFace();
 
             /* We split one loop into two -- the new loop is eNew.Lface */
             MakeFace(newFace, eNew, eOrg.Lface);
@@ -516,7 +520,7 @@ class Mesh {
  * An entire mesh can be deleted by zapping its faces, one at a time,
  * in any order.  Zapped faces cannot be used in further mesh operations!
  */
-    static void __gl_meshZapFace(com.jogamp.opengl.impl.glu.tessellator.GLUface fZap) {
+    static void __gl_meshZapFace(com.jogamp.opengl.impl.glu.tessellator.GLUmesh mesh, com.jogamp.opengl.impl.glu.tessellator.GLUface fZap) {
         com.jogamp.opengl.impl.glu.tessellator.GLUhalfEdge eStart = fZap.anEdge;
         com.jogamp.opengl.impl.glu.tessellator.GLUhalfEdge e, eNext, eSym;
         com.jogamp.opengl.impl.glu.tessellator.GLUface fPrev, fNext;
@@ -532,7 +536,7 @@ class Mesh {
                 /* delete the edge -- see __gl_MeshDelete above */
 
                 if (e.Onext == e) {
-                    KillVertex(e.Org, null);
+                    KillVertex(mesh, e.Org, null);
                 } else {
                     /* Make sure that e.Org points to a valid half-edge */
                     e.Org.anEdge = e.Onext;
@@ -540,7 +544,7 @@ class Mesh {
                 }
                 eSym = e.Sym;
                 if (eSym.Onext == eSym) {
-                    KillVertex(eSym.Org, null);
+                    KillVertex(mesh, eSym.Org, null);
                 } else {
                     /* Make sure that eSym.Org points to a valid half-edge */
                     eSym.Org.anEdge = eSym.Onext;
@@ -555,18 +559,22 @@ class Mesh {
         fNext = fZap.next;
         fNext.prev = fPrev;
         fPrev.next = fNext;
+
+        mesh.pool.freeFace(fZap);
     }
 
 
 /* __gl_meshNewMesh() creates a new mesh with no edges, no vertices,
  * and no loops (what we usually call a "face").
  */
-    public static com.jogamp.opengl.impl.glu.tessellator.GLUmesh __gl_meshNewMesh() {
+    public static com.jogamp.opengl.impl.glu.tessellator.GLUmesh __gl_meshNewMesh(com.jogamp.opengl.impl.glu.tessellator.TessPool pool) {
         com.jogamp.opengl.impl.glu.tessellator.GLUvertex v;
         com.jogamp.opengl.impl.glu.tessellator.GLUface f;
         com.jogamp.opengl.impl.glu.tessellator.GLUhalfEdge e;
         com.jogamp.opengl.impl.glu.tessellator.GLUhalfEdge eSym;
-        com.jogamp.opengl.impl.glu.tessellator.GLUmesh mesh = new com.jogamp.opengl.impl.glu.tessellator.GLUmesh();
+        com.jogamp.opengl.impl.glu.tessellator.GLUmesh mesh = pool.newMesh();
+
+        mesh.pool = pool;
 
         v = mesh.vHead;
         f = mesh.fHead;
@@ -649,7 +657,7 @@ class Mesh {
         com.jogamp.opengl.impl.glu.tessellator.GLUface fHead = mesh.fHead;
 
         while (fHead.next != fHead) {
-            __gl_meshZapFace(fHead.next);
+            __gl_meshZapFace(mesh, fHead.next);
         }
         assert (mesh.vHead.next == mesh.vHead);
     }
@@ -663,16 +671,20 @@ class Mesh {
 
         for (f = mesh.fHead.next; f != mesh.fHead; f = fNext) {
             fNext = f.next;
+            mesh.pool.freeFace(f);
         }
 
         for (v = mesh.vHead.next; v != mesh.vHead; v = vNext) {
             vNext = v.next;
+            mesh.pool.freeVertex(v);
         }
 
         for (e = mesh.eHead.next; e != mesh.eHead; e = eNext) {
             /* One call frees both e and e.Sym (see EdgePair above) */
             eNext = e.next;
         }
+
+        mesh.pool.freeMesh(mesh);
     }
 
 /* __gl_meshCheckMesh( mesh ) checks a mesh for self-consistency.
@@ -53,8 +53,12 @@
 package com.jogamp.opengl.impl.glu.tessellator;
 
 class PriorityQHeap extends com.jogamp.opengl.impl.glu.tessellator.PriorityQ {
-    com.jogamp.opengl.impl.glu.tessellator.PriorityQ.PQnode[] nodes;
-    com.jogamp.opengl.impl.glu.tessellator.PriorityQ.PQhandleElem[] handles;
+    // JAVA: the PQnode and PQhandleElem structures of the C code are kept
+    // in parallel arrays: nodes[i] is the handle of node i, handleKeys[h]
+    // and handleNodes[h] are the key and the node of handle h.
+    int[] nodes;
+    Object[] handleKeys;
+    int[] handleNodes;
     int size, max;
     int freeList;
     boolean initialized;
@@ -64,74 +68,86 @@ class PriorityQHeap extends com.jogamp.opengl.impl.glu.tessellator.PriorityQ {
     public PriorityQHeap(com.jogamp.opengl.impl.glu.tessellator.PriorityQ.Leq leq) {
         size = 0;
         max = com.jogamp.opengl.impl.glu.tessellator.PriorityQ.INIT_SIZE;
-        nodes = new com.jogamp.opengl.impl.glu.tessellator.PriorityQ.PQnode[com.jogamp.opengl.impl.glu.tessellator.PriorityQ.INIT_SIZE + 1];
-        for (int i = 0; i < nodes.length; i++) {
-            nodes[i] = new PQnode();
-        }
-        handles = new com.jogamp.opengl.impl.glu.tessellator.PriorityQ.PQhandleElem[com.jogamp.opengl.impl.glu.tessellator.PriorityQ.INIT_SIZE + 1];
-        for (int i = 0; i < handles.length; i++) {
-            handles[i] = new PQhandleElem();
+        nodes = new int[com.jogamp.opengl.impl.glu.tessellator.PriorityQ.INIT_SIZE + 1];
+        handleKeys = new Object[com.jogamp.opengl.impl.glu.tessellator.PriorityQ.INIT_SIZE + 1];
+        handleNodes = new int[com.jogamp.opengl.impl.glu.tessellator.PriorityQ.INIT_SIZE + 1];
+        initialized = false;
+        freeList = 0;
+        this.leq = leq;
+
+        nodes[1] = 1;	/* so that Minimum() returns NULL */
+        handleKeys[1] = null;
+    }
+
+/* pqReset() empties the queue for reuse, keeping its storage */
+    void pqReset(com.jogamp.opengl.impl.glu.tessellator.PriorityQ.Leq leq) {
+        for (int i = 1; i <= size; ++i) {
+            handleKeys[nodes[i]] = null;
         }
+        size = 0;
         initialized = false;
         freeList = 0;
         this.leq = leq;
 
-        nodes[1].handle = 1;	/* so that Minimum() returns NULL */
-        handles[1].key = null;
+        nodes[1] = 1;	/* so that Minimum() returns NULL */
+        handleKeys[1] = null;
     }
 
 /* really __gl_pqHeapDeletePriorityQ */
     void pqDeletePriorityQ() {
-        handles = null;
+        handleKeys = null;
+        handleNodes = null;
         nodes = null;
     }
 
     void FloatDown(int curr) {
-        com.jogamp.opengl.impl.glu.tessellator.PriorityQ.PQnode[] n = nodes;
-        com.jogamp.opengl.impl.glu.tessellator.PriorityQ.PQhandleElem[] h = handles;
+        int[] n = nodes;
+        Object[] hKey = handleKeys;
+        int[] hNode = handleNodes;
         int hCurr, hChild;
         int child;
 
-        hCurr = n[curr].handle;
+        hCurr = n[curr];
         for (; ;) {
             child = curr << 1;
-            if (child < size && LEQ(leq, h[n[child + 1].handle].key,
-                    h[n[child].handle].key)) {
+            if (child < size && LEQ(leq, hKey[n[child + 1]],
+                    hKey[n[child]])) {
                 ++child;
             }
 
             assert (child <= max);
 
-            hChild = n[child].handle;
-            if (child > size || LEQ(leq, h[hCurr].key, h[hChild].key)) {
-                n[curr].handle = hCurr;
-                h[hCurr].node = curr;
+            hChild = n[child];
+            if (child > size || LEQ(leq, hKey[hCurr], hKey[hChild])) {
+                n[curr] = hCurr;
+                hNode[hCurr] = curr;
                 break;
             }
-            n[curr].handle = hChild;
-            h[hChild].node = curr;
+            n[curr] = hChild;
+            hNode[hChild] = curr;
             curr = child;
         }
     }
 
 
     void FloatUp(int curr) {
-        com.jogamp.opengl.impl.glu.tessellator.PriorityQ.PQnode[] n = nodes;
-        com.jogamp.opengl.impl.glu.tessellator.PriorityQ.PQhandleElem[] h = handles;
+        int[] n = nodes;
+        Object[] hKey = handleKeys;
+        int[] hNode = handleNodes;
         int hCurr, hParent;
         int parent;
 
-        hCurr = n[curr].handle;
+        hCurr = n[curr];
         for (; ;) {
             parent = curr >> 1;
-            hParent = n[parent].handle;
-            if (parent == 0 || LEQ(leq, h[hParent].key, h[hCurr].key)) {
-                n[curr].handle = hCurr;
-                h[hCurr].node = curr;
+            hParent = n[parent];
+            if (parent == 0 || LEQ(leq, hKey[hParent], hKey[hCurr])) {
+                n[curr] = hCurr;
+                hNode[hCurr] = curr;
                 break;
             }
-            n[curr].handle = hParent;
-            h[hParent].node = curr;
+            n[curr] = hParent;
+            hNode[hParent] = curr;
             curr = parent;
         }
     }
@@ -158,46 +174,32 @@ class PriorityQHeap extends com.jogamp.opengl.impl.glu.tessellator.PriorityQ {
 
         curr = ++size;
         if ((curr * 2) > max) {
-            com.jogamp.opengl.impl.glu.tessellator.PriorityQ.PQnode[] saveNodes = nodes;
-            com.jogamp.opengl.impl.glu.tessellator.PriorityQ.PQhandleElem[] saveHandles = handles;
-
             /* If the heap overflows, double its size. */
             max <<= 1;
 //            pq->nodes = (PQnode *)memRealloc( pq->nodes, (size_t) ((pq->max + 1) * sizeof( pq->nodes[0] )));
-            PriorityQ.PQnode[] pqNodes = new PriorityQ.PQnode[max + 1];
+            int[] pqNodes = new int[max + 1];
             System.arraycopy( nodes, 0, pqNodes, 0, nodes.length );
-            for (int i = nodes.length; i < pqNodes.length; i++) {
-                pqNodes[i] = new PQnode();
-            }
             nodes = pqNodes;
-            if (nodes == null) {
-                nodes = saveNodes;	/* restore ptr to free upon return */
-                return Integer.MAX_VALUE;
-            }
 
 //            pq->handles = (PQhandleElem *)memRealloc( pq->handles,(size_t)((pq->max + 1) * sizeof( pq->handles[0] )));
-            PriorityQ.PQhandleElem[] pqHandles = new PriorityQ.PQhandleElem[max + 1];
-            System.arraycopy( handles, 0, pqHandles, 0, handles.length );
-            for (int i = handles.length; i < pqHandles.length; i++) {
-                pqHandles[i] = new PQhandleElem();
-            }
-            handles = pqHandles;
-            if (handles == null) {
-                handles = saveHandles; /* restore ptr to free upon return */
-                return Integer.MAX_VALUE;
-            }
+            Object[] pqHandleKeys = new Object[max + 1];
+            System.arraycopy( handleKeys, 0, pqHandleKeys, 0, handleKeys.length );
+            handleKeys = pqHandleKeys;
+            int[] pqHandleNodes = new int[max + 1];
+            System.arraycopy( handleNodes, 0, pqHandleNodes, 0, handleNodes.length );
+            handleNodes = pqHandleNodes;
         }
 
         if (freeList == 0) {
             free = curr;
         } else {
             free = freeList;
-            freeList = handles[free].node;
+            freeList = handleNodes[free];
         }
 
-        nodes[curr].handle = free;
-        handles[free].node = curr;
-        handles[free].key = keyNew;
+        nodes[curr] = free;
+        handleNodes[free] = curr;
+        handleKeys[free] = keyNew;
 
         if (initialized) {
             FloatUp(curr);
@@ -208,17 +210,18 @@ class PriorityQHeap extends com.jogamp.opengl.impl.glu.tessellator.PriorityQ {
 
 /* really __gl_pqHeapExtractMin */
     Object pqExtractMin() {
-        com.jogamp.opengl.impl.glu.tessellator.PriorityQ.PQnode[] n = nodes;
-        com.jogamp.opengl.impl.glu.tessellator.PriorityQ.PQhandleElem[] h = handles;
-        int hMin = n[1].handle;
-        Object min = h[hMin].key;
+        int[] n = nodes;
+        Object[] hKey = handleKeys;
+        int[] hNode = handleNodes;
+        int hMin = n[1];
+        Object min = hKey[hMin];
 
         if (size > 0) {
-            n[1].handle = n[size].handle;
-            h[n[1].handle].node = 1;
+            n[1] = n[size];
+            hNode[n[1]] = 1;
 
-            h[hMin].key = null;
-            h[hMin].node = freeList;
+            hKey[hMin] = null;
+            hNode[hMin] = freeList;
             freeList = hMin;
 
             if (--size > 0) {
@@ -230,30 +233,31 @@ class PriorityQHeap extends com.jogamp.opengl.impl.glu.tessellator.PriorityQ {
 
 /* really __gl_pqHeapDelete */
     void pqDelete(int hCurr) {
-        com.jogamp.opengl.impl.glu.tessellator.PriorityQ.PQnode[] n = nodes;
-        com.jogamp.opengl.impl.glu.tessellator.PriorityQ.PQhandleElem[] h = handles;
+        int[] n = nodes;
+        Object[] hKey = handleKeys;
+        int[] hNode = handleNodes;
         int curr;
 
-        assert (hCurr >= 1 && hCurr <= max && h[hCurr].key != null);
+        assert (hCurr >= 1 && hCurr <= max && hKey[hCurr] != null);
 
-        curr = h[hCurr].node;
-        n[curr].handle = n[size].handle;
-        h[n[curr].handle].node = curr;
+        curr = hNode[hCurr];
+        n[curr] = n[size];
+        hNode[n[curr]] = curr;
 
         if (curr <= --size) {
-            if (curr <= 1 || LEQ(leq, h[n[curr >> 1].handle].key, h[n[curr].handle].key)) {
+            if (curr <= 1 || LEQ(leq, hKey[n[curr >> 1]], hKey[n[curr]])) {
                 FloatDown(curr);
             } else {
                 FloatUp(curr);
             }
         }
-        h[hCurr].key = null;
-        h[hCurr].node = freeList;
+        hKey[hCurr] = null;
+        hNode[hCurr] = freeList;
         freeList = hCurr;
     }
 
     Object pqMinimum() {
-        return handles[nodes[1].handle].key;
+        return handleKeys[nodes[1]];
     }
 
     boolean pqIsEmpty() {
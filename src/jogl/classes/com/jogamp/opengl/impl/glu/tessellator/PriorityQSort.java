@@ -56,6 +56,8 @@ class PriorityQSort extends com.jogamp.opengl.impl.glu.tessellator.PriorityQ {
     // (from Frank Suykens, Luciad.com).
     int[] order;
     int size, max;
+    // JAVA: the quicksort stack of pqInit(), p at even and r at odd indices
+    int[] stack = new int[2 * 50];
     boolean initialized;
     com.jogamp.opengl.impl.glu.tessellator.PriorityQ.Leq leq;
 
@@ -70,6 +72,20 @@ class PriorityQSort extends com.jogamp.opengl.impl.glu.tessellator.PriorityQ {
         this.leq = leq;
     }
 
+/* pqReset() empties the queue for reuse, keeping its storage */
+    void pqReset(com.jogamp.opengl.impl.glu.tessellator.PriorityQ.Leq leq) {
+        int used = initialized ? max : size;
+        for (int i = 0; i < used; ++i) {
+            keys[i] = null;
+        }
+        heap.pqReset(leq);
+
+        size = 0;
+        max = keys.length;
+        initialized = false;
+        this.leq = leq;
+    }
+
 /* really __gl_pqSortDeletePriorityQ */
     void pqDeletePriorityQ() {
         if (heap != null) heap.pqDeletePriorityQ();
@@ -95,18 +111,11 @@ class PriorityQSort extends com.jogamp.opengl.impl.glu.tessellator.PriorityQ {
         }
     }
 
-    private static class Stack {
-        int p, r;
-    }
-
 /* really __gl_pqSortInit */
     boolean pqInit() {
         int p, r, i, j;
         int piv;
-        Stack[] stack = new Stack[50];
-        for (int k = 0; k < stack.length; k++) {
-            stack[k] = new Stack();
-        }
+        int[] stack = this.stack;
         int top = 0;
 
         int seed = 2016473283;
@@ -114,7 +123,9 @@ class PriorityQSort extends com.jogamp.opengl.impl.glu.tessellator.PriorityQ {
         /* Create an array of indirect pointers to the keys, so that we
          * the handles we have returned are still valid.
          */
-        order = new int[size + 1];
+        if (order == null || order.length < size + 1) {
+            order = new int[size + 1];
+        }
 /* the previous line is a patch to compensate for the fact that IBM */
 /* machines return a null on a malloc of zero bytes (unlike SGI),   */
 /* so we have to put in this defense to guard against a memory      */
@@ -129,12 +140,12 @@ class PriorityQSort extends com.jogamp.opengl.impl.glu.tessellator.PriorityQ {
         /* Sort the indirect pointers in descending order,
          * using randomized Quicksort
          */
-        stack[top].p = p;
-        stack[top].r = r;
+        stack[2 * top] = p;
+        stack[2 * top + 1] = r;
         ++top;
         while (--top >= 0) {
-            p = stack[top].p;
-            r = stack[top].r;
+            p = stack[2 * top];
+            r = stack[2 * top + 1];
             while (r > p + 10) {
                 seed = Math.abs( seed * 1539415821 + 1 );
                 i = p + seed % (r - p + 1);
@@ -154,13 +165,13 @@ class PriorityQSort extends com.jogamp.opengl.impl.glu.tessellator.PriorityQ {
                 } while (i < j);
                 Swap(order, i, j);	/* Undo last swap */
                 if (i - p < r - j) {
-                    stack[top].p = j + 1;
-                    stack[top].r = r;
+                    stack[2 * top] = j + 1;
+                    stack[2 * top + 1] = r;
                     ++top;
                     r = i - 1;
                 } else {
-                    stack[top].p = p;
-                    stack[top].r = i - 1;
+                    stack[2 * top] = p;
+                    stack[2 * top + 1] = i - 1;
                     ++top;
                     p = j + 1;
                 }
@@ -80,7 +80,7 @@ class TessMono {
  * to the fan is a simple orientation test.  By making the fan as large
  * as possible, we restore the invariant (check it yourself).
  */
-    static boolean __gl_meshTessellateMonoRegion(GLUface face, boolean avoidDegenerateTris) {
+    static boolean __gl_meshTessellateMonoRegion(GLUmesh mesh, GLUface face, boolean avoidDegenerateTris) {
         GLUhalfEdge up, lo;
 
         /* All edges are oriented CCW around the boundary of the region.
@@ -135,7 +135,7 @@ class TessMono {
                  */
                 while (lo.Lnext != up && (Geom.EdgeGoesLeft(lo.Lnext)
                         || Geom.EdgeSign(lo.Org, lo.Sym.Org, lo.Lnext.Sym.Org) <= 0)) {
-                    GLUhalfEdge tempHalfEdge = Mesh.__gl_meshConnect(lo.Lnext, lo);
+                    GLUhalfEdge tempHalfEdge = Mesh.__gl_meshConnect(mesh, lo.Lnext, lo);
                     mustConnect = false;
                     if (tempHalfEdge == null) return false;
                     lo = tempHalfEdge.Sym;
@@ -145,7 +145,7 @@ class TessMono {
                 /* lo.Org is on the left.  We can make CCW triangles from up.Sym.Org. */
                 while (lo.Lnext != up && (Geom.EdgeGoesRight(up.Onext.Sym)
                         || Geom.EdgeSign(up.Sym.Org, up.Org, up.Onext.Sym.Org) >= 0)) {
-                    GLUhalfEdge tempHalfEdge = Mesh.__gl_meshConnect(up, up.Onext.Sym);
+                    GLUhalfEdge tempHalfEdge = Mesh.__gl_meshConnect(mesh, up, up.Onext.Sym);
                     mustConnect = false;
                     if (tempHalfEdge == null) return false;
                     up = tempHalfEdge.Sym;
@@ -159,7 +159,7 @@ class TessMono {
          */
         assert (lo.Lnext != up);
         while (lo.Lnext.Lnext != up) {
-            GLUhalfEdge tempHalfEdge = Mesh.__gl_meshConnect(lo.Lnext, lo);
+            GLUhalfEdge tempHalfEdge = Mesh.__gl_meshConnect(mesh, lo.Lnext, lo);
             if (tempHalfEdge == null) return false;
             lo = tempHalfEdge.Sym;
         }
@@ -180,7 +180,7 @@ class TessMono {
             /* Make sure we don''t try to tessellate the new triangles. */
             next = f.next;
             if (f.inside) {
-                if (!__gl_meshTessellateMonoRegion(f, avoidDegenerateTris)) return false;
+                if (!__gl_meshTessellateMonoRegion(mesh, f, avoidDegenerateTris)) return false;
             }
         }
 
@@ -201,7 +201,7 @@ class TessMono {
             /* Since f will be destroyed, save its next pointer. */
             next = f.next;
             if (!f.inside) {
-                Mesh.__gl_meshZapFace(f);
+                Mesh.__gl_meshZapFace(mesh, f);
             }
         }
     }
@@ -231,7 +231,7 @@ class TessMono {
                 if (!keepOnlyBoundary) {
                     e.winding = 0;
                 } else {
-                    if (!Mesh.__gl_meshDelete(e)) return false;
+                    if (!Mesh.__gl_meshDelete(mesh, e)) return false;
                 }
             }
         }
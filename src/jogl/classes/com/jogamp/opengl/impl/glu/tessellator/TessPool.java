@@ -0,0 +1,187 @@
+
+package com.jogamp.opengl.impl.glu.tessellator;
+
+/* TessPool keeps the mesh, edge dictionary and priority queue structures
+ * of a tessellator for reuse by the following polygons, so that a tessellator
+ * processing many polygons allocates little more than the half-edges.
+ *
+ * The structures are released where the C code calls memFree() and are
+ * handed out again by the corresponding allocations, reinitialized as if
+ * newly created.  Free vertices, faces and dictionary nodes are
+ * linked through their "next" fields, free regions are kept in an array.
+ * Half-edge pairs are not pooled: once recycled half-edges are scattered
+ * over the heap, walking the face loops in MakeFace() and KillFace() gets
+ * much slower than with freshly allocated ones.
+ * At most MAX_FREE structures of each kind are kept, so a single huge
+ * polygon does not pin its memory for the lifetime of the tessellator.
+ */
+class TessPool {
+    static final int MAX_FREE = 1 << 16;
+
+    private GLUmesh freeMesh;
+    private GLUvertex freeVertices;
+    private int freeVertexCount;
+    private GLUface freeFaces;
+    private int freeFaceCount;
+    private Dict freeDict;
+    private DictNode freeNodes;
+    private int freeNodeCount;
+    private ActiveRegion[] freeRegions = new ActiveRegion[PriorityQ.INIT_SIZE];
+    private int freeRegionCount;
+    private PriorityQSort freePriorityQ;
+
+    /* scratch structures which are a local variable in the C code */
+    final GLUvertex isect = new GLUvertex();
+    final ActiveRegion searchRegion = new ActiveRegion();
+
+    GLUmesh newMesh() {
+        GLUmesh mesh = freeMesh;
+        if (mesh == null) {
+            return new GLUmesh();
+        }
+        freeMesh = null;
+        return mesh;
+    }
+
+    void freeMesh(GLUmesh mesh) {
+        freeMesh = mesh;
+    }
+
+    GLUvertex newVertex() {
+        GLUvertex v = freeVertices;
+        if (v == null) {
+            return new GLUvertex();
+        }
+        freeVertices = v.next;
+        --freeVertexCount;
+        v.next = null;
+        return v;
+    }
+
+    void freeVertex(GLUvertex v) {
+        if (freeVertexCount >= MAX_FREE) return;
+        v.prev = null;
+        v.anEdge = null;
+        v.data = null;
+        v.coords[0] = v.coords[1] = v.coords[2] = 0;
+        v.s = v.t = 0;
+        v.pqHandle = 0;
+        v.next = freeVertices;
+        freeVertices = v;
+        ++freeVertexCount;
+    }
+
+    GLUface newFace() {
+        GLUface f = freeFaces;
+        if (f == null) {
+            return new GLUface();
+        }
+        freeFaces = f.next;
+        --freeFaceCount;
+        f.next = null;
+        return f;
+    }
+
+    void freeFace(GLUface f) {
+        if (freeFaceCount >= MAX_FREE) return;
+        f.prev = null;
+        f.anEdge = null;
+        f.data = null;
+        f.trail = null;
+        f.marked = false;
+        f.inside = false;
+        f.next = freeFaces;
+        freeFaces = f;
+        ++freeFaceCount;
+    }
+
+    Dict newDict() {
+        Dict dict = freeDict;
+        if (dict == null) {
+            return new Dict();
+        }
+        freeDict = null;
+        return dict;
+    }
+
+    void freeDict(Dict dict) {
+        freeDict = dict;
+    }
+
+    DictNode newDictNode() {
+        DictNode node = freeNodes;
+        if (node == null) {
+            return new DictNode();
+        }
+        freeNodes = node.next;
+        --freeNodeCount;
+        node.next = null;
+        return node;
+    }
+
+    void freeDictNode(DictNode node) {
+        if (freeNodeCount >= MAX_FREE) return;
+        node.key = null;
+        node.prev = null;
+        node.next = freeNodes;
+        freeNodes = node;
+        ++freeNodeCount;
+    }
+
+    ActiveRegion newRegion() {
+        if (freeRegionCount == 0) {
+            return new ActiveRegion();
+        }
+        ActiveRegion reg = freeRegions[--freeRegionCount];
+        freeRegions[freeRegionCount] = null;
+        return reg;
+    }
+
+    void freeRegion(ActiveRegion reg) {
+        if (freeRegionCount >= MAX_FREE) return;
+        reg.eUp = null;
+        reg.nodeUp = null;
+        reg.windingNumber = 0;
+        reg.inside = false;
+        reg.sentinel = false;
+        reg.dirty = false;
+        reg.fixUpperEdge = false;
+        if (freeRegionCount == freeRegions.length) {
+            ActiveRegion[] regions = new ActiveRegion[freeRegionCount << 1];
+            System.arraycopy(freeRegions, 0, regions, 0, freeRegionCount);
+            freeRegions = regions;
+        }
+        freeRegions[freeRegionCount++] = reg;
+    }
+
+    PriorityQ newPriorityQ(PriorityQ.Leq leq) {
+        PriorityQSort pq = freePriorityQ;
+        if (pq == null) {
+            return new PriorityQSort(leq);
+        }
+        freePriorityQ = null;
+        pq.pqReset(leq);
+        return pq;
+    }
+
+    void freePriorityQ(PriorityQ pq) {
+        if (pq instanceof PriorityQSort) {
+            freePriorityQ = (PriorityQSort) pq;
+        }
+    }
+
+/* clear() drops all structures kept for reuse. */
+    void clear() {
+        freeMesh = null;
+        freeVertices = null;
+        freeVertexCount = 0;
+        freeFaces = null;
+        freeFaceCount = 0;
+        freeDict = null;
+        freeNodes = null;
+        freeNodeCount = 0;
+        freeRegions = new ActiveRegion[PriorityQ.INIT_SIZE];
+        freeRegionCount = 0;
+        freePriorityQ = null;
+    }
+}
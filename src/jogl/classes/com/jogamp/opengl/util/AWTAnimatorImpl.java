@@ -54,6 +54,7 @@ class AWTAnimatorImpl extends AnimatorImpl {
     public void display(Animator animator,
                         boolean ignoreExceptions,
                         boolean printExceptions) {
+        final boolean timed = animator.timeDrawables;
         Iterator iter = animator.drawableIterator();
         while (iter.hasNext()) {
             GLAutoDrawable drawable = (GLAutoDrawable) iter.next();
@@ -65,7 +66,13 @@ class AWTAnimatorImpl extends AnimatorImpl {
                 lightweights.add(drawable);
             } else {
                 try {
-                    drawable.display();
+                    if (timed) {
+                        long start = System.currentTimeMillis();
+                        drawable.display();
+                        animator.drawableDisplayed(drawable, start, System.currentTimeMillis());
+                    } else {
+                        drawable.display();
+                    }
                 } catch (RuntimeException e) {
                     if (ignoreExceptions) {
                         if (printExceptions) {
@@ -78,11 +85,19 @@ class AWTAnimatorImpl extends AnimatorImpl {
             }
         }
         if (lightweights.size() > 0) {
+            long start = timed ? System.currentTimeMillis() : 0;
             try {
                 SwingUtilities.invokeAndWait(drawWithRepaintManagerRunnable);
             } catch (Exception e) {
                 e.printStackTrace();
             }
+            if (timed) {
+                // lightweights are painted together, each one is accounted the whole duration
+                long end = System.currentTimeMillis();
+                for (int i = 0; i < lightweights.size(); i++) {
+                    animator.drawableDisplayed((GLAutoDrawable) lightweights.get(i), start, end);
+                }
+            }
             lightweights.clear();
         }
     }
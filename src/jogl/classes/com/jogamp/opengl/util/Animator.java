@@ -154,6 +154,14 @@ public class Animator {
         impl.display(this, ignoreExceptions, printExceptions);
     }
 
+    /** If set, {@link #drawableDisplayed} is called after each drawable's <code>display()</code>. */
+    protected boolean timeDrawables;
+
+    /** Called after a drawable has been displayed, if {@link #timeDrawables} is set.
+        The times are in milliseconds. The default implementation does nothing. */
+    protected void drawableDisplayed(GLAutoDrawable drawable, long start, long end) {
+    }
+
     private long startTime = 0;
     private long curTime = 0;
     private int  totalFrames = 0;
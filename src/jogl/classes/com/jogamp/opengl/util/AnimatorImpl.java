@@ -43,11 +43,18 @@ class AnimatorImpl {
     public void display(Animator animator,
                         boolean ignoreExceptions,
                         boolean printExceptions) {
+        final boolean timed = animator.timeDrawables;
         Iterator iter = animator.drawableIterator();
         while (iter.hasNext()) {
             GLAutoDrawable drawable = (GLAutoDrawable) iter.next();
             try {
-                drawable.display();
+                if (timed) {
+                    long start = System.currentTimeMillis();
+                    drawable.display();
+                    animator.drawableDisplayed(drawable, start, System.currentTimeMillis());
+                } else {
+                    drawable.display();
+                }
             } catch (RuntimeException e) {
                 if (ignoreExceptions) {
                     if (printExceptions) {
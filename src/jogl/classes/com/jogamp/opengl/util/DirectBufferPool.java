@@ -0,0 +1,124 @@
+
+package com.jogamp.opengl.util;
+
+import com.jogamp.common.nio.Buffers;
+
+import java.nio.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * Pool of direct {@link ByteBuffer}s, keyed by power of two size classes.
+ * <p>
+ * Direct memory is only reclaimed when the owning buffer object is finalized,
+ * hence repeatedly allocating and dropping direct buffers, e.g. while growing
+ * a vertex array, may exhaust native memory long before the GC kicks in.
+ * Released buffers are kept here for reuse, up to a maximum of pooled bytes.</p>
+ * <p>
+ * A buffer must not be accessed anymore by the caller after it has been released.</p>
+ */
+public class DirectBufferPool {
+
+  /** Smallest size class in bytes */
+  public static final int MIN_SIZE_CLASS = 64;
+
+  /** Default maximum number of bytes kept in the pool */
+  public static final int DEFAULT_MAX_POOLED_BYTES = 16 * 1024 * 1024;
+
+  private static DirectBufferPool shared = null;
+
+  /** @return the lazily created, shared pool */
+  public static synchronized DirectBufferPool getShared() {
+      if(null==shared) {
+          shared = new DirectBufferPool(DEFAULT_MAX_POOLED_BYTES);
+      }
+      return shared;
+  }
+
+  public DirectBufferPool(int maxPooledBytes) {
+      this.maxPooledBytes = maxPooledBytes;
+  }
+
+  /**
+   * @return the size class, i.e. the next power of two greater or equal to <code>bytes</code>
+   */
+  public static int getSizeClass(int bytes) {
+      int sz = MIN_SIZE_CLASS;
+      while(sz < bytes && sz > 0) {
+          sz <<= 1;
+      }
+      return ( sz > 0 ) ? sz : bytes ;
+  }
+
+  /**
+   * @return a cleared direct ByteBuffer in native byte order,
+   *         with a capacity of the size class of <code>bytes</code>
+   */
+  public synchronized ByteBuffer get(int bytes) {
+      final int sz = getSizeClass(bytes);
+      final Integer key = new Integer(sz);
+      ArrayList/*ByteBuffer*/ free = (ArrayList) pool.get(key);
+      if(null!=free && free.size()>0) {
+          ByteBuffer buf = (ByteBuffer) free.remove(free.size()-1);
+          pooledBytes -= sz;
+          bytesReused += sz;
+          buf.clear();
+          return buf;
+      }
+      bytesAllocated += sz;
+      return Buffers.newDirectByteBuffer(sz);
+  }
+
+  /**
+   * Returns the buffer to the pool, if it is direct, of a size class capacity
+   * and the pool limit is not exceeded. Otherwise the buffer is left to the GC.
+   */
+  public synchronized void release(ByteBuffer buf) {
+      if(null==buf || !buf.isDirect()) {
+          return;
+      }
+      final int sz = buf.capacity();
+      if( sz != getSizeClass(sz) || pooledBytes + sz > maxPooledBytes ) {
+          bytesDropped += sz;
+          return;
+      }
+      final Integer key = new Integer(sz);
+      ArrayList/*ByteBuffer*/ free = (ArrayList) pool.get(key);
+      if(null==free) {
+          free = new ArrayList();
+          pool.put(key, free);
+      }
+      buf.clear();
+      free.add(buf);
+      pooledBytes += sz;
+  }
+
+  /** Drops all pooled buffers. */
+  public synchronized void clear() {
+      pool.clear();
+      pooledBytes = 0;
+  }
+
+  /** @return bytes of newly allocated direct buffers */
+  public synchronized long getBytesAllocated() { return bytesAllocated; }
+
+  /** @return bytes of buffers served from the pool */
+  public synchronized long getBytesReused() { return bytesReused; }
+
+  /** @return bytes of released buffers not pooled */
+  public synchronized long getBytesDropped() { return bytesDropped; }
+
+  /** @return bytes currently held in the pool */
+  public synchronized int getPooledBytes() { return pooledBytes; }
+
+  public String toString() {
+      return "DirectBufferPool[pooled "+pooledBytes+"/"+maxPooledBytes+
+             ", allocated "+bytesAllocated+", reused "+bytesReused+", dropped "+bytesDropped+"]";
+  }
+
+  private final HashMap/*<Integer, ArrayList<ByteBuffer>>*/ pool = new HashMap();
+  private final int maxPooledBytes;
+  private int pooledBytes = 0;
+  private long bytesAllocated = 0, bytesReused = 0, bytesDropped = 0;
+}
+
@@ -0,0 +1,412 @@
+
+package com.jogamp.opengl.util;
+
+import java.io.IOException;
+import java.nio.*;
+import java.util.*;
+
+import javax.media.opengl.*;
+
+/**
+ * Captures sequences of frames of the current OpenGL drawable
+ * and hands them to a {@link FrameSink} on a background writer thread.
+ * <p>
+ * Unlike {@link com.jogamp.opengl.util.awt.Screenshot}, no image is allocated per frame:
+ * the pixels are read into direct buffers of a {@link DirectBufferPool},
+ * which are returned to the pool after the sink has written them.
+ * The rows are passed on bottom up, as read, which is the native order of Targa files,
+ * hence no rows are flipped.</p>
+ * <p>
+ * If pixel buffer objects are available, the readback is asynchronous:
+ * {@link #capture(int, int, int, int) capture()} issues the readback of the current frame
+ * and fetches the one issued {@link #getReadbackBufferCount() readback buffer count} - 1 captures earlier,
+ * hence the GPU pipeline isn't stalled. The pending frames are fetched by {@link #flush()}.</p>
+ * <p>
+ * At most {@link #getMaxQueuedFrames() max queued frames} wait for the writer thread,
+ * if the queue is full a frame is either dropped or the capturing thread stalls,
+ * see {@link #POLICY_DROP} and {@link #POLICY_STALL}.</p>
+ * <p>
+ * The methods reading pixels require the OpenGL context of the drawable to be current,
+ * {@link #close()} must be called to write all frames.</p>
+ */
+public class FrameCapture {
+
+  /** Drop the captured frame if the queue is full, the default. */
+  public static final int POLICY_DROP = 0;
+
+  /** Stall the capturing thread until the queue has room. */
+  public static final int POLICY_STALL = 1;
+
+  /** Default number of frames waiting for the writer thread. */
+  public static final int DEFAULT_MAX_QUEUED_FRAMES = 4;
+
+  private final FrameSink sink;
+  private final boolean alpha;
+  private final int maxQueuedFrames;
+  private final int policy;
+  private final int readbackBufferCount;
+  private final DirectBufferPool pool;
+
+  // Frames waiting for the writer thread, guarded by this
+  private final LinkedList/*<Frame>*/ queue = new LinkedList();
+  private boolean closing = false;
+  private IOException writeError = null;
+  private Thread writer;
+
+  // Pixel buffer objects used as a ring, with the frame each one holds
+  private int[] pbos;
+  private Frame[] pboFrames;
+  private int pboIndex;
+  private int pboSize;
+  private GLContext pboContext;
+
+  private int frameNumber = 0;
+  private long capturedCount = 0, droppedCount = 0, writtenCount = 0, stallTime = 0;
+
+  static class Frame {
+    int number, width, height;
+    ByteBuffer pixels;
+  }
+
+  /**
+   * Creates a capture with double buffered readback,
+   * {@link #DEFAULT_MAX_QUEUED_FRAMES} and {@link #POLICY_DROP}.
+   */
+  public FrameCapture(FrameSink sink, boolean alpha) {
+      this(sink, alpha, 2, DEFAULT_MAX_QUEUED_FRAMES, POLICY_DROP);
+  }
+
+  /**
+   * @param sink the sink the frames are written to
+   * @param alpha whether the alpha channel is captured, BGRA instead of BGR
+   * @param readbackBufferCount the number of pixel buffer objects used for readback, 1 to 3,
+   *        1 reads back synchronously
+   * @param maxQueuedFrames the maximum number of frames waiting for the writer thread
+   * @param policy {@link #POLICY_DROP} or {@link #POLICY_STALL}
+   */
+  public FrameCapture(FrameSink sink, boolean alpha, int readbackBufferCount, int maxQueuedFrames, int policy) {
+      if(null==sink) {
+          throw new IllegalArgumentException("Null sink");
+      }
+      if(readbackBufferCount < 1 || readbackBufferCount > 3) {
+          throw new IllegalArgumentException("Invalid readback buffer count: "+readbackBufferCount);
+      }
+      if(maxQueuedFrames < 1) {
+          throw new IllegalArgumentException("Invalid max queued frames: "+maxQueuedFrames);
+      }
+      if(policy != POLICY_DROP && policy != POLICY_STALL) {
+          throw new IllegalArgumentException("Invalid policy: "+policy);
+      }
+      this.sink = sink;
+      this.alpha = alpha;
+      this.readbackBufferCount = readbackBufferCount;
+      this.maxQueuedFrames = maxQueuedFrames;
+      this.policy = policy;
+      // Buffers are either queued, being written or held by the readback ring
+      pool = new DirectBufferPool(Integer.MAX_VALUE);
+  }
+
+  public int getReadbackBufferCount() { return readbackBufferCount; }
+
+  public int getMaxQueuedFrames() { return maxQueuedFrames; }
+
+  public int getPolicy() { return policy; }
+
+  /** @return the number of captured frames, including dropped ones */
+  public synchronized long getCapturedCount() { return capturedCount; }
+
+  /** @return the number of frames dropped due to a full queue */
+  public synchronized long getDroppedCount() { return droppedCount; }
+
+  /** @return the number of frames written by the sink */
+  public synchronized long getWrittenCount() { return writtenCount; }
+
+  /** @return the total time in milliseconds the capturing thread stalled due to a full queue */
+  public synchronized long getStallTime() { return stallTime; }
+
+  /**
+   * Captures the given area of the current read buffer.
+   *
+   * @param x the starting x coordinate, measured from the lower-left
+   * @param y the starting y coordinate, measured from the lower-left
+   * @param width the width of the area
+   * @param height the height of the area
+   *
+   * @throws GLException if an OpenGL context was not current
+   * @throws IOException if the sink failed to write a previous frame
+   */
+  public void capture(int x, int y, int width, int height) throws GLException, IOException {
+      checkWriteError();
+      startWriter();
+      GL2 gl = GLContext.getCurrentGL().getGL2();
+      PixelStorageModes psm = new PixelStorageModes();
+      psm.save(gl);
+      try {
+          Frame frame = new Frame();
+          frame.number = frameNumber++;
+          frame.width = width;
+          frame.height = height;
+          if(readbackBufferCount > 1 && isPBOAvailable(gl)) {
+              readPixelsAsync(gl, x, y, frame);
+          } else {
+              if(null!=pbos) {
+                  flushPBOs(gl);
+              }
+              frame.pixels = pool.get(getFrameSize(frame));
+              frame.pixels.limit(getFrameSize(frame));
+              gl.glReadPixels(x, y, width, height, getGLFormat(), GL.GL_UNSIGNED_BYTE, frame.pixels);
+              enqueue(frame);
+          }
+      } finally {
+          psm.restore(gl);
+      }
+  }
+
+  /**
+   * Fetches all pending asynchronous readbacks and queues them for writing.
+   *
+   * @throws GLException if an OpenGL context was not current
+   */
+  public void flush() throws GLException {
+      if(null!=pbos) {
+          flushPBOs(GLContext.getCurrentGL().getGL2());
+      }
+  }
+
+  /**
+   * Flushes all pending frames, waits until the writer thread has written them,
+   * closes the sink and releases the pixel buffer objects.
+   * This capture may not be used anymore after calling this method.
+   *
+   * @throws GLException if an OpenGL context was not current while frames were pending
+   * @throws IOException if the sink failed to write a frame or to close
+   */
+  public void close() throws GLException, IOException {
+      try {
+          if(null!=pbos) {
+              GL2 gl = GLContext.getCurrentGL().getGL2();
+              flushPBOs(gl);
+              if(pboContext == GLContext.getCurrent()) {
+                  gl.glDeleteBuffers(pbos.length, pbos, 0);
+              }
+              pbos = null;
+          }
+      } finally {
+          Thread t;
+          synchronized(this) {
+              closing = true;
+              notifyAll();
+              t = writer;
+          }
+          if(null!=t) {
+              try {
+                  t.join();
+              } catch (InterruptedException ie) {
+              }
+          } else {
+              closeSink();
+          }
+          pool.clear();
+      }
+      checkWriteError();
+  }
+
+  private int getGLFormat() {
+      return alpha ? GL2.GL_BGRA : GL2.GL_BGR ;
+  }
+
+  private int getFrameSize(Frame frame) {
+      return frame.width * frame.height * (alpha ? 4 : 3);
+  }
+
+  private boolean isPBOAvailable(GL2 gl) {
+      return gl.isExtensionAvailable("GL_VERSION_2_1") ||
+             gl.isExtensionAvailable("GL_ARB_pixel_buffer_object") ||
+             gl.isExtensionAvailable("GL_EXT_pixel_buffer_object");
+  }
+
+  // Issues the readback of the frame into the next pixel buffer object,
+  // then fetches the oldest pending frame
+  private void readPixelsAsync(GL2 gl, int x, int y, Frame frame) {
+      final GLContext context = GLContext.getCurrent();
+      if(null==pbos || pboContext != context) {
+          pbos = new int[readbackBufferCount];
+          gl.glGenBuffers(pbos.length, pbos, 0);
+          pboFrames = new Frame[pbos.length];
+          pboIndex = 0;
+          pboSize = 0;
+          pboContext = context;
+      }
+      final int size = getFrameSize(frame);
+      if(size > pboSize) {
+          // Fetch frames of the smaller size first
+          flushPBOs(gl);
+          for(int i=0; i<pbos.length; i++) {
+              gl.glBindBuffer(GL2.GL_PIXEL_PACK_BUFFER, pbos[i]);
+              gl.glBufferData(GL2.GL_PIXEL_PACK_BUFFER, size, null, GL2.GL_STREAM_READ);
+          }
+          pboSize = size;
+      }
+      gl.glBindBuffer(GL2.GL_PIXEL_PACK_BUFFER, pbos[pboIndex]);
+      gl.glReadPixels(x, y, frame.width, frame.height, getGLFormat(), GL.GL_UNSIGNED_BYTE, 0L);
+      pboFrames[pboIndex] = frame;
+      pboIndex = (pboIndex + 1) % pbos.length;
+      fetchPBO(gl, pboIndex);
+      gl.glBindBuffer(GL2.GL_PIXEL_PACK_BUFFER, 0);
+  }
+
+  // Fetches all pending frames in capture order
+  private void flushPBOs(GL2 gl) {
+      if(pboContext != GLContext.getCurrent()) {
+          // The buffers are gone with their context
+          for(int i=0; i<pbos.length; i++) {
+              pboFrames[i] = null;
+          }
+          return;
+      }
+      for(int i=0; i<pbos.length; i++) {
+          fetchPBO(gl, (pboIndex + i) % pbos.length);
+      }
+      gl.glBindBuffer(GL2.GL_PIXEL_PACK_BUFFER, 0);
+  }
+
+  private void fetchPBO(GL2 gl, int index) {
+      Frame frame = pboFrames[index];
+      if(null==frame) {
+          return;
+      }
+      pboFrames[index] = null;
+      gl.glBindBuffer(GL2.GL_PIXEL_PACK_BUFFER, pbos[index]);
+      ByteBuffer mapped = gl.glMapBuffer(GL2.GL_PIXEL_PACK_BUFFER, GL2.GL_READ_ONLY);
+      if(null==mapped) {
+          return; // lost, e.g. the buffer got corrupted by a mode change
+      }
+      final int size = getFrameSize(frame);
+      frame.pixels = pool.get(size);
+      mapped.clear();
+      mapped.limit(size);
+      frame.pixels.put(mapped);
+      frame.pixels.flip();
+      gl.glUnmapBuffer(GL2.GL_PIXEL_PACK_BUFFER);
+      enqueue(frame);
+  }
+
+  private synchronized void enqueue(Frame frame) {
+      capturedCount++;
+      if(queue.size() >= maxQueuedFrames) {
+          if(POLICY_DROP == policy) {
+              droppedCount++;
+              pool.release(frame.pixels);
+              return;
+          }
+          long start = System.currentTimeMillis();
+          while(queue.size() >= maxQueuedFrames && null==writeError) {
+              try {
+                  wait();
+              } catch (InterruptedException ie) {
+              }
+          }
+          stallTime += System.currentTimeMillis() - start;
+      }
+      queue.addLast(frame);
+      notifyAll();
+  }
+
+  private synchronized void checkWriteError() throws IOException {
+      if(null!=writeError) {
+          throw writeError;
+      }
+  }
+
+  private synchronized void startWriter() {
+      if(null==writer) {
+          writer = new Thread(new Writer(), "FrameCapture-Writer");
+          writer.setDaemon(true);
+          writer.start();
+      }
+  }
+
+  private void closeSink() {
+      try {
+          sink.close();
+      } catch (IOException ioe) {
+          synchronized(this) {
+              if(null==writeError) {
+                  writeError = ioe;
+              }
+          }
+      }
+  }
+
+  class Writer implements Runnable {
+      public void run() {
+          while(true) {
+              Frame frame;
+              synchronized(FrameCapture.this) {
+                  while(queue.isEmpty() && !closing) {
+                      try {
+                          FrameCapture.this.wait();
+                      } catch (InterruptedException ie) {
+                      }
+                  }
+                  if(queue.isEmpty()) {
+                      break; // closing
+                  }
+                  frame = (Frame) queue.removeFirst();
+                  FrameCapture.this.notifyAll();
+              }
+              try {
+                  if(null==writeError) {
+                      sink.writeFrame(frame.number, frame.width, frame.height, alpha, frame.pixels);
+                      synchronized(FrameCapture.this) {
+                          writtenCount++;
+                      }
+                  }
+              } catch (IOException ioe) {
+                  synchronized(FrameCapture.this) {
+                      writeError = ioe;
+                      FrameCapture.this.notifyAll();
+                  }
+              }
+              pool.release(frame.pixels);
+          }
+          closeSink();
+      }
+  }
+
+  static class PixelStorageModes {
+    int packAlignment;
+    int packRowLength;
+    int packSkipRows;
+    int packSkipPixels;
+    int packSwapBytes;
+    int[] tmp = new int[1];
+
+    void save(GL2 gl) {
+      packAlignment  = glGetInteger(gl, GL2.GL_PACK_ALIGNMENT);
+      packRowLength  = glGetInteger(gl, GL2.GL_PACK_ROW_LENGTH);
+      packSkipRows   = glGetInteger(gl, GL2.GL_PACK_SKIP_ROWS);
+      packSkipPixels = glGetInteger(gl, GL2.GL_PACK_SKIP_PIXELS);
+      packSwapBytes  = glGetInteger(gl, GL2.GL_PACK_SWAP_BYTES);
+
+      gl.glPixelStorei(GL2.GL_PACK_ALIGNMENT, 1);
+      gl.glPixelStorei(GL2.GL_PACK_ROW_LENGTH, 0);
+      gl.glPixelStorei(GL2.GL_PACK_SKIP_ROWS, 0);
+      gl.glPixelStorei(GL2.GL_PACK_SKIP_PIXELS, 0);
+      gl.glPixelStorei(GL2.GL_PACK_SWAP_BYTES, 0);
+    }
+
+    void restore(GL2 gl) {
+      gl.glPixelStorei(GL2.GL_PACK_ALIGNMENT, packAlignment);
+      gl.glPixelStorei(GL2.GL_PACK_ROW_LENGTH, packRowLength);
+      gl.glPixelStorei(GL2.GL_PACK_SKIP_ROWS, packSkipRows);
+      gl.glPixelStorei(GL2.GL_PACK_SKIP_PIXELS, packSkipPixels);
+      gl.glPixelStorei(GL2.GL_PACK_SWAP_BYTES, packSwapBytes);
+    }
+
+    private int glGetInteger(GL2 gl, int pname) {
+      gl.glGetIntegerv(pname, tmp, 0);
+      return tmp[0];
+    }
+  }
+}
@@ -0,0 +1,34 @@
+
+package com.jogamp.opengl.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Receives the frames captured by a {@link FrameCapture} on its writer thread,
+ * e.g. a {@link TGASequenceSink}, a {@link RawFrameSink}
+ * or an application callback keeping the frames in memory.
+ */
+public interface FrameSink {
+
+  /**
+   * Consumes one frame.
+   *
+   * @param frameNumber the number of the frame within the capture, starting with 0;
+   *        numbers of dropped frames are skipped
+   * @param width the width of the frame in pixels
+   * @param height the height of the frame in pixels
+   * @param alpha if true the pixels are in BGRA, otherwise in BGR format
+   * @param pixels the tightly packed rows of pixels, starting with the bottom row
+   *        as read by <code>glReadPixels</code>, from its position to its limit.
+   *        The buffer is reused after this method returns,
+   *        hence its content must be copied if needed later.
+   *
+   * @throws IOException if the frame could not be written,
+   *         which aborts the capture
+   */
+  public void writeFrame(int frameNumber, int width, int height, boolean alpha, ByteBuffer pixels) throws IOException;
+
+  /** Called on the writer thread after the last frame has been written. */
+  public void close() throws IOException;
+}
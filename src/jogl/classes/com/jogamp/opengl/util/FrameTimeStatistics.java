@@ -0,0 +1,103 @@
+
+package com.jogamp.opengl.util;
+
+/**
+ * Histogram of frame times in milliseconds, with one bucket per millisecond
+ * up to {@link #MAX_FRAME_TIME} and one overflow bucket.
+ * <p>
+ * Percentiles are hence exact at the millisecond resolution of the recorded values,
+ * recording is constant time and allocation free.</p>
+ * <p>
+ * All methods are thread safe, i.e. statistics may be queried at runtime
+ * while the animation thread records new frames.</p>
+ */
+public class FrameTimeStatistics {
+
+  /** Largest frame time with its own bucket, larger ones are counted in the overflow bucket */
+  public static final int MAX_FRAME_TIME = 1000;
+
+  private final long[] histogram = new long[MAX_FRAME_TIME+2];
+  private long frames = 0, missed = 0, sum = 0, max = 0;
+
+  /**
+   * @param ms the frame time in milliseconds
+   * @param missedDeadline true if the frame missed its deadline
+   */
+  public synchronized void record(long ms, boolean missedDeadline) {
+      if(0>ms) {
+          ms = 0;
+      }
+      histogram[ ms > MAX_FRAME_TIME ? MAX_FRAME_TIME+1 : (int)ms ]++;
+      frames++;
+      sum += ms;
+      if(ms > max) {
+          max = ms;
+      }
+      if(missedDeadline) {
+          missed++;
+      }
+  }
+
+  /** Counts <code>n</code> missed deadlines without a recorded frame, e.g. skipped frames */
+  public synchronized void addMissed(long n) {
+      missed += n;
+  }
+
+  public synchronized long getFrameCount() { return frames; }
+
+  public synchronized long getMissedCount() { return missed; }
+
+  public synchronized long getMaxFrameTime() { return max; }
+
+  public synchronized float getMeanFrameTime() {
+      return frames>0 ? (float)sum/(float)frames : 0f ;
+  }
+
+  /**
+   * @param p the percentile within [0..1], e.g. 0.95f
+   * @return the smallest frame time in milliseconds, which is greater or equal
+   *         to the frame time of <code>p</code> of all recorded frames,
+   *         or {@link #MAX_FRAME_TIME}+1 if it lies within the overflow bucket.
+   */
+  public synchronized long getPercentile(float p) {
+      if(0==frames) {
+          return 0;
+      }
+      long rank = (long) Math.ceil(p * frames);
+      if(rank < 1) {
+          rank = 1;
+      }
+      long count = 0;
+      for(int i=0; i<histogram.length; i++) {
+          count += histogram[i];
+          if(count >= rank) {
+              return i;
+          }
+      }
+      return MAX_FRAME_TIME+1;
+  }
+
+  /** @return a copy of the histogram, the last element is the overflow bucket */
+  public synchronized long[] getHistogram() {
+      long[] res = new long[histogram.length];
+      System.arraycopy(histogram, 0, res, 0, histogram.length);
+      return res;
+  }
+
+  public synchronized void reset() {
+      for(int i=0; i<histogram.length; i++) {
+          histogram[i] = 0;
+      }
+      frames = 0;
+      missed = 0;
+      sum = 0;
+      max = 0;
+  }
+
+  public synchronized String toString() {
+      return "FrameTimeStatistics[frames "+frames+", missed "+missed+
+             ", mean "+getMeanFrameTime()+"ms, p50 "+getPercentile(0.50f)+"ms, p95 "+getPercentile(0.95f)+
+             "ms, p99 "+getPercentile(0.99f)+"ms, max "+max+"ms]";
+  }
+}
+
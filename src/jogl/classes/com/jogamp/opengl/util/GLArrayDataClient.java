@@ -109,8 +109,35 @@ public class GLArrayDataClient extends GLArrayDataWrapper implements GLArrayData
   public void destroy(GL gl) {
     reset(gl);
     buffer=null;
+    if(null!=bufferPool) {
+        bufferPool.release(pooledBuffer);
+    }
+    pooledBuffer=null;
   }
 
+  /**
+   * Sets the growth factor applied to the current capacity if the buffer is exhausted.
+   * Defaults to {@link #DEFAULT_GROWTH_FACTOR}, a value of <code>1.0</code> or less
+   * results in linear growth by <code>initialSize</code>.
+   */
+  public final void setGrowthFactor(float factor) { growthFactor = factor; }
+
+  public final float getGrowthFactor() { return growthFactor; }
+
+  /**
+   * Sets the pool used to allocate and release the backing direct buffers,
+   * maybe null (default) for no pooling.
+   * <p>
+   * With a pool, a buffer is released when it is replaced by a grown one and by {@link #destroy(GL)}.
+   * {@link #reset()} keeps the buffer for reuse by this instance.
+   * References to the buffer must not be held across these calls.</p>
+   *
+   * @see DirectBufferPool#getShared()
+   */
+  public final void setBufferPool(DirectBufferPool pool) { bufferPool = pool; }
+
+  public final DirectBufferPool getBufferPool() { return bufferPool; }
+
   public void reset(GL gl) {
     enableBuffer(gl, false);
     reset();
@@ -260,12 +287,17 @@ public class GLArrayDataClient extends GLArrayDataWrapper implements GLArrayData
 
   protected final boolean growBufferIfNecessary(int spare) {
     if(buffer==null || buffer.remaining()<spare) { 
-        growBuffer(initialSize);
+        growBuffer(Math.max(initialSize, spare));
         return true;
     }
     return false;
   }
 
+  /**
+   * Grows the buffer by at least <code>additional</code> elements,
+   * or geometrically by the growth factor if that's larger, see {@link #setGrowthFactor(float)}.
+   * The old content is copied with one bulk put.
+   */
   protected final void growBuffer(int additional) {
     if(sealed || 0==additional || 0==components) return;
 
@@ -273,39 +305,45 @@ public class GLArrayDataClient extends GLArrayDataWrapper implements GLArrayData
     additional += (additional/components)*(strideL-components);
 
     if(components>0) {
-        int osize = (buffer!=null)?buffer.capacity():0;
+        final int osize = (buffer!=null)?buffer.capacity():0;
+        int nsize = osize + additional * components;
+        if( growthFactor > 1.0f ) {
+            nsize = Math.max(nsize, (int) ( osize * growthFactor ) );
+        }
+        final ByteBuffer newBuffer;
+        final Buffer newTBuffer;
         if(clazz==ByteBuffer.class) {
-            ByteBuffer newBBuffer = Buffers.newDirectByteBuffer( (osize+additional) * components );
-            if(buffer!=null) {
-                buffer.flip();
-                newBBuffer.put((ByteBuffer)buffer);
-            }
-            buffer = newBBuffer;
+            newBuffer = newByteBuffer( nsize );
+            newTBuffer = newBuffer;
         } else if(clazz==ShortBuffer.class) {
-            ShortBuffer newSBuffer = Buffers.newDirectShortBuffer( (osize+additional) * components );
-            if(buffer!=null) {
-                buffer.flip();
-                newSBuffer.put((ShortBuffer)buffer);
-            }
-            buffer = newSBuffer;
+            newBuffer = newByteBuffer( nsize * GLBuffers.SIZEOF_SHORT );
+            newTBuffer = newBuffer.asShortBuffer();
         } else if(clazz==IntBuffer.class) {
-            IntBuffer newIBuffer = Buffers.newDirectIntBuffer( (osize+additional) * components );
-            if(buffer!=null) {
-                buffer.flip();
-                newIBuffer.put((IntBuffer)buffer);
-            }
-            buffer = newIBuffer;
+            newBuffer = newByteBuffer( nsize * GLBuffers.SIZEOF_INT );
+            newTBuffer = newBuffer.asIntBuffer();
         } else if(clazz==FloatBuffer.class) {
-            FloatBuffer newFBuffer = Buffers.newDirectFloatBuffer( (osize+additional) * components );
-            if(buffer!=null) {
-                buffer.flip();
-                newFBuffer.put((FloatBuffer)buffer);
-            }
-            buffer = newFBuffer;
+            newBuffer = newByteBuffer( nsize * GLBuffers.SIZEOF_FLOAT );
+            newTBuffer = newBuffer.asFloatBuffer();
         } else {
             throw new GLException("Given Buffer Class not supported: "+clazz+":\n\t"+this);
         }
+        if(buffer!=null) {
+            buffer.flip();
+            Buffers.put(newTBuffer, buffer);
+        }
+        buffer = newTBuffer;
+        if(null!=bufferPool) {
+            bufferPool.release(pooledBuffer);
+        }
+        pooledBuffer = newBuffer;
+    }
+  }
+
+  private final ByteBuffer newByteBuffer(int bytes) {
+    if(null!=bufferPool) {
+        return bufferPool.get(bytes);
     }
+    return Buffers.newDirectByteBuffer(bytes);
   }
 
   protected final void checkSeal(boolean test) throws GLException {
@@ -349,6 +387,14 @@ public class GLArrayDataClient extends GLArrayDataWrapper implements GLArrayData
 
   protected int initialSize;
 
+  /** Default growth factor, see {@link #setGrowthFactor(float)} */
+  public static final float DEFAULT_GROWTH_FACTOR = 2.0f;
+
+  protected float growthFactor = DEFAULT_GROWTH_FACTOR;
+  protected DirectBufferPool bufferPool = null;
+  /** the direct buffer backing <code>buffer</code>, if allocated by us */
+  protected ByteBuffer pooledBuffer = null;
+
   protected GLArrayHandler glArrayHandler;
 }
 
@@ -149,6 +149,13 @@ public class GLArrayDataWrapper implements GLArrayData {
     setVBOUsage(vboName>0);
   }
 
+  /**
+   * Sets the byte offset of this array within the VBO, see {@link #getOffset()}.
+   */
+  public void    setOffset(long bufferOffset) {
+    this.bufferOffset=bufferOffset;
+  }
+
   protected void init(String name, int index, int comps, int dataType, boolean normalized, int stride, Buffer data, 
                       boolean isVertexAttribute, 
                       int vboName, long bufferOffset)
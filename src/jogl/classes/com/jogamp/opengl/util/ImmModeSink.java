@@ -26,7 +26,22 @@ public class ImmModeSink {
                                         int nComps, int nDataType, 
                                         int tComps, int tDataType) {
     return new ImmModeSink(gl, glBufferUsage, initialSize, 
-                           vComps, vDataType, cComps, cDataType, nComps, nDataType, tComps, tDataType, false);
+                           vComps, vDataType, cComps, cDataType, nComps, nDataType, tComps, tDataType, false, false);
+  }
+
+  /**
+   * Uses a GL2ES1, or ES2 fixed function emulation immediate mode sink
+   *
+   * @param interleaved if true, all attributes of a vertex are stored adjacent within one VBO
+   *                    and the buffer grows geometrically, see {@link VBOSet}.
+   */
+  public static ImmModeSink createFixed(GL gl, int glBufferUsage, int initialSize,
+                                        int vComps, int vDataType,
+                                        int cComps, int cDataType, 
+                                        int nComps, int nDataType, 
+                                        int tComps, int tDataType, boolean interleaved) {
+    return new ImmModeSink(gl, glBufferUsage, initialSize, 
+                           vComps, vDataType, cComps, cDataType, nComps, nDataType, tComps, tDataType, false, interleaved);
   }
 
   /**
@@ -44,7 +59,23 @@ public class ImmModeSink {
                                        int nComps, int nDataType, 
                                        int tComps, int tDataType) {
     return new ImmModeSink(gl, glBufferUsage, initialSize, 
-                           vComps, vDataType, cComps, cDataType, nComps, nDataType, tComps, tDataType, true);
+                           vComps, vDataType, cComps, cDataType, nComps, nDataType, tComps, tDataType, true, false);
+  }
+
+  /**
+   * Uses a GL2ES2 GLSL shader immediate mode sink.
+   *
+   * @param interleaved if true, all attributes of a vertex are stored adjacent within one VBO
+   *                    and the buffer grows geometrically, see {@link VBOSet}.
+   * @see #createGLSL(GL, int, int, int, int, int, int, int, int, int, int)
+   */
+  public static ImmModeSink createGLSL(GL gl, int glBufferUsage, int initialSize,
+                                       int vComps, int vDataType,
+                                       int cComps, int cDataType, 
+                                       int nComps, int nDataType, 
+                                       int tComps, int tDataType, boolean interleaved) {
+    return new ImmModeSink(gl, glBufferUsage, initialSize, 
+                           vComps, vDataType, cComps, cDataType, nComps, nDataType, tComps, tDataType, true, interleaved);
   }
 
   public static boolean usesVBO() { return vboUsage; }
@@ -55,8 +86,50 @@ public class ImmModeSink {
     destroyList(gl);
 
     vboSet.destroy(gl);
+
+    if(null!=streamBuffer) {
+        streamBuffer.destroy(gl);
+        streamBuffer=null;
+    }
+  }
+
+  /**
+   * Enables or disables the streaming mode.
+   * <p>
+   * In streaming mode all batches are suballocated from one large VBO of <code>size</code> bytes,
+   * instead of creating and uploading a VBO per batch.
+   * A batch is appended at the current head of the stream buffer,
+   * using <code>glMapBufferRange</code> with <code>GL_MAP_UNSYNCHRONIZED_BIT</code> if available,
+   * otherwise <code>glBufferSubData</code>.
+   * If the stream buffer is exhausted, its storage is orphaned via <code>glBufferData</code>
+   * and appending restarts at its beginning, hence the driver never has to wait for pending draw calls.
+   * Batches kept for {@link #draw(GL, boolean)} are re-appended once their data has been orphaned.</p>
+   * <p>
+   * Must be called outside of glBegin/glEnd.</p>
+   *
+   * @param gl the current GL, used to release a previous stream buffer, maybe null if none exists
+   * @param size the stream buffer size in bytes, or 0 to disable streaming
+   */
+  public void setStreaming(GL gl, int size) {
+    if(null!=streamBuffer) {
+        destroyList(gl);
+        vboSet.reset(gl);
+        if(null!=gl) {
+            streamBuffer.destroy(gl);
+        }
+        streamBuffer=null;
+    }
+    if(0<size) {
+        streamBuffer = new StreamBuffer(size);
+    }
+    vboSet.setStreamBuffer(gl, streamBuffer);
   }
 
+  public final boolean isStreaming() { return null!=streamBuffer; }
+
+  /** @return the stream buffer, or null if not streaming */
+  public final StreamBuffer getStreamBuffer() { return streamBuffer; }
+
   public void reset() {
     reset(null);
   }
@@ -257,12 +330,12 @@ public class ImmModeSink {
                         int vComps, int vDataType,
                         int cComps, int cDataType, 
                         int nComps, int nDataType, 
-                        int tComps, int tDataType, boolean useGLSL) {
+                        int tComps, int tDataType, boolean useGLSL, boolean interleaved) {
     if(useGLSL && !gl.hasGLSL()) {
         throw new GLException("ImmModeSink GLSL usage not supported: "+gl);
     }
     vboSet = new  VBOSet(gl, glBufferUsage, initialSize, 
-                         vComps, vDataType, cComps, cDataType, nComps, nDataType, tComps, tDataType, useGLSL);
+                         vComps, vDataType, cComps, cDataType, nComps, nDataType, tComps, tDataType, useGLSL, interleaved);
     this.vboSetList   = new ArrayList();
   }
 
@@ -275,14 +348,119 @@ public class ImmModeSink {
 
   private VBOSet vboSet;
   private ArrayList vboSetList;
+  private StreamBuffer streamBuffer = null;
   private static boolean vboUsage = true;
 
+  /**
+   * A large VBO, to which batches are appended, see {@link ImmModeSink#setStreaming(GL, int)}.
+   */
+  public static class StreamBuffer {
+    protected StreamBuffer(int size) {
+        this.size = size;
+    }
+
+    /** @return the VBO name, 0 until the first append */
+    public final int getVBOName() { return vboName; }
+
+    public final int getSize() { return size; }
+
+    /** @return the storage generation, incremented each time the storage is orphaned */
+    public final int getGeneration() { return generation; }
+
+    /** @return the number of appended batches */
+    public final long getAppendCount() { return appendCount; }
+
+    /** @return the number of appended bytes */
+    public final long getAppendBytes() { return appendBytes; }
+
+    /** @return true if appending uses glMapBufferRange */
+    public final boolean usesMapBufferRange() { return useMapBufferRange; }
+
+    /**
+     * Appends the first <code>bytes</code> of <code>data</code>, leaving the VBO bound to GL_ARRAY_BUFFER.
+     * @return the byte offset of the data within the VBO
+     */
+    protected final int append(GL gl, ByteBuffer data, int bytes) {
+        if(0==vboName) {
+            int[] tmp = new int[1];
+            gl.glGenBuffers(1, tmp, 0);
+            vboName = tmp[0];
+            useMapBufferRange = gl.isGL2GL3() && gl.isFunctionAvailable("glMapBufferRange");
+            usage = gl.isGL2ES2() ? GL2ES2.GL_STREAM_DRAW : GL.GL_DYNAMIC_DRAW ;
+            head = size; // forces storage allocation
+        }
+        gl.glBindBuffer(GL.GL_ARRAY_BUFFER, vboName);
+
+        int offset = ( head + 15 ) & ~15 ;
+        if( offset + bytes > size ) {
+            if( bytes > size ) {
+                size = Math.max(size*2, bytes);
+            }
+            // orphan: new storage, the old one is released after pending draw commands
+            gl.glBufferData(GL.GL_ARRAY_BUFFER, size, null, usage);
+            generation++;
+            offset = 0;
+        }
+
+        final int pos = data.position();
+        final int lim = data.limit();
+        data.position(0);
+        data.limit(bytes);
+        if(useMapBufferRange) {
+            ByteBuffer dest = gl.getGL2GL3().glMapBufferRange(GL.GL_ARRAY_BUFFER, offset, bytes, 
+                                    GL2GL3.GL_MAP_WRITE_BIT | GL2GL3.GL_MAP_INVALIDATE_RANGE_BIT | GL2GL3.GL_MAP_UNSYNCHRONIZED_BIT);
+            if(null==dest) {
+                throw new GLException("glMapBufferRange failed: offset "+offset+", bytes "+bytes+", "+this);
+            }
+            dest.put(data);
+            gl.glUnmapBuffer(GL.GL_ARRAY_BUFFER);
+        } else {
+            gl.glBufferSubData(GL.GL_ARRAY_BUFFER, offset, bytes, data);
+        }
+        data.limit(lim);
+        data.position(pos);
+
+        head = offset + bytes;
+        appendCount++;
+        appendBytes += bytes;
+        return offset;
+    }
+
+    protected final void destroy(GL gl) {
+        if(0!=vboName) {
+            int[] tmp = new int[] { vboName };
+            gl.glDeleteBuffers(1, tmp, 0);
+            vboName=0;
+        }
+    }
+
+    public String toString() {
+        return "StreamBuffer[vbo "+vboName+", size "+size+", head "+head+", generation "+generation+
+               ", mapBufferRange "+useMapBufferRange+", appended "+appendCount+" / "+appendBytes+" bytes]";
+    }
+
+    private int vboName = 0, size, head, usage, generation = 0;
+    private boolean useMapBufferRange = false;
+    private long appendCount = 0, appendBytes = 0;
+  }
+
+  /**
+   * Holds the vertex data of one glBegin/glEnd batch within one VBO.
+   * <p>
+   * In the default layout each attribute occupies its own consecutive slice of the buffer,
+   * which is sized for <code>initialSize</code> vertices and drawn in full.</p>
+   * <p>
+   * In the interleaved layout all attributes of one vertex are stored adjacent,
+   * each attribute 4 byte aligned at a fixed offset within one vertex stride.
+   * Attribute pointers share the same VBO and stride, only the written vertices are uploaded and drawn,
+   * and the buffer grows geometrically with one bulk copy of the written data.</p>
+   */
   protected static class VBOSet {
     protected VBOSet (GL gl, int glBufferUsage, int initialSize,
                       int vComps, int vDataType,
                       int cComps, int cDataType, 
                       int nComps, int nDataType, 
-                      int tComps, int tDataType, boolean useGLSL) {
+                      int tComps, int tDataType, boolean useGLSL, boolean interleaved) {
         this.gl=gl;
         this.glBufferUsage=glBufferUsage;
         this.initialSize=initialSize;
@@ -295,6 +473,7 @@ public class ImmModeSink {
         this.tDataType=tDataType;
         this.tComps=tComps;
         this.useGLSL=useGLSL;
+        this.interleaved=interleaved;
 
         allocateBuffer(initialSize);
         rewind();
@@ -308,8 +487,10 @@ public class ImmModeSink {
     }
 
     protected final VBOSet regenerate() {
-        return new VBOSet(gl, glBufferUsage, initialSize, 
-                          vComps, vDataType, cComps, cDataType, nComps, nDataType, tComps, tDataType, useGLSL);
+        VBOSet vs = new VBOSet(gl, glBufferUsage, initialSize, 
+                               vComps, vDataType, cComps, cDataType, nComps, nDataType, tComps, tDataType, useGLSL, interleaved);
+        vs.streamBuffer = streamBuffer;
+        return vs;
     }
 
     protected void checkSeal(boolean test) throws GLException {
@@ -337,7 +518,7 @@ public class ImmModeSink {
             GL2ES1 glf = gl.getGL2ES1();
 
             if(null==indices) {
-                glf.glDrawArrays(mode, 0, count);
+                glf.glDrawArrays(mode, 0, getVertexCount());
             } else {
                 Class clazz = indices.getClass();
                 int type=-1;
@@ -361,79 +542,79 @@ public class ImmModeSink {
 
     public void glVertexv(Buffer v) {
         checkSeal(false);
-        GLBuffers.put(vertexArray, v);
+        putv(VERTEX, vComps, v);
     }
     public void glNormalv(Buffer v) {
         checkSeal(false);
-        GLBuffers.put(normalArray, v);
+        putv(NORMAL, nComps, v);
     }
     public void glColorv(Buffer v) {
         checkSeal(false);
-        GLBuffers.put(colorArray, v);
+        putv(COLOR, cComps, v);
     }
     public void glTexCoordv(Buffer v) {
         checkSeal(false);
-        GLBuffers.put(textCoordArray, v);
+        putv(TEXTCOORD, tComps, v);
     }
 
     public void glVertex2b(byte x, byte y) {
         checkSeal(false);
         growBufferIfNecessary(VERTEX, 2);
         if(vComps>0) 
-            GLBuffers.putb(vertexArray, x);
+            putb(VERTEX, x);
         if(vComps>1) 
-            GLBuffers.putb(vertexArray, y);
+            putb(VERTEX, y);
         padding(VERTEX, vComps-2);
     }
     public void glVertex3b(byte x, byte y, byte z) {
         checkSeal(false);
         growBufferIfNecessary(VERTEX, 3);
         if(vComps>0) 
-            GLBuffers.putb(vertexArray, x);
+            putb(VERTEX, x);
         if(vComps>1) 
-            GLBuffers.putb(vertexArray, y);
+            putb(VERTEX, y);
         if(vComps>2) 
-            GLBuffers.putb(vertexArray, z);
+            putb(VERTEX, z);
         padding(VERTEX, vComps-3);
     }
     public void glVertex2s(short x, short y) {
         checkSeal(false);
         growBufferIfNecessary(VERTEX, 2);
         if(vComps>0) 
-            GLBuffers.puts(vertexArray, x);
+            puts(VERTEX, x);
         if(vComps>1) 
-            GLBuffers.puts(vertexArray, y);
+            puts(VERTEX, y);
         padding(VERTEX, vComps-2);
     }
     public void glVertex3s(short x, short y, short z) {
         checkSeal(false);
         growBufferIfNecessary(VERTEX, 3);
         if(vComps>0) 
-            GLBuffers.puts(vertexArray, x);
+            puts(VERTEX, x);
         if(vComps>1) 
-            GLBuffers.puts(vertexArray, y);
+            puts(VERTEX, y);
         if(vComps>2) 
-            GLBuffers.puts(vertexArray, z);
+            puts(VERTEX, z);
         padding(VERTEX, vComps-3);
     }
     public void glVertex2f(float x, float y) {
         checkSeal(false);
         growBufferIfNecessary(VERTEX, 2);
         if(vComps>0) 
-            GLBuffers.putf(vertexArray, x);
+            putf(VERTEX, x);
         if(vComps>1) 
-            GLBuffers.putf(vertexArray, y);
+            putf(VERTEX, y);
         padding(VERTEX, vComps-2);
     }
     public void glVertex3f(float x, float y, float z) {
         checkSeal(false);
         growBufferIfNecessary(VERTEX, 3);
         if(vComps>0) 
-            GLBuffers.putf(vertexArray, x);
+            putf(VERTEX, x);
         if(vComps>1) 
-            GLBuffers.putf(vertexArray, y);
+            putf(VERTEX, y);
         if(vComps>2) 
-            GLBuffers.putf(vertexArray, z);
+            putf(VERTEX, z);
         padding(VERTEX, vComps-3);
     }
 
@@ -441,33 +622,33 @@ public class ImmModeSink {
         checkSeal(false);
         growBufferIfNecessary(NORMAL, 3);
         if(nComps>0) 
-            GLBuffers.putb(normalArray, x);
+            putb(NORMAL, x);
         if(nComps>1) 
-            GLBuffers.putb(normalArray, y);
+            putb(NORMAL, y);
         if(nComps>2) 
-            GLBuffers.putb(normalArray, z);
+            putb(NORMAL, z);
         padding(NORMAL, nComps-3);
     }
     public void glNormal3s(short x, short y, short z) {
         checkSeal(false);
         growBufferIfNecessary(NORMAL, 3);
         if(nComps>0) 
-            GLBuffers.puts(normalArray, x);
+            puts(NORMAL, x);
         if(nComps>1) 
-            GLBuffers.puts(normalArray, y);
+            puts(NORMAL, y);
         if(nComps>2) 
-            GLBuffers.puts(normalArray, z);
+            puts(NORMAL, z);
         padding(NORMAL, nComps-3);
     }
     public void glNormal3f(float x, float y, float z) {
         checkSeal(false);
         growBufferIfNecessary(NORMAL, 3);
         if(nComps>0) 
-            GLBuffers.putf(normalArray, x);
+            putf(NORMAL, x);
         if(nComps>1) 
-            GLBuffers.putf(normalArray, y);
+            putf(NORMAL, y);
         if(nComps>2) 
-            GLBuffers.putf(normalArray, z);
+            putf(NORMAL, z);
         padding(NORMAL, nComps-3);
     }
 
@@ -475,72 +656,72 @@ public class ImmModeSink {
         checkSeal(false);
         growBufferIfNecessary(COLOR, 3);
         if(cComps>0) 
-            GLBuffers.putb(colorArray, r);
+            putb(COLOR, r);
         if(cComps>1) 
-            GLBuffers.putb(colorArray, g);
+            putb(COLOR, g);
         if(cComps>2) 
-            GLBuffers.putb(colorArray, b);
+            putb(COLOR, b);
         padding(COLOR, cComps-3);
     }
     public void glColor4b(byte r, byte g, byte b, byte a) {
         checkSeal(false);
         growBufferIfNecessary(COLOR, 4);
         if(cComps>0) 
-            GLBuffers.putb(colorArray, r);
+            putb(COLOR, r);
         if(cComps>1) 
-            GLBuffers.putb(colorArray, g);
+            putb(COLOR, g);
         if(cComps>2) 
-            GLBuffers.putb(colorArray, b);
+            putb(COLOR, b);
         if(cComps>3) 
-            GLBuffers.putb(colorArray, a);
+            putb(COLOR, a);
         padding(COLOR, cComps-4);
     }
     public void glColor3s(short r, short g, short b) {
         checkSeal(false);
         growBufferIfNecessary(COLOR, 3);
         if(cComps>0) 
-            GLBuffers.puts(colorArray, r);
+            puts(COLOR, r);
         if(cComps>1) 
-            GLBuffers.puts(colorArray, g);
+            puts(COLOR, g);
         if(cComps>2) 
-            GLBuffers.puts(colorArray, b);
+            puts(COLOR, b);
         padding(COLOR, cComps-3);
     }
     public void glColor4s(short r, short g, short b, short a) {
         checkSeal(false);
         growBufferIfNecessary(COLOR, 4);
         if(cComps>0) 
-            GLBuffers.puts(colorArray, r);
+            puts(COLOR, r);
         if(cComps>1) 
-            GLBuffers.puts(colorArray, g);
+            puts(COLOR, g);
         if(cComps>2) 
-            GLBuffers.puts(colorArray, b);
+            puts(COLOR, b);
         if(cComps>3) 
-            GLBuffers.puts(colorArray, a);
+            puts(COLOR, a);
         padding(COLOR, cComps-4);
     }
     public void glColor3f(float r, float g, float b) {
         checkSeal(false);
         growBufferIfNecessary(COLOR, 3);
         if(cComps>0) 
-            GLBuffers.putf(colorArray, r);
+            putf(COLOR, r);
         if(cComps>1) 
-            GLBuffers.putf(colorArray, g);
+            putf(COLOR, g);
         if(cComps>2) 
-            GLBuffers.putf(colorArray, b);
+            putf(COLOR, b);
         padding(COLOR, cComps-3);
     }
     public void glColor4f(float r, float g, float b, float a) {
         checkSeal(false);
         growBufferIfNecessary(COLOR, 4);
         if(cComps>0) 
-            GLBuffers.putf(colorArray, r);
+            putf(COLOR, r);
         if(cComps>1) 
-            GLBuffers.putf(colorArray, g);
+            putf(COLOR, g);
         if(cComps>2) 
-            GLBuffers.putf(colorArray, b);
+            putf(COLOR, b);
         if(cComps>3) 
-            GLBuffers.putf(colorArray, a);
+            putf(COLOR, a);
         padding(COLOR, cComps-4);
     }
 
@@ -548,64 +729,68 @@ public class ImmModeSink {
         checkSeal(false);
         growBufferIfNecessary(TEXTCOORD, 2);
         if(tComps>0) 
-            GLBuffers.putb(textCoordArray, x);
+            putb(TEXTCOORD, x);
         if(tComps>1) 
-            GLBuffers.putb(textCoordArray, y);
+            putb(TEXTCOORD, y);
         padding(TEXTCOORD, tComps-2);
     }
     public void glTexCoord3b(byte x, byte y, byte z) {
         checkSeal(false);
         growBufferIfNecessary(TEXTCOORD, 3);
         if(tComps>0) 
-            GLBuffers.putb(textCoordArray, x);
+            putb(TEXTCOORD, x);
         if(tComps>1) 
-            GLBuffers.putb(textCoordArray, y);
+            putb(TEXTCOORD, y);
         if(tComps>2) 
-            GLBuffers.putb(textCoordArray, z);
+            putb(TEXTCOORD, z);
         padding(TEXTCOORD, tComps-3);
     }
     public void glTexCoord2s(short x, short y) {
         checkSeal(false);
         growBufferIfNecessary(TEXTCOORD, 2);
         if(tComps>0) 
-            GLBuffers.puts(textCoordArray, x);
+            puts(TEXTCOORD, x);
         if(tComps>1) 
-            GLBuffers.puts(textCoordArray, y);
+            puts(TEXTCOORD, y);
         padding(TEXTCOORD, tComps-2);
     }
     public void glTexCoord3s(short x, short y, short z) {
         checkSeal(false);
         growBufferIfNecessary(TEXTCOORD, 3);
         if(tComps>0) 
-            GLBuffers.puts(textCoordArray, x);
+            puts(TEXTCOORD, x);
         if(tComps>1) 
-            GLBuffers.puts(textCoordArray, y);
+            puts(TEXTCOORD, y);
         if(tComps>2) 
-            GLBuffers.puts(textCoordArray, z);
+            puts(TEXTCOORD, z);
         padding(TEXTCOORD, tComps-3);
     }
     public void glTexCoord2f(float x, float y) {
         checkSeal(false);
         growBufferIfNecessary(TEXTCOORD, 2);
         if(tComps>0) 
-            GLBuffers.putf(textCoordArray, x);
+            putf(TEXTCOORD, x);
         if(tComps>1) 
-            GLBuffers.putf(textCoordArray, y);
+            putf(TEXTCOORD, y);
         padding(TEXTCOORD, tComps-2);
     }
     public void glTexCoord3f(float x, float y, float z) {
         checkSeal(false);
         growBufferIfNecessary(TEXTCOORD, 3);
         if(tComps>0) 
-            GLBuffers.putf(textCoordArray, x);
+            putf(TEXTCOORD, x);
         if(tComps>1) 
-            GLBuffers.putf(textCoordArray, y);
+            putf(TEXTCOORD, y);
         if(tComps>2) 
-            GLBuffers.putf(textCoordArray, z);
+            putf(TEXTCOORD, z);
         padding(TEXTCOORD, tComps-3);
     }
 
     public void rewind() {
+        for(int i=0; i<4; i++) {
+            attrElems[i]=0;
+            attrBytes[i]=0;
+        }
         if(null!=vertexArray) {
             vertexArray.rewind();
         }
@@ -647,6 +832,38 @@ public class ImmModeSink {
         this.bufferWritten=false;
     }
 
+    /**
+     * Switches between the stream buffer and a VBO of this set, deleting the latter if it exists,
+     * and restores the array offsets of the set's own buffer.
+     */
+    protected final void setStreamBuffer(GL gl, StreamBuffer streamBuffer) {
+        if(null==this.streamBuffer && 0!=vboName && null!=gl) {
+            int[] tmp = new int[] { vboName };
+            gl.glDeleteBuffers(1, tmp, 0);
+        }
+        vboName = 0;
+        if(null!=vArrayData) {
+            vArrayData.setVBOName(0);
+            vArrayData.setOffset(vOffset);
+        }
+        if(null!=cArrayData) {
+            cArrayData.setVBOName(0);
+            cArrayData.setOffset(cOffset);
+        }
+        if(null!=nArrayData) {
+            nArrayData.setVBOName(0);
+            nArrayData.setOffset(nOffset);
+        }
+        if(null!=tArrayData) {
+            tArrayData.setVBOName(0);
+            tArrayData.setOffset(tOffset);
+        }
+        this.streamBuffer = streamBuffer;
+        streamGeneration = -1;
+        sealedGL = false;
+        bufferWritten = false;
+    }
+
     public void seal(GL glObj, boolean seal)
     {
         seal(seal);
@@ -654,7 +871,10 @@ public class ImmModeSink {
         sealedGL = seal;
         GL gl = glObj.getGL();
         if(seal) {
-            if(vboUsage && vboName==0) {
+            if(null!=streamBuffer) {
+                // VBO name and offsets are set by streamData()
+                streamGeneration = -1;
+            } else if(vboUsage && vboName==0) {
                 int[] tmp = new int[1];
                 gl.glGenBuffers(1, tmp, 0);
                 vboName = tmp[0];
@@ -699,14 +919,50 @@ public class ImmModeSink {
     }
   }
 
+  /**
+   * Appends the data to the stream buffer, if not done yet or if the stream buffer storage has been orphaned since,
+   * and rebases the arrays to the appended location.
+   * Leaves the stream VBO bound.
+   */
+  protected final void streamData(GL gl) {
+    if(!bufferWritten || streamGeneration != streamBuffer.getGeneration()) {
+        final int offset = streamBuffer.append(gl, buffer, getUploadSize());
+        vboName = streamBuffer.getVBOName();
+        streamGeneration = streamBuffer.getGeneration();
+        if(null!=vArrayData) {
+            vArrayData.setVBOName(vboName);
+            vArrayData.setOffset(offset+vOffset);
+        }
+        if(null!=cArrayData) {
+            cArrayData.setVBOName(vboName);
+            cArrayData.setOffset(offset+cOffset);
+        }
+        if(null!=nArrayData) {
+            nArrayData.setVBOName(vboName);
+            nArrayData.setOffset(offset+nOffset);
+        }
+        if(null!=tArrayData) {
+            tArrayData.setVBOName(vboName);
+            tArrayData.setOffset(offset+tOffset);
+        }
+        bufferWritten=true;
+    } else {
+        gl.glBindBuffer(GL.GL_ARRAY_BUFFER, vboName);
+    }
+  }
+
   public void enableBufferFixed(GL gl, boolean enable) {
     GL2ES1 glf = gl.getGL2ES1();
 
     if(enable) {
-        gl.glBindBuffer(GL.GL_ARRAY_BUFFER, vboName);
+        if(null!=streamBuffer) {
+            streamData(gl);
+        } else {
+            gl.glBindBuffer(GL.GL_ARRAY_BUFFER, vboName);
+        }
 
         if(!bufferWritten) {
-            gl.glBufferData(GL.GL_ARRAY_BUFFER, buffer.limit(), buffer, GL.GL_STATIC_DRAW);
+            gl.glBufferData(GL.GL_ARRAY_BUFFER, getUploadSize(), buffer, GL.GL_STATIC_DRAW);
             bufferWritten=true;
         }
 
@@ -752,10 +1008,14 @@ public class ImmModeSink {
     }
  
     if(enable) {
-        glsl.glBindBuffer(GL.GL_ARRAY_BUFFER, vboName);
+        if(null!=streamBuffer) {
+            streamData(gl);
+        } else {
+            glsl.glBindBuffer(GL.GL_ARRAY_BUFFER, vboName);
+        }
 
         if(!bufferWritten) {
-            glsl.glBufferData(GL.GL_ARRAY_BUFFER, buffer.limit(), buffer, GL.GL_STATIC_DRAW);
+            glsl.glBufferData(GL.GL_ARRAY_BUFFER, getUploadSize(), buffer, GL.GL_STATIC_DRAW);
             bufferWritten=true;
         }
 
@@ -796,6 +1056,8 @@ public class ImmModeSink {
     public String toString() {
         return "VBOSet[mode "+mode+ 
                        ", modeOrig "+modeOrig+ 
+                       ", interleaved "+interleaved+ 
+                       ", vertices "+getVertexCount()+"/"+count+ 
                        ", sealed "+sealed+ 
                        ", bufferEnabled "+bufferEnabled+ 
                        ", bufferWritten "+bufferWritten+ 
@@ -809,6 +1071,10 @@ public class ImmModeSink {
     // non public matters
 
     protected void allocateBuffer(int elements) {
+        if(interleaved) {
+            allocateInterleavedBuffer(elements, null);
+            return;
+        }
         int vWidth = vComps * GLBuffers.sizeOfGLType(vDataType);
         int cWidth = cComps * GLBuffers.sizeOfGLType(cDataType);
         int nWidth = nComps * GLBuffers.sizeOfGLType(nDataType);
@@ -887,6 +1153,14 @@ public class ImmModeSink {
     }
 
     protected final boolean growBufferIfNecessary(int type, int spare) {
+        if(interleaved) {
+            if(buffer==null || attrElems[type] >= count) {
+                int additional = Math.max(count, initialSize);
+                allocateInterleavedBuffer(count + Math.max(additional, 1), buffer);
+                return true;
+            }
+            return false;
+        }
         if(buffer==null || count < spare) { 
             growBuffer(type, initialSize);
             return true;
@@ -921,9 +1195,186 @@ public class ImmModeSink {
         }
     }
 
+    /**
+     * Interleaved layout: one buffer of <code>elements</code> vertices of <code>vertexStride</code> bytes.
+     * If <code>old</code> is given, its content is copied in bulk.
+     */
+    protected void allocateInterleavedBuffer(int elements, ByteBuffer old) {
+        final int vWidth = getAttributeWidth(VERTEX);
+        final int cWidth = getAttributeWidth(COLOR);
+        final int nWidth = getAttributeWidth(NORMAL);
+        final int tWidth = getAttributeWidth(TEXTCOORD);
+
+        vertexStride = vWidth + cWidth + nWidth + tWidth;
+        vOffset = 0;
+        cOffset = vOffset + vWidth;
+        nOffset = cOffset + cWidth;
+        tOffset = nOffset + nWidth;
+
+        count  = elements;
+        bSize  = count * vertexStride;
+        buffer = GLBuffers.newDirectByteBuffer(bSize);
+        if(null!=old) {
+            old.clear();
+            buffer.put(old);
+            buffer.clear();
+        }
+        vertexArray = null; colorArray = null; normalArray = null; textCoordArray = null;
+
+        // all attributes within one VBO, sharing the vertex stride
+        if(vComps>0) {
+            vArrayData = GLArrayDataWrapper.createFixed(gl, GLPointerFunc.GL_VERTEX_ARRAY, vComps, vDataType, false, vertexStride,
+                                                        GLBuffers.sliceGLBuffer(buffer, vOffset, bSize-vOffset, vDataType), vboName, vOffset);
+        } else {
+            vArrayData = null;
+        }
+        if(cComps>0) {
+            cArrayData = GLArrayDataWrapper.createFixed(gl, GLPointerFunc.GL_COLOR_ARRAY, cComps, cDataType, false, vertexStride,
+                                                        GLBuffers.sliceGLBuffer(buffer, cOffset, bSize-cOffset, cDataType), vboName, cOffset);
+        } else {
+            cArrayData = null;
+        }
+        if(nComps>0) {
+            nArrayData = GLArrayDataWrapper.createFixed(gl, GLPointerFunc.GL_NORMAL_ARRAY, nComps, nDataType, false, vertexStride,
+                                                        GLBuffers.sliceGLBuffer(buffer, nOffset, bSize-nOffset, nDataType), vboName, nOffset);
+        } else {
+            nArrayData = null;
+        }
+        if(tComps>0) {
+            tArrayData = GLArrayDataWrapper.createFixed(gl, GLPointerFunc.GL_TEXTURE_COORD_ARRAY, tComps, tDataType, false, vertexStride,
+                                                        GLBuffers.sliceGLBuffer(buffer, tOffset, bSize-tOffset, tDataType), vboName, tOffset);
+        } else {
+            tArrayData = null;
+        }
+        buffer.clear();
+    }
+
+    /** @return the 4 byte aligned attribute width within an interleaved vertex */
+    protected final int getAttributeWidth(int type) {
+        int width;
+        switch (type) {
+            case VERTEX:
+                width = vComps * GLBuffers.sizeOfGLType(vDataType); break;
+            case COLOR:
+                width = cComps * GLBuffers.sizeOfGLType(cDataType); break;
+            case NORMAL:
+                width = nComps * GLBuffers.sizeOfGLType(nDataType); break;
+            case TEXTCOORD:
+                width = tComps * GLBuffers.sizeOfGLType(tDataType); break;
+            default:
+                throw new GLException("invalid type: "+type);
+        }
+        return ( width + 3 ) & ~3 ;
+    }
+
+    protected final int getAttributeOffset(int type) {
+        switch (type) {
+            case VERTEX:
+                return vOffset;
+            case COLOR:
+                return cOffset;
+            case NORMAL:
+                return nOffset;
+            case TEXTCOORD:
+                return tOffset;
+        }
+        throw new GLException("invalid type: "+type);
+    }
+
+    protected final Buffer getAttributeArray(int type) {
+        switch (type) {
+            case VERTEX:
+                return vertexArray;
+            case COLOR:
+                return colorArray;
+            case NORMAL:
+                return normalArray;
+            case TEXTCOORD:
+                return textCoordArray;
+        }
+        return null;
+    }
+
+    /** @return the number of vertices to draw */
+    protected final int getVertexCount() {
+        return interleaved ? attrElems[VERTEX] : count ;
+    }
+
+    /** @return the number of bytes to upload */
+    protected final int getUploadSize() {
+        return interleaved ? attrElems[VERTEX] * vertexStride : buffer.limit() ;
+    }
+
+    /** @return the absolute byte position for the next <code>bytes</code> of the current <code>type</code> element */
+    private final int nextPosition(int type, int bytes) {
+        final int pos = attrElems[type] * vertexStride + getAttributeOffset(type) + attrBytes[type];
+        attrBytes[type] += bytes;
+        return pos;
+    }
+
+    protected final void putb(int type, byte v) {
+        if(interleaved) {
+            buffer.put(nextPosition(type, 1), v);
+        } else {
+            GLBuffers.putb(getAttributeArray(type), v);
+        }
+    }
+
+    protected final void puts(int type, short v) {
+        if(interleaved) {
+            buffer.putShort(nextPosition(type, 2), v);
+        } else {
+            GLBuffers.puts(getAttributeArray(type), v);
+        }
+    }
+
+    protected final void putf(int type, float v) {
+        if(interleaved) {
+            buffer.putFloat(nextPosition(type, 4), v);
+        } else {
+            GLBuffers.putf(getAttributeArray(type), v);
+        }
+    }
+
+    protected final void putv(int type, int comps, Buffer v) {
+        if(!interleaved) {
+            GLBuffers.put(getAttributeArray(type), v);
+            return;
+        }
+        if(0>=comps) return;
+        while(v.hasRemaining()) {
+            growBufferIfNecessary(type, comps);
+            for(int i=0; i<comps && v.hasRemaining(); i++) {
+                if(v instanceof ByteBuffer) {
+                    buffer.put(nextPosition(type, 1), ((ByteBuffer)v).get());
+                } else if(v instanceof ShortBuffer) {
+                    buffer.putShort(nextPosition(type, 2), ((ShortBuffer)v).get());
+                } else if(v instanceof IntBuffer) {
+                    buffer.putInt(nextPosition(type, 4), ((IntBuffer)v).get());
+                } else if(v instanceof FloatBuffer) {
+                    buffer.putFloat(nextPosition(type, 4), ((FloatBuffer)v).get());
+                } else {
+                    throw new GLException("Given Buffer Class not supported: "+v.getClass()+":\n\t"+this);
+                }
+            }
+            padding(type, 0);
+        }
+    }
+
     protected void padding(int type, int fill) {
         if ( sealed ) return;
 
+        if(interleaved) {
+            // zero the unused bytes of the element and advance to the next vertex
+            final int width = getAttributeWidth(type);
+            while(attrBytes[type]<width) {
+                buffer.put(nextPosition(type, 1), (byte)0);
+            }
+            attrElems[type]++;
+            attrBytes[type]=0;
+            return;
+        }
+
         Buffer dest = null;
 
         switch (type) {
@@ -953,6 +1404,8 @@ public class ImmModeSink {
 
     protected ByteBuffer buffer;
     protected int bSize, count, vboName;
+    protected StreamBuffer streamBuffer = null;
+    protected int streamGeneration = -1;
 
     public static final int VERTEX = 0;
     public static final int COLOR = 1;
@@ -960,12 +1413,15 @@ public class ImmModeSink {
     public static final int TEXTCOORD = 3;
 
     protected int vOffset, cOffset, nOffset, tOffset;
+    protected int vertexStride;
+    /** interleaved only: number of written elements and bytes of the current element, per attribute type */
+    protected final int[] attrElems = new int[4], attrBytes = new int[4];
     protected int vComps,    cComps,    nComps,    tComps;
     protected int vDataType, cDataType, nDataType, tDataType;
     protected Buffer vertexArray, colorArray, normalArray, textCoordArray;
     protected GLArrayDataWrapper vArrayData, cArrayData, nArrayData, tArrayData;
 
-    protected boolean sealed, sealedGL, useGLSL;
+    protected boolean sealed, sealedGL, useGLSL, interleaved;
     protected boolean bufferEnabled, bufferWritten;
     protected GL gl;
   }
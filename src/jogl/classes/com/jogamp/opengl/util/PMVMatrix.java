@@ -37,8 +37,6 @@ import com.jogamp.common.nio.Buffers;
 import com.jogamp.opengl.impl.ProjectFloat;
 
 import java.nio.*;
-import java.util.ArrayList;
-import java.util.List;
 
 import javax.media.opengl.*;
 import javax.media.opengl.fixedfunc.GLMatrixFunc;
@@ -94,8 +92,9 @@ public class PMVMatrix implements GLMatrixFunc {
 
           vec3f=new float[3];
 
-          matrixPStack = new ArrayList();
-          matrixMvStack= new ArrayList();
+          matrixTStack = new MatrixStack(TEXTURE_STACK_DEPTH);
+          matrixPStack = new MatrixStack(PROJECTION_STACK_DEPTH);
+          matrixMvStack= new MatrixStack(MODELVIEW_STACK_DEPTH);
 
           // default values and mode
           glMatrixMode(GL_PROJECTION);
@@ -125,18 +124,15 @@ public class PMVMatrix implements GLMatrixFunc {
             localBuf.clear(); localBuf=null;
         }
 
-        if(null!=matrixPStack) {
-            matrixPStack.clear(); matrixPStack=null;
-        }
         vec3f=null;
         if(null!=matrixMvStack) {
-            matrixMvStack.clear(); matrixMvStack=null;
+            matrixMvStack.destroy(); matrixMvStack=null;
         }
         if(null!=matrixPStack) {
-        matrixPStack.clear(); matrixPStack=null;
+            matrixPStack.destroy(); matrixPStack=null;
         }
         if(null!=matrixTStack) {
-            matrixTStack.clear(); matrixTStack=null;
+            matrixTStack.destroy(); matrixTStack=null;
         }
 
         matrixTPMvMvitPmv=null; matrixPMvMvit=null; matrixPMvMvitPmv=null; matrixPMvMvi=null; matrixPMv=null; 
@@ -199,9 +195,44 @@ public class PMVMatrix implements GLMatrixFunc {
 
     public void setDirty() {
           modified   = DIRTY_MODELVIEW | DIRTY_PROJECTION | DIRTY_TEXTURE ;
+          dirtyDerived = DIRTY_INVERSE_MODELVIEW | DIRTY_INVERSE_TRANSPOSED_MODELVIEW | DIRTY_PMV ;
           matrixMode = GL_MODELVIEW;
     }
 
+    /**
+     * Sets the derived matrices eagerly computed by {@link #update()},
+     * a combination of {@link #DIRTY_INVERSE_MODELVIEW}, {@link #DIRTY_INVERSE_TRANSPOSED_MODELVIEW} and {@link #DIRTY_PMV}.
+     * <p>
+     * Derived matrices not requested here are only computed on the first
+     * glGet*Matrixf() access touching them after a modification or {@link #update()}.
+     * Consumers holding on to a derived matrix buffer, e.g. as a uniform data object,
+     * must request it, since they don't access it through the getter.</p>
+     * <p>
+     * Defaults to all derived matrices.</p>
+     */
+    public final void setRequestMask(int requestMask) {
+        this.requestMask = requestMask & ( DIRTY_INVERSE_MODELVIEW | DIRTY_INVERSE_TRANSPOSED_MODELVIEW | DIRTY_PMV ) ;
+    }
+
+    public final int getRequestMask() {
+        return requestMask;
+    }
+
+    /** @return the bits of the derived matrices still to be computed */
+    public final int getDirtyDerivedBits() {
+        return dirtyDerived;
+    }
+
+    /** @return the number of modelview inversions performed */
+    public final long getInversionCount() {
+        return inversionCount;
+    }
+
+    /** @return the number of {@link #update()} calls which did not invert the modelview matrix, since the request mask excludes it */
+    public final long getSkippedInversionCount() {
+        return skippedInversionCount;
+    }
+
     public int getDirtyBits() {
         return modified;
     }
@@ -228,16 +259,25 @@ public class PMVMatrix implements GLMatrixFunc {
         return modified!=0;
     }
 
+    /**
+     * Computes the requested derived matrices, see {@link #setRequestMask(int)},
+     * and clears the modified bits.
+     * <p>
+     * The source matrices may have been written through the buffers returned by
+     * {@link #glGetMvMatrixf()}, {@link #glGetPMatrixf()} or {@link #glGetPMvMatrixf()},
+     * hence all derived matrices are considered dirty here,
+     * the ones not requested are recomputed on their next glGet*Matrixf() access.</p>
+     *
+     * @return true, i.e. the matrices shall be propagated
+     */
     public boolean update() {
         // if(0==modified) return false;
 
         // int res = modified;
         int res = DIRTY_MODELVIEW | DIRTY_PROJECTION ;
-        if( (res&DIRTY_MODELVIEW)!=0 ) {
-            setMviMvit();
-        }
-        if( (res&DIRTY_MODELVIEW)!=0 || (res&DIRTY_PROJECTION)!=0 ) {
-            glMultMatrixf(matrixP, matrixMv, matrixPmv);
+        dirtyDerived = DIRTY_INVERSE_MODELVIEW | DIRTY_INVERSE_TRANSPOSED_MODELVIEW | DIRTY_PMV ;
+        if( !updateDerived(requestMask) ) {
+            skippedInversionCount++;
         }
         modified=0;
         return res!=0;
@@ -260,14 +300,17 @@ public class PMVMatrix implements GLMatrixFunc {
     }
 
     public final FloatBuffer glGetPMvMvitPmvMatrixf() {
+        updateDerived(DIRTY_INVERSE_MODELVIEW | DIRTY_INVERSE_TRANSPOSED_MODELVIEW | DIRTY_PMV);
         return matrixPMvMvitPmv;
     }
 
     public final FloatBuffer glGetPMvMvitMatrixf() {
+        updateDerived(DIRTY_INVERSE_MODELVIEW | DIRTY_INVERSE_TRANSPOSED_MODELVIEW);
         return matrixPMvMvit;
     }
 
     public final FloatBuffer glGetPMvMviMatrixf() {
+        updateDerived(DIRTY_INVERSE_MODELVIEW);
         return matrixPMvMvi;
     }
 
@@ -276,14 +319,22 @@ public class PMVMatrix implements GLMatrixFunc {
     }
 
     public final FloatBuffer glGetMviMatrixf() {
+        updateDerived(DIRTY_INVERSE_MODELVIEW);
         return matrixMvi;
     }
 
+    public final FloatBuffer glGetMvitMatrixf() {
+        updateDerived(DIRTY_INVERSE_MODELVIEW | DIRTY_INVERSE_TRANSPOSED_MODELVIEW);
+        return matrixMvit;
+    }
+
     public final FloatBuffer glGetPmvMatrixf() {
+        updateDerived(DIRTY_PMV);
         return matrixPmv;
     }
 
     public final FloatBuffer glGetNormalMatrixf() {
+        updateDerived(DIRTY_INVERSE_MODELVIEW | DIRTY_INVERSE_TRANSPOSED_MODELVIEW);
         return matrixMvit3;
     }
 
@@ -337,6 +388,14 @@ public class PMVMatrix implements GLMatrixFunc {
        }
     }
 
+    /**
+     * Array based variant, computing <code>p = a x b</code> for <code>count</code> consecutive matrices.
+     * @see ProjectFloat#multMatricesf(float[], int, float[], int, float[], int, int)
+     */
+    public static final void glMultMatrixf(final float[] a, int a_off, final float[] b, int b_off, float[] p, int p_off, int count) {
+       ProjectFloat.multMatricesf(a, a_off, b, b_off, p, p_off, count);
+    }
+
     // 
     // MatrixIf
     //
@@ -397,11 +456,13 @@ public class PMVMatrix implements GLMatrixFunc {
             matrixMv.put(values, offset, len);
             matrixMv.rewind();
             modified |= DIRTY_MODELVIEW ;
+            dirtyDerived |= DIRTY_INVERSE_MODELVIEW | DIRTY_INVERSE_TRANSPOSED_MODELVIEW | DIRTY_PMV ;
         } else if(matrixMode==GL_PROJECTION) {
             matrixP.clear();
             matrixP.put(values, offset, len);
             matrixP.rewind();
             modified |= DIRTY_PROJECTION ;
+            dirtyDerived |= DIRTY_PMV ;
         } else if(matrixMode==GL.GL_TEXTURE) {
             matrixT.clear();
             matrixT.put(values, offset, len);
@@ -417,11 +478,13 @@ public class PMVMatrix implements GLMatrixFunc {
             matrixMv.put(m);
             matrixMv.rewind();
             modified |= DIRTY_MODELVIEW ;
+            dirtyDerived |= DIRTY_INVERSE_MODELVIEW | DIRTY_INVERSE_TRANSPOSED_MODELVIEW | DIRTY_PMV ;
         } else if(matrixMode==GL_PROJECTION) {
             matrixP.clear();
             matrixP.put(m);
             matrixP.rewind();
             modified |= DIRTY_PROJECTION ;
+            dirtyDerived |= DIRTY_PMV ;
         } else if(matrixMode==GL.GL_TEXTURE) {
             matrixT.clear();
             matrixT.put(m);
@@ -432,31 +495,43 @@ public class PMVMatrix implements GLMatrixFunc {
     }
 
     public final void glPopMatrix() {
-        float[] stackEntry=null;
         if(matrixMode==GL_MODELVIEW) {
-            stackEntry = (float[])matrixMvStack.remove(0);
+            matrixMvStack.pop(matrixMv);
+            modified |= DIRTY_MODELVIEW ;
+            dirtyDerived |= DIRTY_INVERSE_MODELVIEW | DIRTY_INVERSE_TRANSPOSED_MODELVIEW | DIRTY_PMV ;
         } else if(matrixMode==GL_PROJECTION) {
-            stackEntry = (float[])matrixPStack.remove(0);
+            matrixPStack.pop(matrixP);
+            modified |= DIRTY_PROJECTION ;
+            dirtyDerived |= DIRTY_PMV ;
         } else if(matrixMode==GL.GL_TEXTURE) {
-            stackEntry = (float[])matrixTStack.remove(0);
+            matrixTStack.pop(matrixT);
+            modified |= DIRTY_TEXTURE ;
         } 
-        glLoadMatrixf(stackEntry, 0);
     }
 
     public final void glPushMatrix() {
-        float[] stackEntry = new float[1*16];
         if(matrixMode==GL_MODELVIEW) {
-            matrixMv.get(stackEntry);
-            matrixMv.rewind();
-            matrixMvStack.add(0, stackEntry);
+            matrixMvStack.push(matrixMv);
         } else if(matrixMode==GL_PROJECTION) {
-            matrixP.get(stackEntry);
-            matrixP.rewind();
-            matrixPStack.add(0, stackEntry);
+            matrixPStack.push(matrixP);
         } else if(matrixMode==GL.GL_TEXTURE) {
-            matrixT.get(stackEntry);
-            matrixT.rewind();
-            matrixTStack.add(0, stackEntry);
+            matrixTStack.push(matrixT);
+        }
+    }
+
+    /**
+     * @param matrixName GL_MODELVIEW, GL_PROJECTION or GL.GL_TEXTURE
+     * @return the number of matrices currently pushed on the given stack
+     */
+    public final int getStackDepth(final int matrixName) {
+        if(matrixName==GL_MODELVIEW) {
+            return matrixMvStack.depth();
+        } else if(matrixName==GL_PROJECTION) {
+            return matrixPStack.depth();
+        } else if(matrixName==GL.GL_TEXTURE) {
+            return matrixTStack.depth();
+        } else {
+            throw new GLException("unsupported matrixName: "+matrixName);
         }
     }
 
@@ -467,12 +542,14 @@ public class PMVMatrix implements GLMatrixFunc {
             matrixMv.rewind();
             matrixIdent.rewind();
             modified |= DIRTY_MODELVIEW ;
+            dirtyDerived |= DIRTY_INVERSE_MODELVIEW | DIRTY_INVERSE_TRANSPOSED_MODELVIEW | DIRTY_PMV ;
         } else if(matrixMode==GL_PROJECTION) {
             matrixP.clear();
             matrixP.put(matrixIdent);
             matrixP.rewind();
             matrixIdent.rewind();
             modified |= DIRTY_PROJECTION ;
+            dirtyDerived |= DIRTY_PMV ;
         } else if(matrixMode==GL.GL_TEXTURE) {
             matrixT.clear();
             matrixT.put(matrixIdent);
@@ -484,48 +561,33 @@ public class PMVMatrix implements GLMatrixFunc {
 
     public final void glMultMatrixf(final FloatBuffer m) {
         if(matrixMode==GL_MODELVIEW) {
-            glMultMatrixf(matrixMv, m, matrixMult);
-            matrixMv.clear();
-            matrixMv.put(matrixMult);
-            matrixMv.rewind();
+            multMatrixInPlace(matrixMv, m);
             modified |= DIRTY_MODELVIEW ;
+            dirtyDerived |= DIRTY_INVERSE_MODELVIEW | DIRTY_INVERSE_TRANSPOSED_MODELVIEW | DIRTY_PMV ;
         } else if(matrixMode==GL_PROJECTION) {
-            glMultMatrixf(matrixP, m, matrixMult);
-            matrixP.clear();
-            matrixP.put(matrixMult);
-            matrixP.rewind();
+            multMatrixInPlace(matrixP, m);
             modified |= DIRTY_PROJECTION ;
+            dirtyDerived |= DIRTY_PMV ;
         } else if(matrixMode==GL.GL_TEXTURE) {
-            glMultMatrixf(matrixT, m, matrixMult);
-            matrixT.clear();
-            matrixT.put(matrixMult);
-            matrixT.rewind();
+            multMatrixInPlace(matrixT, m);
             modified |= DIRTY_TEXTURE ;
         } 
-        matrixMult.rewind();
     }
 
     public void glMultMatrixf(float[] m, int m_offset) {
+        // the array can't alias one of our direct buffers, hence always in place
         if(matrixMode==GL_MODELVIEW) {
-            glMultMatrixf(matrixMv, m, m_offset, matrixMult);
-            matrixMv.clear();
-            matrixMv.put(matrixMult);
-            matrixMv.rewind();
+            glMultMatrixf(matrixMv, m, m_offset, matrixMv);
             modified |= DIRTY_MODELVIEW ;
+            dirtyDerived |= DIRTY_INVERSE_MODELVIEW | DIRTY_INVERSE_TRANSPOSED_MODELVIEW | DIRTY_PMV ;
         } else if(matrixMode==GL_PROJECTION) {
-            glMultMatrixf(matrixP, m, m_offset, matrixMult);
-            matrixP.clear();
-            matrixP.put(matrixMult);
-            matrixP.rewind();
+            glMultMatrixf(matrixP, m, m_offset, matrixP);
             modified |= DIRTY_PROJECTION ;
+            dirtyDerived |= DIRTY_PMV ;
         } else if(matrixMode==GL.GL_TEXTURE) {
-            glMultMatrixf(matrixT, m, m_offset, matrixMult);
-            matrixT.clear();
-            matrixT.put(matrixMult);
-            matrixT.rewind();
+            glMultMatrixf(matrixT, m, m_offset, matrixT);
             modified |= DIRTY_TEXTURE ;
         } 
-        matrixMult.rewind();
     }
 
     public final void glTranslatef(final float x, final float y, final float z) {
@@ -650,17 +712,82 @@ public class PMVMatrix implements GLMatrixFunc {
     // private 
     //
 
-    private final void setMviMvit() {
+    /**
+     * Computes <code>a = a * m</code>.
+     * <p>
+     * The glMultMatrixf kernels read a full row of <code>a</code>
+     * before writing the same row of the product, hence the destination
+     * may be <code>a</code> itself as long as <code>m</code> does not share its storage.
+     * Only the latter case is routed through the <code>matrixMult</code> scratch buffer.</p>
+     */
+    private final void multMatrixInPlace(final FloatBuffer a, final FloatBuffer m) {
+        if( isAliased(a, m) ) {
+            glMultMatrixf(a, m, matrixMult);
+            a.clear();
+            a.put(matrixMult);
+            a.rewind();
+            matrixMult.rewind();
+        } else {
+            glMultMatrixf(a, m, a);
+        }
+    }
+
+    /** @return true if <code>m</code> is one of our views starting at <code>a</code>'s storage */
+    private final boolean isAliased(final FloatBuffer a, final FloatBuffer m) {
+        if( a == m ) {
+            return true;
+        }
+        if( a == matrixP ) {
+            return m == matrixPMv || m == matrixPMvMvi || m == matrixPMvMvit || m == matrixPMvMvitPmv;
+        }
+        if( a == matrixT ) {
+            return m == matrixTPMvMvitPmv;
+        }
+        return false;
+    }
+
+    /**
+     * Computes the derived matrices given by <code>mask</code> which are dirty.
+     * @return true if the modelview matrix has been inverted
+     */
+    private final boolean updateDerived(int mask) {
+        mask &= dirtyDerived;
+        if( 0 == mask ) {
+            return false;
+        }
+        boolean inverted = false;
+        if( 0 != ( mask & ( DIRTY_INVERSE_MODELVIEW | DIRTY_INVERSE_TRANSPOSED_MODELVIEW ) ) ) {
+            if( 0 != ( dirtyDerived & DIRTY_INVERSE_MODELVIEW ) ) {
+                setMvi();
+                inverted = true;
+            }
+            if( 0 != ( mask & DIRTY_INVERSE_TRANSPOSED_MODELVIEW ) ) {
+                setMvit();
+            }
+        }
+        if( 0 != ( mask & DIRTY_PMV ) ) {
+            glMultMatrixf(matrixP, matrixMv, matrixPmv);
+            dirtyDerived &= ~DIRTY_PMV ;
+        }
+        return inverted;
+    }
+
+    private final void setMvi() {
         if(!projectFloat.gluInvertMatrixf(matrixMv, matrixMvi)) {
             throw new GLException("Invalid source Mv matrix, can't compute inverse");
         }
+        inversionCount++;
+        dirtyDerived &= ~DIRTY_INVERSE_MODELVIEW ;
+    }
 
+    private final void setMvit() {
         // transpose matrix 
         for (int i = 0; i < 4; i++) {
             for (int j = 0; j < 4; j++) {
                 matrixMvit.put(j+i*4, matrixMvi.get(i+j*4));
             }
         }
+        dirtyDerived &= ~DIRTY_INVERSE_TRANSPOSED_MODELVIEW ;
 
         // fetch 3x3
         for (int i = 0; i < 3; i++) {
@@ -675,12 +802,70 @@ public class PMVMatrix implements GLMatrixFunc {
     protected FloatBuffer matrixMvit3;
     protected FloatBuffer localBuf, matrixMult, matrixTrans, matrixRot, matrixScale, matrixOrtho, matrixFrustum;
     protected float[] vec3f;
-    protected List/*FloatBuffer*/ matrixTStack, matrixPStack, matrixMvStack;
+    protected MatrixStack matrixTStack, matrixPStack, matrixMvStack;
     protected int matrixMode = GL_MODELVIEW;
     protected int modified = 0;
+    protected int dirtyDerived = 0;
+    protected int requestMask = DIRTY_INVERSE_MODELVIEW | DIRTY_INVERSE_TRANSPOSED_MODELVIEW | DIRTY_PMV ;
+    protected long inversionCount = 0, skippedInversionCount = 0;
     protected ProjectFloat projectFloat;
 
     public static final int DIRTY_MODELVIEW  = 1 << 0;
     public static final int DIRTY_PROJECTION = 1 << 1;
     public static final int DIRTY_TEXTURE    = 1 << 2;
+
+    /** Derived matrix bits, see {@link #setRequestMask(int)} and {@link #getDirtyDerivedBits()} */
+    public static final int DIRTY_INVERSE_MODELVIEW            = 1 << 3;
+    public static final int DIRTY_INVERSE_TRANSPOSED_MODELVIEW = 1 << 4;
+    public static final int DIRTY_PMV                          = 1 << 5;
+
+    /** Initial stack capacities, in matrices, as the GL required minimum depths. Stacks grow on demand. */
+    public static final int MODELVIEW_STACK_DEPTH  = 32;
+    public static final int PROJECTION_STACK_DEPTH = 2;
+    public static final int TEXTURE_STACK_DEPTH    = 2;
+
+    /**
+     * Matrix stack storing its entries contiguously in one <code>float[]</code>,
+     * addressed by a stack pointer, so that push and pop neither allocate nor shift elements.
+     * The backing array doubles its capacity if exhausted.
+     */
+    protected static class MatrixStack {
+        private float[] stack;
+        private int sp; // in floats, multiple of 16
+
+        MatrixStack(int initialDepth) {
+            stack = new float[Math.max(1, initialDepth)*16];
+            sp = 0;
+        }
+
+        final void push(FloatBuffer m) {
+            if(sp+16 > stack.length) {
+                float[] nstack = new float[stack.length*2];
+                System.arraycopy(stack, 0, nstack, 0, sp);
+                stack = nstack;
+            }
+            m.get(stack, sp, 16);
+            m.rewind();
+            sp += 16;
+        }
+
+        final void pop(FloatBuffer m) {
+            if(sp<16) {
+                throw new GLException("GL_STACK_UNDERFLOW: matrix stack is empty");
+            }
+            sp -= 16;
+            m.clear();
+            m.put(stack, sp, 16);
+            m.rewind();
+        }
+
+        final int depth() {
+            return sp/16;
+        }
+
+        final void destroy() {
+            stack = null;
+            sp = 0;
+        }
+    }
 }
@@ -0,0 +1,234 @@
+
+package com.jogamp.opengl.util;
+
+import java.util.*;
+
+import javax.media.opengl.*;
+
+/**
+ * An Animator which paces its frames to a target frames-per-second rate.
+ * <p>
+ * Frame deadlines are computed from the start of the pacing period,
+ * <code>start + frameNumber * 1000 / fps</code>, hence rounding and late frames
+ * don't accumulate into a drift, as a fixed delay between frames would.
+ * The animation thread sleeps until shortly before the deadline
+ * and yields for the remaining {@link #setSpinThreshold(int) spin threshold}.</p>
+ * <p>
+ * If a frame is late by one or more periods, e.g. after a GC pause,
+ * the {@link #setCatchUpPolicy(int) catch up policy} decides how to proceed.
+ * If the drawables are synchronized to the vertical retrace, i.e. a swap interval is set,
+ * and the target rate exceeds the refresh rate, <code>display()</code> blocks
+ * and the pacer won't sleep anymore, the missed deadlines are counted accordingly.</p>
+ * <p>
+ * The interval between frames is recorded in the {@link #getFrameStatistics() frame statistics},
+ * the duration of each drawable's <code>display()</code> in the {@link #getStatistics(GLAutoDrawable) drawable statistics},
+ * a drawable misses its deadline if its <code>display()</code> ends past the next frame deadline.</p>
+ */
+public class PacedAnimator extends Animator {
+
+  /** Drop missed frames and continue on the original deadline grid, the default. */
+  public static final int CATCH_UP_SKIP = 0;
+
+  /** Drop missed frames and restart the deadline grid at the current time. */
+  public static final int CATCH_UP_RESYNC = 1;
+
+  /** Render missed frames back to back, up to the {@link #setMaxBurstFrames(int) max burst}, then skip. */
+  public static final int CATCH_UP_BURST = 2;
+
+  /** Default time in milliseconds spent yielding before a deadline, instead of sleeping. */
+  public static final int DEFAULT_SPIN_THRESHOLD = 2;
+
+  private double period;
+  private int catchUpPolicy = CATCH_UP_SKIP;
+  private int maxBurstFrames = 3;
+  private int spinThreshold = DEFAULT_SPIN_THRESHOLD;
+
+  private long paceStart = 0;
+  private long frameNumber = 0;
+  private long frameDeadline = 0;
+  private long lastFrameStart = 0;
+  private int  burstFrames = 0;
+
+  private final FrameTimeStatistics frameStats = new FrameTimeStatistics();
+  private final Map/*<GLAutoDrawable, FrameTimeStatistics>*/ drawableStats = new IdentityHashMap();
+
+  /** Creates a PacedAnimator with a given target frames-per-second value. */
+  public PacedAnimator(int fps) {
+      this((GLAutoDrawable)null, fps);
+  }
+
+  /** Creates a PacedAnimator with a given target frames-per-second
+      value and an initial drawable to animate. */
+  public PacedAnimator(GLAutoDrawable drawable, int fps) {
+      super((ThreadGroup)null);
+      setFPS(fps);
+      setRunAsFastAsPossible(true); // pacing is done here
+      timeDrawables = true;
+      if (drawable != null) {
+          add(drawable);
+      }
+  }
+
+  /** Sets the target frames-per-second value, effective at the next frame. */
+  public synchronized void setFPS(int fps) {
+      if(0>=fps) {
+          throw new GLException("Invalid FPS: "+fps);
+      }
+      period = 1000.0 / (double) fps;
+      paceStart = 0; // resync
+  }
+
+  public synchronized int getFPS() {
+      return (int) Math.round(1000.0 / period);
+  }
+
+  /** @param policy one of {@link #CATCH_UP_SKIP}, {@link #CATCH_UP_RESYNC} or {@link #CATCH_UP_BURST} */
+  public synchronized void setCatchUpPolicy(int policy) {
+      switch(policy) {
+          case CATCH_UP_SKIP:
+          case CATCH_UP_RESYNC:
+          case CATCH_UP_BURST:
+              catchUpPolicy = policy;
+              break;
+          default:
+              throw new GLException("Invalid catch up policy: "+policy);
+      }
+  }
+
+  public synchronized int getCatchUpPolicy() {
+      return catchUpPolicy;
+  }
+
+  /** Sets the maximum number of missed frames rendered back to back with {@link #CATCH_UP_BURST}, defaults to 3. */
+  public synchronized void setMaxBurstFrames(int n) {
+      maxBurstFrames = Math.max(0, n);
+  }
+
+  /** Sets the time in milliseconds before a deadline, which is spent yielding instead of sleeping. */
+  public synchronized void setSpinThreshold(int ms) {
+      spinThreshold = Math.max(0, ms);
+  }
+
+  /** @return the statistics of the intervals between frames */
+  public FrameTimeStatistics getFrameStatistics() {
+      return frameStats;
+  }
+
+  /** @return the statistics of the given drawable's display duration, or null if not displayed yet */
+  public FrameTimeStatistics getStatistics(GLAutoDrawable drawable) {
+      synchronized(drawableStats) {
+          return (FrameTimeStatistics) drawableStats.get(drawable);
+      }
+  }
+
+  /** Resets all frame and drawable statistics. */
+  public void resetStatistics() {
+      frameStats.reset();
+      synchronized(drawableStats) {
+          for(Iterator iter = drawableStats.values().iterator(); iter.hasNext(); ) {
+              ((FrameTimeStatistics) iter.next()).reset();
+          }
+      }
+  }
+
+  /** Removes a drawable and its statistics. */
+  public synchronized void remove(GLAutoDrawable drawable) {
+      super.remove(drawable);
+      synchronized(drawableStats) {
+          drawableStats.remove(drawable);
+      }
+  }
+
+  protected void display() {
+      if(!waitForDeadline()) {
+          return;
+      }
+      long now = System.currentTimeMillis();
+      if(0 != lastFrameStart) {
+          frameStats.record(now - lastFrameStart, now - frameDeadline >= period);
+      }
+      lastFrameStart = now;
+      super.display();
+  }
+
+  protected void drawableDisplayed(GLAutoDrawable drawable, long start, long end) {
+      FrameTimeStatistics stats;
+      synchronized(drawableStats) {
+          stats = (FrameTimeStatistics) drawableStats.get(drawable);
+          if(null==stats) {
+              stats = new FrameTimeStatistics();
+              drawableStats.put(drawable, stats);
+          }
+      }
+      stats.record(end - start, end > frameDeadline + (long)period);
+  }
+
+  /**
+   * Advances to the next frame deadline and waits for it.
+   * @return false if the animator shall stop
+   */
+  private boolean waitForDeadline() {
+      long deadline;
+      int spin;
+      synchronized(this) {
+          long now = System.currentTimeMillis();
+          if(0 == paceStart) {
+              paceStart = now;
+              frameNumber = 0;
+              burstFrames = 0;
+          } else {
+              frameNumber++;
+          }
+          deadline = paceStart + (long) ( frameNumber * period );
+          final long late = (long) ( ( now - deadline ) / period );
+          if( late > 0 ) {
+              switch(catchUpPolicy) {
+                  case CATCH_UP_BURST:
+                      if(burstFrames < maxBurstFrames) {
+                          burstFrames++;
+                          break; // render now
+                      }
+                      // fall through: skip
+                  case CATCH_UP_SKIP:
+                      frameNumber += late;
+                      deadline = paceStart + (long) ( frameNumber * period );
+                      frameStats.addMissed(late);
+                      burstFrames = 0;
+                      break;
+                  case CATCH_UP_RESYNC:
+                      frameStats.addMissed(late);
+                      paceStart = now;
+                      frameNumber = 0;
+                      deadline = now;
+                      break;
+              }
+          } else {
+              burstFrames = 0;
+          }
+          frameDeadline = deadline;
+          spin = spinThreshold;
+
+          // sleep until shortly before the deadline, stop() notifies us
+          long remaining = deadline - spin - now;
+          while(!shouldStop && remaining > 0) {
+              try {
+                  wait(remaining);
+              } catch (InterruptedException ie) {
+              }
+              remaining = deadline - spin - System.currentTimeMillis();
+          }
+      }
+      while(!shouldStop && System.currentTimeMillis() < deadline) {
+          Thread.yield();
+      }
+      return !shouldStop;
+  }
+
+  /** Starts this PacedAnimator, the deadline grid starts with the first frame. */
+  public synchronized void start() {
+      paceStart = 0;
+      lastFrameStart = 0;
+      super.start();
+  }
+}
+
@@ -0,0 +1,37 @@
+
+package com.jogamp.opengl.util;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * A {@link FrameSink} appending the pixels of all frames to one file without any header,
+ * e.g. to be piped into a video encoder expecting raw frames.
+ * All frames must have the same size, rows are stored bottom up as read.
+ */
+public class RawFrameSink implements FrameSink {
+
+  private final FileOutputStream out;
+  private final FileChannel ch;
+
+  /**
+   * Opens the specified file for writing, overwriting any existing file.
+   *
+   * @throws IOException if the file could not be opened
+   */
+  public RawFrameSink(File file) throws IOException {
+      out = new FileOutputStream(file);
+      ch = out.getChannel();
+  }
+
+  public void writeFrame(int frameNumber, int width, int height, boolean alpha, ByteBuffer pixels) throws IOException {
+      while(pixels.hasRemaining()) {
+          ch.write(pixels);
+      }
+  }
+
+  public void close() throws IOException {
+      out.close();
+  }
+}
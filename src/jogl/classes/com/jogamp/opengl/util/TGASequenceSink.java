@@ -0,0 +1,46 @@
+
+package com.jogamp.opengl.util;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+
+/**
+ * A {@link FrameSink} writing each frame into its own Targa file,
+ * named by a prefix, the zero padded frame number and the suffix <code>.tga</code>,
+ * e.g. <code>frame-000042.tga</code>.
+ */
+public class TGASequenceSink implements FrameSink {
+
+  private final File directory;
+  private final String prefix;
+  private final int digits;
+
+  /**
+   * @param directory the directory to write the files into
+   * @param prefix the file name prefix
+   * @param digits the minimum number of digits of the frame numbers
+   */
+  public TGASequenceSink(File directory, String prefix, int digits) {
+      this.directory = directory;
+      this.prefix = prefix;
+      this.digits = digits;
+  }
+
+  /** @return the file the given frame is written to */
+  public File getFile(int frameNumber) {
+      StringBuffer name = new StringBuffer(prefix);
+      String number = String.valueOf(frameNumber);
+      for(int i=number.length(); i<digits; i++) {
+          name.append('0');
+      }
+      name.append(number).append(".tga");
+      return new File(directory, name.toString());
+  }
+
+  public void writeFrame(int frameNumber, int width, int height, boolean alpha, ByteBuffer pixels) throws IOException {
+      TGAWriter.write(getFile(frameNumber), width, height, alpha, pixels);
+  }
+
+  public void close() throws IOException {
+  }
+}
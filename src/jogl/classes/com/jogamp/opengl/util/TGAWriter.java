@@ -84,13 +84,7 @@ public class TGAWriter {
     MappedByteBuffer image = ch.map(FileChannel.MapMode.READ_WRITE, 0, fileLength);
 
     // write the TARGA header
-    image.put(0, (byte) 0).put(1, (byte) 0);
-    image.put(2, (byte) 2); // uncompressed type
-    image.put(12, (byte) (width & 0xFF)); // width
-    image.put(13, (byte) (width >> 8)); // width
-    image.put(14, (byte) (height & 0xFF)); // height
-    image.put(15, (byte) (height >> 8)); // height
-    image.put(16, (byte) pixelSize); // pixel size
+    putHeader(image, width, height, pixelSize);
              
     // go to image data position
     image.position(TARGA_HEADER_SIZE);
@@ -108,6 +102,51 @@ public class TGAWriter {
     return buf;
   }
 
+  /**
+   * Writes a complete Targa file from the given image data with
+   * plain channel writes, which is cheaper than mapping the file for
+   * series of images, e.g. captured by a {@link FrameCapture}.
+   *
+   * @param file the file to write, overwriting any existing file
+   * @param width the width of the image
+   * @param height the height of the image
+   * @param alpha whether the data is in BGRA rather than BGR format
+   * @param data the image data, from its position to its limit, starting with the bottom row
+   *
+   * @throws IOException if an I/O error occurred while writing the
+   *   file
+   */
+  public static void write(File file,
+                           int width,
+                           int height,
+                           boolean alpha,
+                           ByteBuffer data) throws IOException {
+    ByteBuffer header = ByteBuffer.allocate(TARGA_HEADER_SIZE);
+    putHeader(header, width, height, (alpha ? 32 : 24));
+    FileOutputStream out = new FileOutputStream(file);
+    try {
+      FileChannel fch = out.getChannel();
+      while (header.hasRemaining()) {
+        fch.write(header);
+      }
+      while (data.hasRemaining()) {
+        fch.write(data);
+      }
+    } finally {
+      out.close();
+    }
+  }
+
+  private static void putHeader(ByteBuffer image, int width, int height, int pixelSize) {
+    image.put(0, (byte) 0).put(1, (byte) 0);
+    image.put(2, (byte) 2); // uncompressed type
+    image.put(12, (byte) (width & 0xFF)); // width
+    image.put(13, (byte) (width >> 8)); // width
+    image.put(14, (byte) (height & 0xFF)); // height
+    image.put(15, (byte) (height >> 8)); // height
+    image.put(16, (byte) pixelSize); // pixel size
+  }
+
   public void close() throws IOException {
     // close the file channel
     ch.close();
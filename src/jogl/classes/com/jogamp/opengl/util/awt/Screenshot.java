@@ -48,7 +48,8 @@ import javax.media.opengl.glu.gl2.*;
 
 import com.jogamp.opengl.util.*;
 
-/** Utilities for taking screenshots of OpenGL applications. */
+/** Utilities for taking screenshots of OpenGL applications. For
+    capturing sequences of frames, see {@link FrameCapture}. */
 
 public class Screenshot {
   private Screenshot() {}
@@ -142,6 +142,12 @@ public class TextRenderer {
     // The amount of vertical dead space on the backing store before we
     // force a compaction
     private static final float MAX_VERTICAL_FRAGMENTATION = 0.7f;
+
+    // The amount of vertical dead space on the backing store above
+    // which entries are moved incrementally, and the maximum number of
+    // entries moved per render cycle
+    private static final float MIN_DEFRAGMENTATION = 0.2f;
+    private static final int DEFRAGMENTATION_MOVES_PER_CYCLE = 8;
     static final int kQuadsPerBuffer = 100;
     static final int kCoordsPerVertVerts = 3;
     static final int kCoordsPerVertTex = 2;
@@ -170,6 +176,28 @@ public class TextRenderer {
 
     private int numRenderCycles;
 
+    // Monotonic render cycle counter, stamped into the entries of the
+    // backing store on use for least recently used eviction
+    private int renderCycle;
+
+    // Glyph cache statistics
+    private long glyphCacheHits;
+    private long glyphCacheMisses;
+    private long glyphCacheEvictions;
+
+    // Glyphs allocated on the backing store but not yet rasterized,
+    // rasterized together before the backing store is used
+    private List/*<Glyph>*/ pendingGlyphs = new ArrayList/*<Glyph>*/();
+
+    // Incremented whenever entries of the backing store are moved or
+    // removed, invalidating the quads cached by TextBlocks
+    private int atlasGeneration;
+
+    // Texture upload statistics
+    private long bytesUploadedCurrentFrame;
+    private long bytesUploadedLastFrame;
+    private long bytesUploadedTotal;
+
     // Need to keep track of whether we're in a beginRendering() /
     // endRendering() cycle so we can re-enter the exact same state if
     // we have to reallocate the backing store
@@ -302,7 +330,7 @@ public class TextRenderer {
 
         this.renderDelegate = renderDelegate;
 
-        mGlyphProducer = new GlyphProducer(font.getNumGlyphs());
+        mGlyphProducer = new GlyphProducer();
     }
 
     /** Returns the bounding rectangle of the given String, assuming it
@@ -520,6 +548,43 @@ public class TextRenderer {
         internal_draw3D(str, x, y, z, scaleFactor);
     }
 
+    /** Lays out the supplied CharSequence into a {@link TextBlock
+        TextBlock}, which can be drawn repeatedly without repeating the
+        layout, see {@link #draw(TextBlock, int, int) draw(TextBlock,
+        int, int)}. The block may only be drawn with this TextRenderer.
+
+        @param str the string to lay out
+        @throws GLException If an OpenGL context is not current when this method is called
+    */
+    public TextBlock createTextBlock(CharSequence str) throws GLException {
+        return new TextBlock(str.toString(), mGlyphProducer.getGlyphs(str));
+    }
+
+    /** Draws the supplied TextBlock at the desired location using the
+        renderer's current color. See {@link #draw(CharSequence, int,
+        int) draw(CharSequence, int, int)}.
+
+        @throws GLException If an OpenGL context is not current when this method is called
+    */
+    public void draw(TextBlock block, int x, int y) throws GLException {
+        draw3D(block, x, y, 0, 1);
+    }
+
+    /** Draws the supplied TextBlock at the desired 3D location using
+        the renderer's current color. See {@link #draw3D(CharSequence,
+        float, float, float, float) draw3D(CharSequence, float, float,
+        float, float)}.
+
+        @throws GLException If an OpenGL context is not current when this method is called
+    */
+    public void draw3D(TextBlock block, float x, float y, float z,
+                       float scaleFactor) throws GLException {
+        if (block.getTextRenderer() != this) {
+            throw new GLException("TextBlock created by another TextRenderer");
+        }
+        block.draw3D(x, y, z, scaleFactor);
+    }
+
     /** Returns the pixel width of the given character. */
     public float getCharWidth(char inChar) {
         return mGlyphProducer.getGlyphPixelWidth(inChar);
@@ -732,6 +797,16 @@ public class TextRenderer {
             getBackingStore().end3DRendering();
         }
 
+        collectUploadStatistics(getBackingStore());
+        bytesUploadedLastFrame = bytesUploadedCurrentFrame;
+        bytesUploadedCurrentFrame = 0;
+
+        renderCycle++;
+
+        if (packer.verticalFragmentationRatio() > MIN_DEFRAGMENTATION) {
+            packer.defragment(DEFRAGMENTATION_MOVES_PER_CYCLE);
+        }
+
         if (++numRenderCycles >= CYCLES_PER_FLUSH) {
             numRenderCycles = 0;
 
@@ -762,14 +837,7 @@ public class TextRenderer {
 
         for (Iterator iter = deadRects.iterator(); iter.hasNext();) {
             Rect r = (Rect) iter.next();
-            packer.remove(r);
-            stringLocations.remove(((TextData) r.getUserData()).string());
-
-            int unicodeToClearFromCache = ((TextData) r.getUserData()).unicodeID;
-
-            if (unicodeToClearFromCache > 0) {
-                mGlyphProducer.clearCacheEntry(unicodeToClearFromCache);
-            }
+            removeEntry(r);
 
             //      if (DEBUG) {
             //        Graphics2D g = getGraphics2D();
@@ -798,6 +866,57 @@ public class TextRenderer {
         }
     }
 
+    // Removes the given string or glyph entry from the backing store
+    private void removeEntry(Rect r) {
+        packer.remove(r);
+        stringLocations.remove(((TextData) r.getUserData()).string());
+
+        int unicodeToClearFromCache = ((TextData) r.getUserData()).unicodeID;
+
+        if (unicodeToClearFromCache > 0) {
+            mGlyphProducer.clearCacheEntry(unicodeToClearFromCache);
+        }
+        glyphCacheEvictions++;
+        atlasGeneration++;
+    }
+
+    // Evicts the least recently used entries not used in the current
+    // render cycle, until at least half of the occupied area is freed.
+    // Returns false if no entry could be evicted.
+    private boolean evictLeastRecentlyUsedEntries() {
+        final java.util.List rects = new ArrayList /*<Rect>*/();
+        final int[] usedArea = new int[1];
+        packer.visit(new RectVisitor() {
+                public void visit(Rect rect) {
+                    rects.add(rect);
+                    usedArea[0] += rect.w() * rect.h();
+                }
+            });
+        Collections.sort(rects, new Comparator() {
+                public int compare(Object o1, Object o2) {
+                    int c1 = ((TextData) ((Rect) o1).getUserData()).lastUsed();
+                    int c2 = ((TextData) ((Rect) o2).getUserData()).lastUsed();
+                    return (c1 < c2) ? -1 : ((c1 == c2) ? 0 : 1);
+                }
+            });
+        int freedArea = 0;
+        int evicted = 0;
+        for (Iterator iter = rects.iterator(); iter.hasNext() && 2 * freedArea < usedArea[0]; ) {
+            Rect r = (Rect) iter.next();
+            if (((TextData) r.getUserData()).lastUsed() == renderCycle) {
+                break; // in use by the current render cycle
+            }
+            freedArea += r.w() * r.h();
+            removeEntry(r);
+            evicted++;
+        }
+        if (DEBUG) {
+            System.err.println("TextRenderer evicted " + evicted + " least recently used entries, freed " +
+                               freedArea + " of " + usedArea[0] + " pixels");
+        }
+        return evicted > 0;
+    }
+
     private void internal_draw3D(CharSequence str, float x, float y, float z,
                                  float scaleFactor) {
         List/*<Glyph>*/ glyphs = mGlyphProducer.getGlyphs(str);
@@ -811,9 +930,44 @@ public class TextRenderer {
     private void flushGlyphPipeline() {
         if (mPipelinedQuadRenderer != null) {
             mPipelinedQuadRenderer.draw();
+        } else {
+            rasterizePendingGlyphs();
         }
     }
 
+    // Rasterizes all glyphs missed since the last flush in one pass
+    private void rasterizePendingGlyphs() {
+        int n = pendingGlyphs.size();
+        if (n == 0) {
+            return;
+        }
+        Graphics2D g = getGraphics2D();
+
+        // Clear out the areas we're going to draw into
+        g.setComposite(AlphaComposite.Clear);
+        for (int i = 0; i < n; i++) {
+            Rect rect = ((Glyph) pendingGlyphs.get(i)).getPendingRect();
+            if (rect != null) {
+                g.fillRect(rect.x(), rect.y(), rect.w(), rect.h());
+            }
+        }
+        g.setComposite(AlphaComposite.Src);
+
+        TextureRenderer renderer = getBackingStore();
+        for (int i = 0; i < n; i++) {
+            ((Glyph) pendingGlyphs.get(i)).rasterize(g, renderer);
+        }
+        pendingGlyphs.clear();
+    }
+
+    // Collects the upload statistics of the given backing store
+    private void collectUploadStatistics(TextureRenderer renderer) {
+        long bytes = renderer.getBytesUploaded();
+        renderer.resetUploadStatistics();
+        bytesUploadedCurrentFrame += bytes;
+        bytesUploadedTotal += bytes;
+    }
+
     private void draw3D_ROBUST(CharSequence str, float x, float y, float z,
                                float scaleFactor) {
         String curStr;
@@ -882,7 +1036,7 @@ public class TextRenderer {
         // origin at the upper-left but the TextureRenderer's origin is
         // at its lower left!!!
         TextData data = (TextData) rect.getUserData();
-        data.markUsed();
+        data.markUsed(renderCycle);
 
         Rectangle2D origRect = data.origRect();
         
@@ -1092,6 +1246,8 @@ public class TextRenderer {
 
         private boolean used; // Whether this text was used recently
 
+        private int lastUsed; // The render cycle this text was used last
+
         TextData(String str, Point origin, Rectangle2D origRect, int unicodeID) {
             this.str = str;
             this.origin = origin;
@@ -1125,8 +1281,13 @@ public class TextRenderer {
             return used;
         }
 
-        void markUsed() {
+        void markUsed(int renderCycle) {
             used = true;
+            lastUsed = renderCycle;
+        }
+
+        int lastUsed() {
+            return lastUsed;
         }
 
         void clearUsed() {
@@ -1160,6 +1321,7 @@ public class TextRenderer {
         }
 
         public void deleteBackingStore(Object backingStore) {
+            collectUploadStatistics((TextureRenderer) backingStore);
             ((TextureRenderer) backingStore).dispose();
         }
 
@@ -1199,7 +1361,15 @@ public class TextRenderer {
         }
 
         public boolean additionFailed(Rect cause, int attemptNumber) {
+            // First evict the least recently used entries, in case the
+            // backing store reached its maximum size
+            if (attemptNumber == 0 && evictLeastRecentlyUsedEntries()) {
+                return true;
+            }
+
             // Heavy hammer -- might consider doing something different
+            glyphCacheEvictions += mGlyphProducer.size();
+            atlasGeneration++;
             packer.clear();
             stringLocations.clear();
             mGlyphProducer.clearAllCacheEntries();
@@ -1263,6 +1433,8 @@ public class TextRenderer {
                 g.copyArea(oldLocation.x(), oldLocation.y(), oldLocation.w(),
                            oldLocation.h(), newLocation.x() - oldLocation.x(),
                            newLocation.y() - oldLocation.y());
+                newRenderer.markDirty(newLocation.x(), newLocation.y(),
+                                      newLocation.w(), newLocation.h());
             } else {
                 // Need to draw from the old renderer's image into the new one
                 Image img = oldRenderer.getImage();
@@ -1276,11 +1448,15 @@ public class TextRenderer {
 
         public void endMovement(Object oldBackingStore, Object newBackingStore) {
             g.dispose();
+            atlasGeneration++;
 
-            // Sync the whole surface
+            // Sync the whole surface, movements on the same backing
+            // store have marked their destinations already
             TextureRenderer newRenderer = (TextureRenderer) newBackingStore;
-            newRenderer.markDirty(0, 0, newRenderer.getWidth(),
-                                  newRenderer.getHeight());
+            if (oldBackingStore != newBackingStore) {
+                newRenderer.markDirty(0, 0, newRenderer.getWidth(),
+                                      newRenderer.getHeight());
+            }
 
             // Re-enter the begin / end pair if necessary
             if (inBeginEndPair) {
@@ -1344,8 +1520,77 @@ public class TextRenderer {
     // Glyph-by-glyph rendering support
     //
 
+    // A temporary to prevent excessive garbage creation
+    private float[] quadTmp = new float[8];
+
+    // Queues the quad computed by Glyph.computeQuad at the given pen
+    // position into the pipeline
+    private void emitQuad(float[] q, int off, float inX, float inY, float z, float scaleFactor) {
+        if (mPipelinedQuadRenderer == null) {
+            mPipelinedQuadRenderer = new Pipelined_QuadRenderer();
+        }
+
+        float x = inX + (scaleFactor * q[off]);
+        float y = inY + (scaleFactor * q[off + 1]);
+        float width = q[off + 2] * scaleFactor;
+        float height = q[off + 3] * scaleFactor;
+        float tx1 = q[off + 4];
+        float ty1 = q[off + 5];
+        float tx2 = q[off + 6];
+        float ty2 = q[off + 7];
+
+        mPipelinedQuadRenderer.glTexCoord2f(tx1, ty1);
+        mPipelinedQuadRenderer.glVertex3f(x, y, z);
+        mPipelinedQuadRenderer.glTexCoord2f(tx2, ty1);
+        mPipelinedQuadRenderer.glVertex3f(x + width, y, z);
+        mPipelinedQuadRenderer.glTexCoord2f(tx2, ty2);
+        mPipelinedQuadRenderer.glVertex3f(x + width, y + height, z);
+        mPipelinedQuadRenderer.glTexCoord2f(tx1, ty2);
+        mPipelinedQuadRenderer.glVertex3f(x, y + height, z);
+    }
+
+    // Returns the advance of the given string
+    private float getStringAdvance(String str) {
+        GlyphVector gv = font.createGlyphVector(getFontRenderContext(), str);
+        float totalAdvance = 0;
+        for (int i = 0; i < gv.getNumGlyphs(); i++) {
+            totalAdvance += gv.getGlyphMetrics(i).getAdvance();
+        }
+        return totalAdvance;
+    }
+
     // A temporary to prevent excessive garbage creation
     private char[] singleUnicode = new char[1];
+    private char[] surrogatePair = new char[2];
+
+    // Returns the UTF-16 chars of the given code point, in one of the
+    // above temporaries
+    private char[] toChars(int unicodeID) {
+        if (unicodeID >= 0x10000) {
+            int v = unicodeID - 0x10000;
+            surrogatePair[0] = (char) (0xD800 + (v >> 10));
+            surrogatePair[1] = (char) (0xDC00 + (v & 0x3FF));
+            return surrogatePair;
+        }
+        singleUnicode[0] = (char) unicodeID;
+        return singleUnicode;
+    }
+
+    // Returns the code point at the given index, combining a surrogate pair
+    private static int codePointAt(CharSequence str, int index) {
+        char c = str.charAt(index);
+        if (c >= 0xD800 && c <= 0xDBFF && index + 1 < str.length()) {
+            char c2 = str.charAt(index + 1);
+            if (c2 >= 0xDC00 && c2 <= 0xDFFF) {
+                return ((c - 0xD800) << 10) + (c2 - 0xDC00) + 0x10000;
+            }
+        }
+        return c;
+    }
+
+    private static int charCount(int unicodeID) {
+        return (unicodeID >= 0x10000) ? 2 : 1;
+    }
 
     /** A Glyph represents either a single unicode glyph or a
         substring of characters to be drawn. The reason for the dual
@@ -1377,6 +1622,10 @@ public class TextRenderer {
         // The rectangle of this glyph on the backing store, or null
         // if it has been cleared due to space pressure
         private Rect glyphRectForTextureMapping;
+        // The GlyphVector and rectangle on the backing store while this
+        // Glyph is waiting for rasterization
+        private GlyphVector pendingGlyphVector;
+        private Rect pendingRect;
         // If this Glyph represents a String, this is the sequence of
         // characters
         private String str;
@@ -1428,67 +1677,63 @@ public class TextRenderer {
                     return 0;
                 }
                 // Compute and return the advance for this string
-                GlyphVector gv = font.createGlyphVector(getFontRenderContext(), str);
-                float totalAdvance = 0;
-                for (int i = 0; i < gv.getNumGlyphs(); i++) {
-                    totalAdvance += gv.getGlyphMetrics(i).getAdvance();
-                }
-                return totalAdvance;
+                return getStringAdvance(str);
             }
 
             // This is the code path taken for individual glyphs
+            try {
+                computeQuad(quadTmp, 0, true);
+                emitQuad(quadTmp, 0, inX, inY, z, scaleFactor);
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+            return advance;
+        }
+
+        /** Uploads this single glyph if necessary, marks it used and
+            stores its quad in <code>q</code>: the offset of the lower
+            left corner from the pen position and the size at scale 1,
+            followed by the texture coordinates of the two corners;
+            <code>countLookup</code> selects whether this is counted as
+            a cache hit or miss */
+        void computeQuad(float[] q, int off, boolean countLookup) {
             if (glyphRectForTextureMapping == null) {
+                if (countLookup) {
+                    glyphCacheMisses++;
+                }
                 upload();
+            } else if (countLookup) {
+                glyphCacheHits++;
             }
 
-            try {
-                if (mPipelinedQuadRenderer == null) {
-                    mPipelinedQuadRenderer = new Pipelined_QuadRenderer();
-                }
+            TextureRenderer renderer = getBackingStore();
+            // Handles case where NPOT texture is used for backing store
+            TextureCoords wholeImageTexCoords = renderer.getTexture().getImageTexCoords();
+            float xScale = wholeImageTexCoords.right();
+            float yScale = wholeImageTexCoords.bottom();
 
-                TextureRenderer renderer = getBackingStore();
-                // Handles case where NPOT texture is used for backing store
-                TextureCoords wholeImageTexCoords = renderer.getTexture().getImageTexCoords();
-                float xScale = wholeImageTexCoords.right();
-                float yScale = wholeImageTexCoords.bottom();
+            Rect rect = glyphRectForTextureMapping;
+            TextData data = (TextData) rect.getUserData();
+            data.markUsed(renderCycle);
 
-                Rect rect = glyphRectForTextureMapping;
-                TextData data = (TextData) rect.getUserData();
-                data.markUsed();
-
-                Rectangle2D origRect = data.origRect();
-
-                float x = inX - (scaleFactor * data.origOriginX());
-                float y = inY - (scaleFactor * ((float) origRect.getHeight() - data.origOriginY()));
-
-                int texturex = rect.x() + (data.origin().x - data.origOriginX());
-                int texturey = renderer.getHeight() - rect.y() - (int) origRect.getHeight() -
-                    (data.origin().y - data.origOriginY());
-                int width = (int) origRect.getWidth();
-                int height = (int) origRect.getHeight();
-
-                float tx1 = xScale * (float) texturex / (float) renderer.getWidth();
-                float ty1 = yScale * (1.0f -
-                                      ((float) texturey / (float) renderer.getHeight()));
-                float tx2 = xScale * (float) (texturex + width) / (float) renderer.getWidth();
-                float ty2 = yScale * (1.0f -
-                                      ((float) (texturey + height) / (float) renderer.getHeight()));
-
-                mPipelinedQuadRenderer.glTexCoord2f(tx1, ty1);
-                mPipelinedQuadRenderer.glVertex3f(x, y, z);
-                mPipelinedQuadRenderer.glTexCoord2f(tx2, ty1);
-                mPipelinedQuadRenderer.glVertex3f(x + (width * scaleFactor), y,
-                                                  z);
-                mPipelinedQuadRenderer.glTexCoord2f(tx2, ty2);
-                mPipelinedQuadRenderer.glVertex3f(x + (width * scaleFactor),
-                                                  y + (height * scaleFactor), z);
-                mPipelinedQuadRenderer.glTexCoord2f(tx1, ty2);
-                mPipelinedQuadRenderer.glVertex3f(x,
-                                                  y + (height * scaleFactor), z);
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
-            return advance;
+            Rectangle2D origRect = data.origRect();
+
+            int texturex = rect.x() + (data.origin().x - data.origOriginX());
+            int texturey = renderer.getHeight() - rect.y() - (int) origRect.getHeight() -
+                (data.origin().y - data.origOriginY());
+            int width = (int) origRect.getWidth();
+            int height = (int) origRect.getHeight();
+
+            q[off    ] = -data.origOriginX();
+            q[off + 1] = -((float) origRect.getHeight() - data.origOriginY());
+            q[off + 2] = width;
+            q[off + 3] = height;
+            q[off + 4] = xScale * (float) texturex / (float) renderer.getWidth();
+            q[off + 5] = yScale * (1.0f -
+                                   ((float) texturey / (float) renderer.getHeight()));
+            q[off + 6] = xScale * (float) (texturex + width) / (float) renderer.getWidth();
+            q[off + 7] = yScale * (1.0f -
+                                   ((float) (texturey + height) / (float) renderer.getHeight()));
         }
 
         /** Notifies this glyph that it's been cleared out of the cache */
@@ -1502,27 +1747,49 @@ public class TextRenderer {
             Rectangle2D bbox = normalize(origBBox);
             Point origin = new Point((int) -bbox.getMinX(),
                                      (int) -bbox.getMinY());
+            TextData data = new TextData(null, origin, origBBox, unicodeID);
+            // Don't let it be evicted before it's drawn
+            data.markUsed(renderCycle);
             Rect rect = new Rect(0, 0, (int) bbox.getWidth(),
                                  (int) bbox.getHeight(),
-                                 new TextData(null, origin, origBBox, unicodeID));
+                                 data);
             packer.add(rect);
             glyphRectForTextureMapping = rect;
-            Graphics2D g = getGraphics2D();
-            // OK, should now have an (x, y) for this rectangle; rasterize
-            // the glyph
-            int strx = rect.x() + origin.x;
-            int stry = rect.y() + origin.y;
 
-            // Clear out the area we're going to draw into
-            g.setComposite(AlphaComposite.Clear);
-            g.fillRect(rect.x(), rect.y(), rect.w(), rect.h());
-            g.setComposite(AlphaComposite.Src);
+            // OK, should now have an (x, y) for this rectangle; queue
+            // the glyph for rasterization with the other missed glyphs
+            pendingGlyphVector = gv;
+            pendingRect = rect;
+            pendingGlyphs.add(this);
 
-            // Draw the string
-            renderDelegate.drawGlyphVector(g, gv, strx, stry);
+            // Re-register ourselves with our producer
+            producer.register(this);
+        }
+
+        // Returns the rectangle this glyph is pending to be rasterized
+        // into, or null if it has been cleared out of the cache since
+        Rect getPendingRect() {
+            if (pendingRect != null && pendingRect != glyphRectForTextureMapping) {
+                pendingRect = null;
+                pendingGlyphVector = null;
+            }
+            return pendingRect;
+        }
+
+        // Rasterizes this pending glyph into the backing store
+        void rasterize(Graphics2D g, TextureRenderer renderer) {
+            Rect rect = getPendingRect();
+            if (rect == null) {
+                return;
+            }
+            TextData data = (TextData) rect.getUserData();
+            int strx = rect.x() + data.origin().x;
+            int stry = rect.y() + data.origin().y;
+
+            // Draw the glyph
+            renderDelegate.drawGlyphVector(g, pendingGlyphVector, strx, stry);
 
             if (DRAW_BBOXES) {
-                TextData data = (TextData) rect.getUserData();
                 // Draw a bounding box on the backing store
                 g.drawRect(strx - data.origOriginX(),
                            stry - data.origOriginY(),
@@ -1535,10 +1802,9 @@ public class TextRenderer {
             }
 
             // Mark this region of the TextureRenderer as dirty
-            getBackingStore().markDirty(rect.x(), rect.y(), rect.w(),
-                                        rect.h());
-            // Re-register ourselves with our producer
-            producer.register(this);
+            renderer.markDirty(rect.x(), rect.y(), rect.w(), rect.h());
+            pendingRect = null;
+            pendingGlyphVector = null;
         }
 
         private GlyphVector getGlyphVector() {
@@ -1547,28 +1813,138 @@ public class TextRenderer {
                 singleUnicodeGlyphVector = null; // Don't need this anymore
                 return gv;
             }
-            singleUnicode[0] = (char) unicodeID;
-            return font.createGlyphVector(getFontRenderContext(), singleUnicode);
+            return font.createGlyphVector(getFontRenderContext(), toChars(unicodeID));
+        }
+    }
+
+    /** A string laid out by {@link TextRenderer#createTextBlock
+        createTextBlock}, for strings drawn repeatedly, e.g. labels.
+        The layout, i.e. the glyphs and their advances, is immutable and
+        computed once. The quads of the cached glyphs are computed on
+        the first draw and reused as long as the glyphs stay at their
+        place on the backing store; they are recomputed automatically
+        after the backing store has been compacted or entries have been
+        evicted. */
+    public class TextBlock {
+        private final String text;
+        // The glyphs, single glyphs or strings rendered the robust way
+        private final Glyph[] glyphs;
+        // The pen position of each glyph at scale 1
+        private final float[] penX;
+        private final float advance;
+        // The quads of the single glyphs, see Glyph.computeQuad
+        private final float[] quads;
+        private int quadsGeneration = -1;
+
+        private TextBlock(String text, List/*<Glyph>*/ glyphList) {
+            this.text = text;
+            int n = glyphList.size();
+            glyphs = new Glyph[n];
+            penX = new float[n];
+            quads = new float[8 * n];
+            float x = 0;
+            for (int i = 0; i < n; i++) {
+                Glyph glyph = (Glyph) glyphList.get(i);
+                glyphs[i] = glyph;
+                penX[i] = x;
+                x += (glyph.str != null) ? getStringAdvance(glyph.str) : glyph.getAdvance();
+            }
+            advance = x;
+        }
+
+        /** Returns the text of this block */
+        public String getText() {
+            return text;
+        }
+
+        /** Returns the advance of the whole text at scale 1 */
+        public float getAdvance() {
+            return advance;
+        }
+
+        /** Returns the TextRenderer this block was created by */
+        public TextRenderer getTextRenderer() {
+            return TextRenderer.this;
+        }
+
+        private boolean hasValidQuads() {
+            if (quadsGeneration != atlasGeneration) {
+                return false;
+            }
+            for (int i = 0; i < glyphs.length; i++) {
+                if (glyphs[i].str == null && glyphs[i].glyphRectForTextureMapping == null) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void updateQuads() {
+            // An upload may compact the backing store, moving the glyphs
+            // whose quads were already computed. Each glyph is only
+            // counted as a cache hit or miss on the first attempt. If the
+            // quads are still invalid afterwards, draw3D falls back to
+            // drawing glyph by glyph.
+            for (int attempt = 0; attempt < 4 && !hasValidQuads(); attempt++) {
+                quadsGeneration = atlasGeneration;
+                for (int i = 0; i < glyphs.length; i++) {
+                    if (glyphs[i].str == null) {
+                        // A glyph evicted from the cache since is stale,
+                        // look up the one currently registered
+                        glyphs[i] = mGlyphProducer.getGlyph(glyphs[i].getUnicodeID());
+                        glyphs[i].computeQuad(quads, 8 * i, attempt == 0);
+                    }
+                }
+            }
+        }
+
+        void draw3D(float x, float y, float z, float scaleFactor) {
+            boolean valid = hasValidQuads();
+            if (!valid) {
+                updateQuads();
+                if (!hasValidQuads()) {
+                    // The backing store kept changing while the quads
+                    // were computed, draw each glyph right after looking
+                    // up its quad instead, like draw3D(CharSequence, ...)
+                    try {
+                        for (int i = 0; i < glyphs.length; i++) {
+                            glyphs[i].draw3D(x + penX[i] * scaleFactor, y, z, scaleFactor);
+                        }
+                    } catch (Exception e) {
+                        e.printStackTrace();
+                    }
+                    return;
+                }
+            }
+            try {
+                for (int i = 0; i < glyphs.length; i++) {
+                    Glyph glyph = glyphs[i];
+                    float gx = x + penX[i] * scaleFactor;
+                    if (glyph.str != null) {
+                        draw3D_ROBUST(glyph.str, gx, y, z, scaleFactor);
+                    } else {
+                        if (valid) {
+                            ((TextData) glyph.glyphRectForTextureMapping.getUserData()).markUsed(renderCycle);
+                            glyphCacheHits++;
+                        }
+                        emitQuad(quads, 8 * i, gx, y, z, scaleFactor);
+                    }
+                }
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
         }
     }
 
     class GlyphProducer {
-        final int undefined = -2;
         FontRenderContext fontRenderContext;
         List/*<Glyph>*/ glyphsOutput = new ArrayList/*<Glyph>*/();
-        // The mapping from unicode character to font-specific glyph ID
-        int[] unicodes2Glyphs;
-        // The mapping from glyph ID to Glyph
-        Glyph[] glyphCache;
+        // The sparse mapping from unicode code point to Glyph, covering
+        // the full Unicode range
+        IntObjectMap glyphCache = new IntObjectMap();
         // We re-use this for each incoming string
         CharSequenceIterator iter = new CharSequenceIterator();
 
-        GlyphProducer(int fontLengthInGlyphs) {
-            unicodes2Glyphs = new int[512];
-            glyphCache = new Glyph[fontLengthInGlyphs];
-            clearAllCacheEntries();
-        }
-
         public List/*<Glyph>*/ getGlyphs(CharSequence inString) {
             glyphsOutput.clear();
             iter.initFromCharSequence(inString);
@@ -1580,20 +1956,25 @@ public class TextRenderer {
                 return glyphsOutput;
             }
 
-            int lengthInGlyphs = fullRunGlyphVector.getNumGlyphs();
+            // Without layout, there is one glyph per char, the low
+            // surrogate of a pair being mapped to an invisible glyph
+            int lengthInGlyphs = Math.min(fullRunGlyphVector.getNumGlyphs(), inString.length());
             int i = 0;
             while (i < lengthInGlyphs) {
                 Glyph glyph = getGlyph(inString, fullRunGlyphVector, i);
                 if (glyph != null) {
                     glyphsOutput.add(glyph);
-                    i++;
+                    i += charCount(glyph.getUnicodeID());
                 } else {
                     // Assemble a run of characters that don't fit in
                     // the cache
                     StringBuffer buf = new StringBuffer();
                     while (i < lengthInGlyphs &&
                            getGlyph(inString, fullRunGlyphVector, i) == null) {
-                        buf.append(inString.charAt(i++));
+                        int n = Math.min(charCount(codePointAt(inString, i)), lengthInGlyphs - i);
+                        while (n-- > 0) {
+                            buf.append(inString.charAt(i++));
+                        }
                     }
                     glyphsOutput.add(new Glyph(buf.toString(),
                                                // Any more glyphs after this run?
@@ -1604,26 +1985,29 @@ public class TextRenderer {
         }
 
         public void clearCacheEntry(int unicodeID) {
-            int glyphID = unicodes2Glyphs[unicodeID];
-            if (glyphID != undefined) {
-                Glyph glyph = glyphCache[glyphID];
-                if (glyph != null) {
-                    glyph.clear();
-                }
-                glyphCache[glyphID] = null;
+            Glyph glyph = (Glyph) glyphCache.remove(unicodeID);
+            if (glyph != null) {
+                glyph.clear();
             }
-            unicodes2Glyphs[unicodeID] = undefined;
         }
 
         public void clearAllCacheEntries() {
-            for (int i = 0; i < unicodes2Glyphs.length; i++) {
-                clearCacheEntry(i);
+            Object[] glyphs = glyphCache.values;
+            for (int i = 0; i < glyphs.length; i++) {
+                if (glyphs[i] != null) {
+                    ((Glyph) glyphs[i]).clear();
+                }
             }
+            glyphCache.clear();
+        }
+
+        /** Returns the number of cached glyphs */
+        public int size() {
+            return glyphCache.size();
         }
 
         public void register(Glyph glyph) {
-            unicodes2Glyphs[glyph.getUnicodeID()] = glyph.getGlyphCode();
-            glyphCache[glyph.getGlyphCode()] = glyph;
+            glyphCache.put(glyph.getUnicodeID(), glyph);
         }
 
         public float getGlyphPixelWidth(char unicodeID) {
@@ -1639,26 +2023,20 @@ public class TextRenderer {
             return gv.getGlyphMetrics(0).getAdvance();
         }
 
-        // Returns a glyph object for this single glyph. Returns null
-        // if the unicode or glyph ID would be out of bounds of the
-        // glyph cache.
+        // Returns a glyph object for the code point at this index.
+        // Returns null if the glyph can't be cached.
         private Glyph getGlyph(CharSequence inString,
                                GlyphVector fullRunGlyphVector,
                                int index) {
-            char unicodeID = inString.charAt(index);
+            int unicodeID = codePointAt(inString, index);
 
-            if (unicodeID >= unicodes2Glyphs.length) {
-                return null;
-            }
-
-            int glyphID = unicodes2Glyphs[unicodeID];
-            if (glyphID != undefined) {
-                return glyphCache[glyphID];
+            Glyph glyph = (Glyph) glyphCache.get(unicodeID);
+            if (glyph != null) {
+                return glyph;
             }
 
             // Must fabricate the glyph
-            singleUnicode[0] = unicodeID;
-            GlyphVector gv = font.createGlyphVector(getFontRenderContext(), singleUnicode);
+            GlyphVector gv = font.createGlyphVector(getFontRenderContext(), toChars(unicodeID));
             return getGlyph(unicodeID, gv, fullRunGlyphVector.getGlyphMetrics(index));
         }
 
@@ -1666,16 +2044,11 @@ public class TextRenderer {
         // optimal results than if we can see the entire GlyphVector
         // for the incoming string
         private Glyph getGlyph(int unicodeID) {
-            if (unicodeID >= unicodes2Glyphs.length) {
-                return null;
-            }
-
-            int glyphID = unicodes2Glyphs[unicodeID];
-            if (glyphID != undefined) {
-                return glyphCache[glyphID];
+            Glyph glyph = (Glyph) glyphCache.get(unicodeID);
+            if (glyph != null) {
+                return glyph;
             }
-            singleUnicode[0] = (char) unicodeID;
-            GlyphVector gv = font.createGlyphVector(getFontRenderContext(), singleUnicode);
+            GlyphVector gv = font.createGlyphVector(getFontRenderContext(), toChars(unicodeID));
             return getGlyph(unicodeID, gv, gv.getGlyphMetrics(0));
         }
 
@@ -1683,10 +2056,6 @@ public class TextRenderer {
                                GlyphVector singleUnicodeGlyphVector,
                                GlyphMetrics metrics) {
             int glyphCode = singleUnicodeGlyphVector.getGlyphCode(0);
-            // Have seen huge glyph codes (65536) coming out of some fonts in some Unicode situations
-            if (glyphCode >= glyphCache.length) {
-                return null;
-            }
             Glyph glyph = new Glyph(unicodeID,
                                     glyphCode,
                                     metrics.getAdvance(),
@@ -1697,6 +2066,105 @@ public class TextRenderer {
         }
     }
 
+    /** Open addressing hash map from int keys to non-null values,
+        with linear probing and backward shift deletion, avoiding the
+        boxing and per entry allocation of a java.util.Map. */
+    static class IntObjectMap {
+        private static final float LOAD_FACTOR = 0.5f;
+        int[] keys;
+        Object[] values; // null marks a free slot
+        private int mask;
+        private int size;
+
+        IntObjectMap() {
+            allocate(64);
+        }
+
+        private void allocate(int capacity) {
+            keys = new int[capacity];
+            values = new Object[capacity];
+            mask = capacity - 1;
+        }
+
+        private int slot(int key) {
+            int h = key * 0x9E3779B9; // Fibonacci hashing
+            return (h ^ (h >>> 16)) & mask;
+        }
+
+        Object get(int key) {
+            for (int i = slot(key); values[i] != null; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return values[i];
+                }
+            }
+            return null;
+        }
+
+        Object put(int key, Object value) {
+            int i = slot(key);
+            for (; values[i] != null; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    Object old = values[i];
+                    values[i] = value;
+                    return old;
+                }
+            }
+            keys[i] = key;
+            values[i] = value;
+            if (++size > values.length * LOAD_FACTOR) {
+                rehash(values.length * 2);
+            }
+            return null;
+        }
+
+        Object remove(int key) {
+            int i = slot(key);
+            for (; values[i] != null; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    break;
+                }
+            }
+            Object old = values[i];
+            if (old == null) {
+                return null;
+            }
+            // Shift back following entries of the probe sequence
+            int hole = i;
+            for (int j = (i + 1) & mask; values[j] != null; j = (j + 1) & mask) {
+                int home = slot(keys[j]);
+                if (((j - home) & mask) >= ((j - hole) & mask)) {
+                    keys[hole] = keys[j];
+                    values[hole] = values[j];
+                    hole = j;
+                }
+            }
+            values[hole] = null;
+            size--;
+            return old;
+        }
+
+        private void rehash(int capacity) {
+            int[] oldKeys = keys;
+            Object[] oldValues = values;
+            allocate(capacity);
+            size = 0;
+            for (int i = 0; i < oldValues.length; i++) {
+                if (oldValues[i] != null) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        int size() {
+            return size;
+        }
+
+        void clear() {
+            Arrays.fill(values, null);
+            size = 0;
+        }
+    }
+
     class Pipelined_QuadRenderer {
         int mOutstandingGlyphsVerticesPipeline = 0;
         FloatBuffer mTexCoords;
@@ -1754,6 +2222,7 @@ public class TextRenderer {
         }
 
         private void draw() {
+            rasterizePendingGlyphs();
             if (useVertexArrays) {
                 drawVertexArrays();
             } else {
@@ -1900,6 +2369,44 @@ public class TextRenderer {
         }
     }
 
+    /** Returns the number of glyphs drawn from the glyph cache. */
+    public long getGlyphCacheHits() {
+        return glyphCacheHits;
+    }
+
+    /** Returns the number of glyphs rasterized into the glyph cache,
+        i.e. drawn while not being cached. */
+    public long getGlyphCacheMisses() {
+        return glyphCacheMisses;
+    }
+
+    /** Returns the number of strings and glyphs evicted from the
+        backing store, either being unused for a while or being the
+        least recently used ones while the backing store is full. */
+    public long getGlyphCacheEvictions() {
+        return glyphCacheEvictions;
+    }
+
+    /** Resets the glyph cache hit, miss and eviction counters. */
+    public void resetGlyphCacheStatistics() {
+        glyphCacheHits = 0;
+        glyphCacheMisses = 0;
+        glyphCacheEvictions = 0;
+    }
+
+    /** Returns the number of bytes uploaded to the backing store
+        texture during the last completed render cycle, i.e. between
+        the last begin / end rendering pair. */
+    public long getBytesUploadedLastFrame() {
+        return bytesUploadedLastFrame;
+    }
+
+    /** Returns the number of bytes uploaded to the backing store
+        texture since creation of this TextRenderer. */
+    public long getBytesUploadedTotal() {
+        return bytesUploadedTotal;
+    }
+
     /**
      * Sets whether vertex arrays are being used internally for
      * rendering, or whether text is rendered using the OpenGL
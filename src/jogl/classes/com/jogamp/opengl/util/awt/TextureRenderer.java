@@ -90,7 +90,15 @@ public class TextureRenderer {
   private Texture texture;
   private AWTTextureData textureData;
   private boolean mustReallocateTexture;
-  private Rectangle dirtyRegion;
+
+  // The regions out of sync with the texture, two regions are merged
+  // only if this doesn't increase the number of pixels to upload
+  private java.util.List/*<Rectangle>*/ dirtyRegions = new java.util.ArrayList/*<Rectangle>*/();
+  private static final int MAX_DIRTY_REGIONS = 16;
+
+  // Upload statistics
+  private long bytesUploaded;
+  private long regionsUploaded;
 
   private GLUgl2 glu = new GLUgl2();
 
@@ -266,8 +274,14 @@ public class TextureRenderer {
       region, and any previously set dirty regions, will be
       automatically synchronized with the underlying Texture during
       the next {@link #getTexture getTexture} operation, at which
-      point the dirty region will be cleared. It is not necessary for
-      an OpenGL context to be current when this method is called.
+      point the dirty regions will be cleared. It is not necessary for
+      an OpenGL context to be current when this method is called. <P>
+
+      Dirty regions are kept in a list and uploaded separately. A
+      region is merged with another one only if their bounding
+      rectangle doesn't contain more pixels than both regions, hence
+      distant regions don't cause the pixels in between to be
+      uploaded.
 
       @param x the x coordinate (in Java 2D coordinates -- relative to
         upper left) of the region to update
@@ -277,12 +291,63 @@ public class TextureRenderer {
       @param height the height of the region to update
   */
   public void markDirty(int x, int y, int width, int height) {
-    Rectangle curRegion = new Rectangle(x, y, width, height);
-    if (dirtyRegion == null) {
-      dirtyRegion = curRegion;
-    } else {
-      dirtyRegion.add(curRegion);
+    // Clip to the backing store
+    int x2 = Math.min(x + width, getWidth());
+    int y2 = Math.min(y + height, getHeight());
+    x = Math.max(x, 0);
+    y = Math.max(y, 0);
+    if (x2 <= x || y2 <= y) {
+      return;
+    }
+    Rectangle cur = new Rectangle(x, y, x2 - x, y2 - y);
+
+    while (true) {
+      // Merge with a region if that doesn't increase the uploaded
+      // pixels, or with the region growing least if there are too many
+      int best = -1;
+      long bestGrowth = Long.MAX_VALUE;
+      for (int i = 0; i < dirtyRegions.size(); i++) {
+        Rectangle r = (Rectangle) dirtyRegions.get(i);
+        long growth = unionArea(r, cur) - area(r) - area(cur);
+        if (growth < bestGrowth) {
+          best = i;
+          bestGrowth = growth;
+        }
+      }
+      if (best < 0 || (bestGrowth > 0 && dirtyRegions.size() < MAX_DIRTY_REGIONS)) {
+        break;
+      }
+      cur.add((Rectangle) dirtyRegions.remove(best));
     }
+    dirtyRegions.add(cur);
+  }
+
+  private static long area(Rectangle r) {
+    return (long) r.width * (long) r.height;
+  }
+
+  private static long unionArea(Rectangle r1, Rectangle r2) {
+    long w = Math.max(r1.x + r1.width, r2.x + r2.width) - Math.min(r1.x, r2.x);
+    long h = Math.max(r1.y + r1.height, r2.y + r2.height) - Math.min(r1.y, r2.y);
+    return w * h;
+  }
+
+  /** Returns the number of bytes uploaded to the OpenGL texture
+      since creation or the last {@link #resetUploadStatistics}. */
+  public long getBytesUploaded() {
+    return bytesUploaded;
+  }
+
+  /** Returns the number of regions uploaded to the OpenGL texture
+      since creation or the last {@link #resetUploadStatistics}. */
+  public long getRegionsUploaded() {
+    return regionsUploaded;
+  }
+
+  /** Resets the upload statistics. */
+  public void resetUploadStatistics() {
+    bytesUploaded = 0;
+    regionsUploaded = 0;
   }
 
   /** Returns the underlying OpenGL Texture object associated with
@@ -292,9 +357,8 @@ public class TextureRenderer {
       @throws GLException If an OpenGL context is not current when this method is called
   */
   public Texture getTexture() throws GLException {
-    if (dirtyRegion != null) {
-      sync(dirtyRegion.x, dirtyRegion.y, dirtyRegion.width, dirtyRegion.height);
-      dirtyRegion = null;
+    if (!dirtyRegions.isEmpty()) {
+      sync();
     }
 
     ensureTexture();
@@ -637,33 +701,34 @@ public class TextureRenderer {
     mustReallocateTexture = true;
   }
 
-  /** Synchronizes the specified region of the backing store down to
-      the underlying OpenGL texture. If {@link #markDirty markDirty}
-      is used instead to indicate the regions that are out of sync,
-      this method does not need to be called.
-
-      @param x the x coordinate (in Java 2D coordinates -- relative to
-        upper left) of the region to update
-      @param y the y coordinate (in Java 2D coordinates -- relative to
-        upper left) of the region to update
-      @param width the width of the region to update
-      @param height the height of the region to update
+  /** Synchronizes the dirty regions of the backing store down to
+      the underlying OpenGL texture.
 
       @throws GLException If an OpenGL context is not current when this method is called
   */
-  private void sync(int x, int y, int width, int height) throws GLException {
+  private void sync() throws GLException {
     // Force allocation if necessary
     boolean canSkipUpdate = ensureTexture();
 
     if (!canSkipUpdate) {
-      // Update specified region.
+      // Update the dirty regions.
       // NOTE that because BufferedImage-based TextureDatas now don't
       // do anything to their contents, the coordinate systems for
       // OpenGL and Java 2D actually line up correctly for
       // updateSubImage calls, so we don't need to do any argument
       // conversion here (i.e., flipping the Y coordinate).
-      texture.updateSubImage(textureData, 0, x, y, x, y, width, height);
+      for (int i = 0; i < dirtyRegions.size(); i++) {
+        Rectangle r = (Rectangle) dirtyRegions.get(i);
+        texture.updateSubImage(textureData, 0, r.x, r.y, r.x, r.y, r.width, r.height);
+        bytesUploaded += area(r) * getBytesPerPixel();
+        regionsUploaded++;
+      }
     }
+    dirtyRegions.clear();
+  }
+
+  private int getBytesPerPixel() {
+    return intensity ? 1 : 4;
   }
 
   // Returns true if the texture was newly allocated, false if not
@@ -677,6 +742,9 @@ public class TextureRenderer {
     }
 
     if (texture == null) {
+      // The whole backing store is uploaded
+      bytesUploaded += (long) getWidth() * (long) getHeight() * getBytesPerPixel();
+      regionsUploaded++;
       texture = TextureIO.newTexture(textureData);
       if (mipmap && !texture.isUsingAutoMipmapGeneration()) {
         // Only try this once
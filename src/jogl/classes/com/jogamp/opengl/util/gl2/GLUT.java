@@ -42,6 +42,8 @@ package com.jogamp.opengl.util.gl2;
 import javax.media.opengl.*;
 import javax.media.opengl.glu.*;
 import javax.media.opengl.glu.gl2.*;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /** Subset of the routines provided by the GLUT interface. Note the
     signatures of many of the methods are necessarily different than
@@ -120,6 +122,13 @@ public class GLUT {
   }
 
   public void glutSolidSphere(double radius, int slices, int stacks) {
+    if (slices > 0 && stacks > 1 && GLUTMesh.fits(2 + (long) (stacks - 1) * slices)) {
+      GL2 gl = GLUgl2.getCurrentGL2();
+      if (GLUTMesh.isUsable(gl)) {
+        getMesh(GLUTMesh.SPHERE, (float) radius, 0, 0, slices, stacks, false).draw(gl);
+        return;
+      }
+    }
     quadObjInit(glu);
     glu.gluQuadricDrawStyle(quadObj, GLU.GLU_FILL);
     glu.gluQuadricNormals(quadObj, GLU.GLU_SMOOTH);
@@ -142,6 +151,13 @@ public class GLUT {
 
   public void glutSolidCone(double base, double height,
                             int slices, int stacks) {
+    if (slices > 0 && stacks > 0 && GLUTMesh.fits((long) (stacks + 1) * slices)) {
+      GL2 gl = GLUgl2.getCurrentGL2();
+      if (GLUTMesh.isUsable(gl)) {
+        getMesh(GLUTMesh.CYLINDER, (float) base, 0, (float) height, slices, stacks, false).draw(gl);
+        return;
+      }
+    }
     quadObjInit(glu);
     glu.gluQuadricDrawStyle(quadObj, GLU.GLU_FILL);
     glu.gluQuadricNormals(quadObj, GLU.GLU_SMOOTH);
@@ -163,6 +179,11 @@ public class GLUT {
 
   public void glutSolidCylinder(double radius, double height, int slices, int stacks) {
     GL2 gl = GLUgl2.getCurrentGL2();
+    if (slices > 0 && stacks > 0 && GLUTMesh.fits((long) (stacks + 3) * slices + 2) &&
+        GLUTMesh.isUsable(gl)) {
+      getMesh(GLUTMesh.CYLINDER, (float) radius, (float) radius, (float) height, slices, stacks, true).draw(gl);
+      return;
+    }
   	
     // Prepare table of points for drawing end caps
     double [] x = new double[slices];
@@ -218,13 +239,13 @@ public class GLUT {
     GL2 gl = GLUgl2.getCurrentGL2();
     gl.glPushAttrib(GL2.GL_POLYGON_BIT);
     gl.glPolygonMode(GL2.GL_FRONT_AND_BACK, GL2.GL_LINE);
-    doughnut(gl, innerRadius, outerRadius, nsides, rings);
+    torus(gl, innerRadius, outerRadius, nsides, rings);
     gl.glPopAttrib();
   }
 
   public void glutSolidTorus(double innerRadius, double outerRadius,
                              int nsides, int rings) {
-    doughnut(GLUgl2.getCurrentGL2(), innerRadius, outerRadius, nsides, rings);
+    torus(GLUgl2.getCurrentGL2(), innerRadius, outerRadius, nsides, rings);
   }
 
   public void glutWireDodecahedron() {
@@ -286,7 +307,12 @@ public class GLUT {
    *        implementation of GLUT
    */
   public void glutSolidTeapot(double scale, boolean cStyle) {
-    teapot(GLUgl2.getCurrentGL2(), 14, scale, GL2.GL_FILL, cStyle);
+    GL2 gl = GLUgl2.getCurrentGL2();
+    GLUTMesh mesh = null;
+    if (GLUTMesh.isUsable(gl)) {
+      mesh = getMesh(GLUTMesh.TEAPOT, 0, 0, 0, 14, 0, !cStyle);
+    }
+    teapot(gl, 14, scale, GL2.GL_FILL, cStyle, mesh);
   }
 
   /**
@@ -316,7 +342,7 @@ public class GLUT {
    *        implementation of GLUT
    */
   public void glutWireTeapot(double scale, boolean cStyle) {
-    teapot(GLUgl2.getCurrentGL2(), 10, scale, GL2.GL_LINE, cStyle);
+    teapot(GLUgl2.getCurrentGL2(), 10, scale, GL2.GL_LINE, cStyle, null);
   }
 
   //----------------------------------------------------------------------
@@ -363,10 +389,7 @@ public class GLUT {
                 skiprows,
                 skippixels,
                 alignment);
-    int len = string.length();
-    for (int i = 0; i < len; i++) {
-      bitmapCharacterImpl(gl, font, string.charAt(i));
-    }
+    text.drawBitmapString(gl, getBitmapFont(font), string);
     endBitmap(gl, 
               swapbytes,
               lsbfirst,
@@ -412,6 +435,10 @@ public class GLUT {
   public void glutStrokeString(int font, String string) {
     GL2 gl = GLUgl2.getCurrentGL2();
     StrokeFontRec fontinfo = getStrokeFont(font);
+    if (GLUTMesh.isUsable(gl)) {
+      text.drawStrokeString(gl, fontinfo, string);
+      return;
+    }
     int len = string.length();
     for (int pos = 0; pos < len; pos++) {
       int c = string.charAt(pos) & 0xFFFF;
@@ -541,6 +568,48 @@ public class GLUT {
     }
   }
 
+  /** The maximum number of meshes of solid shapes kept for reuse. */
+  private static final int MAX_MESHES = 64;
+
+  private final GLUTMesh.Key meshKey = new GLUTMesh.Key();
+  private final Map/*<GLUTMesh.Key, GLUTMesh>*/ meshes = new LinkedHashMap/*<GLUTMesh.Key, GLUTMesh>*/(16, 0.75f, true) {
+      protected boolean removeEldestEntry(Map.Entry eldest) {
+        return size() > MAX_MESHES;
+      }
+    };
+
+  // Returns the mesh of the given shape and parameters, the least recently
+  // used ones being dropped if too many have been built
+  private GLUTMesh getMesh(int shape, float a, float b, float c, int n, int m, boolean flag) {
+    GLUTMesh mesh = (GLUTMesh) meshes.get(meshKey.set(shape, a, b, c, n, m, flag));
+    if (mesh == null) {
+      switch (shape) {
+        case GLUTMesh.SPHERE:
+          mesh = GLUTMesh.sphere(a, n, m);
+          break;
+        case GLUTMesh.CYLINDER:
+          mesh = GLUTMesh.cylinder(a, b, c, n, m, flag);
+          break;
+        case GLUTMesh.TORUS:
+          mesh = GLUTMesh.torus(a, b, n, m);
+          break;
+        default:
+          mesh = GLUTMesh.teapot(teapotPatchData, teapotCPData, n, flag);
+          break;
+      }
+      meshes.put(meshKey.copy(), mesh);
+    }
+    return mesh;
+  }
+
+  private void torus(GL2 gl, double r, double R, int nsides, int rings) {
+    if (nsides > 0 && rings > 0 && GLUTMesh.fits((long) rings * nsides) && GLUTMesh.isUsable(gl)) {
+      getMesh(GLUTMesh.TORUS, (float) r, (float) R, 0, nsides, rings, false).draw(gl);
+    } else {
+      doughnut(gl, r, R, nsides, rings);
+    }
+  }
+
   private static void doughnut(GL2 gl, double r, double R, int nsides, int rings) {
     int i, j;
     float theta, phi, theta1;
@@ -1116,7 +1185,8 @@ public class GLUT {
                              int grid,
                              double scale,
                              int type,
-                             boolean backCompatible)
+                             boolean backCompatible,
+                             GLUTMesh mesh)
   {
     // As mentioned above, GL2.glMap2f expects a packed array of floats
     float[] p = new float[4*4*3];
@@ -1144,6 +1214,13 @@ public class GLUT {
                   (float)(0.5 * scale));
       gl.glTranslatef(0.0f, 0.0f, -1.5f);
     }
+    if (mesh != null) {
+      // the same patches, evaluated once
+      mesh.draw(gl);
+      gl.glPopMatrix();
+      gl.glPopAttrib();
+      return;
+    }
     for (i = 0; i < 10; i++) {
       for (j = 0; j < 4; j++) {
         for (k = 0; k < 4; k++) {
@@ -1233,6 +1310,8 @@ public class GLUT {
   // Font implementation
   //
 
+  private final GLUTText text = new GLUTText();
+
   private static void bitmapCharacterImpl(GL2 gl, int font, char cin) {
     BitmapFontRec fontinfo = getBitmapFont(font);
     int c = cin & 0xFFFF;
@@ -0,0 +1,460 @@
+
+package com.jogamp.opengl.util.gl2;
+
+import javax.media.opengl.*;
+import com.jogamp.opengl.util.GLBuffers;
+import java.nio.*;
+import java.util.HashMap;
+
+/**
+ * An indexed triangle mesh of one of the GLUT solid shapes, generated once
+ * per parameter set and drawn from client side vertex arrays.
+ * <p>
+ * The meshes contain the same vertices, normals and triangle winding
+ * as the immediate mode strips and fans GLUT used to emit,
+ * strip vertices being shared between neighboring strips.
+ * Client side arrays are used, not VBOs, since a GLUT instance may be used
+ * with any context.
+ */
+class GLUTMesh {
+  static final int SPHERE = 1;
+  static final int CYLINDER = 2;
+  static final int TORUS = 3;
+  static final int TEAPOT = 4;
+
+  private final int format;
+  private final int floatsPerVertex;
+  private final FloatBuffer vertices;
+  private final ShortBuffer indices;
+
+  // build state
+  private float[] vdata;
+  private int vcount;
+  private short[] idata;
+  private int icount;
+  private float[][] basis;
+
+  private GLUTMesh(boolean texCoords, int vertexCount, int triangleCount) {
+    format = texCoords ? GL2.GL_T2F_N3F_V3F : GL2.GL_N3F_V3F;
+    floatsPerVertex = texCoords ? 8 : 6;
+    vdata = new float[vertexCount * floatsPerVertex];
+    idata = new short[triangleCount * 3];
+    vertices = GLBuffers.newDirectFloatBuffer(vdata.length);
+    indices = GLBuffers.newDirectShortBuffer(idata.length);
+  }
+
+  /** Returns true if a mesh of that many vertices can be indexed by this class. */
+  static boolean fits(long vertexCount) {
+    return vertexCount <= 0x10000;
+  }
+
+  //----------------------------------------------------------------------
+  // Drawing
+  //
+
+  /**
+   * Returns true if meshes can be drawn, i.e. if no array or element buffer
+   * object is bound, which would be used instead of the client side arrays.
+   */
+  static boolean isUsable(GL2 gl) {
+    return !gl.glIsVBOArrayEnabled() && !gl.glIsVBOElementEnabled();
+  }
+
+  /** Draws the mesh, preserving the client vertex array state. */
+  void draw(GL2 gl) {
+    gl.glPushClientAttrib(GL2.GL_CLIENT_VERTEX_ARRAY_BIT);
+    gl.glInterleavedArrays(format, 0, vertices);
+    gl.glDrawElements(GL2.GL_TRIANGLES, indices.capacity(), GL2.GL_UNSIGNED_SHORT, indices);
+    gl.glPopClientAttrib();
+  }
+
+  //----------------------------------------------------------------------
+  // Shapes
+  //
+
+  /**
+   * The sphere drawn by gluSphere with GLU_FILL and GLU_SMOOTH normals:
+   * fans around the poles and quad strips in between.
+   */
+  static GLUTMesh sphere(float radius, int slices, int stacks) {
+    GLUTMesh m = new GLUTMesh(false, 2 + (stacks - 1) * slices, 2 * slices * (stacks - 1));
+    float[] theta = sinCos(slices);
+    float[] rho = sinCos(2 * stacks);
+
+    // rows of slices vertices at rho = i * PI / stacks, 0 < i < stacks
+    for (int i = 1; i < stacks; i++) {
+      float sinRho = rho[2 * i + 1];
+      float z = rho[2 * i];
+      for (int j = 0; j < slices; j++) {
+        float x = -theta[2 * j + 1] * sinRho;
+        float y = theta[2 * j] * sinRho;
+        m.vertex(x, y, z, x * radius, y * radius, z * radius);
+      }
+    }
+    int top = m.vertex(0, 0, 1, 0, 0, radius);
+    int bottom = m.vertex(0, 0, -1, 0, 0, -radius);
+
+    // +Z end as a triangle fan
+    for (int j = 0; j < slices; j++) {
+      m.triangle(top, j, (j + 1) % slices);
+    }
+    // intermediate stacks as quad strips
+    for (int i = 1; i < stacks - 1; i++) {
+      m.quadStrip((i - 1) * slices, i * slices, slices, false);
+    }
+    // -Z end as a triangle fan, run backwards
+    int row = (stacks - 2) * slices;
+    for (int j = slices; j > 0; j--) {
+      m.triangle(bottom, row + (j % slices), row + j - 1);
+    }
+    return m.build();
+  }
+
+  /**
+   * The cylinder or cone drawn by gluCylinder with GLU_FILL,
+   * optionally closed by the end caps of glutSolidCylinder.
+   */
+  static GLUTMesh cylinder(float baseRadius, float topRadius, float height,
+                           int slices, int stacks, boolean caps) {
+    int vertexCount = (stacks + 1) * slices;
+    int triangleCount = 2 * slices * stacks;
+    if (caps) {
+      vertexCount += 2 * (slices + 1);
+      triangleCount += 2 * slices;
+    }
+    GLUTMesh m = new GLUTMesh(false, vertexCount, triangleCount);
+    float[] sc = sinCos(slices);
+    float dr = (topRadius - baseRadius) / stacks;
+    float dz = height / stacks;
+    float nz = (baseRadius - topRadius) / height;
+
+    // rows of slices vertices from z = 0 to z = height
+    for (int j = 0; j <= stacks; j++) {
+      float r = baseRadius + j * dr;
+      float z = j * dz;
+      for (int i = 0; i < slices; i++) {
+        float x = sc[2 * i + 1];
+        float y = sc[2 * i];
+        float mag = (float) Math.sqrt(x * x + y * y + nz * nz);
+        if (mag > 0.00001f) {
+          m.vertex(x / mag, y / mag, nz / mag, x * r, y * r, z);
+        } else {
+          m.vertex(x, y, nz, x * r, y * r, z);
+        }
+      }
+    }
+    for (int j = 0; j < stacks; j++) {
+      m.quadStrip(j * slices, (j + 1) * slices, slices, false);
+    }
+
+    if (caps) {
+      for (int k = 0; k < 2; k++) {
+        float z = (k == 0) ? 0 : height;
+        float n = (k == 0) ? -1 : 1;
+        int center = m.vertex(0, 0, n, 0, 0, z);
+        for (int i = 0; i < slices; i++) {
+          m.vertex(0, 0, n, sc[2 * i] * baseRadius, sc[2 * i + 1] * baseRadius, z);
+        }
+        for (int i = 0; i < slices; i++) {
+          m.triangle(center, center + 1 + i, center + 1 + (i + 1) % slices);
+        }
+      }
+    }
+    return m.build();
+  }
+
+  /** The torus drawn by glutSolidTorus: a quad strip per ring. */
+  static GLUTMesh torus(float r, float R, int nsides, int rings) {
+    GLUTMesh m = new GLUTMesh(false, rings * nsides, 2 * rings * nsides);
+    float[] theta = sinCos(rings);
+    float[] phi = sinCos(nsides);
+
+    // ring t at theta = t * 2PI / rings, side k at phi = (k + 1) * 2PI / nsides
+    for (int t = 0; t < rings; t++) {
+      float cosTheta = theta[2 * t];
+      float sinTheta = theta[2 * t + 1];
+      for (int k = 0; k < nsides; k++) {
+        int p = (k + 1) % nsides;
+        float cosPhi = phi[2 * p];
+        float sinPhi = phi[2 * p + 1];
+        float dist = R + r * cosPhi;
+        m.vertex(cosTheta * cosPhi, -sinTheta * cosPhi, sinPhi,
+                 cosTheta * dist, -sinTheta * dist, r * sinPhi);
+      }
+    }
+    for (int t = 0; t < rings; t++) {
+      m.quadStrip(((t + 1) % rings) * nsides, t * nsides, nsides, false);
+    }
+    return m.build();
+  }
+
+  /**
+   * The teapot drawn by glutSolidTeapot, in patch coordinates:
+   * the bicubic patches are evaluated on a grid x grid mesh like
+   * glEvalMesh2 with GL_AUTO_NORMAL, including the texture coordinates.
+   * If repairSingularities is set, the patches of parts 3 and 5
+   * are closed by a triangle fan like GLUT does.
+   */
+  static GLUTMesh teapot(int[][] patchData, float[][] cpData, int grid, boolean repairSingularities) {
+    int vertexCount = 0;
+    int triangleCount = 0;
+    for (int i = 0; i < 10; i++) {
+      int patches = (i < 6) ? 4 : 2;
+      if (repairSingularities && (i == 3 || i == 5)) {
+        vertexCount += patches * (grid + 2 + grid * 2 * (grid + 1));
+        triangleCount += patches * (grid + grid * 2 * grid);
+      } else {
+        vertexCount += patches * (grid + 1) * (grid + 1);
+        triangleCount += patches * 2 * grid * grid;
+      }
+    }
+    GLUTMesh m = new GLUTMesh(true, vertexCount, triangleCount);
+    m.basis = new float[4][4];
+
+    float[][] patch = new float[4][4 * 4 * 3];
+    for (int i = 0; i < 10; i++) {
+      float[] p = patch[0], q = patch[1], r = patch[2], s = patch[3];
+      for (int j = 0; j < 4; j++) {
+        for (int k = 0; k < 4; k++) {
+          for (int l = 0; l < 3; l++) {
+            p[(j*4+k)*3+l] = cpData[patchData[i][j * 4 + k]][l];
+            q[(j*4+k)*3+l] = cpData[patchData[i][j * 4 + (3 - k)]][l];
+            if (l == 1)
+              q[(j*4+k)*3+l] *= -1.0;
+            if (i < 6) {
+              r[(j*4+k)*3+l] = cpData[patchData[i][j * 4 + (3 - k)]][l];
+              if (l == 0)
+                r[(j*4+k)*3+l] *= -1.0;
+              s[(j*4+k)*3+l] = cpData[patchData[i][j * 4 + k]][l];
+              if (l == 0)
+                s[(j*4+k)*3+l] *= -1.0;
+              if (l == 1)
+                s[(j*4+k)*3+l] *= -1.0;
+            }
+          }
+        }
+      }
+      int patches = (i < 6) ? 4 : 2;
+      for (int n = 0; n < patches; n++) {
+        if (repairSingularities && (i == 5 || i == 3)) {
+          m.repairedPatch(patch[n], grid, i == 3 ? 1 : -1);
+        } else {
+          m.patch(patch[n], grid);
+        }
+      }
+    }
+    return m.build();
+  }
+
+  // glEvalMesh2(GL_FILL, 0, grid, 0, grid): quad strips from v = j to v = j + 1
+  private void patch(float[] cp, int grid) {
+    int first = vcount;
+    for (int j = 0; j <= grid; j++) {
+      for (int i = 0; i <= grid; i++) {
+        evalCoord(cp, i / (float) grid, j / (float) grid, null);
+      }
+    }
+    for (int j = 0; j < grid; j++) {
+      quadStrip(first + j * (grid + 1), first + (j + 1) * (grid + 1), grid + 1, true);
+    }
+  }
+
+  // The hand evaluated patch of GLUT.evaluateTeapotMesh
+  private void repairedPatch(float[] cp, int grid, float nz) {
+    float[] normal = { 0, 0, nz };
+    int center = vcount;
+    evalCoord(cp, 0, 0, normal);
+    for (int nu = 0; nu <= grid; nu++) {
+      evalCoord(cp, nu / (float)grid, (1f / grid) / (float)grid, normal);
+    }
+    for (int nu = 0; nu < grid; nu++) {
+      triangle(center, center + 1 + nu, center + 2 + nu);
+    }
+    for (int nv = 0; nv < grid; nv++) {
+      int a = vcount;
+      for (int nu = grid; nu >= 0; nu--) {
+        evalCoord(cp, nu / (float)grid, (nv + 1) / (float)grid, null);
+      }
+      int b = vcount;
+      for (int nu = grid; nu >= 0; nu--) {
+        evalCoord(cp, nu / (float)grid, Math.max(nv, 1f / grid) / (float)grid, null);
+      }
+      quadStrip(a, b, grid + 1, true);
+    }
+  }
+
+  // Adds the vertex of the bicubic patch at (u, v) with its texture coordinates (u, v)
+  // and, unless given, the normalized cross product of the partial derivatives
+  private void evalCoord(float[] cp, float u, float v, float[] normal) {
+    float[] bu = basis[0], du = basis[1], bv = basis[2], dv = basis[3];
+    bernstein(u, bu, du);
+    bernstein(v, bv, dv);
+    float px = 0, py = 0, pz = 0, ux = 0, uy = 0, uz = 0, vx = 0, vy = 0, vz = 0;
+    for (int j = 0; j < 4; j++) {
+      for (int k = 0; k < 4; k++) {
+        int c = (j * 4 + k) * 3;
+        float b = bu[k] * bv[j];
+        px += b * cp[c];
+        py += b * cp[c + 1];
+        pz += b * cp[c + 2];
+        b = du[k] * bv[j];
+        ux += b * cp[c];
+        uy += b * cp[c + 1];
+        uz += b * cp[c + 2];
+        b = bu[k] * dv[j];
+        vx += b * cp[c];
+        vy += b * cp[c + 1];
+        vz += b * cp[c + 2];
+      }
+    }
+    float nx, ny, nz;
+    if (normal != null) {
+      nx = normal[0];
+      ny = normal[1];
+      nz = normal[2];
+    } else {
+      nx = uy * vz - uz * vy;
+      ny = uz * vx - ux * vz;
+      nz = ux * vy - uy * vx;
+      float mag = (float) Math.sqrt(nx * nx + ny * ny + nz * nz);
+      if (mag > 0) {
+        nx /= mag;
+        ny /= mag;
+        nz /= mag;
+      }
+    }
+    int o = vcount++ * floatsPerVertex;
+    vdata[o++] = u;
+    vdata[o++] = v;
+    vdata[o++] = nx;
+    vdata[o++] = ny;
+    vdata[o++] = nz;
+    vdata[o++] = px;
+    vdata[o++] = py;
+    vdata[o] = pz;
+  }
+
+  private static void bernstein(float t, float[] b, float[] d) {
+    float s = 1 - t;
+    b[0] = s * s * s;
+    b[1] = 3 * t * s * s;
+    b[2] = 3 * t * t * s;
+    b[3] = t * t * t;
+    d[0] = -3 * s * s;
+    d[1] = 3 * s * s - 6 * t * s;
+    d[2] = 6 * t * s - 3 * t * t;
+    d[3] = 3 * t * t;
+  }
+
+  //----------------------------------------------------------------------
+  // Internals
+  //
+
+  private int vertex(float nx, float ny, float nz, float x, float y, float z) {
+    int o = vcount * floatsPerVertex;
+    vdata[o++] = nx;
+    vdata[o++] = ny;
+    vdata[o++] = nz;
+    vdata[o++] = x;
+    vdata[o++] = y;
+    vdata[o] = z;
+    return vcount++;
+  }
+
+  private void triangle(int a, int b, int c) {
+    idata[icount++] = (short) a;
+    idata[icount++] = (short) b;
+    idata[icount++] = (short) c;
+  }
+
+  // Triangulates a quad strip alternating between the rows starting at
+  // the vertices a and b, like GL_QUAD_STRIP drawn as a triangle strip.
+  // Unless open, the strip is closed by returning to the first vertices.
+  private void quadStrip(int a, int b, int n, boolean open) {
+    int quads = open ? n - 1 : n;
+    for (int i = 0; i < quads; i++) {
+      int i1 = open ? i + 1 : (i + 1) % n;
+      triangle(a + i, b + i, a + i1);
+      triangle(a + i1, b + i, b + i1);
+    }
+  }
+
+  private GLUTMesh build() {
+    vertices.put(vdata, 0, vcount * floatsPerVertex);
+    vertices.rewind();
+    indices.put(idata, 0, icount);
+    indices.rewind();
+    vdata = null;
+    idata = null;
+    basis = null;
+    return this;
+  }
+
+  private static final HashMap/*<Integer, float[]>*/ sinCosTables = new HashMap/*<Integer, float[]>*/();
+
+  /**
+   * Returns the cosine and sine of i * 2PI / n for 0 <= i <= n,
+   * stored at 2i and 2i + 1, shared by all meshes with n subdivisions.
+   */
+  static synchronized float[] sinCos(int n) {
+    Integer key = new Integer(n);
+    float[] table = (float[]) sinCosTables.get(key);
+    if (table == null) {
+      table = new float[2 * (n + 1)];
+      for (int i = 0; i < n; i++) {
+        double a = 2.0 * Math.PI * i / n;
+        table[2 * i] = (float) Math.cos(a);
+        table[2 * i + 1] = (float) Math.sin(a);
+      }
+      table[2 * n] = 1;
+      table[2 * n + 1] = 0;
+      sinCosTables.put(key, table);
+    }
+    return table;
+  }
+
+  /** The parameters a mesh is generated from. */
+  static class Key {
+    int shape;
+    float a, b, c;
+    int n, m;
+    boolean flag;
+
+    Key set(int shape, float a, float b, float c, int n, int m, boolean flag) {
+      this.shape = shape;
+      this.a = a;
+      this.b = b;
+      this.c = c;
+      this.n = n;
+      this.m = m;
+      this.flag = flag;
+      return this;
+    }
+
+    Key copy() {
+      return new Key().set(shape, a, b, c, n, m, flag);
+    }
+
+    public boolean equals(Object o) {
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key k = (Key) o;
+      return shape == k.shape &&
+             Float.floatToIntBits(a) == Float.floatToIntBits(k.a) &&
+             Float.floatToIntBits(b) == Float.floatToIntBits(k.b) &&
+             Float.floatToIntBits(c) == Float.floatToIntBits(k.c) &&
+             n == k.n && m == k.m && flag == k.flag;
+    }
+
+    public int hashCode() {
+      int h = shape;
+      h = 31 * h + Float.floatToIntBits(a);
+      h = 31 * h + Float.floatToIntBits(b);
+      h = 31 * h + Float.floatToIntBits(c);
+      h = 31 * h + n;
+      h = 31 * h + m;
+      return 31 * h + (flag ? 1 : 0);
+    }
+  }
+}
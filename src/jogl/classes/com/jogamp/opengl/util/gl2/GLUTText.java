@@ -0,0 +1,258 @@
+
+package com.jogamp.opengl.util.gl2;
+
+import javax.media.opengl.*;
+import com.jogamp.opengl.util.GLBuffers;
+import java.nio.*;
+import java.util.HashMap;
+
+/**
+ * Draws whole strings of the GLUT bitmap and stroke fonts with a single
+ * draw call each, instead of one glBitmap per character or one
+ * glBegin/glEnd pair per stroke.
+ * <p>
+ * The strokes of a string are laid out into a client side vertex array
+ * and drawn as separate GL_LINE_STRIP primitives with glMultiDrawArrays,
+ * or with one glDrawArrays per stroke if that is not available, so line
+ * stipple and blending behave exactly as with one glBegin/glEnd pair per
+ * stroke. The glyphs of a bitmap font are merged per string into
+ * a single bitmap drawn with glBitmap, which keeps the semantics of the
+ * current raster position and raster color. Since the metrics of the
+ * built-in bitmap fonts are integers, the merged bitmap sets exactly the
+ * pixels the individual glyphs would have set.
+ */
+class GLUTText {
+  /** Bitmaps are split into several ones no wider than this. */
+  private static final int MAX_BITMAP_WIDTH = 2048;
+
+  private static final HashMap/*<StrokeFontRec, StrokeGlyphs>*/ strokeGlyphs = new HashMap/*<StrokeFontRec, StrokeGlyphs>*/();
+
+  // per string scratch storage, grown as needed
+  private float[] stripData = new float[0];
+  private FloatBuffer stripVertices;
+  private int[] stripFirsts = new int[0];
+  private int[] stripCounts = new int[0];
+  private byte[] bitmap = new byte[0];
+
+  //----------------------------------------------------------------------
+  // Stroke fonts
+  //
+
+  /**
+   * The strokes of a font per character, the x, y coordinates of all
+   * strokes of a character one after the other and the number of
+   * coordinates of each stroke.
+   */
+  static class StrokeGlyphs {
+    final float[][] coords;
+    final int[][] counts;
+
+    StrokeGlyphs(StrokeFontRec font) {
+      coords = new float[font.num_chars][];
+      counts = new int[font.num_chars][];
+      for (int c = 0; c < font.num_chars; c++) {
+        StrokeCharRec ch = font.ch[c];
+        if (ch == null) {
+          continue;
+        }
+        int n = 0;
+        for (int i = 0; i < ch.num_strokes; i++) {
+          n += ch.stroke[i].num_coords;
+        }
+        float[] xy = new float[n * 2];
+        int[] count = new int[ch.num_strokes];
+        n = 0;
+        for (int i = 0; i < ch.num_strokes; i++) {
+          StrokeRec stroke = ch.stroke[i];
+          for (int j = 0; j < stroke.num_coords; j++) {
+            xy[n++] = stroke.coord[j].x;
+            xy[n++] = stroke.coord[j].y;
+          }
+          count[i] = stroke.num_coords;
+        }
+        coords[c] = xy;
+        counts[c] = count;
+      }
+    }
+  }
+
+  static synchronized StrokeGlyphs getStrokeGlyphs(StrokeFontRec font) {
+    StrokeGlyphs glyphs = (StrokeGlyphs) strokeGlyphs.get(font);
+    if (glyphs == null) {
+      glyphs = new StrokeGlyphs(font);
+      strokeGlyphs.put(font, glyphs);
+    }
+    return glyphs;
+  }
+
+  /**
+   * Draws the string like consecutive glutStrokeCharacter calls,
+   * translating the modelview matrix by its width afterwards.
+   * The client vertex array state is preserved.
+   */
+  void drawStrokeString(GL2 gl, StrokeFontRec font, String string) {
+    StrokeGlyphs glyphs = getStrokeGlyphs(font);
+    int len = string.length();
+    int floats = 0;
+    int strips = 0;
+    for (int pos = 0; pos < len; pos++) {
+      int c = string.charAt(pos) & 0xFFFF;
+      if (c < font.num_chars && glyphs.coords[c] != null) {
+        floats += glyphs.coords[c].length;
+        strips += glyphs.counts[c].length;
+      }
+    }
+    if (floats > stripData.length) {
+      stripData = new float[Math.max(floats, 2 * stripData.length)];
+      stripVertices = GLBuffers.newDirectFloatBuffer(stripData.length);
+    }
+    if (strips > stripCounts.length) {
+      stripFirsts = new int[Math.max(strips, 2 * stripCounts.length)];
+      stripCounts = new int[stripFirsts.length];
+    }
+
+    float x = 0;
+    int n = 0;
+    int strip = 0;
+    for (int pos = 0; pos < len; pos++) {
+      int c = string.charAt(pos) & 0xFFFF;
+      if (c >= font.num_chars || font.ch[c] == null) {
+        continue;
+      }
+      int[] counts = glyphs.counts[c];
+      int first = n / 2;
+      for (int i = 0; i < counts.length; i++) {
+        stripFirsts[strip] = first;
+        stripCounts[strip++] = counts[i];
+        first += counts[i];
+      }
+      float[] xy = glyphs.coords[c];
+      for (int i = 0; i < xy.length; i += 2) {
+        stripData[n++] = xy[i] + x;
+        stripData[n++] = xy[i + 1];
+      }
+      x += font.ch[c].right;
+    }
+
+    if (n > 0) {
+      stripVertices.clear();
+      stripVertices.put(stripData, 0, n);
+      stripVertices.flip();
+      gl.glPushClientAttrib(GL2.GL_CLIENT_VERTEX_ARRAY_BIT);
+      gl.glInterleavedArrays(GL2.GL_V2F, 0, stripVertices);
+      if (gl.isFunctionAvailable("glMultiDrawArrays")) {
+        gl.glMultiDrawArrays(GL2.GL_LINE_STRIP, stripFirsts, 0, stripCounts, 0, strip);
+      } else {
+        for (int i = 0; i < strip; i++) {
+          gl.glDrawArrays(GL2.GL_LINE_STRIP, stripFirsts[i], stripCounts[i]);
+        }
+      }
+      gl.glPopClientAttrib();
+    }
+    if (x != 0) {
+      gl.glTranslatef(x, 0.0f, 0.0f);
+    }
+  }
+
+  //----------------------------------------------------------------------
+  // Bitmap fonts
+  //
+
+  /**
+   * Draws the string like consecutive glutBitmapCharacter calls, advancing
+   * the current raster position by its length. The pixel store modes
+   * must have been set up for the font bitmaps.
+   */
+  void drawBitmapString(GL2 gl, BitmapFontRec font, String string) {
+    int len = string.length();
+    int start = 0;
+    while (start < len) {
+      // extents of the glyphs [start, end) relative to the raster position
+      int left = Integer.MAX_VALUE, right = Integer.MIN_VALUE;
+      int bottom = Integer.MAX_VALUE, top = Integer.MIN_VALUE;
+      int x = 0;
+      float advance = 0;
+      int end;
+      for (end = start; end < len; end++) {
+        BitmapCharRec ch = getChar(font, string.charAt(end));
+        if (ch == null) {
+          continue;
+        }
+        if (ch.width > 0 && ch.height > 0) {
+          int l = x - (int) ch.xorig;
+          int b = -(int) ch.yorig;
+          if (end > start && left <= right &&
+              Math.max(right, l + ch.width) - Math.min(left, l) > MAX_BITMAP_WIDTH) {
+            break;
+          }
+          left = Math.min(left, l);
+          right = Math.max(right, l + ch.width);
+          bottom = Math.min(bottom, b);
+          top = Math.max(top, b + ch.height);
+        }
+        x += (int) ch.advance;
+        advance += ch.advance;
+      }
+
+      if (left > right) {
+        // nothing but blanks
+        gl.glBitmap(0, 0, 0, 0, advance, 0, null, 0);
+      } else {
+        int width = right - left;
+        int height = top - bottom;
+        int rowBytes = (width + 7) >> 3;
+        int size = rowBytes * height;
+        if (size > bitmap.length) {
+          bitmap = new byte[Math.max(size, 2 * bitmap.length)];
+        } else {
+          for (int i = 0; i < size; i++) {
+            bitmap[i] = 0;
+          }
+        }
+        x = 0;
+        for (int pos = start; pos < end; pos++) {
+          BitmapCharRec ch = getChar(font, string.charAt(pos));
+          if (ch == null) {
+            continue;
+          }
+          if (ch.width > 0 && ch.height > 0) {
+            merge(ch, x - (int) ch.xorig - left, -(int) ch.yorig - bottom, rowBytes);
+          }
+          x += (int) ch.advance;
+        }
+        gl.glBitmap(width, height, -left, -bottom, advance, 0, bitmap, 0);
+      }
+      start = end;
+    }
+  }
+
+  private static BitmapCharRec getChar(BitmapFontRec font, char character) {
+    int c = character & 0xFFFF;
+    if (c < font.first || c >= font.first + font.num_chars) {
+      return null;
+    }
+    return font.ch[c - font.first];
+  }
+
+  // ORs the glyph into the merged bitmap at the given pixel offset; both are
+  // stored bottom row first, most significant bit first, rows byte aligned
+  private void merge(BitmapCharRec ch, int x, int y, int rowBytes) {
+    int glyphRowBytes = (ch.width + 7) >> 3;
+    int lastMask = (ch.width & 7) == 0 ? 0xFF : (0xFF << (8 - (ch.width & 7))) & 0xFF;
+    int shift = x & 7;
+    for (int row = 0; row < ch.height; row++) {
+      int src = row * glyphRowBytes;
+      int dest = (y + row) * rowBytes + (x >> 3);
+      for (int i = 0; i < glyphRowBytes; i++, dest++) {
+        int bits = ch.bitmap[src + i] & 0xFF;
+        if (i == glyphRowBytes - 1) {
+          bits &= lastMask;
+        }
+        bitmap[dest] |= (byte) (bits >>> shift);
+        if (shift != 0 && bits << (8 - shift) != 0) {
+          bitmap[dest + 1] |= (byte) (bits << (8 - shift));
+        }
+      }
+    }
+  }
+}
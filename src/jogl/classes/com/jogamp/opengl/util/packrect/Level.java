@@ -158,6 +158,16 @@ public class Level {
     return true;
   }
 
+  /** Replaces the given Rect of this Level by newRect, which must
+      have been set to the same position. */
+  public boolean replace(Rect oldRect, Rect newRect) {
+    int i = rects.indexOf(oldRect);
+    if (i < 0)
+      return false;
+    rects.set(i, newRect);
+    return true;
+  }
+
   /** Indicates whether this Level contains no rectangles. */
   public boolean isEmpty() {
     return rects.isEmpty();
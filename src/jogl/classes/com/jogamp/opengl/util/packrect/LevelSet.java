@@ -43,12 +43,15 @@ import java.util.*;
 
 /** Manages a list of Levels; this is the core data structure
     contained within the RectanglePacker and encompasses the storage
-    algorithm for the contained Rects. */
+    algorithm for the contained Rects, packing them into horizontal
+    shelves. */
 
-public class LevelSet {
+public class LevelSet implements PackingStrategy {
   // Maintained in sorted order by increasing Y coordinate
   private List/*<Level>*/ levels = new ArrayList/*<Level>*/();
   private int nextAddY;
+  // False while probing with addWithinUsedHeight
+  private boolean expansionAllowed = true;
   private int w;
   private int h;
 
@@ -59,6 +62,10 @@ public class LevelSet {
     this.h = h;
   }
 
+  public PackingStrategy newInstance(int w, int h) {
+    return new LevelSet(w, h);
+  }
+
   public int w() { return w; }
   public int h() { return h; }
 
@@ -101,17 +108,57 @@ public class LevelSet {
     return true;
   }
 
+  /** Adds the given rectangle to the topmost of the existing Levels
+      which can hold it, without expanding the last Level or adding a
+      new one, i.e. without increasing the used height. Used for trial
+      placements moving rectangles up, since removing a rectangle does
+      not shrink an expanded Level again. */
+  public boolean addWithinUsedHeight(Rect rect) {
+    if (rect.w() > w)
+      return false;
+
+    expansionAllowed = false;
+    try {
+      for (int i = 0; i < levels.size(); ++i) {
+        Level level = (Level) levels.get(i);
+        if (level.add(rect))
+          return true;
+      }
+    } finally {
+      expansionAllowed = true;
+    }
+    return false;
+  }
+
   /** Removes the given Rect from this LevelSet. */
   public boolean remove(Rect rect) {
     for (int i = levels.size() - 1; i >= 0; --i) {
       Level level = (Level) levels.get(i);
-      if (level.remove(rect))
+      if (level.remove(rect)) {
+        // Give trailing empty Levels back to the unused height
+        while (!levels.isEmpty()) {
+          Level last = (Level) levels.get(levels.size() - 1);
+          if (!last.isEmpty())
+            break;
+          levels.remove(levels.size() - 1);
+          nextAddY -= last.h();
+        }
         return true;
+      }
     }
     
     return false;
   }
 
+  public void replace(Rect oldRect, Rect newRect) {
+    for (int i = levels.size() - 1; i >= 0; --i) {
+      Level level = (Level) levels.get(i);
+      if (level.replace(oldRect, newRect))
+        return;
+    }
+    throw new IllegalArgumentException("Rect not contained: " + oldRect);
+  }
+
   /** Allocates the given Rectangle, performing compaction of a Level
       if necessary. This is the correct fallback path to {@link
       #add(Rect)} above. Returns true if allocated successfully, false
@@ -137,8 +184,8 @@ public class LevelSet {
       the given Level. This is only possible if it's the last Level
       added and there's enough room in the backing store. */
   public boolean canExpand(Level level, int height) {
-    if (levels.isEmpty())
-      return false; // Should not happen
+    if (levels.isEmpty() || !expansionAllowed)
+      return false; // Should not happen, unless probing
     if (levels.get(levels.size() - 1) == level &&
         (h - nextAddY >= height - level.h()))
       return true;
@@ -0,0 +1,283 @@
+
+package com.jogamp.opengl.util.packrect;
+
+import java.util.*;
+
+/** Packs Rects by tracking the maximal free rectangles of the region,
+    i.e. all free rectangles which are not contained within another
+    free rectangle, which may overlap each other. Each Rect is placed
+    into the free rectangle leaving the shortest leftover side ("best
+    short side fit"). <P>
+
+    This yields the densest packing of the provided strategies at the
+    highest cost per addition, which grows with the number of free
+    rectangles. The space of removed Rects is extended to the maximal
+    free rectangles containing it. */
+
+public class MaxRectsSet implements PackingStrategy {
+  private List/*<Rect>*/ freeRects = new ArrayList/*<Rect>*/();
+  private List/*<Rect>*/ rects = new ArrayList/*<Rect>*/();
+  private int usedArea;
+  private int w;
+  private int h;
+
+  public MaxRectsSet(int w, int h) {
+    this.w = w;
+    this.h = h;
+    clear();
+  }
+
+  public PackingStrategy newInstance(int w, int h) {
+    return new MaxRectsSet(w, h);
+  }
+
+  public int w() { return w; }
+  public int h() { return h; }
+
+  public boolean add(Rect rect) {
+    if (rect.w() == 0 || rect.h() == 0) {
+      if (rect.w() > w || rect.h() > h)
+        return false;
+      // Takes no space
+      rect.setPosition(0, 0);
+      rects.add(rect);
+      return true;
+    }
+
+    Rect best = null;
+    int bestShortSide = Integer.MAX_VALUE;
+    int bestLongSide = Integer.MAX_VALUE;
+    for (int i = 0; i < freeRects.size(); i++) {
+      Rect cur = (Rect) freeRects.get(i);
+      if (cur.canContain(rect)) {
+        int leftoverW = cur.w() - rect.w();
+        int leftoverH = cur.h() - rect.h();
+        int shortSide = Math.min(leftoverW, leftoverH);
+        int longSide = Math.max(leftoverW, leftoverH);
+        if (shortSide < bestShortSide ||
+            (shortSide == bestShortSide && longSide < bestLongSide)) {
+          best = cur;
+          bestShortSide = shortSide;
+          bestLongSide = longSide;
+        }
+      }
+    }
+    if (best == null)
+      return false;
+
+    rect.setPosition(best.x(), best.y());
+    place(rect.x(), rect.y(), rect.w(), rect.h());
+    rects.add(rect);
+    usedArea += rect.w() * rect.h();
+    return true;
+  }
+
+  // Splits all free rectangles intersecting the given area into the
+  // maximal rectangles around it
+  private void place(int x, int y, int pw, int ph) {
+    int n = freeRects.size();
+    for (int i = 0; i < n; ) {
+      Rect cur = (Rect) freeRects.get(i);
+      if (x >= cur.x() + cur.w() || x + pw <= cur.x() ||
+          y >= cur.y() + cur.h() || y + ph <= cur.y()) {
+        ++i;
+        continue;
+      }
+      // Left, right, top and bottom parts of the free rectangle
+      if (x > cur.x()) {
+        freeRects.add(new Rect(cur.x(), cur.y(), x - cur.x(), cur.h(), null));
+      }
+      if (x + pw < cur.x() + cur.w()) {
+        freeRects.add(new Rect(x + pw, cur.y(), cur.x() + cur.w() - (x + pw), cur.h(), null));
+      }
+      if (y > cur.y()) {
+        freeRects.add(new Rect(cur.x(), cur.y(), cur.w(), y - cur.y(), null));
+      }
+      if (y + ph < cur.y() + cur.h()) {
+        freeRects.add(new Rect(cur.x(), y + ph, cur.w(), cur.y() + cur.h() - (y + ph), null));
+      }
+      freeRects.remove(i);
+      --n;
+    }
+    prune(n);
+  }
+
+  // Removes free rectangles contained within another one, where only
+  // the ones starting at index firstNew may be contained in or
+  // contain another one
+  private void prune(int firstNew) {
+    for (int i = firstNew; i < freeRects.size(); i++) {
+      Rect r1 = (Rect) freeRects.get(i);
+      boolean contained = false;
+      for (int j = 0; j < freeRects.size(); j++) {
+        if (j != i && contains((Rect) freeRects.get(j), r1)) {
+          contained = true;
+          break;
+        }
+      }
+      if (contained) {
+        freeRects.remove(i);
+        --i;
+        continue;
+      }
+      for (int j = 0; j < firstNew; ) {
+        if (contains(r1, (Rect) freeRects.get(j))) {
+          freeRects.remove(j);
+          --firstNew;
+          --i;
+        } else {
+          ++j;
+        }
+      }
+    }
+  }
+
+  private static boolean contains(Rect outer, Rect inner) {
+    return (inner.x() >= outer.x() && inner.y() >= outer.y() &&
+            inner.x() + inner.w() <= outer.x() + outer.w() &&
+            inner.y() + inner.h() <= outer.y() + outer.h());
+  }
+
+  public boolean remove(Rect rect) {
+    if (!rects.remove(rect))
+      return false;
+    if (rect.w() == 0 || rect.h() == 0)
+      return true;
+    usedArea -= rect.w() * rect.h();
+    // Add the maximal free rectangles containing the space of the rect,
+    // extended horizontally first and vertically first
+    int firstNew = freeRects.size();
+    freeRects.add(extend(rect, true));
+    freeRects.add(extend(rect, false));
+    prune(firstNew);
+    return true;
+  }
+
+  // Extends the free space of the given rect up to the surrounding
+  // Rects and the borders of the region
+  private Rect extend(Rect space, boolean horizontalFirst) {
+    int x0 = space.x();
+    int y0 = space.y();
+    int x1 = x0 + space.w();
+    int y1 = y0 + space.h();
+    for (int pass = 0; pass < 2; pass++) {
+      if (horizontalFirst == (pass == 0)) {
+        int left = 0;
+        int right = w;
+        for (int i = 0; i < rects.size(); i++) {
+          Rect cur = (Rect) rects.get(i);
+          if (cur.y() < y1 && cur.y() + cur.h() > y0) {
+            if (cur.x() + cur.w() <= x0) {
+              left = Math.max(left, cur.x() + cur.w());
+            } else if (cur.x() >= x1) {
+              right = Math.min(right, cur.x());
+            }
+          }
+        }
+        x0 = left;
+        x1 = right;
+      } else {
+        int top = 0;
+        int bottom = h;
+        for (int i = 0; i < rects.size(); i++) {
+          Rect cur = (Rect) rects.get(i);
+          if (cur.x() < x1 && cur.x() + cur.w() > x0) {
+            if (cur.y() + cur.h() <= y0) {
+              top = Math.max(top, cur.y() + cur.h());
+            } else if (cur.y() >= y1) {
+              bottom = Math.min(bottom, cur.y());
+            }
+          }
+        }
+        y0 = top;
+        y1 = bottom;
+      }
+    }
+    return new Rect(x0, y0, x1 - x0, y1 - y0, null);
+  }
+
+  /** MaxRects packing does not compact in place; always returns false. */
+  public boolean compactAndAdd(Rect rect,
+                               Object backingStore,
+                               BackingStoreManager manager) {
+    return false;
+  }
+
+  public void replace(Rect oldRect, Rect newRect) {
+    int i = rects.indexOf(oldRect);
+    if (i < 0)
+      throw new IllegalArgumentException("Rect not contained: " + oldRect);
+    rects.set(i, newRect);
+  }
+
+  public int getUsedHeight() {
+    int usedHeight = 0;
+    for (int i = 0; i < rects.size(); i++) {
+      Rect cur = (Rect) rects.get(i);
+      usedHeight = Math.max(usedHeight, cur.y() + cur.h());
+    }
+    return usedHeight;
+  }
+
+  public void setHeight(int height) throws IllegalArgumentException {
+    if (height < getUsedHeight()) {
+      throw new IllegalArgumentException("May not reduce height below currently used height");
+    }
+    if (height < h) {
+      // Clip the free rectangles to the new bottom edge
+      for (int i = freeRects.size() - 1; i >= 0; --i) {
+        Rect cur = (Rect) freeRects.get(i);
+        if (cur.y() >= height) {
+          freeRects.remove(i);
+        } else if (cur.y() + cur.h() > height) {
+          cur.setSize(cur.w(), height - cur.y());
+        }
+      }
+      prune(0);
+    } else if (height > h) {
+      // Extend the free rectangles touching the old bottom edge
+      for (int i = 0; i < freeRects.size(); i++) {
+        Rect cur = (Rect) freeRects.get(i);
+        if (cur.y() + cur.h() == h) {
+          cur.setSize(cur.w(), height - cur.y());
+        }
+      }
+      freeRects.add(new Rect(0, h, w, height - h, null));
+      prune(0);
+    }
+    h = height;
+  }
+
+  /** Returns the ratio of the unused area below the used height to
+      the area of the used height. */
+  public float verticalFragmentationRatio() {
+    int usedHeight = getUsedHeight();
+    if (usedHeight == 0)
+      return 0.0f;
+    return 1.0f - (float) usedArea / (float) (w * usedHeight);
+  }
+
+  public void visit(RectVisitor visitor) {
+    for (Iterator iter = rects.iterator(); iter.hasNext(); ) {
+      visitor.visit((Rect) iter.next());
+    }
+  }
+
+  public void updateRectangleReferences() {
+    for (int i = 0; i < rects.size(); i++) {
+      Rect cur = (Rect) rects.get(i);
+      Rect next = cur.getNextLocation();
+      next.setPosition(cur.x(), cur.y());
+      if (cur.w() != next.w() || cur.h() != next.h())
+        throw new RuntimeException("Unexpected disparity in rectangle sizes during updateRectangleReferences");
+      rects.set(i, next);
+    }
+  }
+
+  public void clear() {
+    rects.clear();
+    freeRects.clear();
+    freeRects.add(new Rect(0, 0, w, h, null));
+    usedArea = 0;
+  }
+}
@@ -0,0 +1,65 @@
+
+package com.jogamp.opengl.util.packrect;
+
+/** The storage algorithm of a RectanglePacker, deciding upon the
+    placement of the Rects within a region of the backing store.
+    {@link LevelSet} implements shelf packing, {@link SkylineSet}
+    skyline packing and {@link MaxRectsSet} maximal rectangles
+    packing. <P>
+
+    Implementations only track the placement; expansion of the region
+    and movement of the contents of the backing store are performed by
+    the {@link RectanglePacker}. */
+
+public interface PackingStrategy {
+  /** Returns a new, empty instance of this strategy managing a region
+      of the specified width and height. */
+  public PackingStrategy newInstance(int w, int h);
+
+  public int w();
+  public int h();
+
+  /** Returns true if the given rectangle was successfully added given
+      the current dimensions, false if not. */
+  public boolean add(Rect rect);
+
+  /** Removes the given Rect, returning false if it wasn't contained. */
+  public boolean remove(Rect rect);
+
+  /** Allocates the given Rectangle, moving already contained Rects on
+      the given backing store if necessary. This is the fallback path
+      to {@link #add(Rect)}. Returns true if allocated successfully,
+      false otherwise (indicating the need to expand the backing
+      store). */
+  public boolean compactAndAdd(Rect rect,
+                               Object backingStore,
+                               BackingStoreManager manager);
+
+  /** Replaces the contained Rect <code>oldRect</code> by
+      <code>newRect</code>, which must have the same size and have
+      been set to the same position. */
+  public void replace(Rect oldRect, Rect newRect);
+
+  /** Gets the height in use, measured from the top of the region. */
+  public int getUsedHeight();
+
+  /** Sets the height of the region. It is only legal to reduce the
+      height to greater than or equal to the currently used height. */
+  public void setHeight(int height) throws IllegalArgumentException;
+
+  /** Returns the fragmentation ratio, a measure between 0 and 1 of
+      the unusable space within the used height. A high ratio
+      indicates that it may be profitable to perform a compaction. */
+  public float verticalFragmentationRatio();
+
+  /** Visits all contained Rects. */
+  public void visit(RectVisitor visitor);
+
+  /** Updates the references to the contained Rect objects with the
+      "next locations" of those Rects. This is used to update the new
+      Rects in a newly laid-out region with the original Rects. */
+  public void updateRectangleReferences();
+
+  /** Removes all contained Rects. */
+  public void clear();
+}
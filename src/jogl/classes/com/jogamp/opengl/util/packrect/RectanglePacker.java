@@ -45,12 +45,13 @@ import java.util.*;
     image regions) into a larger backing store rectangle (typically
     representing a large texture). Supports automatic compaction of
     the space on the backing store, and automatic expansion of the
-    backing store, when necessary. */
+    backing store, when necessary. The placement is decided by a
+    {@link PackingStrategy}, by default a {@link LevelSet}. */
 
 public class RectanglePacker {
   private BackingStoreManager manager;
   private Object backingStore;
-  private LevelSet levels;
+  private PackingStrategy levels;
   private float EXPANSION_FACTOR = 0.5f;
   private float SHRINK_FACTOR = 0.3f;
 
@@ -60,6 +61,10 @@ public class RectanglePacker {
   private int maxWidth  = -1;
   private int maxHeight = -1;
 
+  // True if the last defragment() found nothing to move and no
+  // rectangle has been added or removed since
+  private boolean defragmentStalled;
+
   static class RectHComparator implements Comparator {
     public int compare(Object o1, Object o2) {
       Rect r1 = (Rect) o1;
@@ -73,13 +78,34 @@ public class RectanglePacker {
   }
   private static final Comparator rectHComparator = new RectHComparator();
 
+  static class RectBottomComparator implements Comparator {
+    public int compare(Object o1, Object o2) {
+      Rect r1 = (Rect) o1;
+      Rect r2 = (Rect) o2;
+      return (r2.y() + r2.h()) - (r1.y() + r1.h());
+    }
+
+    public boolean equals(Object obj) {
+      return this == obj;
+    }
+  }
+  private static final Comparator rectBottomComparator = new RectBottomComparator();
+
   public RectanglePacker(BackingStoreManager manager,
                          int initialWidth,
                          int initialHeight) {
+    this(manager, new LevelSet(initialWidth, initialHeight));
+  }
+
+  /** Creates a RectanglePacker placing the rectangles with the given,
+      empty PackingStrategy, whose dimensions are the initial
+      dimensions of the backing store. */
+  public RectanglePacker(BackingStoreManager manager,
+                         PackingStrategy strategy) {
     this.manager = manager;
-    levels = new LevelSet(initialWidth, initialHeight);
-    this.initialWidth = initialWidth;
-    this.initialHeight = initialHeight;
+    levels = strategy;
+    this.initialWidth = strategy.w();
+    this.initialHeight = strategy.h();
   }
 
   public Object getBackingStore() {
@@ -112,6 +138,7 @@ public class RectanglePacker {
     if (backingStore == null)
       backingStore = manager.allocateBackingStore(levels.w(), levels.h());
 
+    defragmentStalled = false;
     int attemptNumber = 0;
     boolean tryAgain = false;
 
@@ -145,6 +172,7 @@ public class RectanglePacker {
   /** Removes the given rectangle from this RectanglePacker. */
   public void remove(Rect rect) {
     levels.remove(rect);
+    defragmentStalled = false;
   }
 
   /** Visits all Rects contained in this RectanglePacker. */
@@ -153,14 +181,79 @@ public class RectanglePacker {
   }
 
   /** Returns the vertical fragmentation ratio of this
-      RectanglePacker. This is defined as the ratio of the sum of the
-      heights of all completely empty Levels divided by the overall
-      used height of the LevelSet. A high vertical fragmentation ratio
-      indicates that it may be profitable to perform a compaction. */
+      RectanglePacker, as defined by its PackingStrategy. For a
+      LevelSet this is the ratio of the sum of the heights of all
+      completely empty Levels divided by the overall used height of
+      the LevelSet. A high vertical fragmentation ratio indicates that
+      it may be profitable to perform a compaction. */
   public float verticalFragmentationRatio() {
     return levels.verticalFragmentationRatio();
   }
 
+  /** Incrementally defragments the backing store in place, as an
+      alternative to a full {@link #compact compaction}. The
+      rectangles closest to the bottom of the used region are moved
+      to free space further up, if the PackingStrategy finds such
+      space, moving at most <code>maxMoves</code> rectangles, so that
+      the cost may be spread over several frames. Requires a
+      BackingStoreManager supporting compaction. Returns the number
+      of moved rectangles. If nothing could be moved, the following
+      calls return 0 right away until a rectangle is added or
+      removed. */
+  public int defragment(int maxMoves) {
+    if (backingStore == null || maxMoves <= 0 || !manager.canCompact() ||
+        defragmentStalled)
+      return 0;
+
+    final List/*<Rect>*/ rects = new ArrayList/*<Rect>*/();
+    levels.visit(new RectVisitor() {
+        public void visit(Rect rect) {
+          rects.add(rect);
+        }
+      });
+    Collections.sort(rects, rectBottomComparator);
+
+    int moves = 0;
+    // Bound the number of attempts as well, since each costs an addition
+    int attempts = 4 * maxMoves;
+    for (Iterator iter = rects.iterator(); iter.hasNext() && moves < maxMoves && attempts > 0; --attempts) {
+      Rect cur = (Rect) iter.next();
+      // Place a copy while the original still occupies its space, so
+      // that the two never overlap
+      Rect candidate = new Rect(0, 0, cur.w(), cur.h(), null);
+      if (!probe(candidate))
+        continue;
+      if (candidate.y() + candidate.h() >= cur.y() + cur.h()) {
+        // No improvement
+        levels.remove(candidate);
+        continue;
+      }
+      if (moves == 0) {
+        manager.beginMovement(backingStore, backingStore);
+      }
+      manager.move(backingStore, cur, backingStore, candidate);
+      levels.remove(cur);
+      cur.setPosition(candidate.x(), candidate.y());
+      levels.replace(candidate, cur);
+      ++moves;
+    }
+    if (moves > 0) {
+      manager.endMovement(backingStore, backingStore);
+    } else {
+      defragmentStalled = true;
+    }
+    return moves;
+  }
+
+  // Adds a trial placement for defragment(), which must not increase
+  // the used height: a LevelSet would keep an expanded Level after the
+  // candidate is rejected and removed
+  private boolean probe(Rect candidate) {
+    if (levels instanceof LevelSet)
+      return ((LevelSet) levels).addWithinUsedHeight(candidate);
+    return levels.add(candidate);
+  }
+
   /** Forces a compaction cycle, which typically results in allocating
       a new backing store and copying all entries to it. */
   public void compact() {
@@ -169,6 +262,7 @@ public class RectanglePacker {
 
   // The "cause" rect may be null
   private void compactImpl(Rect cause) {
+    defragmentStalled = false;
     // Have to either expand, compact or both. Need to figure out what
     // direction to go. Prefer to expand vertically. Expand
     // horizontally only if rectangle being added is too wide. FIXME:
@@ -178,7 +272,7 @@ public class RectanglePacker {
     boolean done = false;
     int newWidth = levels.w();
     int newHeight = levels.h();
-    LevelSet nextLevelSet = null;
+    PackingStrategy nextLevelSet = null;
     int attemptNumber = 0;
     boolean needAdditionFailureNotification = false;
 
@@ -202,21 +296,19 @@ public class RectanglePacker {
         needAdditionFailureNotification = true;
       }
 
-      nextLevelSet = new LevelSet(newWidth, newHeight);
+      nextLevelSet = levels.newInstance(newWidth, newHeight);
       
       // Make copies of all existing rectangles
-      List/*<Rect>*/ newRects = new ArrayList/*<Rect>*/();
-      for (Iterator i1 = levels.iterator(); i1.hasNext(); ) {
-        Level level = (Level) i1.next();
-        for (Iterator i2 = level.iterator(); i2.hasNext(); ) {
-          Rect cur = (Rect) i2.next();
-          Rect newRect = new Rect(0, 0, cur.w(), cur.h(), null);
-          cur.setNextLocation(newRect);
-          // Hook up the reverse mapping too for easier replacement
-          newRect.setNextLocation(cur);
-          newRects.add(newRect);
-        }
-      }
+      final List/*<Rect>*/ newRects = new ArrayList/*<Rect>*/();
+      levels.visit(new RectVisitor() {
+          public void visit(Rect cur) {
+            Rect newRect = new Rect(0, 0, cur.w(), cur.h(), null);
+            cur.setNextLocation(newRect);
+            // Hook up the reverse mapping too for easier replacement
+            newRect.setNextLocation(cur);
+            newRects.add(newRect);
+          }
+        });
       // Sort them by decreasing height (note: this isn't really
       // guaranteed to improve the chances of a successful layout)
       Collections.sort(newRects, rectHComparator);
@@ -258,7 +350,7 @@ public class RectanglePacker {
       nextLevelSet.setHeight(shrunkHeight);
     }
 
-    // If we temporarily added the new rectangle to the new LevelSet,
+    // If we temporarily added the new rectangle to the new layout,
     // take it out since we don't "really" add it here but in add(), above
     if (cause != null) {
       nextLevelSet.remove(cause);
@@ -270,21 +362,21 @@ public class RectanglePacker {
     // old one.
     Object newBackingStore = manager.allocateBackingStore(nextLevelSet.w(),
                                                           nextLevelSet.h());
+    final Object oldBackingStore = backingStore;
+    final Object nextBackingStore = newBackingStore;
     manager.beginMovement(backingStore, newBackingStore);
-    for (Iterator i1 = levels.iterator(); i1.hasNext(); ) {
-      Level level = (Level) i1.next();
-      for (Iterator i2 = level.iterator(); i2.hasNext(); ) {
-        Rect cur = (Rect) i2.next();
-        manager.move(backingStore, cur,
-                     newBackingStore, cur.getNextLocation());
-      }
-    }
+    levels.visit(new RectVisitor() {
+        public void visit(Rect cur) {
+          manager.move(oldBackingStore, cur,
+                       nextBackingStore, cur.getNextLocation());
+        }
+      });
     // Replace references to temporary rectangles with original ones
     nextLevelSet.updateRectangleReferences();
     manager.endMovement(backingStore, newBackingStore);
     // Now delete the old backing store
     manager.deleteBackingStore(backingStore);
-    // Update to new versions of backing store and LevelSet
+    // Update to new versions of backing store and layout
     backingStore = newBackingStore;
     levels = nextLevelSet;
   }
@@ -292,6 +384,7 @@ public class RectanglePacker {
   /** Clears all Rects contained in this RectanglePacker. */
   public void clear() {
     levels.clear();
+    defragmentStalled = false;
   }
 
   /** Disposes the backing store allocated by the
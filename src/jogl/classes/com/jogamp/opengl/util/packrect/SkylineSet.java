@@ -0,0 +1,331 @@
+
+package com.jogamp.opengl.util.packrect;
+
+import java.util.*;
+
+/** Packs Rects along a skyline, i.e. the outline of the used space
+    seen from the bottom of the region, placing each Rect at the
+    position which keeps the skyline lowest ("bottom-left" rule). <P>
+
+    Compared to the shelves of a {@link LevelSet}, the space above
+    short Rects isn't lost to a taller neighbour, which suits Rects of
+    widely varying height. The space of removed Rects is given back to
+    the skyline if the Rect is on top of it, otherwise it is kept in a
+    free list which is searched first by subsequent additions. */
+
+public class SkylineSet implements PackingStrategy {
+  // A horizontal segment of the skyline
+  static class Segment {
+    int x;
+    int y;
+    int w;
+
+    Segment(int x, int y, int w) {
+      this.x = x;
+      this.y = y;
+      this.w = w;
+    }
+  }
+
+  // Maintained in sorted order by increasing X coordinate, covering
+  // the whole width without gaps
+  private List/*<Segment>*/ skyline = new ArrayList/*<Segment>*/();
+  // Free space below the skyline
+  private List/*<Rect>*/ freeList = new ArrayList/*<Rect>*/();
+  private List/*<Rect>*/ rects = new ArrayList/*<Rect>*/();
+  private int usedArea;
+  private int w;
+  private int h;
+
+  public SkylineSet(int w, int h) {
+    this.w = w;
+    this.h = h;
+    clear();
+  }
+
+  public PackingStrategy newInstance(int w, int h) {
+    return new SkylineSet(w, h);
+  }
+
+  public int w() { return w; }
+  public int h() { return h; }
+
+  public boolean add(Rect rect) {
+    if (rect.w() > w || rect.h() > h)
+      return false;
+    if (rect.w() == 0 || rect.h() == 0) {
+      // Takes no space
+      rect.setPosition(0, 0);
+      rects.add(rect);
+      return true;
+    }
+
+    // Prefer the free space below the skyline, using the best short
+    // side fit
+    Rect bestFree = null;
+    int bestShortSide = Integer.MAX_VALUE;
+    for (Iterator iter = freeList.iterator(); iter.hasNext(); ) {
+      Rect cur = (Rect) iter.next();
+      if (cur.canContain(rect)) {
+        int shortSide = Math.min(cur.w() - rect.w(), cur.h() - rect.h());
+        if (shortSide < bestShortSide) {
+          bestFree = cur;
+          bestShortSide = shortSide;
+        }
+      }
+    }
+    if (bestFree != null) {
+      freeList.remove(bestFree);
+      rect.setPosition(bestFree.x(), bestFree.y());
+      // Split the remaining space into the part right of and below the rect
+      if (bestFree.w() > rect.w()) {
+        freeList.add(new Rect(bestFree.x() + rect.w(), bestFree.y(),
+                              bestFree.w() - rect.w(), rect.h(), null));
+      }
+      if (bestFree.h() > rect.h()) {
+        freeList.add(new Rect(bestFree.x(), bestFree.y() + rect.h(),
+                              bestFree.w(), bestFree.h() - rect.h(), null));
+      }
+      rects.add(rect);
+      usedArea += rect.w() * rect.h();
+      return true;
+    }
+
+    // Find the skyline position with the lowest resulting bottom edge,
+    // then the leftmost
+    int bestIndex = -1;
+    int bestY = 0;
+    int bestBottom = Integer.MAX_VALUE;
+    for (int i = 0; i < skyline.size(); i++) {
+      int y = fit(i, rect.w(), rect.h());
+      if (y >= 0 && y + rect.h() < bestBottom) {
+        bestIndex = i;
+        bestY = y;
+        bestBottom = y + rect.h();
+      }
+    }
+    if (bestIndex < 0)
+      return false;
+
+    Segment seg = (Segment) skyline.get(bestIndex);
+    rect.setPosition(seg.x, bestY);
+    raise(seg.x, seg.x + rect.w(), bestBottom);
+    rects.add(rect);
+    usedArea += rect.w() * rect.h();
+    return true;
+  }
+
+  // Returns the y coordinate of a rect of the given size placed at
+  // the left edge of the given segment, or -1 if it doesn't fit
+  private int fit(int index, int rw, int rh) {
+    Segment seg = (Segment) skyline.get(index);
+    if (seg.x + rw > w)
+      return -1;
+    int y = 0;
+    int remaining = rw;
+    for (int i = index; remaining > 0; i++) {
+      Segment cur = (Segment) skyline.get(i);
+      y = Math.max(y, cur.y);
+      if (y + rh > h)
+        return -1;
+      remaining -= cur.w;
+    }
+    return y;
+  }
+
+  // Sets the skyline between x0 (inclusive) and x1 (exclusive) to y,
+  // keeping the space hidden below the placed rect in the free list
+  private void raise(int x0, int x1, int y) {
+    int first = split(x0);
+    int last = split(x1);
+    // The rect rests on the highest segment; the gaps between the
+    // lower segments and the rect become free space
+    int top = 0;
+    for (int i = first; i < last; i++) {
+      Segment cur = (Segment) skyline.get(i);
+      top = Math.max(top, cur.y);
+    }
+    for (int i = first; i < last; i++) {
+      Segment cur = (Segment) skyline.get(i);
+      if (cur.y < top) {
+        freeList.add(new Rect(cur.x, cur.y, cur.w, top - cur.y, null));
+      }
+    }
+    for (int i = last - 1; i > first; i--) {
+      skyline.remove(i);
+    }
+    Segment seg = (Segment) skyline.get(first);
+    seg.w = x1 - x0;
+    seg.y = y;
+    merge();
+  }
+
+  // Splits the segment containing x so that a segment starts at x,
+  // returning its index, or the number of segments if x is the width
+  private int split(int x) {
+    for (int i = 0; i < skyline.size(); i++) {
+      Segment cur = (Segment) skyline.get(i);
+      if (cur.x == x)
+        return i;
+      if (cur.x + cur.w > x) {
+        skyline.add(i + 1, new Segment(x, cur.y, cur.x + cur.w - x));
+        cur.w = x - cur.x;
+        return i + 1;
+      }
+    }
+    return skyline.size();
+  }
+
+  // Merges adjacent segments of the same height
+  private void merge() {
+    int i = 0;
+    while (i < skyline.size() - 1) {
+      Segment s1 = (Segment) skyline.get(i);
+      Segment s2 = (Segment) skyline.get(i + 1);
+      if (s1.y == s2.y) {
+        s1.w += s2.w;
+        skyline.remove(i + 1);
+      } else {
+        ++i;
+      }
+    }
+  }
+
+  public boolean remove(Rect rect) {
+    if (!rects.remove(rect))
+      return false;
+    if (rect.w() == 0 || rect.h() == 0)
+      return true;
+    usedArea -= rect.w() * rect.h();
+    free(new Rect(rect.x(), rect.y(), rect.w(), rect.h(), null));
+    // Lowering the skyline may uncover free space which lies directly
+    // below it now
+    boolean lowered = true;
+    while (lowered) {
+      lowered = false;
+      for (Iterator iter = freeList.iterator(); iter.hasNext(); ) {
+        Rect cur = (Rect) iter.next();
+        if (lower(cur)) {
+          iter.remove();
+          lowered = true;
+          break;
+        }
+      }
+    }
+    return true;
+  }
+
+  // Gives the space of the given rect back to the skyline or the free list
+  private void free(Rect space) {
+    if (lower(space))
+      return;
+    // Merge with free space sharing a whole edge
+    boolean merged = true;
+    while (merged) {
+      merged = false;
+      for (Iterator iter = freeList.iterator(); iter.hasNext(); ) {
+        Rect cur = (Rect) iter.next();
+        if (cur.y() == space.y() && cur.h() == space.h() &&
+            (cur.x() + cur.w() == space.x() || space.x() + space.w() == cur.x())) {
+          space = new Rect(Math.min(cur.x(), space.x()), space.y(),
+                           cur.w() + space.w(), space.h(), null);
+        } else if (cur.x() == space.x() && cur.w() == space.w() &&
+                   (cur.y() + cur.h() == space.y() || space.y() + space.h() == cur.y())) {
+          space = new Rect(space.x(), Math.min(cur.y(), space.y()),
+                           space.w(), cur.h() + space.h(), null);
+        } else {
+          continue;
+        }
+        iter.remove();
+        merged = true;
+        break;
+      }
+    }
+    if (!lower(space)) {
+      freeList.add(space);
+    }
+  }
+
+  // Lowers the skyline by the given space if it lies directly below
+  // the skyline over its whole width
+  private boolean lower(Rect space) {
+    int bottom = space.y() + space.h();
+    for (int i = 0; i < skyline.size(); i++) {
+      Segment cur = (Segment) skyline.get(i);
+      if (cur.x + cur.w > space.x() && cur.x < space.x() + space.w() &&
+          cur.y != bottom) {
+        return false;
+      }
+    }
+    int first = split(space.x());
+    int last = split(space.x() + space.w());
+    for (int i = first; i < last; i++) {
+      ((Segment) skyline.get(i)).y = space.y();
+    }
+    merge();
+    return true;
+  }
+
+  /** Skyline packing does not compact in place; always returns false. */
+  public boolean compactAndAdd(Rect rect,
+                               Object backingStore,
+                               BackingStoreManager manager) {
+    return false;
+  }
+
+  public void replace(Rect oldRect, Rect newRect) {
+    int i = rects.indexOf(oldRect);
+    if (i < 0)
+      throw new IllegalArgumentException("Rect not contained: " + oldRect);
+    rects.set(i, newRect);
+  }
+
+  public int getUsedHeight() {
+    int usedHeight = 0;
+    for (int i = 0; i < skyline.size(); i++) {
+      usedHeight = Math.max(usedHeight, ((Segment) skyline.get(i)).y);
+    }
+    return usedHeight;
+  }
+
+  public void setHeight(int height) throws IllegalArgumentException {
+    if (height < getUsedHeight()) {
+      throw new IllegalArgumentException("May not reduce height below currently used height");
+    }
+    h = height;
+  }
+
+  /** Returns the ratio of the unused area below the used height to
+      the area of the used height. */
+  public float verticalFragmentationRatio() {
+    int usedHeight = getUsedHeight();
+    if (usedHeight == 0)
+      return 0.0f;
+    return 1.0f - (float) usedArea / (float) (w * usedHeight);
+  }
+
+  public void visit(RectVisitor visitor) {
+    for (Iterator iter = rects.iterator(); iter.hasNext(); ) {
+      visitor.visit((Rect) iter.next());
+    }
+  }
+
+  public void updateRectangleReferences() {
+    for (int i = 0; i < rects.size(); i++) {
+      Rect cur = (Rect) rects.get(i);
+      Rect next = cur.getNextLocation();
+      next.setPosition(cur.x(), cur.y());
+      if (cur.w() != next.w() || cur.h() != next.h())
+        throw new RuntimeException("Unexpected disparity in rectangle sizes during updateRectangleReferences");
+      rects.set(i, next);
+    }
+  }
+
+  public void clear() {
+    rects.clear();
+    freeList.clear();
+    skyline.clear();
+    skyline.add(new Segment(0, 0, w));
+    usedArea = 0;
+  }
+}
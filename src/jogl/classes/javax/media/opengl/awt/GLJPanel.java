@@ -50,6 +50,7 @@ import java.nio.*;
 import java.security.*;
 import javax.swing.JPanel;
 import com.jogamp.opengl.util.FBObject;
+import com.jogamp.opengl.util.FrameTimeStatistics;
 import com.jogamp.opengl.impl.*;
 import com.jogamp.opengl.impl.awt.*;
 
@@ -136,6 +137,13 @@ public class GLJPanel extends JPanel implements AWTGLAutoDrawable {
   private int viewportX;
   private int viewportY;
 
+  // Number of buffers used to read back the frames of the pbuffer and
+  // software backends, see setReadbackBufferCount
+  private int readbackBufferCount = 1;
+  private boolean asynchronousReadback;
+  private final FrameTimeStatistics readbackStats = new FrameTimeStatistics();
+  private final FrameTimeStatistics readbackLatencyStats = new FrameTimeStatistics();
+
   static {
     NativeWindowFactory.initSingleton();
 
@@ -495,6 +503,58 @@ public class GLJPanel extends JPanel implements AWTGLAutoDrawable {
     return factory;
   }
 
+  /** Sets the number of buffers used to read back the rendered frames
+      when rendering via pbuffers or in software. With the default of
+      1, the frame is read back synchronously after each display(),
+      which stalls until the OpenGL pipeline has finished rendering.
+      With 2 or 3 buffers, the frames are read back asynchronously into
+      pixel buffer objects, and the frame rendered <code>count -
+      1</code> display() calls earlier is shown instead. Hence this is
+      suitable for continuously animated panels, while panels which
+      only render on demand should use a single buffer. If pixel
+      buffer objects are not available, the frames are read back
+      synchronously. Has no effect if the Java 2D / OpenGL pipeline is
+      in use.
+
+      @param count the number of buffers, 1 to 3
+      @throws GLException if the count is out of range
+  */
+  public void setReadbackBufferCount(int count) {
+    if (count < 1 || count > 3) {
+      throw new GLException("Invalid readback buffer count: " + count);
+    }
+    readbackBufferCount = count;
+  }
+
+  /** Returns the number of buffers used to read back the rendered
+      frames, see {@link #setReadbackBufferCount}. */
+  public int getReadbackBufferCount() {
+    return readbackBufferCount;
+  }
+
+  /** Indicates whether the last frame was read back asynchronously
+      via pixel buffer objects. */
+  public boolean isAsynchronousReadback() {
+    return asynchronousReadback;
+  }
+
+  /** Returns the statistics of the time in milliseconds spent per
+      frame reading back and copying the pixels into the image drawn by
+      this component. */
+  public FrameTimeStatistics getReadbackStatistics() {
+    return readbackStats;
+  }
+
+  /** Returns the statistics of the latency in milliseconds from the
+      read back of a frame being issued until its pixels have been
+      copied into the image drawn by this component. With synchronous
+      read back this equals the {@link #getReadbackStatistics time
+      spent}, with asynchronous read back it includes the frames in
+      between. */
+  public FrameTimeStatistics getReadbackLatencyStatistics() {
+    return readbackLatencyStats;
+  }
+
   //----------------------------------------------------------------------
   // Internals only below this point
   //
@@ -585,6 +645,9 @@ public class GLJPanel extends JPanel implements AWTGLAutoDrawable {
 
     public void dispose(GLAutoDrawable drawable) {
       drawableHelper.dispose(GLJPanel.this);
+      if (backend instanceof AbstractReadbackBackend) {
+        ((AbstractReadbackBackend) backend).disposeReadbackBuffers();
+      }
     }
 
     public void display(GLAutoDrawable drawable) {
@@ -766,6 +829,17 @@ public class GLJPanel extends JPanel implements AWTGLAutoDrawable {
     private int glFormat;
     private int glType;
 
+    // Pixel buffer objects for asynchronous readback, used as a ring;
+    // the time each readback was issued, and whether it is pending
+    private int[]     readbackPBOs;
+    private long[]    readbackIssueTimes;
+    private boolean[] readbackPending;
+    private int       readbackPBOIndex;
+    private int       readbackPBOSize;
+    private GLContext readbackPBOContext;
+    private boolean   pboAvailable;
+    private GLContext pboAvailableContext;
+
     // For saving/restoring of OpenGL state during ReadPixels
     private int[] swapbytes    = new int[1];
     private int[] rowlength    = new int[1];
@@ -837,6 +911,7 @@ public class GLJPanel extends JPanel implements AWTGLAutoDrawable {
         }
 
         if (offscreenImage != null) {
+          long start = System.currentTimeMillis();
           GL2 gl = getGL().getGL2();
           // Save current modes
           gl.glGetIntegerv(GL2.GL_PACK_SWAP_BYTES,    swapbytes, 0);
@@ -851,9 +926,19 @@ public class GLJPanel extends JPanel implements AWTGLAutoDrawable {
           gl.glPixelStorei(GL2.GL_PACK_SKIP_PIXELS,   0);
           gl.glPixelStorei(GL2.GL_PACK_ALIGNMENT,     1);
 
+          asynchronousReadback = (readbackBufferCount > 1 && readBackInts != null &&
+                                  isPBOAvailable(gl));
+          if (asynchronousReadback) {
+            readPixelsAsync(gl, start);
+          } else if (readbackPBOs != null) {
+            disposeReadbackBuffers();
+          }
+
           // Actually read the pixels.
           gl.glReadBuffer(GL2.GL_FRONT);
-          if (readBackBytes != null) {
+          if (asynchronousReadback) {
+            // Done above
+          } else if (readBackBytes != null) {
             gl.glReadPixels(0, 0, readBackWidthInPixels, readBackHeightInPixels, glFormat, glType, readBackBytes);
           } else if (readBackInts != null) {
             gl.glReadPixels(0, 0, readBackWidthInPixels, readBackHeightInPixels, glFormat, glType, readBackInts);
@@ -866,7 +951,7 @@ public class GLJPanel extends JPanel implements AWTGLAutoDrawable {
           gl.glPixelStorei(GL2.GL_PACK_SKIP_PIXELS, skippixels[0]);
           gl.glPixelStorei(GL2.GL_PACK_ALIGNMENT,   alignment[0]);
 
-          if (readBackBytes != null || readBackInts != null) {
+          if (!asynchronousReadback && (readBackBytes != null || readBackInts != null)) {
             // Copy temporary data into raster of BufferedImage for faster
             // blitting Note that we could avoid this copy in the cases
             // where !offscreenContext.offscreenImageNeedsVerticalFlip(),
@@ -905,9 +990,100 @@ public class GLJPanel extends JPanel implements AWTGLAutoDrawable {
 
             // Note: image will be drawn back in paintComponent() for
             // correctness on all platforms
+            readbackLatencyStats.record(System.currentTimeMillis() - start, false);
           }
+          readbackStats.record(System.currentTimeMillis() - start, false);
+        }
+      }
+    }
+
+    private boolean isPBOAvailable(GL2 gl) {
+      if (pboAvailableContext != GLContext.getCurrent()) {
+        pboAvailable = (gl.isExtensionAvailable("GL_VERSION_2_1") ||
+                        gl.isExtensionAvailable("GL_ARB_pixel_buffer_object") ||
+                        gl.isExtensionAvailable("GL_EXT_pixel_buffer_object"));
+        pboAvailableContext = GLContext.getCurrent();
+      }
+      return pboAvailable;
+    }
+
+    // Issues the readback of the current frame into the next pixel
+    // buffer object and copies the oldest pending one into the image,
+    // which has had readbackBufferCount - 1 frames to complete
+    private void readPixelsAsync(GL2 gl, long now) {
+      int count = readbackBufferCount;
+      int size = readBackWidthInPixels * readBackHeightInPixels * 4;
+      GLContext context = GLContext.getCurrent();
+      if (readbackPBOs == null || readbackPBOs.length != count || readbackPBOContext != context) {
+        disposeReadbackBuffers();
+        readbackPBOs = new int[count];
+        gl.glGenBuffers(count, readbackPBOs, 0);
+        readbackIssueTimes = new long[count];
+        readbackPending = new boolean[count];
+        readbackPBOIndex = 0;
+        readbackPBOSize = 0;
+        readbackPBOContext = context;
+      }
+      if (readbackPBOSize != size) {
+        // Frames pending in the old size are dropped
+        for (int i = 0; i < count; i++) {
+          gl.glBindBuffer(GL2.GL_PIXEL_PACK_BUFFER, readbackPBOs[i]);
+          gl.glBufferData(GL2.GL_PIXEL_PACK_BUFFER, size, null, GL2.GL_STREAM_READ);
+          readbackPending[i] = false;
         }
+        readbackPBOSize = size;
+      }
+
+      int cur = readbackPBOIndex;
+      gl.glBindBuffer(GL2.GL_PIXEL_PACK_BUFFER, readbackPBOs[cur]);
+      gl.glReadBuffer(GL2.GL_FRONT);
+      gl.glReadPixels(0, 0, readBackWidthInPixels, readBackHeightInPixels, glFormat, glType, 0L);
+      readbackIssueTimes[cur] = now;
+      readbackPending[cur] = true;
+
+      int next = (cur + 1) % count;
+      if (readbackPending[next]) {
+        gl.glBindBuffer(GL2.GL_PIXEL_PACK_BUFFER, readbackPBOs[next]);
+        ByteBuffer mapped = gl.glMapBuffer(GL2.GL_PIXEL_PACK_BUFFER, GL2.GL_READ_ONLY);
+        if (mapped != null) {
+          copyToImage(mapped.order(ByteOrder.nativeOrder()).asIntBuffer());
+          gl.glUnmapBuffer(GL2.GL_PIXEL_PACK_BUFFER);
+          readbackLatencyStats.record(System.currentTimeMillis() - readbackIssueTimes[next], false);
+        }
+        readbackPending[next] = false;
+      }
+      gl.glBindBuffer(GL2.GL_PIXEL_PACK_BUFFER, 0);
+      readbackPBOIndex = next;
+    }
+
+    // Copies the rows of the mapped pixel buffer object into the
+    // raster of the BufferedImage. This copy is needed in any case, so
+    // the vertical flip is done here at no additional cost instead of
+    // in a separate pass.
+    private void copyToImage(IntBuffer src) {
+      int[] dest = ((DataBufferInt) offscreenImage.getRaster().getDataBuffer()).getData();
+      int srcIncr = readBackWidthInPixels;
+      int destIncr = offscreenImage.getWidth();
+      int destEnd = destIncr * offscreenImage.getHeight();
+      boolean flip = flipVertically();
+      int srcPos = 0;
+      for (int destPos = 0; destPos < destEnd; srcPos += srcIncr, destPos += destIncr) {
+        src.position(srcPos);
+        src.get(dest, flip ? destEnd - destIncr - destPos : destPos, destIncr);
+      }
+    }
+
+    // Deletes the pixel buffer objects if their context is current,
+    // otherwise they are gone with their destroyed context
+    void disposeReadbackBuffers() {
+      if (readbackPBOs != null && readbackPBOContext != null &&
+          readbackPBOContext == GLContext.getCurrent()) {
+        GLContext.getCurrentGL().glDeleteBuffers(readbackPBOs.length, readbackPBOs, 0);
       }
+      readbackPBOs = null;
+      readbackIssueTimes = null;
+      readbackPending = null;
+      readbackPBOContext = null;
     }
 
     public void doPaintComponent(Graphics g) {
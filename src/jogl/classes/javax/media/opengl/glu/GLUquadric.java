@@ -30,4 +30,20 @@ public interface GLUquadric {
 
     // gl may be null, then the GL client states are not disabled
     public void resetImmModeSink(GL gl);
+
+    // sets the maximum number of meshes kept in the mesh cache,
+    // which replays each quadric from an indexed VBO after its first draw.
+    // This defaults to 0, which disables the cache.
+    // The cache is bypassed while the ImmModeSink renders deferred.
+    // gl is used to release evicted meshes, it may be null if none are cached
+    public void setMeshCacheSize(GL gl, int size);
+
+    public int getMeshCacheSize();
+
+    // returns the number of meshes currently cached
+    public int getCachedMeshCount();
+
+    // releases all cached meshes, keeping the cache size.
+    // gl may be null, then the buffers are not deleted
+    public void destroyMeshCache(GL gl);
 }
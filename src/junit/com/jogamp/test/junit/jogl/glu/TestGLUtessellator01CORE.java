@@ -0,0 +1,222 @@
+
+package com.jogamp.test.junit.jogl.glu;
+
+import javax.media.opengl.glu.GLU;
+import javax.media.opengl.glu.GLUtessellator;
+import javax.media.opengl.glu.GLUtessellatorCallbackAdapter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tessellates map like polygons, convex stars, contours with duplicate
+ * vertices and self intersecting multi contour ones, with a tessellator
+ * reused across polygons, which recycles its mesh, dictionary and priority
+ * queue structures, and with a new tessellator per polygon.
+ * <p>
+ * Both have to produce the same callbacks. The time and, where the JVM
+ * can measure it, the bytes allocated per polygon are printed. The reused
+ * tessellator has to allocate less and must not be slower than a new
+ * tessellator per polygon, which does not carry structures over.
+ */
+public class TestGLUtessellator01CORE {
+    static final int POLYGONS = 200;
+    static final int ROUNDS = 5;
+
+    static class Callback extends GLUtessellatorCallbackAdapter {
+        StringBuffer trace = new StringBuffer();
+        boolean record = true;
+        int vertices, errors;
+
+        public void begin(int type) {
+            if (record) {
+                trace.append('B').append(type);
+            }
+        }
+        public void end() {
+            if (record) {
+                trace.append('E');
+            }
+        }
+        public void vertex(Object data) {
+            vertices++;
+            if (record) {
+                trace.append(' ').append(((double[]) data)[0]).append(',').append(((double[]) data)[1]);
+            }
+        }
+        public void combine(double[] coords, Object[] data, float[] weight, Object[] outData) {
+            outData[0] = new double[] { coords[0], coords[1], coords[2] };
+        }
+        public void error(int errnum) {
+            errors++;
+            trace.append(" error ").append(errnum);
+        }
+    }
+
+    static double[][][] polygon(Random rnd, int kind) {
+        int contours = (kind == 2) ? 1 + rnd.nextInt(4) : 1;
+        double[][][] p = new double[contours][][];
+        for (int c = 0; c < contours; c++) {
+            int n = 3 + rnd.nextInt(60);
+            double cx = rnd.nextDouble() * 10, cy = rnd.nextDouble() * 10;
+            p[c] = new double[n][];
+            for (int i = 0; i < n; i++) {
+                double x, y;
+                switch (kind) {
+                    case 0: {
+                        double a = 2 * Math.PI * i / n, r = 1 + rnd.nextDouble() * 4;
+                        x = cx + r * Math.cos(a);
+                        y = cy + r * Math.sin(a);
+                        break;
+                    }
+                    case 1:
+                        x = rnd.nextInt(8);
+                        y = rnd.nextInt(8);
+                        break;
+                    default:
+                        x = rnd.nextDouble() * 10;
+                        y = rnd.nextDouble() * 10;
+                }
+                p[c][i] = new double[] { x, y, 0 };
+            }
+        }
+        return p;
+    }
+
+    static double[][][][] polygons(int kind) {
+        Random rnd = new Random(kind);
+        double[][][][] polys = new double[POLYGONS][][][];
+        for (int i = 0; i < polys.length; i++) {
+            polys[i] = polygon(rnd, kind);
+        }
+        return polys;
+    }
+
+    static GLUtessellator newTess(Callback cb) {
+        GLUtessellator tess = GLU.gluNewTess();
+        GLU.gluTessCallback(tess, GLU.GLU_TESS_BEGIN, cb);
+        GLU.gluTessCallback(tess, GLU.GLU_TESS_END, cb);
+        GLU.gluTessCallback(tess, GLU.GLU_TESS_VERTEX, cb);
+        GLU.gluTessCallback(tess, GLU.GLU_TESS_COMBINE, cb);
+        GLU.gluTessCallback(tess, GLU.GLU_TESS_ERROR, cb);
+        GLU.gluTessProperty(tess, GLU.GLU_TESS_WINDING_RULE, GLU.GLU_TESS_WINDING_NONZERO);
+        return tess;
+    }
+
+    static void tessellate(GLUtessellator tess, double[][][] p) {
+        GLU.gluTessBeginPolygon(tess, null);
+        for (int c = 0; c < p.length; c++) {
+            GLU.gluTessBeginContour(tess);
+            for (int i = 0; i < p[c].length; i++) {
+                GLU.gluTessVertex(tess, p[c][i], 0, p[c][i]);
+            }
+            GLU.gluTessEndContour(tess);
+        }
+        GLU.gluTessEndPolygon(tess);
+    }
+
+    // com.sun.management.ThreadMXBean.getThreadAllocatedBytes, if available
+    static long allocatedBytes() {
+        try {
+            Object bean = ManagementFactory.getThreadMXBean();
+            Method m = Class.forName("com.sun.management.ThreadMXBean").getMethod("getThreadAllocatedBytes", new Class[] { long.class });
+            return ((Long) m.invoke(bean, new Object[] { new Long(Thread.currentThread().getId()) })).longValue();
+        } catch (Throwable t) {
+            return -1;
+        }
+    }
+
+    void compare(String workload, int kind) {
+        double[][][][] polys = polygons(kind);
+        Callback reusedCB = new Callback();
+        GLUtessellator reused = newTess(reusedCB);
+        for (int i = 0; i < polys.length; i++) {
+            Callback freshCB = new Callback();
+            GLUtessellator fresh = newTess(freshCB);
+            tessellate(fresh, polys[i]);
+            GLU.gluDeleteTess(fresh);
+
+            reusedCB.trace.setLength(0);
+            tessellate(reused, polys[i]);
+            Assert.assertEquals(workload + " polygon " + i, freshCB.trace.toString(), reusedCB.trace.toString());
+        }
+        Assert.assertEquals(0, reusedCB.errors);
+        GLU.gluDeleteTess(reused);
+    }
+
+    void benchmark(String workload, int kind) {
+        double[][][][] polys = polygons(kind);
+        Callback cb = new Callback();
+        cb.record = false;
+        GLUtessellator reused = newTess(cb);
+        long freshBytes = 0, reusedBytes = 0;
+        long freshNanos = Long.MAX_VALUE, reusedNanos = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long b0 = allocatedBytes();
+            long t0 = System.nanoTime();
+            for (int i = 0; i < polys.length; i++) {
+                GLUtessellator fresh = newTess(cb);
+                tessellate(fresh, polys[i]);
+                GLU.gluDeleteTess(fresh);
+            }
+            long t1 = System.nanoTime();
+            long b1 = allocatedBytes();
+            for (int i = 0; i < polys.length; i++) {
+                tessellate(reused, polys[i]);
+            }
+            long t2 = System.nanoTime();
+            long b2 = allocatedBytes();
+            freshBytes = (b1 - b0) / polys.length;
+            reusedBytes = (b2 - b1) / polys.length;
+            freshNanos = Math.min(freshNanos, (t1 - t0) / polys.length);
+            reusedNanos = Math.min(reusedNanos, (t2 - t1) / polys.length);
+            System.out.println(workload + " round " + round +
+                               ": new tessellator " + ((t1 - t0) / polys.length) + " ns, " +
+                               (b0 < 0 ? "n/a" : String.valueOf(freshBytes)) + " bytes per polygon" +
+                               ", reused tessellator " + ((t2 - t1) / polys.length) + " ns, " +
+                               (b0 < 0 ? "n/a" : String.valueOf(reusedBytes)) + " bytes per polygon");
+        }
+        GLU.gluDeleteTess(reused);
+        if (allocatedBytes() >= 0) {
+            Assert.assertTrue("reused tessellator allocates " + reusedBytes + " bytes, new one " + freshBytes,
+                              reusedBytes < freshBytes);
+        }
+        // best rounds, with some slack for timer noise
+        Assert.assertTrue(workload + ": reused tessellator takes " + reusedNanos + " ns, new one " + freshNanos,
+                          reusedNanos <= freshNanos + freshNanos / 4);
+    }
+
+    @Test
+    public void test01SameCallbacks() {
+        compare("stars", 0);
+        compare("duplicates", 1);
+        compare("intersections", 2);
+    }
+
+    @Test
+    public void test02Allocation() {
+        benchmark("stars", 0);
+        benchmark("duplicates", 1);
+        benchmark("intersections", 2);
+    }
+
+    public static void main(String args[]) throws IOException {
+        String tstname = TestGLUtessellator01CORE.class.getName();
+        org.apache.tools.ant.taskdefs.optional.junit.JUnitTestRunner.main(new String[] {
+            tstname,
+            "filtertrace=true",
+            "haltOnError=false",
+            "haltOnFailure=false",
+            "showoutput=true",
+            "outputtoformatters=true",
+            "logfailedtests=true",
+            "logtestlistenerevents=true",
+            "formatter=org.apache.tools.ant.taskdefs.optional.junit.PlainJUnitResultFormatter",
+            "formatter=org.apache.tools.ant.taskdefs.optional.junit.XMLJUnitResultFormatter,TEST-"+tstname+".xml" } );
+    }
+}
@@ -0,0 +1,324 @@
+
+package com.jogamp.test.junit.jogl.glu;
+
+import com.jogamp.opengl.impl.glu.mipmap.HalveImage;
+import com.jogamp.opengl.impl.glu.mipmap.ScaleInternal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.ShortBuffer;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Checks the GLU mipmap halving and scaling kernels of {@link HalveImage}
+ * and {@link ScaleInternal} against straightforward reference implementations
+ * and against outputs recorded from the original per-element kernels,
+ * for tightly packed and padded rows and for images with one row or column.
+ * <p>
+ * The float halving has to average all four samples of each 2x2 box.
+ * The times of the bulk row path for RGBA8 and RGB8 images are printed
+ * and compared to the per-byte path taken for padded rows.
+ */
+public class TestMipmapKernels01CORE {
+    static final int TIMING_SIZE = 1024;
+    static final int ROUNDS = 5;
+
+    static final Random rnd = new Random(17);
+
+    // width, height, row padding in elements; like the SGI code they were ported from,
+    // the 2x2 kernels only handle rows without padding, mipmap levels are packed tightly
+    static final int[][] SIZES_2D = { { 8, 6, 0 }, { 2, 2, 0 }, { 16, 4, 0 }, { 6, 10, 0 } };
+    static final int[][] SIZES = { { 8, 6, 0 }, { 2, 2, 0 }, { 16, 4, 0 }, { 6, 10, 0 }, { 16, 1, 3 }, { 1, 16, 2 } };
+
+    static ByteBuffer randomBytes(int size) {
+        byte[] b = new byte[size];
+        rnd.nextBytes(b);
+        return ByteBuffer.wrap(b).order(ByteOrder.nativeOrder());
+    }
+
+    // Reference 2x2 box, or pair for one row or column, of the element at
+    // (x, y, k) of the output, with all sample indices computed from scratch
+    static int[] boxIndices(int width, int height, int x, int y, int k, int elementSize, int groupSize, int ysize) {
+        int s = 2 * y * ysize + 2 * x * groupSize + k * elementSize;
+        if (height == 1) {
+            return new int[] { s, s + groupSize };
+        } else if (width == 1) {
+            return new int[] { s, s + ysize };
+        }
+        return new int[] { s, s + groupSize, s + ysize, s + ysize + groupSize };
+    }
+
+    static int outWidth(int width) { return Math.max(1, width / 2); }
+    static int outHeight(int height) { return Math.max(1, height / 2); }
+
+    static byte[] referenceHalveUbyte(int components, int width, int height, ByteBuffer in, int ysize) {
+        int ow = outWidth(width), oh = outHeight(height);
+        byte[] out = new byte[ow * oh * components];
+        int d = 0;
+        for (int y = 0; y < oh; y++) {
+            for (int x = 0; x < ow; x++) {
+                for (int k = 0; k < components; k++) {
+                    int[] idx = boxIndices(width, height, x, y, k, 1, components, ysize);
+                    int sum = 0;
+                    for (int i = 0; i < idx.length; i++) {
+                        sum += in.get(idx[i]) & 0xFF;
+                    }
+                    // 2x2 boxes round, pairs truncate, like the SGI sample implementation
+                    out[d++] = (byte) (idx.length == 4 ? (sum + 2) / 4 : sum / 2);
+                }
+            }
+        }
+        return out;
+    }
+
+    static short[] referenceHalveUshort(int components, int width, int height, ByteBuffer in, int ysize, boolean swap) {
+        int ow = outWidth(width), oh = outHeight(height);
+        short[] out = new short[ow * oh * components];
+        int d = 0;
+        for (int y = 0; y < oh; y++) {
+            for (int x = 0; x < ow; x++) {
+                for (int k = 0; k < components; k++) {
+                    int[] idx = boxIndices(width, height, x, y, k, 2, 2 * components, ysize);
+                    int sum = 0;
+                    for (int i = 0; i < idx.length; i++) {
+                        short v = in.getShort(idx[i]);
+                        sum += (swap ? Short.reverseBytes(v) : v) & 0xFFFF;
+                    }
+                    out[d++] = (short) (idx.length == 4 ? (sum + 2) / 4 : sum / 2);
+                }
+            }
+        }
+        return out;
+    }
+
+    static float[] referenceHalveFloat(int components, int width, int height, ByteBuffer in, int ysize) {
+        int ow = outWidth(width), oh = outHeight(height);
+        float[] out = new float[ow * oh * components];
+        int d = 0;
+        for (int y = 0; y < oh; y++) {
+            for (int x = 0; x < ow; x++) {
+                for (int k = 0; k < components; k++) {
+                    int[] idx = boxIndices(width, height, x, y, k, 4, 4 * components, ysize);
+                    float sum = 0;
+                    for (int i = 0; i < idx.length; i++) {
+                        sum += in.getFloat(idx[i]);
+                    }
+                    out[d++] = sum / idx.length;
+                }
+            }
+        }
+        return out;
+    }
+
+    static byte[] toArray(ByteBuffer b) {
+        byte[] a = new byte[b.capacity()];
+        for (int i = 0; i < a.length; i++) {
+            a[i] = b.get(i);
+        }
+        return a;
+    }
+
+    @Test
+    public void test01HalveUbyte() {
+        for (int c = 1; c <= 4; c++) {
+            for (int[] size : SIZES) {
+                int width = size[0], height = size[1];
+                int ysize = width * c + size[2];
+                ByteBuffer in = randomBytes(ysize * height);
+                ByteBuffer out = ByteBuffer.allocate(outWidth(width) * outHeight(height) * c);
+                HalveImage.halveImage_ubyte(c, width, height, in, out, 1, ysize, c);
+                Assert.assertArrayEquals("ubyte " + width + "x" + height + "x" + c,
+                                         referenceHalveUbyte(c, width, height, in, ysize), toArray(out));
+            }
+        }
+    }
+
+    @Test
+    public void test02HalveUshort() {
+        for (int c = 1; c <= 4; c++) {
+            for (int[] size : SIZES_2D) {
+                int width = size[0], height = size[1];
+                int ysize = width * c * 2 + 2 * size[2];
+                for (int swap = 0; swap < 2; swap++) {
+                    ByteBuffer in = randomBytes(ysize * height);
+                    ShortBuffer out = ShortBuffer.allocate(outWidth(width) * outHeight(height) * c);
+                    HalveImage.halveImage_ushort(c, width, height, in, out, 2, ysize, 2 * c, swap == 1);
+                    short[] expected = referenceHalveUshort(c, width, height, in, ysize, swap == 1);
+                    for (int i = 0; i < expected.length; i++) {
+                        Assert.assertEquals("ushort " + width + "x" + height + "x" + c + " swap " + swap + " [" + i + "]",
+                                            expected[i], out.get(i));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void test03HalveFloat() {
+        for (int c = 1; c <= 4; c++) {
+            for (int[] size : SIZES) {
+                int width = size[0], height = size[1];
+                int ysize = width * c * 4 + 4 * size[2];
+                ByteBuffer in = ByteBuffer.allocate(ysize * height).order(ByteOrder.nativeOrder());
+                for (int i = 0; i + 4 <= in.capacity(); i += 4) {
+                    in.putFloat(i, rnd.nextFloat());
+                }
+                FloatBuffer out = FloatBuffer.allocate(outWidth(width) * outHeight(height) * c);
+                HalveImage.halveImage_float(c, width, height, in, out, 4, ysize, 4 * c, false);
+                float[] expected = referenceHalveFloat(c, width, height, in, ysize);
+                for (int i = 0; i < expected.length; i++) {
+                    Assert.assertEquals("float " + width + "x" + height + "x" + c + " [" + i + "]",
+                                        expected[i], out.get(i), 1e-6f);
+                }
+            }
+        }
+        // the fourth sample of each box counts
+        ByteBuffer in = ByteBuffer.allocate(16).order(ByteOrder.nativeOrder());
+        in.putFloat(0, 0f).putFloat(4, 0f).putFloat(8, 0f).putFloat(12, 1f);
+        FloatBuffer out = FloatBuffer.allocate(1);
+        HalveImage.halveImage_float(1, 2, 2, in, out, 4, 8, 4, false);
+        Assert.assertEquals(0.25f, out.get(0), 0f);
+    }
+
+    // inputs of the recorded scale outputs
+    static ByteBuffer patternUbyte(int width, int height, int c) {
+        ByteBuffer b = ByteBuffer.allocate(width * height * c);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                for (int k = 0; k < c; k++) {
+                    b.put((y * width + x) * c + k, (byte) ((x * 37 + y * 101 + k * 53) & 0xFF));
+                }
+            }
+        }
+        return b;
+    }
+
+    static ByteBuffer patternFloat(int width, int height, int c) {
+        ByteBuffer b = ByteBuffer.allocate(width * height * c * 4).order(ByteOrder.nativeOrder());
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                for (int k = 0; k < c; k++) {
+                    b.putFloat(((y * width + x) * c + k) * 4, ((x * 37 + y * 101 + k * 53) % 256) / 255f);
+                }
+            }
+        }
+        return b;
+    }
+
+    // recorded from the per-element kernels the bulk ones replaced
+    static final int[] SCALE_UBYTE_7x5_3x2_RGB = {
+        99, 130, 147, 140, 120, 144, 137, 131, 119, 137, 153, 141, 105, 128, 108, 116, 125, 142 };
+    static final int[] SCALE_UBYTE_5x3_4x2_RGB = {
+        41, 94, 147, 85, 138, 157, 129, 131, 150, 174, 141, 194, 175, 194, 111, 151, 102, 121, 93, 95, 114, 138, 105, 158 };
+    static final int[] SCALE_UBYTE_6x4_4x3_L = {
+        37, 86, 148, 155, 163, 127, 146, 110, 53, 23, 17, 29 };
+    static final int[] SCALE_FLOAT_7x5_3x2_RGB = {
+        0x3ec89cbb, 0x3f037c2c, 0x3f13fa61, 0x3f0d26c1, 0x3ef1dbea, 0x3f10c3f7, 0x3f09f058, 0x3f046726, 0x3eef0c4f,
+        0x3f0a0db6, 0x3f1a8beb, 0x3f0daaed, 0x3ed2f033, 0x3f014e1b, 0x3eda2a9f, 0x3ee9e292, 0x3efc2f63, 0x3f0e95e7 };
+    static final int[] SCALE_FLOAT_6x4_4x3_L = {
+        0x3e16ec43, 0x3eae83da, 0x3f152a81, 0x3f1bdbdc, 0x3f2479d0, 0x3f0055ab, 0x3f1368be, 0x3ede8934, 0x3e572c81,
+        0x3dbababd, 0x3d8b35e6, 0x3dee43a0 };
+
+    static void checkScaleUbyte(int wi, int hi, int wo, int ho, int c, int[] expected) {
+        ByteBuffer out = ByteBuffer.allocate(wo * ho * c);
+        ScaleInternal.scale_internal_ubyte(c, wi, hi, patternUbyte(wi, hi, c), wo, ho, out, 1, wi * c, c);
+        for (int i = 0; i < expected.length; i++) {
+            Assert.assertEquals("ubyte " + wi + "x" + hi + " to " + wo + "x" + ho + " [" + i + "]", expected[i], out.get(i) & 0xFF);
+        }
+    }
+
+    static void checkScaleFloat(int wi, int hi, int wo, int ho, int c, int[] expected) {
+        FloatBuffer out = FloatBuffer.allocate(wo * ho * c);
+        ScaleInternal.scale_internal_float(c, wi, hi, patternFloat(wi, hi, c), wo, ho, out, 4, wi * c * 4, c * 4, false);
+        for (int i = 0; i < expected.length; i++) {
+            Assert.assertEquals("float " + wi + "x" + hi + " to " + wo + "x" + ho + " [" + i + "]",
+                                Float.intBitsToFloat(expected[i]), out.get(i), 1e-6f);
+        }
+    }
+
+    @Test
+    public void test04ScaleRecorded() {
+        checkScaleUbyte(7, 5, 3, 2, 3, SCALE_UBYTE_7x5_3x2_RGB);
+        checkScaleUbyte(5, 3, 4, 2, 3, SCALE_UBYTE_5x3_4x2_RGB);
+        checkScaleUbyte(6, 4, 4, 3, 1, SCALE_UBYTE_6x4_4x3_L);
+        checkScaleFloat(7, 5, 3, 2, 3, SCALE_FLOAT_7x5_3x2_RGB);
+        checkScaleFloat(6, 4, 4, 3, 1, SCALE_FLOAT_6x4_4x3_L);
+    }
+
+    @Test
+    public void test05ScaleHalf() {
+        for (int c = 1; c <= 4; c++) {
+            int width = 10, height = 6;
+            ByteBuffer in = randomBytes(width * height * c);
+            ByteBuffer out = ByteBuffer.allocate((width / 2) * (height / 2) * c);
+            ScaleInternal.scale_internal_ubyte(c, width, height, in, width / 2, height / 2, out, 1, width * c, c);
+            Assert.assertArrayEquals("half x" + c, referenceHalveUbyte(c, width, height, in, width * c), toArray(out));
+        }
+    }
+
+    // best time of the halving of an image in ms
+    static double timeHalve(int components, ByteBuffer in, int ysize) {
+        ByteBuffer out = ByteBuffer.allocate((TIMING_SIZE / 2) * (TIMING_SIZE / 2) * components);
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            out.clear();
+            in.clear();
+            long t0 = System.nanoTime();
+            HalveImage.halveImage_ubyte(components, TIMING_SIZE, TIMING_SIZE, in, out, 1, ysize, components);
+            best = Math.min(best, System.nanoTime() - t0);
+        }
+        return best / 1e6;
+    }
+
+    void benchmark(String format, int components) {
+        // a copy of the same image with padded rows takes the per-byte path,
+        // only its time is of interest here
+        int ysize = TIMING_SIZE * components;
+        ByteBuffer tight = randomBytes(ysize * TIMING_SIZE);
+        ByteBuffer padded = ByteBuffer.allocate((ysize + 4) * TIMING_SIZE);
+        for (int y = 0; y < TIMING_SIZE; y++) {
+            for (int i = 0; i < ysize; i++) {
+                padded.put(y * (ysize + 4) + i, tight.get(y * ysize + i));
+            }
+        }
+        double bulk = timeHalve(components, tight, ysize);
+        double perByte = timeHalve(components, padded, ysize + 4);
+
+        ByteBuffer out = ByteBuffer.allocate(1500 * 1500 * components);
+        long t0 = System.nanoTime();
+        ScaleInternal.scale_internal_ubyte(components, TIMING_SIZE, TIMING_SIZE, tight, 1500, 1500, out, 1, ysize, components);
+        double scale = (System.nanoTime() - t0) / 1e6;
+
+        System.out.println(format + " " + TIMING_SIZE + "x" + TIMING_SIZE + ": halve " + bulk + " ms bulk rows, " +
+                           perByte + " ms per byte (padded rows), scale to 1500x1500 " + scale + " ms");
+        // best rounds, with some slack for timer noise
+        Assert.assertTrue(format + ": bulk rows take " + bulk + " ms, per byte " + perByte + " ms",
+                          bulk <= perByte + perByte / 4);
+    }
+
+    @Test
+    public void test06Timing() {
+        benchmark("RGBA8", 4);
+        benchmark("RGB8", 3);
+    }
+
+    public static void main(String args[]) throws IOException {
+        String tstname = TestMipmapKernels01CORE.class.getName();
+        org.apache.tools.ant.taskdefs.optional.junit.JUnitTestRunner.main(new String[] {
+            tstname,
+            "filtertrace=true",
+            "haltOnError=false",
+            "haltOnFailure=false",
+            "showoutput=true",
+            "outputtoformatters=true",
+            "logfailedtests=true",
+            "logtestlistenerevents=true",
+            "formatter=org.apache.tools.ant.taskdefs.optional.junit.PlainJUnitResultFormatter",
+            "formatter=org.apache.tools.ant.taskdefs.optional.junit.XMLJUnitResultFormatter,TEST-"+tstname+".xml" } );
+    }
+}
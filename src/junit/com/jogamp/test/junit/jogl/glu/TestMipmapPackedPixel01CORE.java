@@ -0,0 +1,251 @@
+
+package com.jogamp.test.junit.jogl.glu;
+
+import com.jogamp.opengl.impl.glu.mipmap.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Checks the halving of packed pixel images by {@link HalveImage#halveImagePackedPixel},
+ * which averages the bit fields as integers for the packed pixel types of the GLU mipmap code,
+ * against a reference decoding the fields as given by the GL specification.
+ * <p>
+ * For 8888, 5551 and 1555rev the expected output differs from the former per-pixel path
+ * through {@link Extract}, whose masks were wrong for these types. For the other types
+ * the former path, still taken for unknown {@link Extract} implementations, may only
+ * differ by rounding in the last bit of a field. The times of both paths are printed.
+ */
+public class TestMipmapPackedPixel01CORE {
+    static final int TIMING_SIZE = 1024;
+    static final int ROUNDS = 5;
+
+    static final Random rnd = new Random(19);
+
+    /** A packed pixel type: the Extract, the pixel size and the fields in component order. */
+    static class Format {
+        final String name;
+        final Extract extract;
+        final int size;
+        final int[] shift, bits;
+
+        Format(String name, Extract extract, int size, int[] shift, int[] bits) {
+            this.name = name;
+            this.extract = extract;
+            this.size = size;
+            this.shift = shift;
+            this.bits = bits;
+        }
+    }
+
+    static final Format F332 = new Format("332", new Extract332(), 1, new int[] { 5, 2, 0 }, new int[] { 3, 3, 2 });
+    static final Format F233REV = new Format("233rev", new Extract233rev(), 1, new int[] { 0, 3, 6 }, new int[] { 3, 3, 2 });
+    static final Format F565 = new Format("565", new Extract565(), 2, new int[] { 11, 5, 0 }, new int[] { 5, 6, 5 });
+    static final Format F565REV = new Format("565rev", new Extract565rev(), 2, new int[] { 0, 5, 11 }, new int[] { 5, 6, 5 });
+    static final Format F4444 = new Format("4444", new Extract4444(), 2, new int[] { 12, 8, 4, 0 }, new int[] { 4, 4, 4, 4 });
+    static final Format F4444REV = new Format("4444rev", new Extract4444rev(), 2, new int[] { 0, 4, 8, 12 }, new int[] { 4, 4, 4, 4 });
+    static final Format F5551 = new Format("5551", new Extract5551(), 2, new int[] { 11, 6, 1, 0 }, new int[] { 5, 5, 5, 1 });
+    static final Format F1555REV = new Format("1555rev", new Extract1555rev(), 2, new int[] { 0, 5, 10, 15 }, new int[] { 5, 5, 5, 1 });
+    static final Format F8888 = new Format("8888", new Extract8888(), 4, new int[] { 24, 16, 8, 0 }, new int[] { 8, 8, 8, 8 });
+    static final Format F8888REV = new Format("8888rev", new Extract8888rev(), 4, new int[] { 0, 8, 16, 24 }, new int[] { 8, 8, 8, 8 });
+    static final Format F1010102 = new Format("1010102", new Extract1010102(), 4, new int[] { 22, 12, 2, 0 }, new int[] { 10, 10, 10, 2 });
+    static final Format F2101010REV = new Format("2101010rev", new Extract2101010rev(), 4, new int[] { 0, 10, 20, 30 }, new int[] { 10, 10, 10, 2 });
+
+    static final Format[] FORMATS = { F332, F233REV, F565, F565REV, F4444, F4444REV, F5551, F1555REV,
+                                      F8888, F8888REV, F1010102, F2101010REV };
+
+    // width, height
+    static final int[][] SIZES_2D = { { 8, 6 }, { 2, 2 }, { 16, 4 } };
+    static final int[][] SIZES = { { 8, 6 }, { 2, 2 }, { 16, 4 }, { 16, 1 }, { 1, 16 } };
+
+    /** Hides the type of an Extract, so that the per-pixel float path is taken. */
+    static Extract opaque(final Extract e) {
+        return new Extract() {
+            public void extract(boolean isSwap, ByteBuffer packedPixel, float[] extractComponents) {
+                e.extract(isSwap, packedPixel, extractComponents);
+            }
+            public void shove(float[] shoveComponents, int index, ByteBuffer packedPixel) {
+                e.shove(shoveComponents, index, packedPixel);
+            }
+        };
+    }
+
+    static ByteBuffer randomImage(int pixels, int size) {
+        byte[] b = new byte[pixels * size];
+        rnd.nextBytes(b);
+        return ByteBuffer.wrap(b).order(ByteOrder.nativeOrder());
+    }
+
+    static int get(Format f, ByteBuffer buf, int index, boolean swap) {
+        switch (f.size) {
+            case 1:
+                return buf.get(index) & 0xFF;
+            case 2: {
+                short s = buf.getShort(index);
+                return (swap ? Short.reverseBytes(s) : s) & 0xFFFF;
+            }
+            default: {
+                int i = buf.getInt(index);
+                return swap ? Integer.reverseBytes(i) : i;
+            }
+        }
+    }
+
+    static int field(Format f, int pixel, int c) {
+        return (pixel >>> f.shift[c]) & ((1 << f.bits[c]) - 1);
+    }
+
+    /** Averages the fields of the 2x2 boxes, or of the pairs for one row or column, rounding halves up. */
+    static int[] referenceHalve(Format f, int width, int height, ByteBuffer in, boolean swap) {
+        int ow = Math.max(1, width / 2), oh = Math.max(1, height / 2);
+        int rowSize = width * f.size;
+        int[] out = new int[ow * oh];
+        for (int y = 0; y < oh; y++) {
+            for (int x = 0; x < ow; x++) {
+                int s = 2 * y * rowSize + 2 * x * f.size;
+                int[] p;
+                if (height == 1) {
+                    p = new int[] { get(f, in, s, swap), get(f, in, s + f.size, swap) };
+                } else if (width == 1) {
+                    p = new int[] { get(f, in, s, swap), get(f, in, s + rowSize, swap) };
+                } else {
+                    p = new int[] { get(f, in, s, swap), get(f, in, s + f.size, swap),
+                                    get(f, in, s + rowSize, swap), get(f, in, s + rowSize + f.size, swap) };
+                }
+                int pixel = 0;
+                for (int c = 0; c < f.shift.length; c++) {
+                    int sum = 0;
+                    for (int i = 0; i < p.length; i++) {
+                        sum += field(f, p[i], c);
+                    }
+                    pixel |= ((sum + p.length / 2) / p.length) << f.shift[c];
+                }
+                out[y * ow + x] = pixel;
+            }
+        }
+        return out;
+    }
+
+    static ByteBuffer halve(Format f, Extract extract, int width, int height, ByteBuffer in, boolean swap) {
+        int ow = Math.max(1, width / 2), oh = Math.max(1, height / 2);
+        ByteBuffer out = ByteBuffer.allocate(ow * oh * f.size).order(in.order());
+        HalveImage.halveImagePackedPixel(f.shift.length, extract, width, height, in, out,
+                                         f.size, width * f.size, swap);
+        return out;
+    }
+
+    @Test
+    public void test01HalveMatchesReference() {
+        for (int i = 0; i < FORMATS.length; i++) {
+            Format f = FORMATS[i];
+            for (int[] size : SIZES) {
+                for (int swap = 0; swap < 2; swap++) {
+                    ByteBuffer in = randomImage(size[0] * size[1], f.size);
+                    ByteBuffer out = halve(f, f.extract, size[0], size[1], in, swap == 1);
+                    int[] expected = referenceHalve(f, size[0], size[1], in, swap == 1);
+                    for (int p = 0; p < expected.length; p++) {
+                        Assert.assertEquals(f.name + " " + size[0] + "x" + size[1] + " swap " + swap + " pixel " + p,
+                                            Integer.toHexString(expected[p]),
+                                            Integer.toHexString(get(f, out, p * f.size, false)));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void test02ChangedFormats() {
+        // all bits set stay set, which the former masks of these types did not preserve
+        Format[] changed = { F5551, F1555REV, F8888, F8888REV };
+        for (int i = 0; i < changed.length; i++) {
+            Format f = changed[i];
+            ByteBuffer in = ByteBuffer.allocate(4 * f.size).order(ByteOrder.nativeOrder());
+            for (int p = 0; p < 4; p++) {
+                if (f.size == 2) {
+                    in.putShort(p * 2, (short) 0xFFFF);
+                } else {
+                    in.putInt(p * 4, 0xFFFFFFFF);
+                }
+            }
+            ByteBuffer out = halve(f, f.extract, 2, 2, in, false);
+            Assert.assertEquals(f.name, f.size == 2 ? 0xFFFF : 0xFFFFFFFF, get(f, out, 0, false));
+        }
+        // RGBA 8888 with the top bit set in red: 0x80, 0x40, 0x20, 0x10 averaged with 0xFF, 0x00, 0x01, 0x03
+        ByteBuffer in = ByteBuffer.allocate(16).order(ByteOrder.nativeOrder());
+        in.putInt(0, 0x80402010).putInt(4, 0x80402010).putInt(8, 0xFF000103).putInt(12, 0xFF000103);
+        ByteBuffer out = halve(F8888, F8888.extract, 2, 2, in, false);
+        Assert.assertEquals(Integer.toHexString(0xC020110A), Integer.toHexString(out.getInt(0)));
+    }
+
+    @Test
+    public void test03FormerPathWithinOneBit() {
+        // the types whose Extract masks were right; the former one column path asserts a wrong end index
+        Format[] unchanged = { F332, F233REV, F565, F565REV, F4444, F4444REV };
+        for (int i = 0; i < unchanged.length; i++) {
+            Format f = unchanged[i];
+            for (int[] size : SIZES_2D) {
+                ByteBuffer in = randomImage(size[0] * size[1], f.size);
+                ByteBuffer out = halve(f, f.extract, size[0], size[1], in, false);
+                ByteBuffer former = halve(f, opaque(f.extract), size[0], size[1], in, false);
+                for (int p = 0; p < out.capacity() / f.size; p++) {
+                    int a = get(f, out, p * f.size, false);
+                    int b = get(f, former, p * f.size, false);
+                    for (int c = 0; c < f.shift.length; c++) {
+                        Assert.assertTrue(f.name + " " + size[0] + "x" + size[1] + " pixel " + p + " field " + c +
+                                          ": " + field(f, a, c) + " vs " + field(f, b, c),
+                                          Math.abs(field(f, a, c) - field(f, b, c)) <= 1);
+                    }
+                }
+            }
+        }
+    }
+
+    // best time of halving an image in ms
+    static double timeHalve(Format f, Extract extract, ByteBuffer in) {
+        ByteBuffer out = ByteBuffer.allocate((TIMING_SIZE / 2) * (TIMING_SIZE / 2) * f.size).order(in.order());
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long t0 = System.nanoTime();
+            HalveImage.halveImagePackedPixel(f.shift.length, extract, TIMING_SIZE, TIMING_SIZE, in, out,
+                                             f.size, TIMING_SIZE * f.size, false);
+            best = Math.min(best, System.nanoTime() - t0);
+        }
+        return best / 1e6;
+    }
+
+    void benchmark(Format f) {
+        ByteBuffer in = randomImage(TIMING_SIZE * TIMING_SIZE, f.size);
+        double fields = timeHalve(f, f.extract, in);
+        double former = timeHalve(f, opaque(f.extract), in);
+        System.out.println(f.name + " " + TIMING_SIZE + "x" + TIMING_SIZE + ": halve " + fields +
+                           " ms integer fields, " + former + " ms per pixel Extract");
+        Assert.assertTrue(f.name + ": integer fields take " + fields + " ms, per pixel Extract " + former + " ms",
+                          fields <= former);
+    }
+
+    @Test
+    public void test04Timing() {
+        benchmark(F4444);
+        benchmark(F565);
+    }
+
+    public static void main(String args[]) throws IOException {
+        String tstname = TestMipmapPackedPixel01CORE.class.getName();
+        org.apache.tools.ant.taskdefs.optional.junit.JUnitTestRunner.main(new String[] {
+            tstname,
+            "filtertrace=true",
+            "haltOnError=false",
+            "haltOnFailure=false",
+            "showoutput=true",
+            "outputtoformatters=true",
+            "logfailedtests=true",
+            "logtestlistenerevents=true",
+            "formatter=org.apache.tools.ant.taskdefs.optional.junit.PlainJUnitResultFormatter",
+            "formatter=org.apache.tools.ant.taskdefs.optional.junit.XMLJUnitResultFormatter,TEST-"+tstname+".xml" } );
+    }
+}
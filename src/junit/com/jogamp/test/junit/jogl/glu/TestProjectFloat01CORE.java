@@ -0,0 +1,285 @@
+
+package com.jogamp.test.junit.jogl.glu;
+
+import com.jogamp.opengl.impl.ProjectFloat;
+
+import java.io.IOException;
+import java.nio.FloatBuffer;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * The batched float[] kernels of {@link ProjectFloat} have to match
+ * repeated single calls, at non zero offsets and leaving the array content
+ * outside of the results untouched. No GL context is required.
+ */
+public class TestProjectFloat01CORE {
+    static final int COUNT = 7;
+    static final float SENTINEL = 12345.0f;
+
+    final Random rnd = new Random(42);
+
+    float[] random(int offset, int len) {
+        float[] a = new float[offset + len + 5];
+        for (int i = 0; i < a.length; i++) {
+            a[i] = ( i < offset || i >= offset + len ) ? SENTINEL : rnd.nextFloat() * 2 - 1;
+        }
+        return a;
+    }
+
+    static float[] filled(int len) {
+        float[] a = new float[len];
+        for (int i = 0; i < len; i++) {
+            a[i] = SENTINEL;
+        }
+        return a;
+    }
+
+    static void assertSentinels(float[] a, int offset, int len) {
+        for (int i = 0; i < a.length; i++) {
+            if (i < offset || i >= offset + len) {
+                Assert.assertEquals("element " + i + " overwritten", SENTINEL, a[i], 0.0f);
+            }
+        }
+    }
+
+    /** column major r = a x b, via the FloatBuffer gluMultMatricesf, which computes b x a */
+    static void reference(float[] a, int a_offset, float[] b, int b_offset, float[] r, int r_offset) {
+        FloatBuffer fa = FloatBuffer.wrap(a, a_offset, 16).slice();
+        FloatBuffer fb = FloatBuffer.wrap(b, b_offset, 16).slice();
+        FloatBuffer fr = FloatBuffer.allocate(16);
+        ProjectFloat.gluMultMatricesf(fb, fa, fr);
+        fr.get(r, r_offset, 16);
+    }
+
+    @Test
+    public void test01MultMatrices() {
+        final int aOff = 3, bOff = 7, rOff = 5;
+        float[] a = random(aOff, 16 * COUNT);
+        float[] b = random(bOff, 16 * COUNT);
+        float[] r = filled(rOff + 16 * COUNT + 5);
+        float[] single = filled(r.length);
+        float[] ref = filled(r.length);
+
+        ProjectFloat.multMatricesf(a, aOff, b, bOff, r, rOff, COUNT);
+        for (int n = 0; n < COUNT; n++) {
+            ProjectFloat.multMatrixf(a, aOff + 16 * n, b, bOff + 16 * n, single, rOff + 16 * n);
+            reference(a, aOff + 16 * n, b, bOff + 16 * n, ref, rOff + 16 * n);
+        }
+        Assert.assertArrayEquals("batch vs single", single, r, 0.0f);
+        Assert.assertArrayEquals("single vs reference", ref, single, 1e-6f);
+        assertSentinels(r, rOff, 16 * COUNT);
+
+        // r aliasing a at the same offset
+        float[] aliased = (float[]) a.clone();
+        ProjectFloat.multMatricesf(aliased, aOff, b, bOff, aliased, aOff, COUNT);
+        for (int i = 0; i < 16 * COUNT; i++) {
+            Assert.assertEquals(r[rOff + i], aliased[aOff + i], 0.0f);
+        }
+        assertSentinels(aliased, aOff, 16 * COUNT);
+    }
+
+    @Test
+    public void test02MultMatrixCount() {
+        final int aOff = 9, bOff = 2, rOff = 11;
+        float[] a = random(aOff, 16);
+        float[] b = random(bOff, 16 * COUNT);
+        float[] r = filled(rOff + 16 * COUNT + 5);
+        float[] single = filled(r.length);
+
+        ProjectFloat.multMatrixf(a, aOff, b, bOff, r, rOff, COUNT);
+        for (int n = 0; n < COUNT; n++) {
+            ProjectFloat.multMatrixf(a, aOff, b, bOff + 16 * n, single, rOff + 16 * n);
+        }
+        Assert.assertArrayEquals(single, r, 0.0f);
+        assertSentinels(r, rOff, 16 * COUNT);
+
+        // r aliasing b at the same offset
+        float[] aliased = (float[]) b.clone();
+        ProjectFloat.multMatrixf(a, aOff, aliased, bOff, aliased, bOff, COUNT);
+        for (int i = 0; i < 16 * COUNT; i++) {
+            Assert.assertEquals(r[rOff + i], aliased[bOff + i], 0.0f);
+        }
+        assertSentinels(aliased, bOff, 16 * COUNT);
+
+        // zero count leaves r untouched
+        float[] none = filled(r.length);
+        ProjectFloat.multMatrixf(a, aOff, b, bOff, none, rOff, 0);
+        assertSentinels(none, -1, 0);
+    }
+
+    @Test
+    public void test03MultMatrixVec4() {
+        final int mOff = 6, inOff = 1, outOff = 13;
+        float[] m = random(mOff, 16);
+        float[] in = random(inOff, 4 * COUNT);
+        float[] out = filled(outOff + 4 * COUNT + 5);
+        float[] single = filled(out.length);
+
+        ProjectFloat.multMatrixVec4f(m, mOff, in, inOff, out, outOff, COUNT);
+        for (int n = 0; n < COUNT; n++) {
+            ProjectFloat.multMatrixVec4f(m, mOff, in, inOff + 4 * n, single, outOff + 4 * n, 1);
+            // column major m x v
+            for (int i = 0; i < 4; i++) {
+                float v = 0;
+                for (int k = 0; k < 4; k++) {
+                    v += m[mOff + k * 4 + i] * in[inOff + 4 * n + k];
+                }
+                Assert.assertEquals(v, out[outOff + 4 * n + i], 1e-6f);
+            }
+        }
+        Assert.assertArrayEquals(single, out, 0.0f);
+        assertSentinels(out, outOff, 4 * COUNT);
+
+        // out aliasing in at the same offset
+        float[] aliased = (float[]) in.clone();
+        ProjectFloat.multMatrixVec4f(m, mOff, aliased, inOff, aliased, inOff, COUNT);
+        for (int i = 0; i < 4 * COUNT; i++) {
+            Assert.assertEquals(out[outOff + i], aliased[inOff + i], 0.0f);
+        }
+        assertSentinels(aliased, inOff, 4 * COUNT);
+    }
+
+    /** rotation about a random axis and a translation into the view, column major */
+    float[] modelview(int offset) {
+        float[] m = filled(offset + 16);
+        double ax = rnd.nextDouble() - 0.5, ay = rnd.nextDouble() - 0.5, az = rnd.nextDouble() - 0.5;
+        double l = Math.sqrt(ax * ax + ay * ay + az * az);
+        ax /= l; ay /= l; az /= l;
+        double a = rnd.nextDouble() * 2 * Math.PI, c = Math.cos(a), s = Math.sin(a), t = 1 - c;
+        double[] r = {
+            t * ax * ax + c,      t * ax * ay + s * az, t * ax * az - s * ay, 0,
+            t * ax * ay - s * az, t * ay * ay + c,      t * ay * az + s * ax, 0,
+            t * ax * az + s * ay, t * ay * az - s * ax, t * az * az + c,      0,
+            rnd.nextDouble() - 0.5, rnd.nextDouble() - 0.5, -5 - rnd.nextDouble() * 5, 1 };
+        for (int i = 0; i < 16; i++) {
+            m[offset + i] = (float) r[i];
+        }
+        return m;
+    }
+
+    /** gluPerspective(60, 4/3, 1, 100), column major */
+    static float[] perspective(int offset) {
+        float[] m = filled(offset + 16);
+        float zNear = 1, zFar = 100, aspect = 4.0f / 3.0f;
+        float cot = (float) (1.0 / Math.tan(Math.toRadians(30)));
+        float[] p = {
+            cot / aspect, 0, 0, 0,
+            0, cot, 0, 0,
+            0, 0, -(zFar + zNear) / (zFar - zNear), -1,
+            0, 0, -2 * zNear * zFar / (zFar - zNear), 0 };
+        System.arraycopy(p, 0, m, offset, 16);
+        return m;
+    }
+
+    static float tolerance(float v) {
+        return 1e-4f * Math.max(1.0f, Math.abs(v));
+    }
+
+    @Test
+    public void test04Project() {
+        final int mvOff = 4, pOff = 1, vpOff = 3, objOff = 2, winOff = 5;
+        ProjectFloat pf = new ProjectFloat();
+        int[] viewport = { -1, -1, -1, 10, 20, 640, 480 };
+        for (int round = 0; round < 10; round++) {
+            float[] mv = modelview(mvOff);
+            float[] p = perspective(pOff);
+            float[] obj = random(objOff, 3 * COUNT);
+            float[] win = filled(winOff + 3 * COUNT + 5);
+            Assert.assertEquals(COUNT, pf.gluProject(obj, objOff, mv, mvOff, p, pOff, viewport, vpOff, win, winOff, COUNT));
+            assertSentinels(win, winOff, 3 * COUNT);
+
+            float[] single = new float[3];
+            for (int n = 0; n < COUNT; n++) {
+                Assert.assertTrue(pf.gluProject(obj[objOff + 3 * n], obj[objOff + 3 * n + 1], obj[objOff + 3 * n + 2],
+                                                mv, mvOff, p, pOff, viewport, vpOff, single, 0));
+                for (int i = 0; i < 3; i++) {
+                    Assert.assertEquals("point " + n + "[" + i + "]", single[i], win[winOff + 3 * n + i], tolerance(single[i]));
+                }
+            }
+
+            // and back again
+            float[] back = filled(objOff + 3 * COUNT + 5);
+            Assert.assertEquals(COUNT, pf.gluUnProject(win, winOff, mv, mvOff, p, pOff, viewport, vpOff, back, objOff, COUNT));
+            for (int i = 0; i < 3 * COUNT; i++) {
+                Assert.assertEquals(obj[objOff + i], back[objOff + i], 1e-2f);
+            }
+        }
+    }
+
+    @Test
+    public void test05ProjectInfinitePlane() {
+        ProjectFloat pf = new ProjectFloat();
+        float[] mv = new float[16];
+        ProjectFloat.gluMakeIdentityf(mv);
+        float[] p = perspective(0);
+        int[] viewport = { 0, 0, 640, 480 };
+        // the second point lies in the eye plane z = 0, hence w = 0
+        float[] obj = { 0.5f, 0.5f, -2, 1, 1, 0, -0.5f, 0.25f, -3 };
+        float[] win = new float[9];
+        Assert.assertEquals(2, pf.gluProject(obj, 0, mv, 0, p, 0, viewport, 0, win, 0, 3));
+        Assert.assertFalse(pf.gluProject(1, 1, 0, mv, 0, p, 0, viewport, 0, new float[3], 0));
+        for (int i = 3; i < 6; i++) {
+            Assert.assertTrue(Float.isNaN(win[i]));
+        }
+        float[] single = new float[3];
+        Assert.assertTrue(pf.gluProject(-0.5f, 0.25f, -3, mv, 0, p, 0, viewport, 0, single, 0));
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals(single[i], win[6 + i], tolerance(single[i]));
+        }
+    }
+
+    @Test
+    public void test06UnProject() {
+        final int mvOff = 7, pOff = 3, vpOff = 2, winOff = 1, objOff = 6;
+        ProjectFloat pf = new ProjectFloat();
+        int[] viewport = { -1, -1, 10, 20, 640, 480 };
+        for (int round = 0; round < 10; round++) {
+            float[] mv = modelview(mvOff);
+            float[] p = perspective(pOff);
+            float[] win = filled(winOff + 3 * COUNT + 5);
+            for (int n = 0; n < COUNT; n++) {
+                win[winOff + 3 * n + 0] = 10 + rnd.nextFloat() * 640;
+                win[winOff + 3 * n + 1] = 20 + rnd.nextFloat() * 480;
+                win[winOff + 3 * n + 2] = rnd.nextFloat();
+            }
+            float[] obj = filled(objOff + 3 * COUNT + 5);
+            Assert.assertEquals(COUNT, pf.gluUnProject(win, winOff, mv, mvOff, p, pOff, viewport, vpOff, obj, objOff, COUNT));
+            assertSentinels(obj, objOff, 3 * COUNT);
+
+            float[] single = new float[3];
+            for (int n = 0; n < COUNT; n++) {
+                Assert.assertTrue(pf.gluUnProject(win[winOff + 3 * n], win[winOff + 3 * n + 1], win[winOff + 3 * n + 2],
+                                                  mv, mvOff, p, pOff, viewport, vpOff, single, 0));
+                for (int i = 0; i < 3; i++) {
+                    Assert.assertEquals("point " + n + "[" + i + "]", single[i], obj[objOff + 3 * n + i], tolerance(single[i]));
+                }
+            }
+        }
+
+        // a singular matrix maps no point
+        float[] zero = new float[16];
+        float[] obj = filled(3 * COUNT);
+        Assert.assertEquals(-1, pf.gluUnProject(new float[3 * COUNT], 0, zero, 0, zero, 0, viewport, vpOff, obj, 0, COUNT));
+        Assert.assertFalse(pf.gluUnProject(0, 0, 0, zero, 0, zero, 0, viewport, vpOff, new float[3], 0));
+        assertSentinels(obj, -1, 0);
+    }
+
+
+    public static void main(String args[]) throws IOException {
+        String tstname = TestProjectFloat01CORE.class.getName();
+        org.apache.tools.ant.taskdefs.optional.junit.JUnitTestRunner.main(new String[] {
+            tstname,
+            "filtertrace=true",
+            "haltOnError=false",
+            "haltOnFailure=false",
+            "showoutput=true",
+            "outputtoformatters=true",
+            "logfailedtests=true",
+            "logtestlistenerevents=true",
+            "formatter=org.apache.tools.ant.taskdefs.optional.junit.PlainJUnitResultFormatter",
+            "formatter=org.apache.tools.ant.taskdefs.optional.junit.XMLJUnitResultFormatter,TEST-"+tstname+".xml" } );
+    }
+}
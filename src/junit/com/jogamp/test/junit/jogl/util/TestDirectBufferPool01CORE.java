@@ -0,0 +1,223 @@
+
+package com.jogamp.test.junit.jogl.util;
+
+import javax.media.opengl.GL;
+
+import com.jogamp.opengl.util.DirectBufferPool;
+import com.jogamp.opengl.util.GLArrayDataClient;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Size classes, reuse and the retained bytes bound of {@link DirectBufferPool},
+ * and the growth of a {@link GLArrayDataClient} with and without a pool.
+ * No GL context is required, the array is neither enabled nor sealed to GL.
+ */
+public class TestDirectBufferPool01CORE {
+
+    /** A float vertex attribute array without GL array handler */
+    static class FloatArray extends GLArrayDataClient {
+        FloatArray(int comps, int initialSize, float growthFactor, DirectBufferPool pool) {
+            setGrowthFactor(growthFactor);
+            setBufferPool(pool);
+            init("test", -1, comps, GL.GL_FLOAT, false, 0, null, initialSize, true, null, 0, 0);
+        }
+
+        void grow(int additional) {
+            growBuffer(additional);
+        }
+    }
+
+    @Test
+    public void test01SizeClasses() {
+        Assert.assertEquals(DirectBufferPool.MIN_SIZE_CLASS, DirectBufferPool.getSizeClass(0));
+        Assert.assertEquals(64, DirectBufferPool.getSizeClass(1));
+        Assert.assertEquals(64, DirectBufferPool.getSizeClass(64));
+        Assert.assertEquals(128, DirectBufferPool.getSizeClass(65));
+        Assert.assertEquals(1024, DirectBufferPool.getSizeClass(1000));
+        Assert.assertEquals(1 << 20, DirectBufferPool.getSizeClass(1 << 20));
+        Assert.assertEquals(2 << 20, DirectBufferPool.getSizeClass((1 << 20) + 1));
+        // no power of two fits into an int, the size itself is used
+        Assert.assertEquals(Integer.MAX_VALUE, DirectBufferPool.getSizeClass(Integer.MAX_VALUE));
+
+        DirectBufferPool pool = new DirectBufferPool(DirectBufferPool.DEFAULT_MAX_POOLED_BYTES);
+        ByteBuffer buf = pool.get(100);
+        Assert.assertTrue(buf.isDirect());
+        Assert.assertEquals(ByteOrder.nativeOrder(), buf.order());
+        Assert.assertEquals(128, buf.capacity());
+        Assert.assertEquals(0, buf.position());
+        Assert.assertEquals(128, buf.limit());
+        Assert.assertEquals(128, pool.getBytesAllocated());
+    }
+
+    @Test
+    public void test02ReleaseGetReuse() {
+        DirectBufferPool pool = new DirectBufferPool(DirectBufferPool.DEFAULT_MAX_POOLED_BYTES);
+        ByteBuffer b0 = pool.get(100);
+        ByteBuffer b1 = pool.get(128);
+        Assert.assertTrue(b0 != b1);
+        b0.put((byte) 1).limit(10);
+        pool.release(b0);
+        pool.release(b1);
+        Assert.assertEquals(256, pool.getPooledBytes());
+
+        // same size class, served last in first out and cleared
+        Assert.assertSame(b1, pool.get(65));
+        ByteBuffer b2 = pool.get(120);
+        Assert.assertSame(b0, b2);
+        Assert.assertEquals(0, b2.position());
+        Assert.assertEquals(128, b2.limit());
+        Assert.assertEquals(0, pool.getPooledBytes());
+        Assert.assertEquals(256, pool.getBytesAllocated());
+        Assert.assertEquals(256, pool.getBytesReused());
+
+        // another size class is not served from the pooled buffers
+        pool.release(b2);
+        ByteBuffer b3 = pool.get(129);
+        Assert.assertTrue(b3 != b2);
+        Assert.assertEquals(256, b3.capacity());
+        Assert.assertEquals(512, pool.getBytesAllocated());
+
+        // buffers not of a size class are dropped, non direct ones ignored
+        pool.release(ByteBuffer.allocateDirect(100));
+        pool.release(ByteBuffer.allocate(128));
+        pool.release(null);
+        Assert.assertEquals(100, pool.getBytesDropped());
+        Assert.assertEquals(128, pool.getPooledBytes());
+    }
+
+    @Test
+    public void test03MaxPooledBytes() {
+        DirectBufferPool pool = new DirectBufferPool(256);
+        ByteBuffer b0 = pool.get(128);
+        ByteBuffer b1 = pool.get(128);
+        ByteBuffer b2 = pool.get(128);
+        ByteBuffer b3 = pool.get(512);
+        pool.release(b0);
+        pool.release(b1);
+        pool.release(b2);
+        pool.release(b3);
+        Assert.assertEquals(256, pool.getPooledBytes());
+        Assert.assertEquals(128 + 512, pool.getBytesDropped());
+
+        Assert.assertSame(b1, pool.get(128));
+        Assert.assertEquals(128, pool.getPooledBytes());
+        pool.clear();
+        Assert.assertEquals(0, pool.getPooledBytes());
+        Assert.assertTrue(b0 != pool.get(128));
+    }
+
+    static int expectedCapacity(int osize, int additional, int components, float growthFactor) {
+        int nsize = osize + additional * components;
+        if (growthFactor > 1.0f) {
+            nsize = Math.max(nsize, (int) (osize * growthFactor));
+        }
+        return nsize;
+    }
+
+    @Test
+    public void test04Growth() {
+        float[] factors = { 0.0f, 1.0f, 1.5f, 2.0f, 3.0f };
+        for (int f = 0; f < factors.length; f++) {
+            FloatArray array = new FloatArray(3, 4, factors[f], null);
+            Assert.assertEquals(12, array.getBuffer().capacity());
+            int[] additional = { 1, 4, 4, 100, 2, 4 };
+            for (int i = 0; i < additional.length; i++) {
+                int osize = array.getBuffer().capacity();
+                array.grow(additional[i]);
+                Assert.assertEquals("factor " + factors[f] + ", grow " + osize + " by " + additional[i],
+                                    expectedCapacity(osize, additional[i], 3, factors[f]),
+                                    array.getBuffer().capacity());
+            }
+        }
+    }
+
+    static int fill(FloatArray array, int n) {
+        int reallocations = 0;
+        for (int i = 0; i < n; i++) {
+            FloatBuffer buf = (FloatBuffer) array.getBuffer();
+            array.putf(i);
+            if (buf != array.getBuffer()) {
+                reallocations++;
+            }
+        }
+        array.seal(true);
+        FloatBuffer buf = (FloatBuffer) array.getBuffer();
+        Assert.assertEquals(n, buf.remaining());
+        for (int i = 0; i < n; i++) {
+            Assert.assertEquals(i, buf.get(i), 0.0f);
+        }
+        return reallocations;
+    }
+
+    @Test
+    public void test05FillGeometric() {
+        int n = 30000;
+        int linear = fill(new FloatArray(3, 4, 1.0f, null), n);
+        int geometric = fill(new FloatArray(3, 4, GLArrayDataClient.DEFAULT_GROWTH_FACTOR, null), n);
+        System.out.println("filling " + n + " floats: " + linear + " reallocations linear, " + geometric + " geometric");
+        Assert.assertEquals((n - 1) / 12, linear);
+        // 12 * 2^(g-1) < n <= 12 * 2^g
+        Assert.assertEquals(12, geometric);
+
+        // a bulk put larger than the initial size fits at once
+        FloatArray array = new FloatArray(3, 4, 1.0f, null);
+        FloatBuffer data = FloatBuffer.allocate(300);
+        for (int i = 0; i < 300; i++) {
+            data.put(i, i);
+        }
+        array.put(data);
+        array.seal(true);
+        Assert.assertEquals(300, array.getBuffer().remaining());
+    }
+
+    @Test
+    public void test06GrowthPooled() {
+        DirectBufferPool pool = new DirectBufferPool(DirectBufferPool.DEFAULT_MAX_POOLED_BYTES);
+        FloatArray array = new FloatArray(4, 16, 2.0f, pool);
+        // 64 floats, 256 bytes
+        Assert.assertEquals(64, array.getBuffer().capacity());
+        Assert.assertEquals(256, pool.getBytesAllocated());
+
+        // 80 floats requested, served by a 512 bytes size class, the old buffer is pooled
+        array.grow(4);
+        Assert.assertEquals(128, array.getBuffer().capacity());
+        Assert.assertEquals(256 + 512, pool.getBytesAllocated());
+        Assert.assertEquals(256, pool.getPooledBytes());
+        Assert.assertEquals(0, fill(array, 128));
+
+        // a second array reuses the pooled buffer, and gets the first one's on destroy
+        FloatArray array2 = new FloatArray(4, 16, 2.0f, pool);
+        Assert.assertEquals(256, pool.getBytesReused());
+        Assert.assertEquals(0, pool.getPooledBytes());
+        array.destroy(null);
+        Assert.assertNull(array.getBuffer());
+        Assert.assertEquals(512, pool.getPooledBytes());
+        array2.grow(16);
+        Assert.assertEquals(256 + 512, pool.getBytesReused());
+        Assert.assertEquals(256 + 512, pool.getBytesAllocated());
+        Assert.assertEquals(256, pool.getPooledBytes());
+    }
+
+
+    public static void main(String args[]) throws IOException {
+        String tstname = TestDirectBufferPool01CORE.class.getName();
+        org.apache.tools.ant.taskdefs.optional.junit.JUnitTestRunner.main(new String[] {
+            tstname,
+            "filtertrace=true",
+            "haltOnError=false",
+            "haltOnFailure=false",
+            "showoutput=true",
+            "outputtoformatters=true",
+            "logfailedtests=true",
+            "logtestlistenerevents=true",
+            "formatter=org.apache.tools.ant.taskdefs.optional.junit.PlainJUnitResultFormatter",
+            "formatter=org.apache.tools.ant.taskdefs.optional.junit.XMLJUnitResultFormatter,TEST-"+tstname+".xml" } );
+    }
+}
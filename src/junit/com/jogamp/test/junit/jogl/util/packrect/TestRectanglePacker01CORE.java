@@ -0,0 +1,207 @@
+
+package com.jogamp.test.junit.jogl.util.packrect;
+
+import com.jogamp.opengl.util.packrect.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Packing density and compaction cost of the packing strategies under a
+ * churning cache workload, adding and removing glyph or icon sized
+ * rectangles with an occasional incremental defragmentation, like
+ * the TextRenderer's backing store does.
+ * <p>
+ * The density is reported as the area of the live rectangles relative to
+ * the used height of the store, i.e. the part of the store a strategy
+ * actually occupies. The store size itself only changes by compactions,
+ * which grow it by a fixed factor, so it mostly is the same for all
+ * strategies.
+ */
+public class TestRectanglePacker01CORE {
+    static final int OPERATIONS = 5000;
+    static final int LIVE_RECTS = 300;
+
+    static class Manager implements BackingStoreManager {
+        int allocations, compactions, moves;
+        long movedPixels;
+        int w, h;
+
+        public Object allocateBackingStore(int w, int h) {
+            allocations++;
+            this.w = w;
+            this.h = h;
+            return new int[] { w, h };
+        }
+        public void deleteBackingStore(Object backingStore) { }
+        public boolean canCompact() { return true; }
+        public boolean preExpand(Rect cause, int attemptNumber) { return false; }
+        public boolean additionFailed(Rect cause, int attemptNumber) { return false; }
+        public void beginMovement(Object oldBackingStore, Object newBackingStore) {
+            if (oldBackingStore != newBackingStore) {
+                compactions++;
+            }
+        }
+        public void move(Object oldBackingStore, Rect oldLocation,
+                         Object newBackingStore, Rect newLocation) {
+            moves++;
+            movedPixels += oldLocation.w() * oldLocation.h();
+        }
+        public void endMovement(Object oldBackingStore, Object newBackingStore) { }
+    }
+
+    static class Stats implements RectVisitor {
+        long area;
+        int usedHeight;
+        ArrayList<Rect> rects = new ArrayList<Rect>();
+
+        public void visit(Rect rect) {
+            area += rect.w() * rect.h();
+            usedHeight = Math.max(usedHeight, rect.y() + rect.h());
+            rects.add(rect);
+        }
+    }
+
+    static Stats stats(RectanglePacker packer) {
+        Stats s = new Stats();
+        packer.visit(s);
+        return s;
+    }
+
+    static void validate(RectanglePacker packer, Manager manager) {
+        Stats s = stats(packer);
+        for (int i = 0; i < s.rects.size(); i++) {
+            Rect a = s.rects.get(i);
+            Assert.assertTrue("outside of store: " + a,
+                              a.x() >= 0 && a.y() >= 0 && a.x() + a.w() <= manager.w && a.y() + a.h() <= manager.h);
+            for (int j = i + 1; j < s.rects.size(); j++) {
+                Rect b = s.rects.get(j);
+                boolean disjoint = a.x() + a.w() <= b.x() || b.x() + b.w() <= a.x() ||
+                                   a.y() + a.h() <= b.y() || b.y() + b.h() <= a.y();
+                Assert.assertTrue("overlap: " + a + " " + b, disjoint);
+            }
+        }
+    }
+
+    void run(String workload, boolean glyphs, PackingStrategy strategy) {
+        Manager manager = new Manager();
+        RectanglePacker packer = new RectanglePacker(manager, strategy);
+        packer.getBackingStore();
+        Random rnd = new Random(1);
+        ArrayList<Rect> live = new ArrayList<Rect>();
+        int defragmentCalls = 0, defragmentMoves = 0;
+        long defragmentNanos = 0;
+
+        long t0 = System.nanoTime();
+        for (int op = 0; op < OPERATIONS; op++) {
+            if (live.size() < LIVE_RECTS || rnd.nextInt(2) == 0) {
+                Rect r = glyphs ? new Rect(0, 0, 6 + rnd.nextInt(15), 14 + rnd.nextInt(9), null)
+                                : new Rect(0, 0, 8 + rnd.nextInt(57), 8 + rnd.nextInt(57), null);
+                packer.add(r);
+                live.add(r);
+            } else {
+                packer.remove(live.remove(rnd.nextInt(live.size())));
+            }
+            if (op % 16 == 0 && packer.verticalFragmentationRatio() > 0.2f) {
+                int usedBefore = stats(packer).usedHeight;
+                long d0 = System.nanoTime();
+                defragmentMoves += packer.defragment(8);
+                defragmentCalls++;
+                defragmentNanos += System.nanoTime() - d0;
+                Assert.assertTrue("defragment increased the used height",
+                                  stats(packer).usedHeight <= usedBefore);
+            }
+        }
+        long nanos = System.nanoTime() - t0;
+        validate(packer, manager);
+
+        Stats s = stats(packer);
+        float density = (s.usedHeight == 0) ? 0 : (float) s.area / (float) (manager.w * s.usedHeight);
+        System.out.println(workload + " " + strategy.getClass().getName() +
+                           ": density " + (int) (100 * density) + "% of " + manager.w + "x" + s.usedHeight + " used" +
+                           " (store " + manager.w + "x" + manager.h + ")" +
+                           ", compactions " + manager.compactions +
+                           ", moves " + manager.moves + " / " + manager.movedPixels + " pixels" +
+                           ", defragment calls " + defragmentCalls + ", moves " + defragmentMoves + " in " + (defragmentNanos / 1000) + "us" +
+                           ", total " + (nanos / 1000000) + "ms");
+    }
+
+    @Test
+    public void test01Glyphs() {
+        run("glyphs", true, new LevelSet(256, 256));
+        run("glyphs", true, new SkylineSet(256, 256));
+        run("glyphs", true, new MaxRectsSet(256, 256));
+    }
+
+    @Test
+    public void test02Icons() {
+        run("icons", false, new LevelSet(512, 512));
+        run("icons", false, new SkylineSet(512, 512));
+        run("icons", false, new MaxRectsSet(512, 512));
+    }
+
+    @Test
+    public void test03LevelSetDefragmentKeepsUsedHeight() {
+        LevelSet levels = new LevelSet(100, 200);
+        RectanglePacker packer = new RectanglePacker(new Manager(), levels);
+        packer.add(new Rect(0, 0, 40, 20, null));   // level 0
+        packer.add(new Rect(0, 0, 60, 20, null));   // level 0, full
+        Rect wide = new Rect(0, 0, 100, 30, null);  // level 1
+        packer.add(wide);
+        packer.add(new Rect(0, 0, 50, 10, null));   // level 2, the last one
+        packer.remove(wide);
+        Assert.assertEquals(60, levels.getUsedHeight());
+        Assert.assertTrue(packer.verticalFragmentationRatio() > 0.2f);
+
+        // A trial placement of a level 0 rect could expand the last level,
+        // which is not undone when the candidate is rejected
+        packer.defragment(4);
+        Assert.assertTrue(levels.getUsedHeight() <= 60);
+    }
+
+    @Test
+    public void test04LevelSetDefragmentMovesUp() {
+        LevelSet levels = new LevelSet(100, 200);
+        Manager manager = new Manager();
+        RectanglePacker packer = new RectanglePacker(manager, levels);
+        packer.add(new Rect(0, 0, 100, 20, null));  // level 0, full
+        Rect wide = new Rect(0, 0, 100, 30, null);  // level 1
+        packer.add(wide);
+        Rect last = new Rect(0, 0, 50, 20, null);   // level 2, the last one
+        packer.add(last);
+        packer.remove(wide);
+        Assert.assertEquals(70, levels.getUsedHeight());
+        float ratio = packer.verticalFragmentationRatio();
+        Assert.assertTrue(ratio > 0.2f);
+
+        // The last rect fits into the emptied level 1, which frees the last level
+        Assert.assertEquals(1, packer.defragment(4));
+        Assert.assertEquals(20, last.y());
+        Assert.assertEquals(50, levels.getUsedHeight());
+        Assert.assertTrue(packer.verticalFragmentationRatio() < ratio);
+        validate(packer, manager);
+
+        // Nothing left to move, which is remembered until the next change
+        Assert.assertEquals(0, packer.defragment(4));
+        Assert.assertEquals(0, packer.defragment(4));
+    }
+
+    public static void main(String args[]) throws IOException {
+        String tstname = TestRectanglePacker01CORE.class.getName();
+        org.apache.tools.ant.taskdefs.optional.junit.JUnitTestRunner.main(new String[] {
+            tstname,
+            "filtertrace=true",
+            "haltOnError=false",
+            "haltOnFailure=false",
+            "showoutput=true",
+            "outputtoformatters=true",
+            "logfailedtests=true",
+            "logtestlistenerevents=true",
+            "formatter=org.apache.tools.ant.taskdefs.optional.junit.PlainJUnitResultFormatter",
+            "formatter=org.apache.tools.ant.taskdefs.optional.junit.XMLJUnitResultFormatter,TEST-"+tstname+".xml" } );
+    }
+}
@@ -0,0 +1,178 @@
+
+package com.jogamp.test.junit.newt;
+
+import com.jogamp.newt.event.*;
+import com.jogamp.nativewindow.util.Rectangle;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Coalescing of queued mouse motion, resize, move and repaint events
+ * by {@link NEWTEventCoalescer}, without any native window.
+ * Events are queued through {@link NEWTEventCoalescer#coalesce(boolean, NEWTEvent)}
+ * and dispatched in order, dropping the superseded ones like the NEWT Window does.
+ */
+public class TestNEWTEventCoalescer01CORE {
+    static final Object source = new Object();
+
+    NEWTEventCoalescer coalescer = new NEWTEventCoalescer();
+    List<NEWTEvent> queue = new ArrayList<NEWTEvent>();
+
+    void enqueue(NEWTEvent e) {
+        queue.add(coalescer.coalesce(false, e));
+    }
+
+    List<NEWTEvent> dispatch() {
+        List<NEWTEvent> delivered = new ArrayList<NEWTEvent>();
+        for (NEWTEvent e : queue) {
+            if (!coalescer.isSuperseded(e)) {
+                delivered.add(e);
+            }
+        }
+        queue.clear();
+        return delivered;
+    }
+
+    static MouseEvent mouse(int type, int mods, int x, int y) {
+        return new MouseEvent(type, source, 0, mods, x, y, 0, 0, 0);
+    }
+
+    static WindowUpdateEvent repaint(int x, int y, int w, int h) {
+        return new WindowUpdateEvent(WindowEvent.EVENT_WINDOW_REPAINT, source, 0, new Rectangle(x, y, w, h));
+    }
+
+    @Test
+    public void test01MotionKeepsLatest() {
+        for (int i = 0; i < 10; i++) {
+            enqueue(mouse(MouseEvent.EVENT_MOUSE_MOVED, 0, i, i));
+        }
+        List<NEWTEvent> delivered = dispatch();
+        Assert.assertEquals(1, delivered.size());
+        Assert.assertEquals(9, ((MouseEvent) delivered.get(0)).getX());
+        Assert.assertEquals(9, coalescer.getCoalescedCount());
+
+        // a new batch starts over, the dispatched motion is no longer pending
+        enqueue(mouse(MouseEvent.EVENT_MOUSE_MOVED, 0, 20, 20));
+        Assert.assertEquals(1, dispatch().size());
+        Assert.assertEquals(9, coalescer.getCoalescedCount());
+    }
+
+    @Test
+    public void test02MotionKeepsOrder() {
+        MouseEvent m0 = mouse(MouseEvent.EVENT_MOUSE_MOVED, 0, 0, 0);
+        MouseEvent press = mouse(MouseEvent.EVENT_MOUSE_PRESSED, InputEvent.BUTTON1_MASK, 0, 0);
+        MouseEvent d0 = mouse(MouseEvent.EVENT_MOUSE_DRAGGED, InputEvent.BUTTON1_MASK, 1, 1);
+        MouseEvent d1 = mouse(MouseEvent.EVENT_MOUSE_DRAGGED, InputEvent.BUTTON1_MASK, 2, 2);
+        MouseEvent d2 = mouse(MouseEvent.EVENT_MOUSE_DRAGGED, InputEvent.BUTTON1_MASK | InputEvent.SHIFT_MASK, 3, 3);
+        MouseEvent m1 = mouse(MouseEvent.EVENT_MOUSE_MOVED, 0, 4, 4);
+        enqueue(m0);
+        enqueue(press);
+        enqueue(d0);
+        enqueue(d1);
+        enqueue(d2);
+        enqueue(m1);
+        List<NEWTEvent> delivered = dispatch();
+        // motion before other input, or with other modifiers or type, is never dropped
+        Assert.assertEquals(5, delivered.size());
+        Assert.assertSame(m0, delivered.get(0));
+        Assert.assertSame(press, delivered.get(1));
+        Assert.assertSame(d1, delivered.get(2));
+        Assert.assertSame(d2, delivered.get(3));
+        Assert.assertSame(m1, delivered.get(4));
+        Assert.assertEquals(1, coalescer.getCoalescedCount());
+    }
+
+    @Test
+    public void test03WaitedForIsKept() {
+        MouseEvent m0 = mouse(MouseEvent.EVENT_MOUSE_MOVED, 0, 0, 0);
+        MouseEvent m1 = mouse(MouseEvent.EVENT_MOUSE_MOVED, 0, 1, 1);
+        MouseEvent m2 = mouse(MouseEvent.EVENT_MOUSE_MOVED, 0, 2, 2);
+        enqueue(m0);
+        queue.add(coalescer.coalesce(true, m1));
+        enqueue(m2);
+        Assert.assertEquals(3, dispatch().size());
+        Assert.assertEquals(0, coalescer.getCoalescedCount());
+    }
+
+    @Test
+    public void test04ResizeAndMove() {
+        WindowEvent r0 = new WindowEvent(WindowEvent.EVENT_WINDOW_RESIZED, source, 0);
+        WindowEvent v0 = new WindowEvent(WindowEvent.EVENT_WINDOW_MOVED, source, 0);
+        WindowEvent r1 = new WindowEvent(WindowEvent.EVENT_WINDOW_RESIZED, source, 1);
+        WindowEvent f0 = new WindowEvent(WindowEvent.EVENT_WINDOW_GAINED_FOCUS, source, 1);
+        WindowEvent v1 = new WindowEvent(WindowEvent.EVENT_WINDOW_MOVED, source, 1);
+        WindowEvent r2 = new WindowEvent(WindowEvent.EVENT_WINDOW_RESIZED, source, 2);
+        enqueue(r0);
+        enqueue(v0);
+        enqueue(r1);
+        enqueue(f0);
+        enqueue(v1);
+        enqueue(r2);
+        List<NEWTEvent> delivered = dispatch();
+        Assert.assertEquals(3, delivered.size());
+        Assert.assertSame(f0, delivered.get(0));
+        Assert.assertSame(v1, delivered.get(1));
+        Assert.assertSame(r2, delivered.get(2));
+        Assert.assertEquals(3, coalescer.getCoalescedCount());
+    }
+
+    @Test
+    public void test05RepaintUnion() {
+        enqueue(repaint(10, 10, 10, 10));
+        enqueue(repaint(0, 15, 5, 30));
+        enqueue(repaint(40, 0, 10, 5));
+        List<NEWTEvent> delivered = dispatch();
+        Assert.assertEquals(1, delivered.size());
+        WindowUpdateEvent e = (WindowUpdateEvent) delivered.get(0);
+        Assert.assertEquals(WindowEvent.EVENT_WINDOW_REPAINT, e.getEventType());
+        Assert.assertSame(source, e.getSource());
+        Rectangle r = e.getBounds();
+        Assert.assertEquals(0, r.getX());
+        Assert.assertEquals(0, r.getY());
+        Assert.assertEquals(50, r.getWidth());
+        Assert.assertEquals(45, r.getHeight());
+        Assert.assertEquals(2, coalescer.getCoalescedCount());
+
+        // after dispatch the next repaint is not merged with the delivered region
+        enqueue(repaint(1, 2, 3, 4));
+        delivered = dispatch();
+        Assert.assertEquals(1, delivered.size());
+        r = ((WindowUpdateEvent) delivered.get(0)).getBounds();
+        Assert.assertEquals(1, r.getX());
+        Assert.assertEquals(2, r.getY());
+        Assert.assertEquals(3, r.getWidth());
+        Assert.assertEquals(4, r.getHeight());
+    }
+
+    @Test
+    public void test06Clear() {
+        enqueue(mouse(MouseEvent.EVENT_MOUSE_MOVED, 0, 0, 0));
+        enqueue(mouse(MouseEvent.EVENT_MOUSE_MOVED, 0, 1, 1));
+        coalescer.clear();
+        // nothing is dropped once the coalescing state has been cleared
+        Assert.assertEquals(2, dispatch().size());
+        Assert.assertEquals(1, coalescer.getCoalescedCount());
+        coalescer.resetCoalescedCount();
+        Assert.assertEquals(0, coalescer.getCoalescedCount());
+    }
+
+    public static void main(String args[]) throws IOException {
+        String tstname = TestNEWTEventCoalescer01CORE.class.getName();
+        org.apache.tools.ant.taskdefs.optional.junit.JUnitTestRunner.main(new String[] {
+            tstname,
+            "filtertrace=true",
+            "haltOnError=false",
+            "haltOnFailure=false",
+            "showoutput=true",
+            "outputtoformatters=true",
+            "logfailedtests=true",
+            "logtestlistenerevents=true",
+            "formatter=org.apache.tools.ant.taskdefs.optional.junit.PlainJUnitResultFormatter",
+            "formatter=org.apache.tools.ant.taskdefs.optional.junit.XMLJUnitResultFormatter,TEST-"+tstname+".xml" } );
+    }
+}
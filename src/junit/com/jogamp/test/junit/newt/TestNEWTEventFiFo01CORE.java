@@ -0,0 +1,269 @@
+
+package com.jogamp.test.junit.newt;
+
+import com.jogamp.newt.event.*;
+
+import java.io.IOException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Ring buffer wrap-around, bounded rejection, batch draining and timed waits
+ * of {@link NEWTEventFiFo}, without any native window.
+ * The events are numbered by their timestamp.
+ */
+public class TestNEWTEventFiFo01CORE {
+    static final Object source = new Object();
+
+    static NEWTEvent event(long id) {
+        return new WindowEvent(WindowEvent.EVENT_WINDOW_MOVED, source, id);
+    }
+
+    static void assertNext(NEWTEventFiFo fifo, long id) {
+        NEWTEvent e = fifo.get();
+        Assert.assertNotNull("event "+id+" missing", e);
+        Assert.assertEquals(id, e.getWhen());
+    }
+
+    /** Offers events until one is rejected, returns the number of accepted ones */
+    static int fill(NEWTEventFiFo fifo, long id) {
+        int n = 0;
+        while( fifo.offer(event(id + n)) ) {
+            n++;
+        }
+        return n;
+    }
+
+    @Test
+    public void test01WrapAround() {
+        NEWTEventFiFo fifo = new NEWTEventFiFo(4, true);
+        long put = 0, got = 0;
+        // 3 in, 2 out, until head and tail passed the ring end several times
+        for (int i = 0; i < 20; i++) {
+            if (fifo.size() <= 1) {
+                for (int j = 0; j < 3; j++) {
+                    Assert.assertTrue(fifo.offer(event(put++)));
+                }
+            }
+            assertNext(fifo, got++);
+            assertNext(fifo, got++);
+            while (fifo.size() > 1) {
+                assertNext(fifo, got++);
+            }
+        }
+        while (fifo.size() > 0) {
+            assertNext(fifo, got++);
+        }
+        Assert.assertEquals(put, got);
+        Assert.assertNull(fifo.get());
+
+        // growing an unbounded FIFO while wrapped keeps the order
+        fifo = new NEWTEventFiFo(4, false);
+        for (int j = 0; j < 3; j++) {
+            fifo.put(event(j));
+        }
+        assertNext(fifo, 0);
+        assertNext(fifo, 1);
+        for (int j = 3; j < 10; j++) {
+            fifo.put(event(j));
+        }
+        Assert.assertEquals(8, fifo.size());
+        for (int j = 2; j < 10; j++) {
+            assertNext(fifo, j);
+        }
+        Assert.assertEquals(0, fifo.size());
+    }
+
+    @Test
+    public void test02BoundedRejection() {
+        NEWTEventFiFo fifo = new NEWTEventFiFo(3, true); // rounded up to 4
+        Assert.assertTrue(fifo.isBounded());
+        Assert.assertEquals(4, fill(fifo, 0));
+        Assert.assertEquals(4, fifo.size());
+        Assert.assertEquals(1, fifo.getRejectedCount());
+        Assert.assertFalse(fifo.offer(event(99)));
+        Assert.assertEquals(2, fifo.getRejectedCount());
+
+        // a rejected event leaves the FIFO as is, a freed slot accepts again
+        assertNext(fifo, 0);
+        Assert.assertTrue(fifo.offer(event(4)));
+        Assert.assertFalse(fifo.offer(event(99)));
+
+        // put() always accepts, growing even a bounded FIFO
+        fifo.put(event(5));
+        Assert.assertEquals(5, fifo.size());
+        Assert.assertEquals(9, fifo.getPutCount());
+        for (int j = 1; j <= 5; j++) {
+            assertNext(fifo, j);
+        }
+
+        // offer() to an unbounded FIFO grows it
+        fifo = new NEWTEventFiFo(4, false);
+        for (int j = 0; j < 100; j++) {
+            Assert.assertTrue(fifo.offer(event(j)));
+        }
+        Assert.assertEquals(100, fifo.size());
+        Assert.assertEquals(0, fifo.getRejectedCount());
+    }
+
+    static class Consumer implements NEWTEventConsumer {
+        final NEWTEventFiFo fifo;
+        final int refuseAt;
+        int consumed = 0, offered = 0;
+        long next = 0;
+
+        /** Consumes events in order, refuses the <code>refuseAt</code>th one */
+        Consumer(NEWTEventFiFo fifo, int refuseAt) {
+            this.fifo = fifo;
+            this.refuseAt = refuseAt;
+        }
+
+        public boolean consumeEvent(NEWTEvent event) {
+            if (consumed == 0 && fifo != null) {
+                // producers keep on offering while the batch is drained
+                offered = fill(fifo, 100);
+            }
+            if (consumed == refuseAt) {
+                return false;
+            }
+            Assert.assertEquals(next++, event.getWhen());
+            consumed++;
+            return true;
+        }
+    }
+
+    @Test
+    public void test03DrainToPutsBackRefused() {
+        NEWTEventFiFo fifo = new NEWTEventFiFo(8, false);
+        for (int j = 0; j < 6; j++) {
+            fifo.put(event(j));
+        }
+        Consumer c = new Consumer(null, 3);
+        Assert.assertEquals(3, fifo.drainTo(c, 5));
+        // the refused and the remaining ones of the batch are back at the head, in order
+        Assert.assertEquals(3, fifo.size());
+        for (int j = 3; j < 6; j++) {
+            assertNext(fifo, j);
+        }
+
+        // all consumed, limited by max
+        for (int j = 0; j < 6; j++) {
+            fifo.put(event(j));
+        }
+        c = new Consumer(null, Integer.MAX_VALUE);
+        Assert.assertEquals(4, fifo.drainTo(c, 4));
+        Assert.assertEquals(2, fifo.drainTo(c, 4));
+        Assert.assertEquals(0, fifo.drainTo(c, 4));
+        Assert.assertEquals(6, c.consumed);
+    }
+
+    @Test
+    public void test04DrainToBoundedKeepsBatchSlots() {
+        NEWTEventFiFo fifo = new NEWTEventFiFo(8, true);
+        for (int j = 0; j < 6; j++) {
+            Assert.assertTrue(fifo.offer(event(j)));
+        }
+        // 5 drained, 1 left: offers must leave the 5 batch slots free
+        Consumer c = new Consumer(fifo, 2);
+        Assert.assertEquals(2, fifo.drainTo(c, 5));
+        Assert.assertEquals(2, c.offered);
+        // 3 put back, then the one left over and the 2 offered ones
+        Assert.assertEquals(6, fifo.size());
+        // the FIFO did not grow
+        Assert.assertEquals(2, fill(fifo, 200));
+        for (int j = 2; j < 6; j++) {
+            assertNext(fifo, j);
+        }
+        assertNext(fifo, 100);
+        assertNext(fifo, 101);
+        assertNext(fifo, 200);
+        assertNext(fifo, 201);
+        Assert.assertNull(fifo.get());
+    }
+
+    @Test
+    public void test05DrainToPutsBackOnException() {
+        NEWTEventFiFo fifo = new NEWTEventFiFo(4, true);
+        for (int j = 0; j < 4; j++) {
+            Assert.assertTrue(fifo.offer(event(j)));
+        }
+        NEWTEventConsumer failing = new NEWTEventConsumer() {
+            public boolean consumeEvent(NEWTEvent event) {
+                if (event.getWhen() == 1) {
+                    throw new RuntimeException("consumer failed");
+                }
+                return true;
+            }
+        };
+        try {
+            fifo.drainTo(failing, 4);
+            Assert.fail("exception not thrown");
+        } catch (RuntimeException re) {
+            Assert.assertEquals("consumer failed", re.getMessage());
+        }
+        Assert.assertEquals(3, fifo.size());
+        for (int j = 1; j < 4; j++) {
+            assertNext(fifo, j);
+        }
+    }
+
+    @Test
+    public void test06GetTimeout() throws InterruptedException {
+        final NEWTEventFiFo fifo = new NEWTEventFiFo();
+
+        // negative timeouts do not wait
+        long t0 = System.currentTimeMillis();
+        Assert.assertNull(fifo.get(-1));
+        Assert.assertNull(fifo.get(Long.MIN_VALUE));
+        Assert.assertTrue(System.currentTimeMillis() - t0 < 50);
+
+        // a queued event is returned right away, whatever the timeout
+        fifo.put(event(0));
+        fifo.put(event(1));
+        Assert.assertEquals(0, fifo.get(-1).getWhen());
+        Assert.assertEquals(1, fifo.get(1000).getWhen());
+
+        // a positive timeout expires
+        t0 = System.currentTimeMillis();
+        Assert.assertNull(fifo.get(100));
+        Assert.assertTrue(System.currentTimeMillis() - t0 >= 90);
+
+        // 0 waits until an event arrives, as does a long enough timeout
+        for (int i = 0; i < 2; i++) {
+            final long id = 10 + i;
+            Thread producer = new Thread() {
+                public void run() {
+                    try {
+                        Thread.sleep(100);
+                    } catch (InterruptedException ie) { }
+                    fifo.put(event(id));
+                }
+            };
+            t0 = System.currentTimeMillis();
+            producer.start();
+            NEWTEvent e = fifo.get(0 == i ? 0 : 10000);
+            Assert.assertNotNull(e);
+            Assert.assertEquals(id, e.getWhen());
+            Assert.assertTrue(System.currentTimeMillis() - t0 >= 90);
+            producer.join();
+        }
+        Assert.assertEquals(0, fifo.size());
+    }
+
+
+    public static void main(String args[]) throws IOException {
+        String tstname = TestNEWTEventFiFo01CORE.class.getName();
+        org.apache.tools.ant.taskdefs.optional.junit.JUnitTestRunner.main(new String[] {
+            tstname,
+            "filtertrace=true",
+            "haltOnError=false",
+            "haltOnFailure=false",
+            "showoutput=true",
+            "outputtoformatters=true",
+            "logfailedtests=true",
+            "logtestlistenerevents=true",
+            "formatter=org.apache.tools.ant.taskdefs.optional.junit.PlainJUnitResultFormatter",
+            "formatter=org.apache.tools.ant.taskdefs.optional.junit.XMLJUnitResultFormatter,TEST-"+tstname+".xml" } );
+    }
+}
@@ -0,0 +1,108 @@
+
+package com.jogamp.test.junit.newt;
+
+import com.jogamp.newt.event.*;
+
+import java.io.IOException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Recycling of mouse, key and window events by {@link NEWTEventPool},
+ * without any native window.
+ */
+public class TestNEWTEventPool01CORE {
+    static final Object source = new Object();
+
+    @Test
+    public void test01ReuseReleased() {
+        NEWTEventPool pool = new NEWTEventPool(source, NEWTEventPool.DEFAULT_MAX_SIZE);
+        MouseEvent m0 = pool.getMouseEvent(MouseEvent.EVENT_MOUSE_MOVED, 1, 0, 10, 20, 0, 0, 0);
+        Assert.assertTrue(m0.isSystemEvent());
+        Assert.assertTrue(source == m0.getSource());
+        m0.setAttachment("attached");
+        Assert.assertTrue(pool.release(m0));
+        Assert.assertNull(m0.getAttachment());
+
+        MouseEvent m1 = pool.getMouseEvent(MouseEvent.EVENT_MOUSE_PRESSED, 2, InputEvent.SHIFT_MASK, 30, 40, 1, 1, 0);
+        Assert.assertSame(m0, m1);
+        Assert.assertEquals(MouseEvent.EVENT_MOUSE_PRESSED, m1.getEventType());
+        Assert.assertEquals(2, m1.getWhen());
+        Assert.assertEquals(InputEvent.SHIFT_MASK, m1.getModifiers());
+        Assert.assertEquals(30, m1.getX());
+        Assert.assertEquals(40, m1.getY());
+        Assert.assertEquals(1, m1.getClickCount());
+        Assert.assertEquals(1, m1.getButton());
+
+        KeyEvent k0 = pool.getKeyEvent(KeyEvent.EVENT_KEY_PRESSED, 3, 0, 65, 'A');
+        Assert.assertTrue(pool.release(k0));
+        KeyEvent k1 = pool.getKeyEvent(KeyEvent.EVENT_KEY_RELEASED, 4, 0, 66, 'B');
+        Assert.assertSame(k0, k1);
+        Assert.assertEquals(KeyEvent.EVENT_KEY_RELEASED, k1.getEventType());
+        Assert.assertEquals(66, k1.getKeyCode());
+        Assert.assertEquals('B', k1.getKeyChar());
+
+        WindowEvent w0 = pool.getWindowEvent(WindowEvent.EVENT_WINDOW_RESIZED, 5);
+        Assert.assertTrue(pool.release(w0));
+        WindowEvent w1 = pool.getWindowEvent(WindowEvent.EVENT_WINDOW_MOVED, 6);
+        Assert.assertSame(w0, w1);
+        Assert.assertEquals(WindowEvent.EVENT_WINDOW_MOVED, w1.getEventType());
+        Assert.assertEquals(6, w1.getWhen());
+
+        Assert.assertEquals(3, pool.getCreatedCount());
+        Assert.assertEquals(3, pool.getReusedCount());
+    }
+
+    @Test
+    public void test02ReleaseRejected() {
+        NEWTEventPool pool = new NEWTEventPool(source, 2);
+        NEWTEventPool other = new NEWTEventPool(source, 2);
+        Assert.assertFalse(pool.release(null));
+        Assert.assertFalse(pool.release(new WindowEvent(WindowEvent.EVENT_WINDOW_MOVED, source, 0)));
+        Assert.assertFalse(pool.release(other.getWindowEvent(WindowEvent.EVENT_WINDOW_MOVED, 0)));
+
+        WindowEvent w0 = pool.getWindowEvent(WindowEvent.EVENT_WINDOW_MOVED, 0);
+        WindowEvent w1 = pool.getWindowEvent(WindowEvent.EVENT_WINDOW_MOVED, 0);
+        WindowEvent w2 = pool.getWindowEvent(WindowEvent.EVENT_WINDOW_MOVED, 0);
+        Assert.assertTrue(pool.release(w0));
+        Assert.assertFalse("released twice", pool.release(w0));
+        Assert.assertTrue(pool.release(w1));
+        Assert.assertFalse("beyond max size", pool.release(w2));
+
+        // the kept events are served last in first out, then new ones are created
+        Assert.assertSame(w1, pool.getWindowEvent(WindowEvent.EVENT_WINDOW_RESIZED, 1));
+        Assert.assertSame(w0, pool.getWindowEvent(WindowEvent.EVENT_WINDOW_RESIZED, 1));
+        WindowEvent w3 = pool.getWindowEvent(WindowEvent.EVENT_WINDOW_RESIZED, 1);
+        Assert.assertTrue(w3 != w0 && w3 != w1 && w3 != w2);
+        Assert.assertEquals(4, pool.getCreatedCount());
+        Assert.assertEquals(2, pool.getReusedCount());
+    }
+
+    @Test
+    public void test03SteadyState() {
+        NEWTEventPool pool = new NEWTEventPool(source, NEWTEventPool.DEFAULT_MAX_SIZE);
+        // a dispatch loop releasing each event after delivery only ever needs one instance
+        for (int i = 0; i < 1000; i++) {
+            MouseEvent e = pool.getMouseEvent(MouseEvent.EVENT_MOUSE_MOVED, i, 0, i, i, 0, 0, 0);
+            Assert.assertTrue(pool.release(e));
+        }
+        Assert.assertEquals(1, pool.getCreatedCount());
+        Assert.assertEquals(999, pool.getReusedCount());
+    }
+
+    public static void main(String args[]) throws IOException {
+        String tstname = TestNEWTEventPool01CORE.class.getName();
+        org.apache.tools.ant.taskdefs.optional.junit.JUnitTestRunner.main(new String[] {
+            tstname,
+            "filtertrace=true",
+            "haltOnError=false",
+            "haltOnFailure=false",
+            "showoutput=true",
+            "outputtoformatters=true",
+            "logfailedtests=true",
+            "logtestlistenerevents=true",
+            "formatter=org.apache.tools.ant.taskdefs.optional.junit.PlainJUnitResultFormatter",
+            "formatter=org.apache.tools.ant.taskdefs.optional.junit.XMLJUnitResultFormatter,TEST-"+tstname+".xml" } );
+    }
+}
@@ -4,16 +4,50 @@ import javax.media.nativewindow.*;
 
 //
 // Reentrance locking toolkit
-// 
+//
+/**
+ * Recursive lock used around surface and toolkit locking.
+ * <p>
+ * The owner re-entering or leaving a recursive lock does not enter the monitor,
+ * and the monitor is only notified if another thread is waiting.
+ * The call stack of the locking thread is only recorded if the
+ * <code>nativewindow.debug.ToolkitLock</code> property is set,
+ * otherwise {@link #getLockedStack()} only names the owner.
+ * <p>
+ * The number of acquisitions and contended acquisitions as well as
+ * the maximum hold and wait times are recorded, see {@link #getStatistics()}.
+ */
 public class RecursiveToolkitLock {
-    private Thread owner = null;
-    private int recursionCount = 0;
+    private static final boolean DEBUG = Debug.debug("ToolkitLock");
+
+    // only changed by the owning thread, so the owner may read both without locking
+    private volatile Thread owner = null;
+    private volatile int recursionCount = 0;
     private Exception lockedStack = null;
     private static final long timeout = 3000;  // maximum wait 3s
     private static final boolean TRACE_LOCK = false;
 
-    public Exception getLockedStack() {
-        return lockedStack;
+    // guarded by this
+    private int waiters = 0;
+    private long lockedTime = 0;
+    private long acquisitions = 0;
+    private long contendedAcquisitions = 0;
+    private long maxHoldTime = 0;
+    private long maxWaitTime = 0;
+
+    /**
+     * Returns the exception created at {@link #lock()}, or null if not locked.
+     * Without the debug property set it does not hold the locker's call stack.
+     */
+    public synchronized Exception getLockedStack() {
+        Thread o = owner;
+        if (null == o) {
+            return null;
+        }
+        if (null != lockedStack) {
+            return lockedStack;
+        }
+        return new Exception("Locked by "+o+", lock: "+this+" (set nativewindow.debug.ToolkitLock for the locker's stack)");
     }
 
     public Thread getOwner() {
@@ -24,30 +58,34 @@ public class RecursiveToolkitLock {
         return isOwner(Thread.currentThread());
     }
 
-    public synchronized boolean isOwner(Thread thread) {
+    public boolean isOwner(Thread thread) {
         return owner == thread ;
     }
 
-    public synchronized boolean isLocked() {
+    public boolean isLocked() {
         return null != owner;
     }
 
-    public synchronized int getRecursionCount() {
+    public int getRecursionCount() {
         return recursionCount;
     }
 
-    public synchronized void validateLocked() {
-        if ( !isLocked() ) {
+    public void validateLocked() {
+        Thread o = owner;
+        if ( null == o ) {
             throw new RuntimeException(Thread.currentThread()+": Not locked");
         }
-        if ( !isOwner() ) {
-            getLockedStack().printStackTrace();
-            throw new RuntimeException(Thread.currentThread()+": Not owner, owner is "+owner);
+        if ( o != Thread.currentThread() ) {
+            Exception e = getLockedStack();
+            if (null != e) {
+                e.printStackTrace();
+            }
+            throw new RuntimeException(Thread.currentThread()+": Not owner, owner is "+o);
         }
     }
 
     /** Recursive and blocking lockSurface() implementation */
-    public synchronized void lock() {
+    public void lock() {
         Thread cur = Thread.currentThread();
         if(TRACE_LOCK) {
             System.out.println("... LOCK 0 ["+this+"], recursions "+recursionCount+", "+cur);
@@ -60,33 +98,53 @@ public class RecursiveToolkitLock {
             return;
         }
 
-        long ts = System.currentTimeMillis();
-        while (owner != null && (System.currentTimeMillis()-ts) < timeout) {
-            try {
-                wait(timeout);
-            } catch (InterruptedException e) {
-                throw new RuntimeException(e);
+        synchronized (this) {
+            if (owner != null) {
+                long ts = System.currentTimeMillis();
+                long waited = 0;
+                ++contendedAcquisitions;
+                ++waiters;
+                try {
+                    while (owner != null && waited < timeout) {
+                        wait(timeout - waited);
+                        waited = System.currentTimeMillis() - ts;
+                    }
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                } finally {
+                    --waiters;
+                }
+                if (waited > maxWaitTime) {
+                    maxWaitTime = waited;
+                }
+                if(owner != null) {
+                    Exception e = getLockedStack();
+                    if (null != e) {
+                        e.printStackTrace();
+                    }
+                    throw new RuntimeException("Waited "+timeout+"ms for: "+owner+" - "+cur+", with recursionCount "+recursionCount+", lock: "+this);
+                }
+            }
+            if(TRACE_LOCK) {
+                System.out.println("+++ LOCK X ["+this+"], recursions "+recursionCount+", "+cur);
+            }
+            owner = cur;
+            ++acquisitions;
+            lockedTime = System.currentTimeMillis();
+            if (DEBUG) {
+                lockedStack = new Exception("Previously locked by "+owner+", lock: "+this);
             }
         }
-        if(owner != null) {
-            lockedStack.printStackTrace();
-            throw new RuntimeException("Waited "+timeout+"ms for: "+owner+" - "+cur+", with recursionCount "+recursionCount+", lock: "+this);
-        }
-        if(TRACE_LOCK) {
-            System.out.println("+++ LOCK X ["+this+"], recursions "+recursionCount+", "+cur);
-        }
-        owner = cur;
-        lockedStack = new Exception("Previously locked by "+owner+", lock: "+this);
     }
-    
+
 
     /** Recursive and unblocking unlockSurface() implementation */
-    public synchronized void unlock() {
+    public void unlock() {
         unlock(null);
     }
 
     /** Recursive and unblocking unlockSurface() implementation */
-    public synchronized void unlock(Runnable taskAfterUnlockBeforeNotify) {
+    public void unlock(Runnable taskAfterUnlockBeforeNotify) {
         validateLocked();
 
         if (recursionCount > 0) {
@@ -96,15 +154,56 @@ public class RecursiveToolkitLock {
             }
             return;
         }
-        owner = null;
-        lockedStack = null;
-        if(null!=taskAfterUnlockBeforeNotify) {
-            taskAfterUnlockBeforeNotify.run();
-        }
-        if(TRACE_LOCK) {
-            System.out.println("--- LOCK X ["+this+"], recursions "+recursionCount+", "+Thread.currentThread());
+        synchronized (this) {
+            long held = System.currentTimeMillis() - lockedTime;
+            if (held > maxHoldTime) {
+                maxHoldTime = held;
+            }
+            owner = null;
+            lockedStack = null;
+            if(null!=taskAfterUnlockBeforeNotify) {
+                taskAfterUnlockBeforeNotify.run();
+            }
+            if(TRACE_LOCK) {
+                System.out.println("--- LOCK X ["+this+"], recursions "+recursionCount+", "+Thread.currentThread());
+            }
+            if (waiters > 0) {
+                notifyAll();
+            }
         }
-        notifyAll();
     }
-}
 
+    /** Returns the number of non recursive acquisitions. */
+    public synchronized long getAcquisitionCount() {
+        return acquisitions;
+    }
+
+    /** Returns the number of acquisitions which had to wait for another owner. */
+    public synchronized long getContendedAcquisitionCount() {
+        return contendedAcquisitions;
+    }
+
+    /** Returns the longest time in milliseconds the lock has been held. */
+    public synchronized long getMaxHoldTime() {
+        return maxHoldTime;
+    }
+
+    /** Returns the longest time in milliseconds a thread waited for the lock. */
+    public synchronized long getMaxWaitTime() {
+        return maxWaitTime;
+    }
+
+    /** Resets the acquisition counts and the maximum hold and wait times. */
+    public synchronized void resetStatistics() {
+        acquisitions = 0;
+        contendedAcquisitions = 0;
+        maxHoldTime = 0;
+        maxWaitTime = 0;
+    }
+
+    /** Returns the acquisition counts and the maximum hold and wait times as a String. */
+    public synchronized String getStatistics() {
+        return "acquisitions "+acquisitions+", contended "+contendedAcquisitions+
+               ", max hold "+maxHoldTime+"ms, max wait "+maxWaitTime+"ms";
+    }
+}
@@ -43,6 +43,7 @@ import com.jogamp.nativewindow.util.Rectangle;
 import com.jogamp.nativewindow.impl.RecursiveToolkitLock;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Iterator;
 import java.lang.reflect.Method;
@@ -965,12 +966,16 @@ public abstract class Window implements NativeWindow, NEWTEventConsumer
     private void doEvent(boolean enqueue, boolean wait, com.jogamp.newt.event.NEWTEvent event) {
         boolean done = false;
 
+        countRawEvent();
         if(!enqueue) {
             done = consumeEvent(event);
             wait = done; // don't wait if event can't be consumed now
         }
 
         if(!done) {
+            if(eventCoalescing) {
+                event = eventCoalescer.coalesce(wait, event);
+            }
             enqueueEvent(wait, event);
         }
     }
@@ -982,6 +987,10 @@ public abstract class Window implements NativeWindow, NEWTEventConsumer
     }
 
     public boolean consumeEvent(NEWTEvent e) {
+        if(eventCoalescing && eventCoalescer.isSuperseded(e)) {
+            releaseEvent(e);
+            return true; // dropped, a later event of the same kind is queued
+        }
         switch(e.getEventType()) {
             case WindowEvent.EVENT_WINDOW_REPAINT:
                 if( windowIsLocked() ) {
@@ -1010,10 +1019,139 @@ public abstract class Window implements NativeWindow, NEWTEventConsumer
         } else if(e instanceof MouseEvent) {
             getInnerWindow().consumeMouseEvent((MouseEvent)e);
         }
+        countDeliveredEvent();
+        releaseEvent(e);
         return true;
     }
     protected boolean repaintQueued = false;
 
+    //
+    // Event Coalescing and Pooling Support
+    //
+
+    private volatile boolean eventCoalescing = false;
+    private NEWTEventPool eventPool = null;
+    private NEWTEventCoalescer eventCoalescer = new NEWTEventCoalescer();
+    // incremented by the native and the event dispatching threads, guarded by eventCountLock
+    private Object eventCountLock = new Object();
+    private long rawEventCount = 0, deliveredEventCount = 0;
+
+    /**
+     * Enables or disables coalescing of queued events, disabled by default.<br>
+     * If enabled, a queued mouse moved or dragged event with unchanged modifiers
+     * supersedes the previous one still pending, as long as no other input event was queued in between.
+     * A queued resize or move event supersedes the pending one,
+     * and a queued repaint event covers the union of its own and the pending repaint region.<br>
+     * Superseded events are dropped at dispatch, i.e. listeners only receive the latest position or size
+     * for each batch of dispatched events.
+     */
+    public void setEventCoalescing(boolean v) {
+        eventCoalescing = v;
+        if(!v) {
+            eventCoalescer.clear();
+        }
+    }
+
+    public boolean isEventCoalescing() {
+        return eventCoalescing;
+    }
+
+    /**
+     * Enables or disables recycling of mouse, key and window event instances, disabled by default.<br>
+     * If enabled, an event is handed back to the pool after it has been delivered,
+     * hence listeners must not keep a reference to an event beyond their callback.
+     */
+    public synchronized void setEventPooling(boolean v) {
+        if(v) {
+            if(null==eventPool) {
+                eventPool = new NEWTEventPool(this, NEWTEventPool.DEFAULT_MAX_SIZE);
+            }
+        } else {
+            eventPool = null;
+        }
+    }
+
+    public boolean isEventPooling() {
+        return null!=eventPool;
+    }
+
+    /** @return the event pool in use, or null if pooling is disabled */
+    public NEWTEventPool getEventPool() {
+        return eventPool;
+    }
+
+    /** @return the number of events issued for dispatch, i.e. sent or queued, before coalescing */
+    public long getRawEventCount() {
+        synchronized(eventCountLock) {
+            return rawEventCount;
+        }
+    }
+
+    /** @return the number of events delivered to the listeners */
+    public long getDeliveredEventCount() {
+        synchronized(eventCountLock) {
+            return deliveredEventCount;
+        }
+    }
+
+    /** @return the number of queued events superseded by a later one */
+    public long getCoalescedEventCount() {
+        return eventCoalescer.getCoalescedCount();
+    }
+
+    public void resetEventCounter() {
+        synchronized(eventCountLock) {
+            rawEventCount = 0;
+            deliveredEventCount = 0;
+            eventCoalescer.resetCoalescedCount();
+        }
+    }
+
+    private void countRawEvent() {
+        synchronized(eventCountLock) {
+            rawEventCount++;
+        }
+    }
+
+    private void countDeliveredEvent() {
+        synchronized(eventCountLock) {
+            deliveredEventCount++;
+        }
+    }
+
+    private void releaseEvent(NEWTEvent e) {
+        NEWTEventPool pool = eventPool;
+        if(null!=pool) {
+            pool.release(e);
+        }
+    }
+
+    private MouseEvent newMouseEvent(int eventType, long when,
+                                     int modifiers, int x, int y, int clickCount, int button,
+                                     int rotation) {
+        NEWTEventPool pool = eventPool;
+        if(null!=pool) {
+            return pool.getMouseEvent(eventType, when, modifiers, x, y, clickCount, button, rotation);
+        }
+        return new MouseEvent(eventType, this, when, modifiers, x, y, clickCount, button, rotation);
+    }
+
+    private KeyEvent newKeyEvent(int eventType, long when, int modifiers, int keyCode, char keyChar) {
+        NEWTEventPool pool = eventPool;
+        if(null!=pool) {
+            return pool.getKeyEvent(eventType, when, modifiers, keyCode, keyChar);
+        }
+        return new KeyEvent(eventType, this, when, modifiers, keyCode, keyChar);
+    }
+
+    private WindowEvent newWindowEvent(int eventType, long when) {
+        NEWTEventPool pool = eventPool;
+        if(null!=pool) {
+            return pool.getWindowEvent(eventType, when);
+        }
+        return new WindowEvent(eventType, this, when);
+    }
+
     //
     // SurfaceUpdatedListener Support
     //
@@ -1133,13 +1271,13 @@ public abstract class Window implements NativeWindow, NEWTEventConsumer
             }
             lastMousePressed=when;
             mouseButtonPressed=button;
-            e = new MouseEvent(eventType, this, when,
+            e = newMouseEvent(eventType, when,
                                modifiers, x, y, lastMouseClickCount, button, 0);
         } else if(MouseEvent.EVENT_MOUSE_RELEASED==eventType) {
-            e = new MouseEvent(eventType, this, when,
+            e = newMouseEvent(eventType, when,
                                modifiers, x, y, lastMouseClickCount, button, 0);
             if(when-lastMousePressed<ClickTimeout) {
-                eClicked = new MouseEvent(MouseEvent.EVENT_MOUSE_CLICKED, this, when,
+                eClicked = newMouseEvent(MouseEvent.EVENT_MOUSE_CLICKED, when,
                                           modifiers, x, y, lastMouseClickCount, button, 0);
             } else {
                 lastMouseClickCount=0;
@@ -1148,16 +1286,16 @@ public abstract class Window implements NativeWindow, NEWTEventConsumer
             mouseButtonPressed=0;
         } else if(MouseEvent.EVENT_MOUSE_MOVED==eventType) {
             if (mouseButtonPressed>0) {
-                e = new MouseEvent(MouseEvent.EVENT_MOUSE_DRAGGED, this, when,
+                e = newMouseEvent(MouseEvent.EVENT_MOUSE_DRAGGED, when,
                                    modifiers, x, y, 1, mouseButtonPressed, 0);
             } else {
-                e = new MouseEvent(eventType, this, when,
+                e = newMouseEvent(eventType, when,
                                    modifiers, x, y, 0, button, 0);
             }
         } else if(MouseEvent.EVENT_MOUSE_WHEEL_MOVED==eventType) {
-            e = new MouseEvent(eventType, this, when, modifiers, x, y, 0, button, rotation);
+            e = newMouseEvent(eventType, when, modifiers, x, y, 0, button, rotation);
         } else {
-            e = new MouseEvent(eventType, this, when, modifiers, x, y, 0, button, 0);
+            e = newMouseEvent(eventType, when, modifiers, x, y, 0, button, 0);
         }
         doEvent(enqueue, wait, e);
         if(null!=eClicked) {
@@ -1263,11 +1401,20 @@ public abstract class Window implements NativeWindow, NEWTEventConsumer
     //
 
     public void sendKeyEvent(int eventType, int modifiers, int keyCode, char keyChar) {
-        consumeKeyEvent(new KeyEvent(eventType, this, System.currentTimeMillis(), modifiers, keyCode, keyChar) );
+        KeyEvent e = newKeyEvent(eventType, System.currentTimeMillis(), modifiers, keyCode, keyChar);
+        countRawEvent();
+        consumeKeyEvent(e);
+        countDeliveredEvent();
+        releaseEvent(e);
     }
 
     public void enqueueKeyEvent(boolean wait, int eventType, int modifiers, int keyCode, char keyChar) {
-        enqueueEvent(wait, new KeyEvent(eventType, this, System.currentTimeMillis(), modifiers, keyCode, keyChar) );
+        KeyEvent e = newKeyEvent(eventType, System.currentTimeMillis(), modifiers, keyCode, keyChar);
+        countRawEvent();
+        if(eventCoalescing) {
+            eventCoalescer.coalesce(wait, e);
+        }
+        enqueueEvent(wait, e);
     }
 
     /** 
@@ -1349,11 +1496,20 @@ public abstract class Window implements NativeWindow, NEWTEventConsumer
     // WindowListener/Event Support
     //
     public void sendWindowEvent(int eventType) {
-        consumeWindowEvent( new WindowEvent(eventType, this, System.currentTimeMillis()) );
+        WindowEvent e = newWindowEvent(eventType, System.currentTimeMillis());
+        countRawEvent();
+        consumeWindowEvent(e);
+        countDeliveredEvent();
+        releaseEvent(e);
     }
 
     public void enqueueWindowEvent(boolean wait, int eventType) {
-        enqueueEvent( wait, new WindowEvent(eventType, this, System.currentTimeMillis()) );
+        WindowEvent e = newWindowEvent(eventType, System.currentTimeMillis());
+        countRawEvent();
+        if(eventCoalescing) {
+            eventCoalescer.coalesce(wait, e);
+        }
+        enqueueEvent(wait, e);
     }
 
     private ArrayList windowListeners = new ArrayList();
@@ -52,6 +52,18 @@ public abstract class InputEvent extends NEWTEvent
     this.modifiers=modifiers;
  }
 
+ InputEvent(int eventType, Object source, long when, int modifiers, boolean isSystemEvent) {
+    super(eventType, source, when, isSystemEvent);
+    this.consumed=false;
+    this.modifiers=modifiers;
+ }
+
+ final void reset(int eventType, long when, int modifiers) {
+    reset(eventType, when);
+    this.consumed=false;
+    this.modifiers=modifiers;
+ }
+
  public void consume() {
     consumed=true;
  }
@@ -43,6 +43,18 @@ public class KeyEvent extends InputEvent
      this.keyChar=keyChar;
  }
 
+ KeyEvent(int eventType, Object source, long when, int modifiers, int keyCode, char keyChar, boolean isSystemEvent) {
+     super(eventType, source, when, modifiers, isSystemEvent); 
+     this.keyCode=keyCode;
+     this.keyChar=keyChar;
+ }
+
+ final void reset(int eventType, long when, int modifiers, int keyCode, char keyChar) {
+     reset(eventType, when, modifiers);
+     this.keyCode=keyCode;
+     this.keyChar=keyChar;
+ }
+
  public char getKeyChar() {
     return keyChar;
  }
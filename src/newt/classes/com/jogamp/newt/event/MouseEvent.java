@@ -57,6 +57,30 @@ public class MouseEvent extends InputEvent
      this.wheelRotation = rotation;
  }
 
+ MouseEvent(int eventType, Object source, long when,
+            int modifiers, int x, int y, int clickCount, int button,
+            int rotation, boolean isSystemEvent)
+ {
+     super(eventType, source, when, modifiers, isSystemEvent); 
+     this.x=x;
+     this.y=y;
+     this.clickCount=clickCount;
+     this.button=button;
+     this.wheelRotation = rotation;
+ }
+
+ final void reset(int eventType, long when,
+                  int modifiers, int x, int y, int clickCount, int button,
+                  int rotation)
+ {
+     reset(eventType, when, modifiers);
+     this.x=x;
+     this.y=y;
+     this.clickCount=clickCount;
+     this.button=button;
+     this.wheelRotation = rotation;
+ }
+
  public int getButton() {
     return button;
  }
@@ -46,6 +46,7 @@ public class NEWTEvent extends java.util.EventObject {
     private int eventType;
     private long when;
     private Object attachment;
+    NEWTEventPool pool; // owning pool, if any
 
     static final boolean DEBUG = false;
 
@@ -105,6 +106,25 @@ public class NEWTEvent extends java.util.EventObject {
         this.attachment=null;
     }
 
+    /**
+     * Constructs an event with a known origin, skipping the stack trace evaluation,
+     * used for {@link NEWTEventPool pooled} events created on behalf of the system.
+     */
+    NEWTEvent(int eventType, Object source, long when, boolean isSystemEvent) {
+        super(source);
+        this.isSystemEvent = isSystemEvent;
+        this.eventType = eventType;
+        this.when = when;
+        this.attachment=null;
+    }
+
+    /** Re-initializes a recycled {@link NEWTEventPool pooled} event. */
+    final void reset(int eventType, long when) {
+        this.eventType = eventType;
+        this.when = when;
+        this.attachment=null;
+    }
+
     /** Indicates whether this event was produced by the system or
         generated by user code. */
     public final boolean isSystemEvent() {
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2010 Sven Gothel. All Rights Reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ * 
+ * - Redistribution of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ * 
+ * - Redistribution in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * Neither the name Sven Gothel or the names of
+ * contributors may be used to endorse or promote products derived from
+ * this software without specific prior written permission.
+ * 
+ * This software is provided "AS IS," without a warranty of any kind. ALL
+ * EXPRESS OR IMPLIED CONDITIONS, REPRESENTATIONS AND WARRANTIES,
+ * INCLUDING ANY IMPLIED WARRANTY OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE HEREBY EXCLUDED. SUN
+ * MICROSYSTEMS, INC. ("SUN") AND ITS LICENSORS SHALL NOT BE LIABLE FOR
+ * ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+ * DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES. IN NO EVENT WILL SUN OR
+ * ITS LICENSORS BE LIABLE FOR ANY LOST REVENUE, PROFIT OR DATA, OR FOR
+ * DIRECT, INDIRECT, SPECIAL, CONSEQUENTIAL, INCIDENTAL OR PUNITIVE
+ * DAMAGES, HOWEVER CAUSED AND REGARDLESS OF THE THEORY OF LIABILITY,
+ * ARISING OUT OF THE USE OF OR INABILITY TO USE THIS SOFTWARE, EVEN IF
+ * SVEN GOTHEL HAS BEEN ADVISED OF THE POSSIBILITY OF SUCH DAMAGES.
+ */
+package com.jogamp.newt.event;
+
+import java.util.HashSet;
+import com.jogamp.nativewindow.util.Rectangle;
+
+/**
+ * Coalescing state of the queued events of one event source,
+ * used by the opt-in event coalescing of {@link com.jogamp.newt.Window}.
+ * <p>
+ * Each event is passed to {@link #coalesce(boolean, NEWTEvent)} before it is queued,
+ * which marks the pending event it supersedes, if any.
+ * At dispatch {@link #isSuperseded(NEWTEvent)} tells whether the event shall be dropped.</p>
+ * <p>
+ * A mouse moved or dragged event with unchanged modifiers supersedes the pending one,
+ * as long as no other input event was queued in between.
+ * A resize or move event supersedes the pending one of the same type,
+ * and a repaint event is replaced by one covering the union of its own and the pending repaint region.</p>
+ */
+public class NEWTEventCoalescer
+{
+    private MouseEvent pendingMotion = null;
+    private WindowUpdateEvent pendingRepaint = null;
+    private WindowEvent pendingResize = null;
+    private WindowEvent pendingMove = null;
+    private final HashSet/*<NEWTEvent>*/ supersededEvents = new HashSet();
+    private long coalescedCount = 0;
+
+    /**
+     * @param wait true if the issuer waits for this very event, which is never superseded
+     * @return the event to be queued instead of the given one,
+     *         i.e. the union repaint event or the given event itself
+     */
+    public synchronized NEWTEvent coalesce(boolean wait, NEWTEvent e) {
+        if( wait ) {
+            if( e instanceof InputEvent ) {
+                pendingMotion = null;
+            }
+            return e;
+        }
+        NEWTEvent superseded = null;
+        switch(e.getEventType()) {
+            case MouseEvent.EVENT_MOUSE_MOVED:
+            case MouseEvent.EVENT_MOUSE_DRAGGED: {
+                MouseEvent me = (MouseEvent) e;
+                if( null != pendingMotion &&
+                    pendingMotion.getEventType() == me.getEventType() &&
+                    pendingMotion.getModifiers() == me.getModifiers() ) {
+                    superseded = pendingMotion;
+                }
+                pendingMotion = me;
+            } break;
+            case WindowEvent.EVENT_WINDOW_REPAINT:
+                if( e instanceof WindowUpdateEvent ) {
+                    WindowUpdateEvent ue = (WindowUpdateEvent) e;
+                    if( null != pendingRepaint ) {
+                        superseded = pendingRepaint;
+                        Rectangle r0 = pendingRepaint.getBounds();
+                        Rectangle r1 = ue.getBounds();
+                        int x0 = Math.min(r0.getX(), r1.getX());
+                        int y0 = Math.min(r0.getY(), r1.getY());
+                        int x1 = Math.max(r0.getX()+r0.getWidth(), r1.getX()+r1.getWidth());
+                        int y1 = Math.max(r0.getY()+r0.getHeight(), r1.getY()+r1.getHeight());
+                        ue = new WindowUpdateEvent(WindowEvent.EVENT_WINDOW_REPAINT, ue.getSource(), ue.getWhen(),
+                                                   new Rectangle(x0, y0, x1-x0, y1-y0));
+                        e = ue;
+                    }
+                    pendingRepaint = ue;
+                }
+                break;
+            case WindowEvent.EVENT_WINDOW_RESIZED:
+                superseded = pendingResize;
+                pendingResize = (WindowEvent) e;
+                break;
+            case WindowEvent.EVENT_WINDOW_MOVED:
+                superseded = pendingMove;
+                pendingMove = (WindowEvent) e;
+                break;
+            default:
+                if( e instanceof InputEvent ) {
+                    pendingMotion = null; // keep the motion order around other input
+                }
+                break;
+        }
+        if( null != superseded ) {
+            supersededEvents.add(superseded);
+            coalescedCount++;
+        }
+        return e;
+    }
+
+    /**
+     * To be called for each dispatched event.
+     * @return true if the event has been superseded by a later one and shall be dropped
+     */
+    public synchronized boolean isSuperseded(NEWTEvent e) {
+        if( supersededEvents.size() > 0 && supersededEvents.remove(e) ) {
+            return true;
+        }
+        if( e == pendingMotion ) {
+            pendingMotion = null;
+        } else if( e == pendingRepaint ) {
+            pendingRepaint = null;
+        } else if( e == pendingResize ) {
+            pendingResize = null;
+        } else if( e == pendingMove ) {
+            pendingMove = null;
+        }
+        return false;
+    }
+
+    /** Forgets all pending and superseded events. */
+    public synchronized void clear() {
+        pendingMotion = null;
+        pendingRepaint = null;
+        pendingResize = null;
+        pendingMove = null;
+        supersededEvents.clear();
+    }
+
+    /** @return number of events superseded by a later one */
+    public synchronized long getCoalescedCount() { return coalescedCount; }
+
+    public synchronized void resetCoalescedCount() { coalescedCount = 0; }
+
+    public synchronized String toString() {
+        return "NEWTEventCoalescer[coalesced "+coalescedCount+", superseded "+supersededEvents.size()+"]";
+    }
+}
@@ -31,36 +31,264 @@
  */
 package com.jogamp.newt.event;
 
-import com.jogamp.newt.*;
-import java.util.LinkedList;
-
+/**
+ * FIFO of {@link NEWTEvent}s, multiple producers and one consumer.
+ * <p>
+ * The events are kept in a power of two sized ring buffer,
+ * hence no per event allocation nor list node shifting takes place.
+ * The lock is held only for the few index operations,
+ * waiting consumers are only notified if there are any.</p>
+ * <p>
+ * {@link #put(NEWTEvent)} always accepts the event, growing the ring buffer if full.
+ * A bounded FIFO does not grow beyond its capacity with {@link #offer(NEWTEvent)},
+ * which rejects new events if full instead.</p>
+ * <p>
+ * If coalescing is enabled, a {@link MouseEvent#EVENT_MOUSE_MOVED} or {@link WindowEvent#EVENT_WINDOW_RESIZED}
+ * event replaces the tail event, if the latter is of the same type, source and modifiers,
+ * i.e. only the latest position or size is kept.</p>
+ */
 public class NEWTEventFiFo
 {
-    private LinkedList/*<NEWTEvent>*/ events = new LinkedList/*<NEWTEvent>*/();
+    public static final int DEFAULT_CAPACITY = 64;
+
+    private NEWTEvent[] ring;
+    private int mask;
+    private int head = 0;
+    private int size = 0;
+    private final boolean bounded;
+    private boolean coalesce = false;
+    private int waiters = 0;
+    private int draining = 0;
+    private NEWTEvent[] drainBuffer = null;
+    private long putCount = 0, coalescedCount = 0, rejectedCount = 0;
 
-    /** Add NEWTEvent to tail */
+    /** Creates an unbounded FIFO without coalescing */
+    public NEWTEventFiFo() {
+        this(DEFAULT_CAPACITY, false);
+    }
+
+    /**
+     * @param capacity the initial capacity, rounded up to the next power of two
+     * @param bounded if true, {@link #offer(NEWTEvent)} rejects events
+     *                if the FIFO is full, instead of growing it
+     */
+    public NEWTEventFiFo(int capacity, boolean bounded) {
+        int cap = 2;
+        while(cap < capacity) {
+            cap <<= 1;
+        }
+        this.ring = new NEWTEvent[cap];
+        this.mask = cap - 1;
+        this.bounded = bounded;
+    }
+
+    /** Enables or disables coalescing of consecutive motion and resize events. */
+    public synchronized void setCoalescing(boolean v) {
+        coalesce = v;
+    }
+
+    public synchronized boolean isCoalescing() {
+        return coalesce;
+    }
+
+    public final boolean isBounded() {
+        return bounded;
+    }
+
+    /** Add NEWTEvent to tail, growing the FIFO if full, even if it is bounded */
     public synchronized void put(NEWTEvent event) {
-        events.addLast(event);
-        notifyAll();
+        add(event, false);
+    }
+
+    /** 
+     * Add NEWTEvent to tail, unless the FIFO is bounded and full.
+     * An unbounded FIFO grows like with {@link #put(NEWTEvent)}.
+     *
+     * @return false if the FIFO is bounded and full, otherwise true
+     */
+    public synchronized boolean offer(NEWTEvent event) {
+        return add(event, bounded);
     }
 
     /** Remove NEWTEvent from head */
     public synchronized NEWTEvent get() {
-        if (0 == events.size()) {
+        if (0 == size) {
             return null;
         }
+        return removeFirst();
+    }
 
-        return (NEWTEvent) events.removeFirst();
+    /** 
+     * Remove NEWTEvent from head, waiting up to <code>timeout</code> milliseconds
+     * for an event to arrive, 0 waits forever, a negative timeout does not wait.
+     *
+     * @return the head event, or null if none arrived in time
+     */
+    public synchronized NEWTEvent get(long timeout) throws InterruptedException {
+        if( 0 == size ) {
+            if( 0 > timeout ) {
+                return null;
+            }
+            final long deadline = System.currentTimeMillis() + timeout;
+            waiters++;
+            try {
+                long wait = timeout;
+                while( 0 == size ) {
+                    wait(wait);
+                    if( 0 < timeout ) {
+                        wait = deadline - System.currentTimeMillis();
+                        if( 0 >= wait ) {
+                            break;
+                        }
+                    }
+                }
+            } finally {
+                waiters--;
+            }
+            if( 0 == size ) {
+                return null;
+            }
+        }
+        return removeFirst();
+    }
+
+    /**
+     * Removes up to <code>max</code> events in one batch and passes them to the consumer, in order.
+     * The lock is not held while consuming.
+     * <p>
+     * If the consumer refuses an event, i.e. {@link NEWTEventConsumer#consumeEvent(NEWTEvent)} returns false,
+     * the remaining events of the batch are put back to the head of the FIFO and draining stops.
+     * A bounded FIFO does not {@link #offer(NEWTEvent) offer} the slots of the batch to new events meanwhile,
+     * so the remaining events fit back without growing it, unless events were {@link #put(NEWTEvent) put}.</p>
+     * <p>
+     * Shall only be called by the single consumer thread.</p>
+     *
+     * @return the number of consumed events
+     */
+    public int drainTo(NEWTEventConsumer consumer, int max) {
+        NEWTEvent[] batch;
+        int n;
+        synchronized(this) {
+            n = Math.min(size, max);
+            if( 0 >= n ) {
+                return 0;
+            }
+            if( null == drainBuffer || drainBuffer.length < n ) {
+                drainBuffer = new NEWTEvent[ring.length];
+            }
+            batch = drainBuffer;
+            for(int i=0; i<n; i++) {
+                batch[i] = removeFirst();
+            }
+            draining = n;
+        }
+        int i=0;
+        try {
+            while( i < n && consumer.consumeEvent(batch[i]) ) {
+                batch[i++] = null;
+            }
+        } finally {
+            synchronized(this) {
+                draining = 0;
+                // put back the remaining ones in order
+                for(int j=n-1; j>=i; j--) {
+                    if( size == ring.length ) {
+                        grow(); // only if events were put(), see offer()
+                    }
+                    head = ( head - 1 ) & mask ;
+                    ring[head] = batch[j];
+                    size++;
+                    batch[j] = null;
+                }
+            }
+        }
+        return i;
     }
 
     /** Get NEWTEvents in queue */
     public synchronized int size() {
-        return events.size();
+        return size;
     }
 
     /** Clear all NEWTEvents from queue */
     public synchronized void clear() {
-        events.clear();
+        for(int i=0; i<size; i++) {
+            ring[ ( head + i ) & mask ] = null;
+        }
+        head = 0;
+        size = 0;
+    }
+
+    /** @return the number of events put or offered, including coalesced and rejected ones */
+    public synchronized long getPutCount() { return putCount; }
+
+    /** @return the number of events replaced by coalescing */
+    public synchronized long getCoalescedCount() { return coalescedCount; }
+
+    /** @return the number of events rejected by {@link #offer(NEWTEvent)}, since the bounded FIFO was full */
+    public synchronized long getRejectedCount() { return rejectedCount; }
+
+    public synchronized String toString() {
+        return "NEWTEventFiFo[size "+size+"/"+ring.length+", bounded "+bounded+", coalesce "+coalesce+
+               ", put "+putCount+", coalesced "+coalescedCount+", rejected "+rejectedCount+"]";
+    }
+
+    private final boolean add(NEWTEvent event, boolean reject) {
+        putCount++;
+        if( coalesce && size > 0 ) {
+            final int tail = ( head + size - 1 ) & mask ;
+            if( isCoalescable(ring[tail], event) ) {
+                ring[tail] = event;
+                coalescedCount++;
+                return true;
+            }
+        }
+        if( reject ) {
+            // slots of events being drained are kept for putting them back
+            if( size + draining >= ring.length ) {
+                rejectedCount++;
+                return false;
+            }
+        } else if( size == ring.length ) {
+            grow();
+        }
+        ring[ ( head + size ) & mask ] = event;
+        size++;
+        if( waiters > 0 ) {
+            notifyAll();
+        }
+        return true;
+    }
+
+    private final NEWTEvent removeFirst() {
+        final NEWTEvent event = ring[head];
+        ring[head] = null;
+        head = ( head + 1 ) & mask ;
+        size--;
+        return event;
+    }
+
+    private final void grow() {
+        final NEWTEvent[] nring = new NEWTEvent[ring.length*2];
+        for(int i=0; i<size; i++) {
+            nring[i] = ring[ ( head + i ) & mask ];
+        }
+        ring = nring;
+        mask = nring.length - 1;
+        head = 0;
     }
 
+    private static final boolean isCoalescable(NEWTEvent last, NEWTEvent event) {
+        if( last.getEventType() != event.getEventType() || last.getSource() != event.getSource() ) {
+            return false;
+        }
+        switch( event.getEventType() ) {
+            case MouseEvent.EVENT_MOUSE_MOVED:
+                return last instanceof MouseEvent && event instanceof MouseEvent &&
+                       ((MouseEvent)last).getModifiers() == ((MouseEvent)event).getModifiers() ;
+            case WindowEvent.EVENT_WINDOW_RESIZED:
+                return last instanceof WindowEvent && event instanceof WindowEvent ;
+        }
+        return false;
+    }
 }
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2010 Sven Gothel. All Rights Reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ * 
+ * - Redistribution of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ * 
+ * - Redistribution in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ * 
+ * Neither the name Sven Gothel or the names of
+ * contributors may be used to endorse or promote products derived from
+ * this software without specific prior written permission.
+ * 
+ * This software is provided "AS IS," without a warranty of any kind. ALL
+ * EXPRESS OR IMPLIED CONDITIONS, REPRESENTATIONS AND WARRANTIES,
+ * INCLUDING ANY IMPLIED WARRANTY OF MERCHANTABILITY, FITNESS FOR A
+ * PARTICULAR PURPOSE OR NON-INFRINGEMENT, ARE HEREBY EXCLUDED. SUN
+ * MICROSYSTEMS, INC. ("SUN") AND ITS LICENSORS SHALL NOT BE LIABLE FOR
+ * ANY DAMAGES SUFFERED BY LICENSEE AS A RESULT OF USING, MODIFYING OR
+ * DISTRIBUTING THIS SOFTWARE OR ITS DERIVATIVES. IN NO EVENT WILL SUN OR
+ * ITS LICENSORS BE LIABLE FOR ANY LOST REVENUE, PROFIT OR DATA, OR FOR
+ * DIRECT, INDIRECT, SPECIAL, CONSEQUENTIAL, INCIDENTAL OR PUNITIVE
+ * DAMAGES, HOWEVER CAUSED AND REGARDLESS OF THE THEORY OF LIABILITY,
+ * ARISING OUT OF THE USE OF OR INABILITY TO USE THIS SOFTWARE, EVEN IF
+ * SVEN GOTHEL HAS BEEN ADVISED OF THE POSSIBILITY OF SUCH DAMAGES.
+ */
+package com.jogamp.newt.event;
+
+import java.util.ArrayList;
+
+/**
+ * Pool of recycled {@link MouseEvent}, {@link KeyEvent} and {@link WindowEvent} instances
+ * of one event source, used by the opt-in pooled dispatch of {@link com.jogamp.newt.Window}.
+ * <p>
+ * Pooled events are created on behalf of the system, i.e. {@link NEWTEvent#isSystemEvent()} is true,
+ * without evaluating the creator's stack trace.
+ * An event is handed back via {@link #release(NEWTEvent)} after it has been delivered,
+ * hence listeners must not keep a reference to a pooled event beyond their callback.</p>
+ */
+public class NEWTEventPool
+{
+    public static final int DEFAULT_MAX_SIZE = 32;
+
+    private final Object source;
+    private final int maxSize;
+    private final ArrayList/*<MouseEvent>*/ mouseEvents = new ArrayList();
+    private final ArrayList/*<KeyEvent>*/ keyEvents = new ArrayList();
+    private final ArrayList/*<WindowEvent>*/ windowEvents = new ArrayList();
+    private long createdCount = 0, reusedCount = 0;
+
+    /**
+     * @param source the source of all events of this pool
+     * @param maxSize the maximum number of kept events per event class
+     */
+    public NEWTEventPool(Object source, int maxSize) {
+        this.source = source;
+        this.maxSize = maxSize;
+    }
+
+    public synchronized MouseEvent getMouseEvent(int eventType, long when,
+                                                 int modifiers, int x, int y, int clickCount, int button,
+                                                 int rotation) {
+        final int n = mouseEvents.size();
+        if( n > 0 ) {
+            MouseEvent e = (MouseEvent) mouseEvents.remove(n-1);
+            e.reset(eventType, when, modifiers, x, y, clickCount, button, rotation);
+            reusedCount++;
+            return e;
+        }
+        MouseEvent e = new MouseEvent(eventType, source, when, modifiers, x, y, clickCount, button, rotation, true);
+        e.pool = this;
+        createdCount++;
+        return e;
+    }
+
+    public synchronized KeyEvent getKeyEvent(int eventType, long when, int modifiers, int keyCode, char keyChar) {
+        final int n = keyEvents.size();
+        if( n > 0 ) {
+            KeyEvent e = (KeyEvent) keyEvents.remove(n-1);
+            e.reset(eventType, when, modifiers, keyCode, keyChar);
+            reusedCount++;
+            return e;
+        }
+        KeyEvent e = new KeyEvent(eventType, source, when, modifiers, keyCode, keyChar, true);
+        e.pool = this;
+        createdCount++;
+        return e;
+    }
+
+    public synchronized WindowEvent getWindowEvent(int eventType, long when) {
+        final int n = windowEvents.size();
+        if( n > 0 ) {
+            WindowEvent e = (WindowEvent) windowEvents.remove(n-1);
+            e.reset(eventType, when);
+            reusedCount++;
+            return e;
+        }
+        WindowEvent e = new WindowEvent(eventType, source, when, true);
+        e.pool = this;
+        createdCount++;
+        return e;
+    }
+
+    /**
+     * Hands back a delivered event for reuse.
+     * Events not created by this pool are ignored.
+     * @return true if the event has been taken back
+     */
+    public synchronized boolean release(NEWTEvent e) {
+        if( null == e || this != e.pool ) {
+            return false;
+        }
+        ArrayList list;
+        if( e instanceof MouseEvent ) {
+            list = mouseEvents;
+        } else if( e instanceof KeyEvent ) {
+            list = keyEvents;
+        } else {
+            list = windowEvents;
+        }
+        if( list.size() >= maxSize || list.contains(e) ) {
+            return false;
+        }
+        e.setAttachment(null);
+        list.add(e);
+        return true;
+    }
+
+    /** @return number of events newly created by this pool */
+    public synchronized long getCreatedCount() { return createdCount; }
+
+    /** @return number of events served by recycling */
+    public synchronized long getReusedCount() { return reusedCount; }
+
+    public synchronized String toString() {
+        return "NEWTEventPool[created "+createdCount+", reused "+reusedCount+
+               ", free "+mouseEvents.size()+"/"+keyEvents.size()+"/"+windowEvents.size()+"]";
+    }
+}
@@ -52,6 +52,10 @@ public class WindowEvent extends NEWTEvent {
         super(eventType, source, when);
     }
 
+    WindowEvent(int eventType, Object source, long when, boolean isSystemEvent) {
+        super(eventType, source, when, isSystemEvent);
+    }
+
     public static String getEventTypeString(int type) {
         switch(type) {
             case EVENT_WINDOW_RESIZED: return "WINDOW_RESIZED";
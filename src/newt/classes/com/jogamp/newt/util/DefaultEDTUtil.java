@@ -36,21 +36,45 @@
 
 package com.jogamp.newt.util;
 
-import com.jogamp.common.util.RunnableTask;
 import com.jogamp.newt.Display;
 import com.jogamp.newt.impl.Debug;
 import java.util.*;
 
+/**
+ * Default EDT implementation.
+ * <p>
+ * Tasks are queued and executed in batches, i.e. all tasks queued at a wake up
+ * are taken at once and run outside of the queue lock.
+ * An issuer waiting for its task blocks on the task itself and is notified
+ * by the EDT only, no shared lock is notified per task.</p>
+ * <p>
+ * Native messages are pumped after each batch and whenever the pump deadline
+ * of {@link EDTUtil#defaultEDTPollGranularity} expires,
+ * the EDT sleeps until the next deadline or the next queued task.</p>
+ * <p>
+ * The queue latency of each task, from being queued until its execution,
+ * is recorded in a histogram of power of two millisecond buckets.</p>
+ */
 public class DefaultEDTUtil implements EDTUtil {
     public static final boolean DEBUG = Debug.debug("EDT");
 
+    /** Number of task latency histogram buckets, bucket <code>i</code> counts latencies <code>&lt; 2^i</code> ms, the last one all others. */
+    public static final int LATENCY_BUCKETS = 12;
+
     private ThreadGroup threadGroup; 
     private volatile boolean shouldStop = false;
     private EventDispatchThread edt = null;
     private Object edtLock = new Object();
     private ArrayList tasks = new ArrayList(); // one shot tasks
+    private ArrayList batch = new ArrayList(); // tasks taken by the EDT
+    private boolean batchRunning = false;
+    private int idleWaiters = 0;
     private String name;
     private Runnable pumpMessages;
+    private long pumpPeriod = defaultEDTPollGranularity;
+
+    private final long[] latencyHistogram = new long[LATENCY_BUCKETS];
+    private long taskCount = 0, batchCount = 0, pumpCount = 0, maxLatency = 0;
 
     public DefaultEDTUtil(ThreadGroup tg, String name, Runnable pumpMessages) {
         this.threadGroup = tg;
@@ -58,6 +82,24 @@ public class DefaultEDTUtil implements EDTUtil {
         this.pumpMessages=pumpMessages;
     }
 
+    /**
+     * Sets the maximum period in milliseconds between two native message pumps
+     * while no tasks are queued, defaults to {@link EDTUtil#defaultEDTPollGranularity}.
+     */
+    public void setPumpPeriod(long ms) {
+        if(0>=ms) {
+            throw new IllegalArgumentException("Pump period must be > 0: "+ms);
+        }
+        synchronized(edtLock) { 
+            pumpPeriod = ms;
+            edtLock.notifyAll();
+        }
+    }
+
+    public long getPumpPeriod() {
+        return pumpPeriod;
+    }
+
     public void start() {
         synchronized(edtLock) { 
             if(null==edt) {
@@ -91,39 +133,31 @@ public class DefaultEDTUtil implements EDTUtil {
         return null!=edt && edt.isRunning() ;
     }
 
-    private void invokeLater(Runnable task) {
-        synchronized(edtLock) {
-            if(null!=edt && edt.isRunning() && edt != Thread.currentThread() ) {
-                tasks.add(task);
-                edtLock.notifyAll();
-            } else {
-                // if !running or isEDTThread, do it right away
-                task.run();
-            }
-        }
-    }
-
     public void invoke(boolean wait, Runnable task) {
         if(task == null) {
             return;
         }
-        boolean doWait = wait && null!=edt && edt.isRunning() && edt != Thread.currentThread();
-        Object lock = new Object();
-        RunnableTask rTask = new RunnableTask(task, doWait?lock:null, true);
-        Throwable throwable = null;
-        synchronized(lock) {
-            invokeLater(rTask);
-            if( doWait ) {
-                try {
-                    lock.wait();
-                } catch (InterruptedException ie) {
-                    throwable = ie;
+        EDTTask eTask = new EDTTask(task, System.currentTimeMillis());
+        boolean queued = false;
+        synchronized(edtLock) {
+            if(null!=edt && edt.isRunning() && edt != Thread.currentThread() ) {
+                eTask.waiting = wait;
+                tasks.add(eTask);
+                if(1==tasks.size()) {
+                    edtLock.notifyAll(); // queue was empty, EDT may sleep
                 }
+                queued = true;
             }
         }
-        if(null==throwable) {
-            throwable = rTask.getThrowable();
+        if(!queued) {
+            // if !running or isEDTThread, do it right away
+            eTask.run();
+        } else if(wait) {
+            eTask.waitUntilDone();
+        } else {
+            return;
         }
+        Throwable throwable = eTask.throwable;
         if(null!=throwable) {
             throw new RuntimeException(throwable);
         }
@@ -131,11 +165,16 @@ public class DefaultEDTUtil implements EDTUtil {
 
     public void waitUntilIdle() {
         synchronized(edtLock) {
-            if(null!=edt && edt.isRunning() && tasks.size()>0 && edt != Thread.currentThread() ) {
+            if(null!=edt && edt.isRunning() && edt != Thread.currentThread() ) {
+                idleWaiters++;
                 try {
-                    edtLock.wait();
+                    while( !shouldStop && edt.isRunning() && ( tasks.size()>0 || batchRunning ) ) {
+                        edtLock.wait();
+                    }
                 } catch (InterruptedException e) {
                     e.printStackTrace();
+                } finally {
+                    idleWaiters--;
                 }
             }
         }
@@ -153,6 +192,113 @@ public class DefaultEDTUtil implements EDTUtil {
         }
     }
 
+    /**
+     * @return a copy of the task queue latency histogram,
+     *         bucket <code>i</code> counts tasks waited <code>&lt; 2^i</code> ms, see {@link #LATENCY_BUCKETS}
+     */
+    public long[] getTaskLatencyHistogram() {
+        synchronized(latencyHistogram) {
+            long[] res = new long[LATENCY_BUCKETS];
+            System.arraycopy(latencyHistogram, 0, res, 0, LATENCY_BUCKETS);
+            return res;
+        }
+    }
+
+    /** @return the maximum task queue latency in milliseconds */
+    public long getMaxTaskLatency() {
+        synchronized(latencyHistogram) {
+            return maxLatency;
+        }
+    }
+
+    /** @return the number of tasks executed by the EDT */
+    public long getTaskCount() {
+        synchronized(latencyHistogram) {
+            return taskCount;
+        }
+    }
+
+    /** @return the number of task batches executed by the EDT */
+    public long getBatchCount() {
+        synchronized(latencyHistogram) {
+            return batchCount;
+        }
+    }
+
+    /** @return the number of native message pumps issued by the EDT */
+    public long getPumpCount() {
+        synchronized(latencyHistogram) {
+            return pumpCount;
+        }
+    }
+
+    public void resetStatistics() {
+        synchronized(latencyHistogram) {
+            for(int i=0; i<LATENCY_BUCKETS; i++) {
+                latencyHistogram[i] = 0;
+            }
+            taskCount = 0;
+            batchCount = 0;
+            pumpCount = 0;
+            maxLatency = 0;
+        }
+    }
+
+    private void recordLatency(long latency) {
+        int i = 0;
+        while( i < LATENCY_BUCKETS-1 && latency >= (1L<<i) ) {
+            i++;
+        }
+        latencyHistogram[i]++;
+        taskCount++;
+        if(latency > maxLatency) {
+            maxLatency = latency;
+        }
+    }
+
+    /** One shot task, the issuer waits on the task itself. */
+    static class EDTTask implements Runnable {
+        final Runnable runnable;
+        final long queuedTime;
+        boolean waiting = false;
+        boolean done = false;
+        Throwable throwable = null;
+
+        EDTTask(Runnable runnable, long queuedTime) {
+            this.runnable = runnable;
+            this.queuedTime = queuedTime;
+        }
+
+        public void run() {
+            try {
+                runnable.run();
+            } catch (Throwable t) {
+                throwable = t;
+                if(!waiting && DEBUG) {
+                    t.printStackTrace();
+                }
+            } finally {
+                synchronized(this) {
+                    done = true;
+                    if(waiting) {
+                        notifyAll();
+                    }
+                }
+            }
+        }
+
+        synchronized void waitUntilDone() {
+            while(!done) {
+                try {
+                    wait();
+                } catch (InterruptedException ie) {
+                    throwable = ie;
+                    return;
+                }
+            }
+        }
+    }
+
     class EventDispatchThread extends Thread {
         boolean isRunning = false;
 
@@ -171,38 +317,67 @@ public class DefaultEDTUtil implements EDTUtil {
             super.start();
         }
 
+        private void pump() {
+            pumpMessages.run(); // event dispatch
+            synchronized(latencyHistogram) {
+                pumpCount++;
+            }
+        }
+
         /** 
-         * Utilizing edtLock only for local resources and task execution,
-         * not for event dispatching.
+         * Utilizing edtLock only for local resources and to take the queued tasks,
+         * neither for task execution nor for event dispatching.
          */
         public void run() {
             if(DEBUG) {
                 System.out.println(Thread.currentThread()+": EDT run() START");
             }
+            long pumpDeadline = 0;
             try {
                 while(!shouldStop) {
-                    // wait for something todo
-                    while(!shouldStop && tasks.size()==0) {
-                        synchronized(edtLock) {
-                            if(!shouldStop && tasks.size()==0) {
-                                try {
-                                    edtLock.wait(defaultEDTPollGranularity);
-                                } catch (InterruptedException e) {
-                                    e.printStackTrace();
-                                }
+                    ArrayList _batch = null;
+                    synchronized(edtLock) {
+                        // wait for something todo, or the pump deadline
+                        long now = System.currentTimeMillis();
+                        while(!shouldStop && tasks.size()==0 && now < pumpDeadline) {
+                            try {
+                                edtLock.wait(pumpDeadline-now);
+                            } catch (InterruptedException e) {
+                                e.printStackTrace();
                             }
+                            now = System.currentTimeMillis();
+                        }
+                        if(!shouldStop && tasks.size()>0) {
+                            // swap queues, take all tasks at once
+                            _batch = tasks;
+                            tasks = batch;
+                            batch = _batch;
+                            batchRunning = true;
                         }
-                        pumpMessages.run(); // event dispatch
                     }
-                    if(!shouldStop && tasks.size()>0) {
+                    if(null!=_batch) {
+                        final int n = _batch.size();
+                        final long now = System.currentTimeMillis();
+                        synchronized(latencyHistogram) {
+                            for(int i=0; i<n; i++) {
+                                recordLatency(now - ((EDTTask)_batch.get(i)).queuedTime);
+                            }
+                            batchCount++;
+                        }
+                        for(int i=0; i<n; i++) {
+                            ((EDTTask)_batch.get(i)).run();
+                        }
+                        _batch.clear();
                         synchronized(edtLock) {
-                            if(!shouldStop && tasks.size()>0) {
-                                Runnable task = (Runnable) tasks.remove(0);
-                                task.run(); // FIXME: could be run outside of lock
+                            batchRunning = false;
+                            if(idleWaiters>0) {
                                 edtLock.notifyAll();
                             }
                         }
-                        pumpMessages.run(); // event dispatch
+                    }
+                    if(!shouldStop) {
+                        pump();
+                        pumpDeadline = System.currentTimeMillis() + pumpPeriod;
                     }
                 }
             } catch (Throwable t) {
@@ -215,6 +390,7 @@ public class DefaultEDTUtil implements EDTUtil {
                 }
                 if(!isRunning) {
                     synchronized(edtLock) {
+                        batchRunning = false;
                         edtLock.notifyAll();
                     }
                 }
@@ -225,4 +401,3 @@ public class DefaultEDTUtil implements EDTUtil {
         }
     }
 }
-